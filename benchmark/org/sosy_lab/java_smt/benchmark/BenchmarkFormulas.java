@@ -0,0 +1,155 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.api.BitvectorFormula;
+import org.sosy_lab.java_smt.api.BitvectorFormulaManager;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.IntegerFormulaManager;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+
+/**
+ * Generator for the workloads used in all benchmarks.
+ *
+ * <p>The numeric workloads use the theory of integers if the solver supports it, and 32-bit
+ * bitvectors otherwise, such that every solver can run every benchmark.
+ */
+final class BenchmarkFormulas {
+
+  private static final String CHOICE_PREFIX = "b@";
+  private static final String COUNTER_PREFIX = "i@";
+  private static final String CNF_PREFIX = "p@";
+  private static final int BV_WIDTH = 32;
+  private static final long SEED = 42;
+
+  private final BooleanFormulaManager bmgr;
+  private final @Nullable IntegerFormulaManager imgr;
+  private final @Nullable BitvectorFormulaManager bvmgr;
+
+  BenchmarkFormulas(FormulaManager pMgr) {
+    bmgr = pMgr.getBooleanFormulaManager();
+    imgr = getIntegerFormulaManager(pMgr);
+    bvmgr = imgr == null ? pMgr.getBitvectorFormulaManager() : null;
+  }
+
+  private static @Nullable IntegerFormulaManager getIntegerFormulaManager(FormulaManager pMgr) {
+    try {
+      return pMgr.getIntegerFormulaManager();
+    } catch (UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Build a random 3-CNF with the given number of variables and clauses. The result is
+   * deterministic for equal arguments.
+   */
+  BooleanFormula randomCnf(int numVars, int numClauses) {
+    checkArgument(numVars >= 3);
+    Random random = new Random(SEED);
+    List<BooleanFormula> vars = new ArrayList<>(numVars);
+    for (int i = 0; i < numVars; i++) {
+      vars.add(bmgr.makeVariable(CNF_PREFIX + i));
+    }
+    List<BooleanFormula> clauses = new ArrayList<>(numClauses);
+    for (int i = 0; i < numClauses; i++) {
+      List<BooleanFormula> literals = new ArrayList<>(3);
+      for (int j = 0; j < 3; j++) {
+        BooleanFormula var = vars.get(random.nextInt(numVars));
+        literals.add(random.nextBoolean() ? var : bmgr.not(var));
+      }
+      clauses.add(bmgr.or(literals));
+    }
+    return bmgr.and(clauses);
+  }
+
+  /**
+   * Build a chain of {@code 2 * n} counter updates. Each pair of updates increments the counter by
+   * 5 in total, but the order of increments (2 or 3) is chosen by a Boolean selector. The formula
+   * is satisfiable if {@code satisfiable} is set, and otherwise asks for a final counter value that
+   * can not be reached. The shared counter terms make the formula a DAG.
+   */
+  BooleanFormula counterChain(int n, boolean satisfiable) {
+    checkArgument(n >= 1);
+    List<BooleanFormula> clauses = new ArrayList<>();
+    clauses.add(equal(counter(0), number(0)));
+    for (int i = 1; i < 2 * n; i += 2) {
+      BooleanFormula selector = bmgr.makeVariable(CHOICE_PREFIX + i);
+      clauses.add(bmgr.or(step(i, 3, selector), step(i, 2, bmgr.not(selector))));
+      clauses.add(bmgr.or(step(i + 1, 3, bmgr.not(selector)), step(i + 1, 2, selector)));
+    }
+    Formula last = counter(2 * n);
+    Formula expected = number(5L * n);
+    clauses.add(satisfiable ? equal(last, expected) : greaterThan(last, expected));
+    return bmgr.and(clauses);
+  }
+
+  /** Returns all counter variables used in {@link #counterChain}. */
+  ImmutableList<Formula> counterVariables(int n) {
+    ImmutableList.Builder<Formula> builder = ImmutableList.builder();
+    for (int i = 0; i <= 2 * n; i++) {
+      builder.add(counter(i));
+    }
+    return builder.build();
+  }
+
+  private BooleanFormula step(int idx, int increment, BooleanFormula selector) {
+    return bmgr.and(selector, equal(counter(idx), add(counter(idx - 1), number(increment))));
+  }
+
+  private Formula counter(int idx) {
+    if (imgr != null) {
+      return imgr.makeVariable(COUNTER_PREFIX + idx);
+    } else {
+      return bvmgr.makeVariable(BV_WIDTH, COUNTER_PREFIX + idx);
+    }
+  }
+
+  private Formula number(long value) {
+    if (imgr != null) {
+      return imgr.makeNumber(value);
+    } else {
+      return bvmgr.makeBitvector(BV_WIDTH, value);
+    }
+  }
+
+  private Formula add(Formula a, Formula b) {
+    if (imgr != null) {
+      return imgr.add((IntegerFormula) a, (IntegerFormula) b);
+    } else {
+      return bvmgr.add((BitvectorFormula) a, (BitvectorFormula) b);
+    }
+  }
+
+  private BooleanFormula equal(Formula a, Formula b) {
+    if (imgr != null) {
+      return imgr.equal((IntegerFormula) a, (IntegerFormula) b);
+    } else {
+      return bvmgr.equal((BitvectorFormula) a, (BitvectorFormula) b);
+    }
+  }
+
+  private BooleanFormula greaterThan(Formula a, Formula b) {
+    if (imgr != null) {
+      return imgr.greaterThan((IntegerFormula) a, (IntegerFormula) b);
+    } else {
+      return bvmgr.greaterThan((BitvectorFormula) a, (BitvectorFormula) b, false);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+/**
+ * Entry point for running the benchmarks. All command-line arguments are passed to JMH. If no
+ * explicit value for the parameter {@code solver} is given, the benchmarks run for all solvers that
+ * can be loaded on the current machine.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+    if (!commandLineOptions.getParameter("solver").hasValue()) {
+      ImmutableList<String> solvers = getAvailableSolvers();
+      System.out.println("Running benchmarks for the available solvers " + solvers);
+      options.param("solver", solvers.toArray(new String[0]));
+    }
+    new Runner(options.build()).run();
+  }
+
+  /** Returns the names of all solvers whose libraries can be loaded. */
+  static ImmutableList<String> getAvailableSolvers() {
+    ImmutableList.Builder<String> available = ImmutableList.builder();
+    for (Solvers solver : Solvers.values()) {
+      try {
+        SolverState.createContext(solver).close();
+        available.add(solver.name());
+      } catch (InvalidConfigurationException | UnsatisfiedLinkError e) {
+        System.out.println("Skipping solver " + solver + ": " + e.getMessage());
+      }
+    }
+    return available.build();
+  }
+}
@@ -0,0 +1,56 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+
+/** Benchmarks for {@link FormulaManager#dumpFormula} and {@link FormulaManager#parse}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulaIOBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+
+    BooleanFormula formula;
+    String smtlib;
+
+    @Setup(Level.Trial)
+    public void buildFormula(SolverState state) {
+      formula = state.getFormulas().counterChain(state.size, true);
+      smtlib = state.getFormulaManager().dumpFormula(formula).toString();
+    }
+  }
+
+  @Benchmark
+  public String dumpFormula(SolverState state, Input input) {
+    return state.getFormulaManager().dumpFormula(input.formula).toString();
+  }
+
+  @Benchmark
+  public BooleanFormula parse(SolverState state, Input input) {
+    return state.getFormulaManager().parse(input.smtlib);
+  }
+}
@@ -0,0 +1,78 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.Model.ValueAssignment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/** Benchmarks for {@link Model#evaluate} and for listing all assignments of a model. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+  /** A satisfiable prover with its model, which stays valid for the whole trial. */
+  @State(Scope.Benchmark)
+  public static class SatisfiedProver {
+
+    ProverEnvironment prover;
+    Model model;
+    ImmutableList<Formula> variables;
+
+    @Setup(Level.Trial)
+    public void createModel(SolverState state) throws SolverException, InterruptedException {
+      prover = state.getContext().newProverEnvironment(ProverOptions.GENERATE_MODELS);
+      prover.addConstraint(state.getFormulas().counterChain(state.size, true));
+      Preconditions.checkState(!prover.isUnsat());
+      model = prover.getModel();
+      variables = state.getFormulas().counterVariables(state.size);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeProver() {
+      model.close();
+      prover.close();
+    }
+  }
+
+  @Benchmark
+  public void evaluate(SatisfiedProver satisfied, Blackhole blackhole) {
+    for (Formula variable : satisfied.variables) {
+      blackhole.consume(satisfied.model.evaluate(variable));
+    }
+  }
+
+  @Benchmark
+  public ImmutableList<ValueAssignment> getModelAssignments(SatisfiedProver satisfied)
+      throws SolverException {
+    return satisfied.prover.getModelAssignments();
+  }
+}
@@ -0,0 +1,107 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/** Benchmarks for {@link ProverEnvironment#isUnsat()} on fresh and on incremental provers. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProverBenchmark {
+
+  /** Pre-built queries, such that formula construction is not measured. */
+  @State(Scope.Benchmark)
+  public static class Queries {
+
+    BooleanFormula satCounter;
+    BooleanFormula unsatCounter;
+    BooleanFormula cnf;
+
+    @Setup(Level.Trial)
+    public void buildQueries(SolverState state) {
+      satCounter = state.getFormulas().counterChain(state.size, true);
+      unsatCounter = state.getFormulas().counterChain(state.size, false);
+      cnf = state.getFormulas().randomCnf(state.size, 4 * state.size);
+    }
+  }
+
+  /** A long-living prover for incremental queries. */
+  @State(Scope.Benchmark)
+  public static class IncrementalProver {
+
+    ProverEnvironment prover;
+
+    @Setup(Level.Trial)
+    public void createProver(SolverState state, Queries queries) throws InterruptedException {
+      prover = state.getContext().newProverEnvironment();
+      prover.addConstraint(queries.cnf);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeProver() {
+      prover.close();
+    }
+  }
+
+  @Benchmark
+  public boolean isUnsatSatisfiable(SolverState state, Queries queries)
+      throws SolverException, InterruptedException {
+    return isUnsat(state, queries.satCounter);
+  }
+
+  @Benchmark
+  public boolean isUnsatUnsatisfiable(SolverState state, Queries queries)
+      throws SolverException, InterruptedException {
+    return isUnsat(state, queries.unsatCounter);
+  }
+
+  @Benchmark
+  public boolean isUnsatRandomCnf(SolverState state, Queries queries)
+      throws SolverException, InterruptedException {
+    return isUnsat(state, queries.cnf);
+  }
+
+  @Benchmark
+  public boolean isUnsatIncremental(IncrementalProver incremental, Queries queries)
+      throws SolverException, InterruptedException {
+    ProverEnvironment prover = incremental.prover;
+    prover.push(queries.satCounter);
+    try {
+      return prover.isUnsat();
+    } finally {
+      prover.pop();
+    }
+  }
+
+  private static boolean isUnsat(SolverState state, BooleanFormula query)
+      throws SolverException, InterruptedException {
+    try (ProverEnvironment prover = state.getContext().newProverEnvironment()) {
+      prover.addConstraint(query);
+      return prover.isUnsat();
+    }
+  }
+}
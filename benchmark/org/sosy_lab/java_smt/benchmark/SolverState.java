@@ -0,0 +1,85 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * Benchmark state that owns one {@link SolverContext} for the selected solver. The context is
+ * created once per trial, such that the measured operations do not include the solver setup.
+ *
+ * <p>By default, JMH uses all values of {@link Solvers}. {@link BenchmarkRunner} restricts this to
+ * the solvers that are available on the current machine.
+ */
+@State(Scope.Benchmark)
+public class SolverState {
+
+  @Param public Solvers solver;
+
+  /** The size of the generated workload, interpreted by each benchmark on its own. */
+  @Param({"10", "50"})
+  public int size;
+
+  private SolverContext context;
+  private BenchmarkFormulas formulas;
+
+  @Setup(Level.Trial)
+  public void createContext() throws InvalidConfigurationException {
+    context = createContext(solver);
+    formulas = new BenchmarkFormulas(context.getFormulaManager());
+  }
+
+  @TearDown(Level.Trial)
+  public void closeContext() {
+    if (context != null) {
+      context.close();
+    }
+  }
+
+  SolverContext getContext() {
+    return context;
+  }
+
+  FormulaManager getFormulaManager() {
+    return context.getFormulaManager();
+  }
+
+  BooleanFormulaManager getBooleanFormulaManager() {
+    return context.getFormulaManager().getBooleanFormulaManager();
+  }
+
+  BenchmarkFormulas getFormulas() {
+    return formulas;
+  }
+
+  /**
+   * Create a fresh context for the given solver. OpenSMT needs to know the logic upfront, all other
+   * solvers ignore the corresponding option.
+   */
+  static SolverContext createContext(Solvers pSolver) throws InvalidConfigurationException {
+    Configuration config =
+        Configuration.builder().setOption("solver.opensmt.logic", "QF_AUFLIRA").build();
+    return SolverContextFactory.createSolverContext(
+        config, LogManager.createNullLogManager(), ShutdownNotifier.createDummy(), pSolver);
+  }
+}
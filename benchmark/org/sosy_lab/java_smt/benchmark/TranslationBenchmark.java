@@ -0,0 +1,65 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * Benchmark for {@link FormulaManager#translateFrom} between two independent contexts of the same
+ * solver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslationBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Target {
+
+    SolverContext context;
+    BooleanFormula formula;
+
+    @Setup(Level.Trial)
+    public void createContext(SolverState state) throws InvalidConfigurationException {
+      context = SolverState.createContext(state.solver);
+      formula = state.getFormulas().counterChain(state.size, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+      context.close();
+    }
+  }
+
+  @Benchmark
+  public BooleanFormula translateFrom(SolverState state, Target target) {
+    return target
+        .context
+        .getFormulaManager()
+        .translateFrom(target.formula, state.getFormulaManager());
+  }
+}
@@ -0,0 +1,81 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+
+/**
+ * Benchmarks for {@link FormulaManager#visitRecursively} and {@link
+ * FormulaManager#transformRecursively} on a formula with shared subterms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitorBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+
+    BooleanFormula formula;
+
+    @Setup(Level.Trial)
+    public void buildFormula(SolverState state) {
+      formula = state.getFormulas().counterChain(state.size, true);
+    }
+  }
+
+  @Benchmark
+  public int visitRecursively(SolverState state, Input input) {
+    NodeCounter counter = new NodeCounter();
+    state.getFormulaManager().visitRecursively(input.formula, counter);
+    return counter.nodes;
+  }
+
+  @Benchmark
+  public BooleanFormula transformRecursively(SolverState state, Input input) {
+    FormulaManager mgr = state.getFormulaManager();
+    return mgr.transformRecursively(input.formula, new FormulaTransformationVisitor(mgr) {});
+  }
+
+  @Benchmark
+  public ImmutableMap<String, Formula> extractVariablesAndUFs(SolverState state, Input input) {
+    return state.getFormulaManager().extractVariablesAndUFs(input.formula);
+  }
+
+  private static final class NodeCounter extends DefaultFormulaVisitor<TraversalProcess> {
+
+    private int nodes = 0;
+
+    @Override
+    protected TraversalProcess visitDefault(Formula f) {
+      nodes++;
+      return TraversalProcess.CONTINUE;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+/**
+ * JMH benchmarks for the solver-independent API of JavaSMT.
+ *
+ * <p>All benchmarks run the same workloads against each solver that is available on the current
+ * machine. Use {@code ant benchmark} to build and run them, and pass further JMH arguments via
+ * {@code -Dbenchmark.args="..."}, e.g., {@code -Dbenchmark.args="-p solver=Z3 ProverBenchmark"}.
+ */
+@com.google.errorprone.annotations.CheckReturnValue
+@javax.annotation.ParametersAreNonnullByDefault
+@org.sosy_lab.common.annotations.ReturnValuesAreNonnullByDefault
+package org.sosy_lab.java_smt.benchmark;
@@ -26,7 +26,9 @@ import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.java_smt.api.FloatingPointRoundingMode;
 import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.basicimpl.AbstractNumeralFormulaManager.NonLinearArithmetic;
+import org.sosy_lab.java_smt.delegate.caching.CachingSolverContext;
 import org.sosy_lab.java_smt.delegate.debugging.DebuggingSolverContext;
+import org.sosy_lab.java_smt.delegate.jfr.JfrSolverContext;
 import org.sosy_lab.java_smt.delegate.logging.LoggingSolverContext;
 import org.sosy_lab.java_smt.delegate.statistics.StatisticsSolverContext;
 import org.sosy_lab.java_smt.delegate.synchronize.SynchronizedSolverContext;
@@ -104,6 +106,19 @@ public class SolverContextFactory {
       description = "Counts all operations and interactions towards the SMT solver.")
   private boolean collectStatistics = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Cache the results of satisfiability checks and answer repeated queries from the cache.")
+  private boolean cacheResults = false;
+
+  @Option(
+      secure = true,
+      description =
+          "Emit events for the Java Flight Recorder (JFR) for all interactions with the solver."
+              + " The events are only recorded if a JFR recording is running.")
+  private boolean recordJfrEvents = false;
+
   @Option(secure = true, description = "Default rounding mode for floating point operations.")
   private FloatingPointRoundingMode floatingPointRoundingMode =
       FloatingPointRoundingMode.NEAREST_TIES_TO_EVEN;
@@ -228,12 +243,18 @@ public class SolverContextFactory {
     if (useLogger) {
       context = new LoggingSolverContext(logger, context);
     }
+    if (cacheResults) {
+      context = new CachingSolverContext(config, context);
+    }
     if (synchronize) {
       context = new SynchronizedSolverContext(config, logger, shutdownNotifier, context);
     }
     if (useDebugMode) {
       context = new DebuggingSolverContext(solverToCreate, config, context);
     }
+    if (recordJfrEvents) {
+      context = new JfrSolverContext(context);
+    }
     if (collectStatistics) {
       // statistics need to be the most outer wrapping layer.
       context = new StatisticsSolverContext(context);
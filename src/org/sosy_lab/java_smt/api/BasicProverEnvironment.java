@@ -11,7 +11,9 @@ package org.sosy_lab.java_smt.api;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -39,6 +41,17 @@ public interface BasicProverEnvironment<T> extends AutoCloseable {
     return addConstraint(f);
   }
 
+  /**
+   * Push a backtracking point and add several formulas to the new level, see {@link
+   * #addConstraints(Collection)}.
+   */
+  @CanIgnoreReturnValue
+  default List<@Nullable T> push(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    push();
+    return addConstraints(constraints);
+  }
+
   /**
    * Remove one backtracking point/level from the current stack. This removes the latest level
    * including all of its formulas, i.e., all formulas that were added for this backtracking point.
@@ -50,6 +63,24 @@ public interface BasicProverEnvironment<T> extends AutoCloseable {
   @CanIgnoreReturnValue
   T addConstraint(BooleanFormula constraint) throws InterruptedException;
 
+  /**
+   * Add several constraints to the latest backtracking point, in the given order. This is
+   * equivalent to calling {@link #addConstraint(BooleanFormula)} for each constraint, but avoids
+   * the overhead per call, which is significant when asserting a large number of formulas.
+   *
+   * @return the identifiers of the constraints in the given order, as returned by {@link
+   *     #addConstraint(BooleanFormula)}. Provers without identifiers return a list of {@code null}.
+   */
+  @CanIgnoreReturnValue
+  default List<@Nullable T> addConstraints(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    List<@Nullable T> ids = new ArrayList<>(constraints.size());
+    for (BooleanFormula constraint : constraints) {
+      ids.add(addConstraint(constraint));
+    }
+    return Collections.unmodifiableList(ids);
+  }
+
   /**
    * Create a new backtracking point, i.e., a new level on the assertion stack. Each level can hold
    * several asserted formulas.
@@ -124,6 +155,36 @@ public interface BasicProverEnvironment<T> extends AutoCloseable {
     }
   }
 
+  /**
+   * Get a satisfying assignment that is projected onto the given formulas. This should be called
+   * only immediately after an {@link #isUnsat()} call that returned <code>false</code>.
+   *
+   * <p>The model assignments (see {@link Model#asList()}) contain at least the assignments of all
+   * free variables and uninterpreted functions occurring in the given formulas. Solvers may omit
+   * the assignments of all other symbols and thus avoid building them, which is cheaper than {@link
+   * #getModel()} if only a small part of a large model is of interest. The evaluation of formulas
+   * is not restricted by the projection.
+   *
+   * @param relevantFormulas formulas whose symbols should be part of the model assignments.
+   */
+  default Model getModel(Collection<? extends Formula> relevantFormulas) throws SolverException {
+    return getModel();
+  }
+
+  /**
+   * Get a list of satisfying assignments that is projected onto the given formulas. This is
+   * equivalent to <code>ImmutableList.copyOf(getModel(relevantFormulas))</code>, but removes the
+   * need for calling {@link Model#close()}.
+   *
+   * @see #getModel(Collection)
+   */
+  default ImmutableList<Model.ValueAssignment> getModelAssignments(
+      Collection<? extends Formula> relevantFormulas) throws SolverException {
+    try (Model model = getModel(relevantFormulas)) {
+      return model.asList();
+    }
+  }
+
   /**
    * Get an unsat core. This should be called only immediately after an {@link #isUnsat()} call that
    * returned <code>false</code>.
@@ -31,6 +31,23 @@ public interface BitvectorFormulaManager {
    */
   BitvectorFormula makeBitvector(int length, BigInteger pI);
 
+  /**
+   * Convert all given numbers into bitvectors with the given size, in the same order. This is
+   * equivalent to calling {@link #makeBitvector(int, long)} for each value, but avoids boxing the
+   * values and allows wrappers (e.g., for synchronization or statistics) to handle all literals at
+   * once.
+   *
+   * @throws IllegalArgumentException if any number is out of range for the given length.
+   */
+  default List<BitvectorFormula> makeBitvectors(int length, long... values) {
+    ImmutableList.Builder<BitvectorFormula> result =
+        ImmutableList.builderWithExpectedSize(values.length);
+    for (long value : values) {
+      result.add(makeBitvector(length, value));
+    }
+    return result.build();
+  }
+
   /**
    * Convert/Cast/Interpret a numeral formula into a bitvector with given size.
    *
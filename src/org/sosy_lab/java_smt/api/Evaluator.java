@@ -9,6 +9,9 @@
 package org.sosy_lab.java_smt.api;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
@@ -113,6 +116,66 @@ public interface Evaluator extends AutoCloseable {
    */
   @Nullable FloatingPointNumber evaluate(FloatingPointFormula formula);
 
+  /**
+   * Evaluate all given formulas substituting the values from the model, see {@link
+   * #evaluate(Formula)}. The result contains the values in the same order as the given formulas.
+   *
+   * <p>This is equivalent to calling {@link #evaluate(Formula)} for each formula, but allows the
+   * solver to evaluate all formulas at once, and allows to share the evaluation of common
+   * subformulas.
+   *
+   * @param formulas Input formulas, which may contain duplicates.
+   * @return an unmodifiable list of values, where an entry is <code>null</code> if the solver does
+   *     not provide an evaluation for the formula.
+   * @throws IllegalArgumentException if a formula has unexpected type, e.g. Array.
+   */
+  default List<@Nullable Object> evaluateAll(List<? extends Formula> formulas) {
+    List<@Nullable Object> values = new ArrayList<>(formulas.size());
+    for (Formula formula : formulas) {
+      values.add(evaluate(formula));
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  /**
+   * Type-safe evaluation for a list of integer formulas.
+   *
+   * @see #evaluateAll(List)
+   */
+  default List<@Nullable BigInteger> evaluateIntegers(List<? extends IntegerFormula> formulas) {
+    List<@Nullable BigInteger> values = new ArrayList<>(formulas.size());
+    for (IntegerFormula formula : formulas) {
+      values.add(evaluate(formula));
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  /**
+   * Type-safe evaluation for a list of bitvector formulas.
+   *
+   * @see #evaluateAll(List)
+   */
+  default List<@Nullable BigInteger> evaluateBitvectors(List<? extends BitvectorFormula> formulas) {
+    List<@Nullable BigInteger> values = new ArrayList<>(formulas.size());
+    for (BitvectorFormula formula : formulas) {
+      values.add(evaluate(formula));
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  /**
+   * Type-safe evaluation for a list of boolean formulas.
+   *
+   * @see #evaluateAll(List)
+   */
+  default List<@Nullable Boolean> evaluateBooleans(List<? extends BooleanFormula> formulas) {
+    List<@Nullable Boolean> values = new ArrayList<>(formulas.size());
+    for (BooleanFormula formula : formulas) {
+      values.add(evaluate(formula));
+    }
+    return Collections.unmodifiableList(values);
+  }
+
   /**
    * Free resources associated with this evaluator (existing {@link Formula} instances stay valid,
    * but {@link #evaluate(Formula)} etc. must not be called again).
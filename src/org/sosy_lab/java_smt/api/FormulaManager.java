@@ -11,13 +11,16 @@ package org.sosy_lab.java_smt.api;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.io.Reader;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.sosy_lab.common.Appender;
 import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
 import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
 
 /** FormulaManager class contains all operations which can be performed on formulas. */
 public interface FormulaManager {
@@ -199,6 +202,27 @@ public interface FormulaManager {
    */
   BooleanFormula parse(String s) throws IllegalArgumentException;
 
+  /**
+   * Parse an SMT-LIB2 script that is read from the given reader and return its assertions one by
+   * one.
+   *
+   * <p>In contrast to {@link #parse(String)}, the script may contain any number of assertions and
+   * is never loaded into memory as a whole. The input is tokenized while iterating, and each
+   * assertion is parsed and returned as soon as it was read, such that it can be given to a prover
+   * before the rest of the script is read. Only the declarations and definitions are kept, and each
+   * assertion is parsed together with exactly those declarations and definitions that it depends
+   * on. Thus, the memory usage is bounded by the largest command and the symbol table, and not by
+   * the size of the script.
+   *
+   * <p>The same commands as for {@link #parse(String)} are supported. The reader is not closed by
+   * the returned iterator.
+   *
+   * @return An iterator over the assertions of the script in the internal representation. Iterating
+   *     throws an {@link IllegalArgumentException} if the script cannot be parsed and an {@link
+   *     java.io.UncheckedIOException} if reading from the input fails.
+   */
+  Iterator<BooleanFormula> parseAssertions(Reader pReader);
+
   /**
    * Serialize an input formula to an SMT-LIB format. Very useful when passing formulas between
    * different solvers.
@@ -285,6 +309,16 @@ public interface FormulaManager {
    */
   <T extends Formula> T transformRecursively(T f, FormulaTransformationVisitor pFormulaVisitor);
 
+  /**
+   * Create a new session for visiting and transforming several formulas, which keeps its caches
+   * between calls. This avoids visiting or transforming subformulas again that are shared between
+   * the formulas.
+   *
+   * @param maxCacheSize maximum number of cached subformulas for each visitor in the session.
+   * @see TraversalSession
+   */
+  TraversalSession newTraversalSession(int maxCacheSize);
+
   /**
    * Extract the names of all free variables and UFs in a formula.
    *
@@ -318,9 +352,14 @@ public interface FormulaManager {
 
   /**
    * Translates the formula from another context into the context represented by {@code this}.
-   * Default implementation relies on string serialization ({@link #dumpFormula(BooleanFormula)} and
-   * {@link #parse(String)}), but each solver may implement more efficient translation between its
-   * own contexts.
+   * Default implementation rebuilds the formula with the formula managers of this context (see
+   * {@link org.sosy_lab.java_smt.utils.FormulaTranslator}) and relies on string serialization
+   * ({@link #dumpFormula(BooleanFormula)} and {@link #parse(String)}) only for formulas that can
+   * not be rebuilt. Each solver may implement more efficient translation between its own contexts.
+   *
+   * <p>For translating many formulas between the same contexts, a {@link
+   * org.sosy_lab.java_smt.utils.FormulaTranslator} can be reused, such that shared symbols and
+   * subterms are translated only once.
    *
    * @param formula Formula belonging to {@code otherContext}.
    * @param otherManager Formula manager belonging to the other context.
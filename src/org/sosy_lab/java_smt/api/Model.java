@@ -14,6 +14,8 @@ import com.google.common.collect.ImmutableList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.sosy_lab.java_smt.api.Model.ValueAssignment;
 
 /**
@@ -58,6 +60,30 @@ public interface Model extends Evaluator, Iterable<ValueAssignment>, AutoCloseab
     return asList().iterator();
   }
 
+  /**
+   * Stream over all values present in the model, see {@link #iterator()} for the included values.
+   *
+   * <p>Some solvers build the assignments lazily while the stream is consumed, such that a
+   * short-circuiting operation (e.g., {@link Stream#findFirst()}) avoids the construction of the
+   * remaining assignments. Like {@link #iterator()}, the stream must not be consumed after the
+   * model is closed.
+   */
+  default Stream<ValueAssignment> stream() {
+    return asList().stream();
+  }
+
+  /**
+   * Stream over all values in the model whose name (see {@link ValueAssignment#getName()}) matches
+   * the given filter. Solvers that build the assignments lazily check the filter on the declaration
+   * before building any assignment, e.g., the assignments of a large array are never built if the
+   * name of the array does not match.
+   *
+   * @see #stream()
+   */
+  default Stream<ValueAssignment> stream(Predicate<String> nameFilter) {
+    return stream().filter(assignment -> nameFilter.test(assignment.getName()));
+  }
+
   /**
    * Returns a list of model assignments that remains valid after the model is closed (via {@link
    * Model#close()}).
@@ -8,6 +8,7 @@
 
 package org.sosy_lab.java_smt.api;
 
+import com.google.common.collect.ImmutableList;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
@@ -44,6 +45,20 @@ public interface NumeralFormulaManager<
 
   ResultFormulaType makeNumber(Rational pRational);
 
+  /**
+   * Create numeric literals for all given values, in the same order. This is equivalent to calling
+   * {@link #makeNumber(long)} for each value, but avoids boxing the values and allows wrappers
+   * (e.g., for synchronization or statistics) to handle all literals at once.
+   */
+  default List<ResultFormulaType> makeNumbers(long... numbers) {
+    ImmutableList.Builder<ResultFormulaType> result =
+        ImmutableList.builderWithExpectedSize(numbers.length);
+    for (long number : numbers) {
+      result.add(makeNumber(number));
+    }
+    return result.build();
+  }
+
   /**
    * Creates a variable with exactly the given name.
    *
@@ -9,6 +9,7 @@
 package org.sosy_lab.java_smt.api;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.OptionalLong;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 
 /**
@@ -53,7 +54,25 @@ public interface SolverContext extends AutoCloseable {
     GENERATE_UNSAT_CORE_OVER_ASSUMPTIONS,
 
     /** Whether the solver should enable support for formulae build in SL theory. */
-    ENABLE_SEPARATION_LOGIC
+    ENABLE_SEPARATION_LOGIC,
+
+    /**
+     * Compute ALLSAT by iterating over models and generalizing each model to a smaller cube before
+     * blocking it. A literal is removed from the cube if the remaining literals still imply the
+     * asserted formulas, such that one cube can cover several assignments of the important
+     * predicates and fewer iterations are needed. The callback receives the generalized cubes. This
+     * option is only relevant together with {@link #GENERATE_ALL_SAT} and for solvers without
+     * native support for ALLSAT. Solvers that can not check the generalization block the complete
+     * model.
+     */
+    ALL_SAT_WITH_MINIMAL_BLOCKING_CLAUSES,
+
+    /**
+     * Compute ALLSAT by traversing the decision tree over all important predicates, without any
+     * model generation. This option is only relevant together with {@link #GENERATE_ALL_SAT} and
+     * for solvers without native support for ALLSAT.
+     */
+    ALL_SAT_WITH_DECISION_TREE
   }
 
   /**
@@ -117,6 +136,18 @@ public interface SolverContext extends AutoCloseable {
     return ImmutableMap.of();
   }
 
+  /**
+   * Get an estimation of the native memory (in bytes) used by the solver, i.e., memory that is not
+   * part of the Java heap and thus not visible in the memory statistics of the JVM.
+   *
+   * <p>The result is empty if the solver does not provide this information, e.g., for solvers
+   * written in Java, whose memory is part of the Java heap. Some solvers only track their memory
+   * per process, i.e., the result can include the memory of other contexts of the same solver.
+   */
+  default OptionalLong getNativeMemoryUsage() {
+    return OptionalLong.empty();
+  }
+
   /**
    * Close the solver context.
    *
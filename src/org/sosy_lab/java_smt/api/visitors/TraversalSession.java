@@ -0,0 +1,60 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.api.visitors;
+
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+
+/**
+ * A session for visiting and transforming several formulas that share large parts, created with
+ * {@link FormulaManager#newTraversalSession(int)}.
+ *
+ * <p>In contrast to {@link FormulaManager#visitRecursively} and {@link
+ * FormulaManager#transformRecursively}, the session keeps its caches between calls. Thus, a
+ * subformula that is shared between several formulas is visited or transformed only once per
+ * session. The caches are separate for each visitor instance and identify subformulas by their
+ * solver-specific term, which is cheaper than comparing formula objects. Cached formulas are kept
+ * alive until they are removed from the cache or the session is invalidated.
+ *
+ * <p>Each cache is bounded by the size given when creating the session. If a cache grows beyond
+ * this size during a call, the oldest entries are removed after the call. Removed entries are
+ * visited or transformed again when needed.
+ *
+ * <p>A session belongs to the {@link FormulaManager} that created it and, like the manager, is not
+ * thread-safe.
+ */
+public interface TraversalSession {
+
+  /**
+   * Visit the formula recursively like {@link FormulaManager#visitRecursively}, but skip all
+   * subformulas that were already visited by the same visitor in this session.
+   *
+   * <p>Subformulas that were not visited because the visitor aborted the traversal, or because of
+   * an exception, are not remembered and will be visited by later calls.
+   */
+  void visitRecursively(Formula f, FormulaVisitor<TraversalProcess> pFormulaVisitor);
+
+  /**
+   * Transform the formula recursively like {@link FormulaManager#transformRecursively}, but reuse
+   * the results from all earlier transformations with the same visitor in this session.
+   *
+   * <p>The visitor needs to be deterministic, i.e., it must not depend on state that changes
+   * between calls, or the session must be {@link #invalidate() invalidated} after such a change.
+   */
+  <T extends Formula> T transformRecursively(T f, FormulaTransformationVisitor pFormulaVisitor);
+
+  /** Drop all cached information about visited and transformed formulas of the given visitor. */
+  void invalidate(FormulaVisitor<?> pFormulaVisitor);
+
+  /** Drop all cached information about visited and transformed formulas. */
+  void invalidate();
+
+  /** Returns the number of cached subformulas over all visitors. */
+  int getCacheSize();
+}
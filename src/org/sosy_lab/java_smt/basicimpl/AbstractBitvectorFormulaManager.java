@@ -12,6 +12,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.sosy_lab.java_smt.basicimpl.AbstractFormulaManager.checkVariableName;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -261,6 +262,17 @@ public abstract class AbstractBitvectorFormulaManager<TFormulaInfo, TType, TEnv,
     return makeBitvectorImpl(pLength, BigInteger.valueOf(pI));
   }
 
+  @Override
+  public List<BitvectorFormula> makeBitvectors(int pLength, long... pValues) {
+    // each term is wrapped immediately, such that solvers with reference counting keep it alive
+    ImmutableList.Builder<BitvectorFormula> result =
+        ImmutableList.builderWithExpectedSize(pValues.length);
+    for (long value : pValues) {
+      result.add(wrap(makeBitvectorImpl(pLength, value)));
+    }
+    return result.build();
+  }
+
   @Override
   public BitvectorFormula makeBitvector(int pLength, BigInteger i) {
     return wrap(makeBitvectorImpl(pLength, i));
@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -116,6 +117,12 @@ public abstract class AbstractBooleanFormulaManager<TFormulaInfo, TType, TEnv, T
     }
   }
 
+  @Override
+  public BooleanFormula and(BooleanFormula... pBits) {
+    // a view on the array is sufficient, the operands are unwrapped lazily by and(Collection)
+    return and(Arrays.asList(pBits));
+  }
+
   /**
    * Create an n-ary conjunction. The default implementation delegates to {@link #and(Object,
    * Object)} and assumes that all simplifications are done by that method. This method can be
@@ -173,6 +180,11 @@ public abstract class AbstractBooleanFormulaManager<TFormulaInfo, TType, TEnv, T
     }
   }
 
+  @Override
+  public BooleanFormula or(BooleanFormula... pBits) {
+    return or(Arrays.asList(pBits));
+  }
+
   /**
    * Create an n-ary disjunction. The default implementation delegates to {@link #or(Object,
    * Object)} and assumes that all simplifications are done by that method. This method can be
@@ -9,7 +9,13 @@
 package org.sosy_lab.java_smt.basicimpl;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.ArrayFormula;
@@ -109,6 +115,58 @@ public abstract class AbstractEvaluator<TFormulaInfo, TType, TEnv> implements Ev
     return evaluateImpl(creator.extractInfo(f));
   }
 
+  @Override
+  public final List<@Nullable Object> evaluateAll(List<? extends Formula> pFormulas) {
+    Preconditions.checkState(!isClosed());
+    for (Formula f : pFormulas) {
+      Preconditions.checkArgument(
+          !(f instanceof ArrayFormula),
+          "cannot compute a simple constant evaluation for an array-formula");
+    }
+    return evaluateAllImpl(pFormulas);
+  }
+
+  @Override
+  public final List<@Nullable BigInteger> evaluateIntegers(
+      List<? extends IntegerFormula> pFormulas) {
+    Preconditions.checkState(!isClosed());
+    return evaluateAllImpl(pFormulas);
+  }
+
+  @Override
+  public final List<@Nullable BigInteger> evaluateBitvectors(
+      List<? extends BitvectorFormula> pFormulas) {
+    Preconditions.checkState(!isClosed());
+    return evaluateAllImpl(pFormulas);
+  }
+
+  @Override
+  public final List<@Nullable Boolean> evaluateBooleans(List<? extends BooleanFormula> pFormulas) {
+    Preconditions.checkState(!isClosed());
+    return evaluateAllImpl(pFormulas);
+  }
+
+  /**
+   * Evaluate all formulas with a single call to {@link #evalAllImpl} and convert the results into
+   * Java objects. The caller is responsible for choosing the type of the result, which is not
+   * checked here.
+   */
+  @SuppressWarnings("unchecked")
+  private <R> List<@Nullable R> evaluateAllImpl(List<? extends Formula> pFormulas) {
+    List<TFormulaInfo> terms = new ArrayList<>(pFormulas.size());
+    for (Formula f : pFormulas) {
+      terms.add(creator.extractInfo(f));
+    }
+    List<@Nullable TFormulaInfo> evaluations = evalAllImpl(terms);
+    Verify.verify(evaluations.size() == terms.size());
+    List<@Nullable R> values = new ArrayList<>(terms.size());
+    for (int i = 0; i < terms.size(); i++) {
+      TFormulaInfo evaluation = evaluations.get(i);
+      values.add(evaluation == null ? null : (R) creator.convertValue(terms.get(i), evaluation));
+    }
+    return Collections.unmodifiableList(values);
+  }
+
   /**
    * Simplify the given formula and replace all symbols with their model values. If a symbol is not
    * set in the model and evaluation aborts, return <code>null</code>.
@@ -116,6 +174,23 @@ public abstract class AbstractEvaluator<TFormulaInfo, TType, TEnv> implements Ev
   @Nullable
   protected abstract TFormulaInfo evalImpl(TFormulaInfo formula);
 
+  /**
+   * Evaluate all given formulas like {@link #evalImpl} and return the evaluations in the same
+   * order. The default implementation calls {@link #evalImpl} once for each distinct formula. This
+   * method can be overridden by solvers that can evaluate several formulas with one call.
+   */
+  protected List<@Nullable TFormulaInfo> evalAllImpl(List<TFormulaInfo> formulas) {
+    Map<TFormulaInfo, @Nullable TFormulaInfo> cache = new HashMap<>();
+    List<@Nullable TFormulaInfo> evaluations = new ArrayList<>(formulas.size());
+    for (TFormulaInfo formula : formulas) {
+      if (!cache.containsKey(formula)) {
+        cache.put(formula, evalImpl(formula));
+      }
+      evaluations.add(cache.get(formula));
+    }
+    return evaluations;
+  }
+
   /**
    * Simplify the given formula and replace all symbols with their model values. If a symbol is not
    * set in the model and evaluation aborts, return <code>null</code>. Afterward convert the formula
@@ -21,8 +21,11 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -49,6 +52,7 @@ import org.sosy_lab.java_smt.api.Tactic;
 import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
 import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
 import org.sosy_lab.java_smt.basicimpl.tactics.NNFVisitor;
 import org.sosy_lab.java_smt.utils.SolverUtils;
 
@@ -360,25 +364,41 @@ public abstract class AbstractFormulaManager<TFormulaInfo, TType, TEnv, TFuncDec
    * only occur as the last command.
    */
   private String sanitize(String formulaStr) {
-    List<String> tokens = Tokenizer.tokenize(formulaStr);
-
     StringBuilder builder = new StringBuilder();
+    try {
+      sanitize(Tokenizer.tokenize(new StringReader(formulaStr)), builder);
+    } catch (IOException e) {
+      throw new AssertionError("StringBuilder does not throw IOException", e);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Cleans up a stream of SMT-LIB2 commands and writes the result directly to the output, see
+   * {@link #sanitize(String)}.
+   */
+  private static void sanitize(Iterator<String> tokens, Appendable out) throws IOException {
     int pos = 0; // index of the current token
+    boolean exited = false;
+
+    while (tokens.hasNext()) {
+      String token = tokens.next();
+      // Only (exit) may be the last command
+      Preconditions.checkArgument(!exited);
 
-    for (String token : tokens) {
       if (Tokenizer.isSetLogicToken(token)) {
         // Skip the (set-logic ...) command at the beginning of the input
         Preconditions.checkArgument(pos == 0);
 
       } else if (Tokenizer.isExitToken(token)) {
         // Skip the (exit) command at the end of the input
-        Preconditions.checkArgument(pos == tokens.size() - 1);
+        exited = true;
 
       } else if (Tokenizer.isDeclarationToken(token)
           || Tokenizer.isDefinitionToken(token)
           || Tokenizer.isAssertToken(token)) {
         // Keep only declaration, definitions and assertion
-        builder.append(token).append('\n');
+        out.append(token).append('\n');
 
       } else if (Tokenizer.isForbiddenToken(token)) {
         // Throw an exception if the script contains commands like (pop) or (reset) that change the
@@ -386,28 +406,35 @@ public abstract class AbstractFormulaManager<TFormulaInfo, TType, TEnv, TFuncDec
         // We could keep track of the state of the stack and only consider the formulas that remain
         // on the stack at the end of the script. However, this does not seem worth it at the
         // moment. If needed, this feature can still be added later.
-        String message;
-        if (Tokenizer.isPushToken(token)) {
-          message = "(push ...)";
-        } else if (Tokenizer.isPopToken(token)) {
-          message = "(pop ...)";
-        } else if (Tokenizer.isResetAssertionsToken(token)) {
-          message = "(reset-assertions)";
-        } else if (Tokenizer.isResetToken(token)) {
-          message = "(reset)";
-        } else {
-          // Should be unreachable
-          throw new UnsupportedOperationException();
-        }
-        throw new IllegalArgumentException(
-            String.format("SMTLIB command '%s' is not supported when parsing formulas.", message));
+        throw unsupportedCommand(token);
 
       } else {
         // Remove everything else
       }
       pos++;
     }
-    return builder.toString();
+  }
+
+  /**
+   * Create the exception for a forbidden command like <code>(push ...)</code> or <code>(reset)
+   * </code>, see {@link Tokenizer#isForbiddenToken(String)}.
+   */
+  static IllegalArgumentException unsupportedCommand(String token) {
+    String message;
+    if (Tokenizer.isPushToken(token)) {
+      message = "(push ...)";
+    } else if (Tokenizer.isPopToken(token)) {
+      message = "(pop ...)";
+    } else if (Tokenizer.isResetAssertionsToken(token)) {
+      message = "(reset-assertions)";
+    } else if (Tokenizer.isResetToken(token)) {
+      message = "(reset)";
+    } else {
+      // Should be unreachable
+      throw new UnsupportedOperationException();
+    }
+    return new IllegalArgumentException(
+        String.format("SMTLIB command '%s' is not supported when parsing formulas.", message));
   }
 
   @Override
@@ -415,15 +442,34 @@ public abstract class AbstractFormulaManager<TFormulaInfo, TType, TEnv, TFuncDec
     return formulaCreator.encapsulateBoolean(parseImpl(sanitize(formulaStr)));
   }
 
+  @Override
+  public Iterator<BooleanFormula> parseAssertions(Reader pReader) {
+    return new SmtLibAssertionIterator(
+        Tokenizer.tokenize(pReader),
+        script -> formulaCreator.encapsulateBoolean(parseImpl(script)));
+  }
+
   protected abstract String dumpFormulaImpl(TFormulaInfo t) throws IOException;
 
+  /**
+   * Write the formula as SMT-LIB2 script directly to the output. The output may only contain
+   * declarations, definitions, and assertions.
+   *
+   * <p>The default implementation takes the dump from {@link #dumpFormulaImpl(Object)} and removes
+   * all other commands while writing it. Backends that can print a formula directly into an {@link
+   * Appendable} should override this method, either with a native printer or with {@link
+   * SmtLibPrinter}, to avoid creating the whole dump as string.
+   */
+  protected void dumpFormulaImpl(TFormulaInfo t, Appendable out) throws IOException {
+    sanitize(Tokenizer.tokenize(new StringReader(dumpFormulaImpl(t))), out);
+  }
+
   @Override
   public Appender dumpFormula(BooleanFormula t) {
     return new Appenders.AbstractAppender() {
       @Override
       public void appendTo(Appendable out) throws IOException {
-        String raw = dumpFormulaImpl(formulaCreator.extractInfo(t));
-        out.append(sanitize(raw));
+        dumpFormulaImpl(formulaCreator.extractInfo(t), out);
       }
     };
   }
@@ -539,6 +585,11 @@ public abstract class AbstractFormulaManager<TFormulaInfo, TType, TEnv, TFuncDec
     return formulaCreator.transformRecursively(pFormulaVisitor, f);
   }
 
+  @Override
+  public TraversalSession newTraversalSession(int maxCacheSize) {
+    return formulaCreator.newTraversalSession(maxCacheSize);
+  }
+
   /**
    * Extract names of all free variables in a formula.
    *
@@ -570,7 +621,12 @@ public abstract class AbstractFormulaManager<TFormulaInfo, TType, TEnv, TFuncDec
     if (this == otherManager) {
       return formula; // shortcut
     }
-    return parse(otherManager.dumpFormula(formula).toString());
+    try {
+      return SolverUtils.formulaTranslator(otherManager, this).translate(formula);
+    } catch (UnsupportedOperationException | IllegalArgumentException e) {
+      // the structural translation does not support all theories and symbol names, SMT-LIB2 does
+      return parse(otherManager.dumpFormula(formula).toString());
+    }
   }
 
   @Override
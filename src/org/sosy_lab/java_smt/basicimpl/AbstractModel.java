@@ -9,6 +9,12 @@
 package org.sosy_lab.java_smt.basicimpl;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.sosy_lab.java_smt.api.Model;
 
 @SuppressWarnings("ClassTypeParameterName")
@@ -20,6 +26,33 @@ public abstract class AbstractModel<TFormulaInfo, TType, TEnv>
     super(prover, creator);
   }
 
+  @Override
+  public Iterator<ValueAssignment> iterator() {
+    Preconditions.checkState(!isClosed());
+    return assignmentIterator(name -> true);
+  }
+
+  @Override
+  public Stream<ValueAssignment> stream() {
+    return stream(name -> true);
+  }
+
+  @Override
+  public Stream<ValueAssignment> stream(Predicate<String> pNameFilter) {
+    Preconditions.checkState(!isClosed());
+    return Streams.stream(assignmentIterator(pNameFilter));
+  }
+
+  /**
+   * Iterate over all model assignments whose name matches the given filter. The default
+   * implementation filters the result of {@link #asList()}. Solvers should override this method to
+   * build the assignments on demand and to check the filter before building an assignment.
+   */
+  protected Iterator<ValueAssignment> assignmentIterator(Predicate<String> pNameFilter) {
+    return Iterators.filter(
+        asList().iterator(), assignment -> pNameFilter.test(assignment.getName()));
+  }
+
   @Override
   public String toString() {
     return Joiner.on('\n').join(iterator());
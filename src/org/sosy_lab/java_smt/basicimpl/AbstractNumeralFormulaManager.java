@@ -17,7 +17,6 @@ import com.google.common.collect.Lists;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Formula;
@@ -96,6 +95,17 @@ public abstract class AbstractNumeralFormulaManager<
 
   protected abstract TFormulaInfo makeNumberImpl(long i);
 
+  @Override
+  public List<ResultFormulaType> makeNumbers(long... pNumbers) {
+    // each term is wrapped immediately, such that solvers with reference counting keep it alive
+    ImmutableList.Builder<ResultFormulaType> result =
+        ImmutableList.builderWithExpectedSize(pNumbers.length);
+    for (long number : pNumbers) {
+      result.add(wrap(makeNumberImpl(number)));
+    }
+    return result.build();
+  }
+
   @Override
   public ResultFormulaType makeNumber(BigInteger i) {
     return wrap(makeNumberImpl(i));
@@ -198,12 +208,8 @@ public abstract class AbstractNumeralFormulaManager<
 
   @Override
   public ResultFormulaType sum(List<ParamFormulaType> operands) {
-    return wrap(
-        sumImpl(
-            operands.stream()
-                .map(this::extractInfo)
-                .map(this::toType)
-                .collect(Collectors.toList())));
+    // a view on the operands avoids an intermediate copy, sumImpl iterates over it only once
+    return wrap(sumImpl(Lists.transform(operands, operand -> toType(extractInfo(operand)))));
   }
 
   protected TFormulaInfo sumImpl(List<TFormulaInfo> operands) {
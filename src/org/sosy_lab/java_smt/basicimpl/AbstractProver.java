@@ -19,6 +19,9 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -165,6 +168,39 @@ public abstract class AbstractProver<T> implements BasicProverEnvironment<T> {
   protected abstract @Nullable T addConstraintImpl(BooleanFormula constraint)
       throws InterruptedException;
 
+  @Override
+  @CanIgnoreReturnValue
+  public final List<@Nullable T> addConstraints(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    checkState(!closed);
+    if (constraints.isEmpty()) {
+      return ImmutableList.of();
+    }
+    List<@Nullable T> ids = addConstraintsImpl(constraints);
+    checkState(ids.size() == constraints.size());
+    setChanged();
+    Multimap<BooleanFormula, T> level = Iterables.getLast(assertedFormulas);
+    Iterator<@Nullable T> idIterator = ids.iterator();
+    for (BooleanFormula constraint : constraints) {
+      level.put(constraint, idIterator.next());
+    }
+    return Collections.unmodifiableList(ids);
+  }
+
+  /**
+   * Assert several constraints at once and return their identifiers in the given order. Solvers
+   * that can assert a batch of constraints more efficiently should override this method, the
+   * default implementation asserts each constraint with {@link #addConstraintImpl}.
+   */
+  protected List<@Nullable T> addConstraintsImpl(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    List<@Nullable T> ids = new ArrayList<>(constraints.size());
+    for (BooleanFormula constraint : constraints) {
+      ids.add(addConstraintImpl(constraint));
+    }
+    return ids;
+  }
+
   /** Check whether the conjunction of all formulas on the stack is unsatisfiable. */
   @Override
   public final boolean isUnsat() throws SolverException, InterruptedException {
@@ -11,11 +11,16 @@ package org.sosy_lab.java_smt.basicimpl;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.Evaluator;
@@ -26,11 +31,23 @@ import org.sosy_lab.java_smt.api.SolverException;
  * This class is a utility-class to avoid repeated implementation of the AllSAT computation.
  *
  * <p>If a solver does not support direct AllSAT computation, please inherit from this class.
+ *
+ * <p>The algorithm can be chosen per prover with the options {@link
+ * ProverOptions#ALL_SAT_WITH_MINIMAL_BLOCKING_CLAUSES} and {@link
+ * ProverOptions#ALL_SAT_WITH_DECISION_TREE}. By default, we iterate over all models and fall back
+ * to the decision tree if model generation fails.
  */
 public abstract class AbstractProverWithAllSat<T> extends AbstractProver<T> {
 
+  private enum AllSatAlgorithm {
+    MODELS,
+    MODELS_WITH_MINIMAL_BLOCKING_CLAUSES,
+    DECISION_TREE
+  }
+
   protected final ShutdownNotifier shutdownNotifier;
   private final BooleanFormulaManager bmgr;
+  private final AllSatAlgorithm allSatAlgorithm;
 
   protected AbstractProverWithAllSat(
       Set<ProverOptions> pOptions,
@@ -39,6 +56,25 @@ public abstract class AbstractProverWithAllSat<T> extends AbstractProver<T> {
     super(pOptions);
     bmgr = pBmgr;
     shutdownNotifier = pShutdownNotifier;
+    allSatAlgorithm = getAllSatAlgorithm(pOptions);
+  }
+
+  private static AllSatAlgorithm getAllSatAlgorithm(Set<ProverOptions> pOptions) {
+    boolean minimalBlockingClauses =
+        pOptions.contains(ProverOptions.ALL_SAT_WITH_MINIMAL_BLOCKING_CLAUSES);
+    boolean decisionTree = pOptions.contains(ProverOptions.ALL_SAT_WITH_DECISION_TREE);
+    Preconditions.checkArgument(
+        !(minimalBlockingClauses && decisionTree),
+        "The options %s and %s can not be combined.",
+        ProverOptions.ALL_SAT_WITH_MINIMAL_BLOCKING_CLAUSES,
+        ProverOptions.ALL_SAT_WITH_DECISION_TREE);
+    if (minimalBlockingClauses) {
+      return AllSatAlgorithm.MODELS_WITH_MINIMAL_BLOCKING_CLAUSES;
+    } else if (decisionTree) {
+      return AllSatAlgorithm.DECISION_TREE;
+    } else {
+      return AllSatAlgorithm.MODELS;
+    }
   }
 
   @Override
@@ -46,14 +82,29 @@ public abstract class AbstractProverWithAllSat<T> extends AbstractProver<T> {
       throws InterruptedException, SolverException {
     checkGenerateAllSat();
 
+    // the asserted formulas are needed for generalizing models, so collect them before pushing.
+    final BooleanFormula assertedFormula =
+        allSatAlgorithm == AllSatAlgorithm.MODELS_WITH_MINIMAL_BLOCKING_CLAUSES
+            ? bmgr.and(getAssertedFormulas())
+            : bmgr.makeTrue();
+
     push();
-    try {
-      // try model-based computation of ALLSAT
-      iterateOverAllModels(callback, importantPredicates);
-    } catch (SolverException e) {
-      // fallback to direct SAT/UNSAT-based computation of ALLSAT
+    if (allSatAlgorithm == AllSatAlgorithm.DECISION_TREE) {
       iterateOverAllPredicateCombinations(callback, importantPredicates, new ArrayDeque<>());
-      // TODO should we completely switch to the second method?
+    } else {
+      try {
+        // try model-based computation of ALLSAT
+        if (allSatAlgorithm == AllSatAlgorithm.MODELS_WITH_MINIMAL_BLOCKING_CLAUSES) {
+          iterateOverAllModelsWithMinimalBlockingClauses(
+              callback, importantPredicates, assertedFormula);
+        } else {
+          iterateOverAllModels(callback, importantPredicates);
+        }
+      } catch (SolverException e) {
+        // fallback to direct SAT/UNSAT-based computation of ALLSAT
+        iterateOverAllPredicateCombinations(callback, importantPredicates, new ArrayDeque<>());
+        // TODO should we completely switch to the second method?
+      }
     }
 
     pop();
@@ -102,6 +153,116 @@ public abstract class AbstractProverWithAllSat<T> extends AbstractProver<T> {
     }
   }
 
+  /**
+   * This method computes all satisfiable assignments for the given predicates by iterating over all
+   * models, like {@link #iterateOverAllModels}, but generalizes each model to a smaller cube.
+   *
+   * <p>A literal is removed from the cube if the remaining literals still imply the asserted
+   * formulas, i.e., if the remaining literals are unsatisfiable together with the negation of the
+   * asserted formulas. This is checked with assumptions on a separate prover from {@link
+   * #newGeneralizationProver()}. Each cube covers all assignments of the predicates that extend it,
+   * such that the loop needs fewer iterations than there are satisfying assignments. If the solver
+   * does not provide such a prover, we block the complete model.
+   *
+   * <p>For detecting repeated models, each assignment is encoded as bitset with two bits per
+   * predicate: one whether the predicate has a value, and one for the value itself.
+   *
+   * @param assertedFormula the conjunction of all formulas asserted before the ALLSAT query.
+   */
+  private <R> void iterateOverAllModelsWithMinimalBlockingClauses(
+      AllSatCallback<R> callback,
+      List<BooleanFormula> importantPredicates,
+      BooleanFormula assertedFormula)
+      throws SolverException, InterruptedException {
+    try (BasicProverEnvironment<?> generalizer = newGeneralizationProver()) {
+      if (generalizer == null) {
+        iterateOverAllModels(callback, importantPredicates);
+        return;
+      }
+      generalizer.addConstraint(bmgr.not(assertedFormula));
+
+      final Set<BitSet> modelEvaluations = new HashSet<>();
+      boolean assumptionsSupported = true;
+      while (!isUnsat()) {
+        shutdownNotifier.shutdownIfNecessary();
+
+        final BitSet encoding = new BitSet(2 * importantPredicates.size());
+        final List<BooleanFormula> literals = new ArrayList<>();
+        try (Evaluator evaluator = getEvaluatorWithoutChecks()) {
+          for (int i = 0; i < importantPredicates.size(); i++) {
+            BooleanFormula formula = importantPredicates.get(i);
+            Boolean value = evaluator.evaluate(formula);
+            if (value == null) {
+              // The value doesn't matter. We ignore this assignment.
+              continue;
+            }
+            encoding.set(2 * i);
+            if (value) {
+              encoding.set(2 * i + 1);
+              literals.add(formula);
+            } else {
+              literals.add(bmgr.not(formula));
+            }
+          }
+        }
+
+        // avoid endless loops in case of repeated models.
+        Preconditions.checkState(
+            modelEvaluations.add(encoding),
+            "The model evaluation %s was found before. ALLSAT computation did not make progress.",
+            literals);
+
+        if (assumptionsSupported) {
+          try {
+            generalize(literals, generalizer);
+          } catch (UnsupportedOperationException e) {
+            // the solver does not support assumptions, we block the complete model.
+            assumptionsSupported = false;
+          }
+        }
+
+        final ImmutableList<BooleanFormula> cube = ImmutableList.copyOf(literals);
+        callback.apply(cube);
+        shutdownNotifier.shutdownIfNecessary();
+
+        BooleanFormula negatedCube = bmgr.not(bmgr.and(cube));
+        addConstraint(negatedCube);
+        shutdownNotifier.shutdownIfNecessary();
+      }
+    }
+  }
+
+  /**
+   * Remove literals from the given cube as long as the remaining literals still imply the asserted
+   * formulas. The list is modified in place.
+   *
+   * @param literals the literals of the current model.
+   * @param generalizer a prover that contains the negation of the asserted formulas.
+   */
+  private void generalize(List<BooleanFormula> literals, BasicProverEnvironment<?> generalizer)
+      throws SolverException, InterruptedException {
+    for (int i = literals.size() - 1; i >= 0; i--) {
+      shutdownNotifier.shutdownIfNecessary();
+      BooleanFormula literal = literals.remove(i);
+      if (!generalizer.isUnsatWithAssumptions(literals)) {
+        // the remaining literals do not imply the asserted formulas
+        literals.add(i, literal);
+      }
+    }
+  }
+
+  /**
+   * Create a new prover in the same context as this prover and without any assertions. It is used
+   * to generalize models for {@link ProverOptions#ALL_SAT_WITH_MINIMAL_BLOCKING_CLAUSES} and must
+   * support {@link BasicProverEnvironment#isUnsatWithAssumptions}.
+   *
+   * @return a new prover, or {@code null} if the solver does not support this, in which case
+   *     complete models are blocked.
+   */
+  protected @Nullable BasicProverEnvironment<?> newGeneralizationProver() {
+    return null;
+  }
+
   /**
    * This method computes all satisfiable assignments for the given predicates by (recursively)
    * traversing the decision tree over the given variables. The ordering of variables is fixed, and
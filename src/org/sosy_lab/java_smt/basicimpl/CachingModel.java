@@ -8,9 +8,20 @@
 
 package org.sosy_lab.java_smt.basicimpl;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.BitvectorFormula;
@@ -24,26 +35,76 @@ import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.RationalFormula;
 import org.sosy_lab.java_smt.api.StringFormula;
 
+/**
+ * A model that caches the results of expensive queries to its delegate: the list of model
+ * assignments and the evaluation of formulas. A model never changes after its creation, so cached
+ * values stay valid until the model is closed. The evaluation cache is keyed by formula, i.e., by
+ * the native term of the solver, such that repeated evaluations of the same term (also from
+ * different {@link Formula} instances) only query the solver once.
+ *
+ * <p>Optionally, the model assignments can be restricted to symbols with matching names, e.g., for
+ * a model that is projected onto a set of relevant formulas. The restriction is applied while
+ * iterating over the delegate, such that assignments of other symbols are never built. The
+ * evaluation of formulas is not restricted.
+ */
 public class CachingModel implements Model {
 
   private final Model delegate;
 
   private @Nullable ImmutableList<ValueAssignment> modelAssignments = null;
 
+  /** Values of evaluated formulas, the empty Optional represents an unknown value. */
+  private final Map<Formula, Optional<Object>> evaluations = new HashMap<>();
+
+  /** Restriction of the model assignments, or null if all assignments are included. */
+  private final @Nullable Predicate<String> assignmentFilter;
+
   public CachingModel(Model pDelegate) {
     delegate = Preconditions.checkNotNull(pDelegate);
+    assignmentFilter = null;
+  }
+
+  /**
+   * Create a model that only contains the assignments of symbols whose name matches the given
+   * filter.
+   */
+  public CachingModel(Model pDelegate, Predicate<String> pAssignmentFilter) {
+    delegate = Preconditions.checkNotNull(pDelegate);
+    assignmentFilter = Preconditions.checkNotNull(pAssignmentFilter);
   }
 
   @Override
   public ImmutableList<ValueAssignment> asList() {
     if (modelAssignments == null) {
-      modelAssignments = delegate.asList();
+      modelAssignments =
+          assignmentFilter == null
+              ? delegate.asList()
+              : delegate.stream(assignmentFilter).collect(ImmutableList.toImmutableList());
     }
     return modelAssignments;
   }
 
+  @Override
+  public Stream<ValueAssignment> stream() {
+    // a lazy stream of the delegate avoids building all assignments, if not yet cached
+    if (modelAssignments != null) {
+      return modelAssignments.stream();
+    }
+    return assignmentFilter == null ? delegate.stream() : delegate.stream(assignmentFilter);
+  }
+
+  @Override
+  public Stream<ValueAssignment> stream(Predicate<String> nameFilter) {
+    if (modelAssignments != null) {
+      return modelAssignments.stream().filter(assignment -> nameFilter.test(assignment.getName()));
+    }
+    return delegate.stream(
+        assignmentFilter == null ? nameFilter : assignmentFilter.and(nameFilter));
+  }
+
   @Override
   public void close() {
+    evaluations.clear();
     delegate.close();
   }
 
@@ -54,46 +115,103 @@ public class CachingModel implements Model {
 
   @Override
   public @Nullable Object evaluate(Formula formula) {
-    return delegate.evaluate(formula);
+    Optional<Object> value = evaluations.get(formula);
+    if (value == null) {
+      value = Optional.ofNullable(delegate.evaluate(formula));
+      evaluations.put(formula, value);
+    }
+    return value.orElse(null);
   }
 
   @Override
   public @Nullable BigInteger evaluate(IntegerFormula formula) {
-    return delegate.evaluate(formula);
+    return (BigInteger) evaluate((Formula) formula);
   }
 
   @Override
   public @Nullable Rational evaluate(RationalFormula formula) {
-    return delegate.evaluate(formula);
+    Object value = evaluate((Formula) formula);
+    if (value instanceof BigInteger) {
+      // the model simplified the value, so we convert it back to Rational like AbstractEvaluator
+      return Rational.ofBigInteger((BigInteger) value);
+    } else {
+      return (Rational) value;
+    }
   }
 
   @Override
   public @Nullable Boolean evaluate(BooleanFormula formula) {
-    return delegate.evaluate(formula);
+    return (Boolean) evaluate((Formula) formula);
   }
 
   @Override
   public @Nullable BigInteger evaluate(BitvectorFormula formula) {
-    return delegate.evaluate(formula);
+    return (BigInteger) evaluate((Formula) formula);
   }
 
   @Override
   public @Nullable String evaluate(StringFormula formula) {
-    return delegate.evaluate(formula);
+    return (String) evaluate((Formula) formula);
   }
 
   @Override
   public @Nullable String evaluate(EnumerationFormula formula) {
-    return delegate.evaluate(formula);
+    return (String) evaluate((Formula) formula);
   }
 
   @Override
   public @Nullable FloatingPointNumber evaluate(FloatingPointFormula formula) {
-    return delegate.evaluate(formula);
+    return (FloatingPointNumber) evaluate((Formula) formula);
+  }
+
+  @Override
+  public List<@Nullable Object> evaluateAll(List<? extends Formula> formulas) {
+    return evaluateAllCached(formulas);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateIntegers(List<? extends IntegerFormula> formulas) {
+    return evaluateAllCached(formulas);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateBitvectors(List<? extends BitvectorFormula> formulas) {
+    return evaluateAllCached(formulas);
+  }
+
+  @Override
+  public List<@Nullable Boolean> evaluateBooleans(List<? extends BooleanFormula> formulas) {
+    return evaluateAllCached(formulas);
+  }
+
+  /**
+   * Evaluate all formulas that are not yet cached with a single call to the delegate, and then
+   * answer the whole query from the cache. The caller chooses the type of the result.
+   */
+  @SuppressWarnings("unchecked")
+  private <R> List<@Nullable R> evaluateAllCached(List<? extends Formula> formulas) {
+    Set<Formula> missing = new LinkedHashSet<>();
+    for (Formula formula : formulas) {
+      if (!evaluations.containsKey(formula)) {
+        missing.add(formula);
+      }
+    }
+    if (!missing.isEmpty()) {
+      List<Formula> toEvaluate = ImmutableList.copyOf(missing);
+      List<@Nullable Object> values = delegate.evaluateAll(toEvaluate);
+      for (int i = 0; i < toEvaluate.size(); i++) {
+        evaluations.put(toEvaluate.get(i), Optional.ofNullable(values.get(i)));
+      }
+    }
+    List<@Nullable R> result = new ArrayList<>(formulas.size());
+    for (Formula formula : formulas) {
+      result.add((R) evaluations.get(formula).orElse(null));
+    }
+    return Collections.unmodifiableList(result);
   }
 
   @Override
   public String toString() {
-    return delegate.toString();
+    return assignmentFilter == null ? delegate.toString() : Joiner.on('\n').join(asList());
   }
 }
@@ -19,12 +19,15 @@ import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -47,8 +50,10 @@ import org.sosy_lab.java_smt.api.QuantifiedFormulaManager.Quantifier;
 import org.sosy_lab.java_smt.api.RegexFormula;
 import org.sosy_lab.java_smt.api.StringFormula;
 import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
 import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
 import org.sosy_lab.java_smt.basicimpl.AbstractFormula.ArrayFormulaImpl;
 import org.sosy_lab.java_smt.basicimpl.AbstractFormula.BitvectorFormulaImpl;
 import org.sosy_lab.java_smt.basicimpl.AbstractFormula.BooleanFormulaImpl;
@@ -340,16 +345,35 @@ public abstract class FormulaCreator<TFormulaInfo, TType, TEnv, TFuncDecl> {
       FormulaVisitor<TraversalProcess> pFormulaVisitor,
       Formula pF,
       Predicate<Formula> shouldProcess) {
-    RecursiveFormulaVisitorImpl recVisitor = new RecursiveFormulaVisitorImpl(pFormulaVisitor);
+    visitRecursively(pFormulaVisitor, pF, shouldProcess, new HashMap<>(), f -> f);
+  }
+
+  /**
+   * Visit the formula recursively, but skip all formulas whose key is already contained in the
+   * given map. The map is updated with all visited formulas, such that it can be reused.
+   */
+  void visitRecursively(
+      FormulaVisitor<TraversalProcess> pFormulaVisitor,
+      Formula pF,
+      Predicate<Formula> shouldProcess,
+      Map<Object, Formula> pSeen,
+      Function<Formula, ?> pKey) {
+    RecursiveFormulaVisitorImpl recVisitor =
+        new RecursiveFormulaVisitorImpl(pFormulaVisitor, pSeen, pKey);
     recVisitor.addToQueue(pF);
-    while (!recVisitor.isQueueEmpty()) {
-      Formula tt = recVisitor.pop();
-      if (shouldProcess.test(tt)) {
-        TraversalProcess process = visit(tt, recVisitor);
-        if (process == TraversalProcess.ABORT) {
-          return;
+    try {
+      while (!recVisitor.isQueueEmpty()) {
+        Formula tt = recVisitor.pop();
+        if (shouldProcess.test(tt)) {
+          TraversalProcess process = visit(tt, recVisitor);
+          if (process == TraversalProcess.ABORT) {
+            return;
+          }
         }
       }
+    } finally {
+      // formulas that were not visited due to ABORT or an exception should not be marked as seen
+      recVisitor.clearQueue();
     }
   }
 
@@ -360,18 +384,35 @@ public abstract class FormulaCreator<TFormulaInfo, TType, TEnv, TFuncDecl> {
 
   public <T extends Formula> T transformRecursively(
       FormulaVisitor<? extends Formula> pFormulaVisitor, T pF, Predicate<Object> shouldProcess) {
+    return transformRecursively(pFormulaVisitor, pF, shouldProcess, new HashMap<>(), null, f -> f);
+  }
+
+  /**
+   * Transform the formula recursively, and reuse the results from the given cache, where formulas
+   * are identified by the given key. The cache is updated with all transformed formulas, such that
+   * it can be reused.
+   *
+   * @param pSources is updated with all transformed formulas, such that their keys stay valid, or
+   *     null if formulas are their own keys.
+   */
+  <T extends Formula> T transformRecursively(
+      FormulaVisitor<? extends Formula> pFormulaVisitor,
+      T pF,
+      Predicate<Object> shouldProcess,
+      Map<Object, Formula> pCache,
+      @Nullable Map<Object, Formula> pSources,
+      Function<Formula, ?> pKey) {
 
     final Deque<Formula> toProcess = new ArrayDeque<>();
-    Map<Formula, Formula> pCache = new HashMap<>();
     FormulaTransformationVisitorImpl recVisitor =
-        new FormulaTransformationVisitorImpl(pFormulaVisitor, toProcess, pCache);
+        new FormulaTransformationVisitorImpl(pFormulaVisitor, toProcess, pCache, pSources, pKey);
     toProcess.push(pF);
 
     // Process the work queue
     while (!toProcess.isEmpty()) {
       Formula tt = toProcess.peek();
 
-      if (pCache.containsKey(tt)) {
+      if (recVisitor.getTransformed(tt) != null) {
         toProcess.pop();
         continue;
       }
@@ -379,14 +420,19 @@ public abstract class FormulaCreator<TFormulaInfo, TType, TEnv, TFuncDecl> {
       if (shouldProcess.test(tt)) {
         visit(tt, recVisitor);
       } else {
-        pCache.put(tt, tt);
+        recVisitor.putTransformed(tt, tt);
       }
     }
     @SuppressWarnings("unchecked")
-    T out = (T) pCache.get(pF);
+    T out = (T) recVisitor.getTransformed(pF);
     return out;
   }
 
+  /** Create a new session for visiting and transforming formulas with reusable caches. */
+  public TraversalSession newTraversalSession(int maxCacheSize) {
+    return new TraversalSessionImpl(maxCacheSize);
+  }
+
   /**
    * Wrapper for {@link #extractVariablesAndUFs(Formula, boolean, BiConsumer)} which unwraps both
    * input and output.
@@ -423,6 +469,15 @@ public abstract class FormulaCreator<TFormulaInfo, TType, TEnv, TFuncDecl> {
         pFormula);
   }
 
+  /** Collect the names of all free variables and UFs that occur in the given formulas. */
+  public ImmutableSet<String> extractVariableAndUFNames(Collection<? extends Formula> pFormulas) {
+    ImmutableSet.Builder<String> names = ImmutableSet.builder();
+    for (Formula formula : pFormulas) {
+      extractVariablesAndUFs(formula, true, (name, f) -> names.add(name));
+    }
+    return names.build();
+  }
+
   private class VariableAndUFExtractor extends DefaultFormulaVisitor<TraversalProcess> {
 
     private final boolean extractUF;
@@ -590,4 +645,101 @@ public abstract class FormulaCreator<TFormulaInfo, TType, TEnv, TFuncDecl> {
     }
     return s;
   }
+
+  /**
+   * Implementation of {@link TraversalSession} based on {@link FormulaCreator}. Formulas are
+   * identified by their solver-specific term, i.e., by {@link #extractInfo(Formula)}, which avoids
+   * comparing formula objects.
+   *
+   * <p>The caches also contain the formula objects of all cached terms. Thus, the terms stay alive
+   * for the whole session. Otherwise, a solver could free the term of a collected formula and reuse
+   * it for a different term, which would then be confused with the cached one.
+   */
+  private final class TraversalSessionImpl implements TraversalSession {
+
+    private final int maxCacheSize;
+
+    /** All visited formulas for each visitor, indexed by their term, in order of insertion. */
+    private final Map<FormulaVisitor<?>, Map<Object, Formula>> visited = new IdentityHashMap<>();
+
+    /** Results of all transformed formulas for each visitor, in order of insertion. */
+    private final Map<FormulaVisitor<?>, Map<Object, Formula>> transformed =
+        new IdentityHashMap<>();
+
+    /** All transformed formulas for each visitor, indexed by their term. */
+    private final Map<FormulaVisitor<?>, Map<Object, Formula>> transformedSources =
+        new IdentityHashMap<>();
+
+    private TraversalSessionImpl(int pMaxCacheSize) {
+      checkArgument(pMaxCacheSize > 0, "cache size must be positive");
+      maxCacheSize = pMaxCacheSize;
+    }
+
+    @Override
+    public void visitRecursively(Formula f, FormulaVisitor<TraversalProcess> pFormulaVisitor) {
+      Map<Object, Formula> seen =
+          visited.computeIfAbsent(pFormulaVisitor, v -> new LinkedHashMap<>());
+      try {
+        FormulaCreator.this.visitRecursively(
+            pFormulaVisitor, f, t -> true, seen, FormulaCreator.this::extractInfo);
+      } catch (RuntimeException | Error e) {
+        // the visitation of the current formula might not be finished, so we do not trust the cache
+        visited.remove(pFormulaVisitor);
+        throw e;
+      }
+      shrink(seen, null);
+    }
+
+    @Override
+    public <T extends Formula> T transformRecursively(
+        T f, FormulaTransformationVisitor pFormulaVisitor) {
+      Map<Object, Formula> cache =
+          transformed.computeIfAbsent(pFormulaVisitor, v -> new LinkedHashMap<>());
+      Map<Object, Formula> sources =
+          transformedSources.computeIfAbsent(pFormulaVisitor, v -> new HashMap<>());
+      T result =
+          FormulaCreator.this.transformRecursively(
+              pFormulaVisitor, f, t -> true, cache, sources, FormulaCreator.this::extractInfo);
+      shrink(cache, sources);
+      return result;
+    }
+
+    /** Remove the oldest entries until the cache is small enough. */
+    private void shrink(Map<Object, Formula> cache, @Nullable Map<Object, Formula> sources) {
+      Iterator<Object> oldestFirst = cache.keySet().iterator();
+      for (int i = cache.size(); i > maxCacheSize; i--) {
+        Object term = oldestFirst.next();
+        oldestFirst.remove();
+        if (sources != null) {
+          sources.remove(term);
+        }
+      }
+    }
+
+    @Override
+    public void invalidate(FormulaVisitor<?> pFormulaVisitor) {
+      visited.remove(pFormulaVisitor);
+      transformed.remove(pFormulaVisitor);
+      transformedSources.remove(pFormulaVisitor);
+    }
+
+    @Override
+    public void invalidate() {
+      visited.clear();
+      transformed.clear();
+      transformedSources.clear();
+    }
+
+    @Override
+    public int getCacheSize() {
+      int size = 0;
+      for (Map<Object, Formula> seen : visited.values()) {
+        size += seen.size();
+      }
+      for (Map<Object, Formula> cache : transformed.values()) {
+        size += cache.size();
+      }
+      return size;
+    }
+  }
 }
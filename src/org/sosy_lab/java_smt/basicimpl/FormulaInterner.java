@@ -0,0 +1,151 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.basicimpl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.api.Formula;
+
+/**
+ * Interning table for formula wrappers, keyed by the native pointer (or term id) of the wrapped
+ * term. Solvers with native terms can use it in their {@link FormulaCreator} to return the same
+ * Java object for each occurrence of the same native term, instead of allocating a new wrapper on
+ * each call.
+ *
+ * <p>The wrappers are only weakly referenced, such that interning does not keep any formula alive.
+ * Keys are stored as primitive longs in a chained hash table, thus a lookup does not allocate. This
+ * class is not thread-safe, like the {@link FormulaCreator} using it.
+ *
+ * @param <T> the common type of all wrappers of a solver.
+ */
+public final class FormulaInterner<T extends Formula> {
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+  private Entry<T>[] table = newTable(INITIAL_CAPACITY);
+  private int size = 0;
+
+  private static final class Entry<T> extends WeakReference<T> {
+    private final long key;
+    private @Nullable Entry<T> next;
+
+    private Entry(long pKey, T pValue, ReferenceQueue<? super T> pQueue, @Nullable Entry<T> pNext) {
+      super(pValue, pQueue);
+      key = pKey;
+      next = pNext;
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <T> Entry<T>[] newTable(int capacity) {
+    return new Entry[capacity];
+  }
+
+  private static int indexFor(long key, int length) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & (length - 1);
+  }
+
+  /**
+   * Return the interned wrapper for the given key, or <code>null</code> if there is none, if it was
+   * already garbage collected, or if it is not exactly of the given class. The last case happens if
+   * a solver wraps the same native term with different formula types, e.g., an integer term as
+   * rational formula.
+   */
+  public <F extends T> @Nullable F get(long key, Class<F> pClass) {
+    checkNotNull(pClass);
+    expungeStaleEntries();
+    for (Entry<T> e = table[indexFor(key, table.length)]; e != null; e = e.next) {
+      if (e.key == key) {
+        T value = e.get();
+        return value != null && value.getClass() == pClass ? pClass.cast(value) : null;
+      }
+    }
+    return null;
+  }
+
+  /** Intern the given wrapper for the given key, replacing any previously interned wrapper. */
+  public void put(long key, T value) {
+    checkNotNull(value);
+    expungeStaleEntries();
+    int index = indexFor(key, table.length);
+    Entry<T> prev = null;
+    for (Entry<T> e = table[index]; e != null; prev = e, e = e.next) {
+      if (e.key == key) {
+        // WeakReferences can not be updated, thus replace the entry
+        Entry<T> replacement = new Entry<>(key, value, queue, e.next);
+        if (prev == null) {
+          table[index] = replacement;
+        } else {
+          prev.next = replacement;
+        }
+        e.clear();
+        return;
+      }
+    }
+    table[index] = new Entry<>(key, value, queue, table[index]);
+    if (++size > table.length - (table.length >>> 2)) {
+      resize();
+    }
+  }
+
+  /** Returns the number of entries, including entries whose wrapper was collected recently. */
+  public int size() {
+    expungeStaleEntries();
+    return size;
+  }
+
+  /** Remove all entries. The wrappers themselves stay valid. */
+  public void clear() {
+    while (queue.poll() != null) {
+      // drop references that are already enqueued
+    }
+    table = newTable(INITIAL_CAPACITY);
+    size = 0;
+  }
+
+  private void resize() {
+    Entry<T>[] newTable = newTable(table.length * 2);
+    for (Entry<T> head : table) {
+      Entry<T> e = head;
+      while (e != null) {
+        Entry<T> next = e.next;
+        int index = indexFor(e.key, newTable.length);
+        e.next = newTable[index];
+        newTable[index] = e;
+        e = next;
+      }
+    }
+    table = newTable;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void expungeStaleEntries() {
+    Entry<T> stale;
+    while ((stale = (Entry<T>) queue.poll()) != null) {
+      int index = indexFor(stale.key, table.length);
+      Entry<T> prev = null;
+      for (Entry<T> e = table[index]; e != null; prev = e, e = e.next) {
+        if (e == stale) {
+          if (prev == null) {
+            table[index] = e.next;
+          } else {
+            prev.next = e.next;
+          }
+          size--;
+          break;
+        }
+      }
+    }
+  }
+}
@@ -9,10 +9,13 @@
 package org.sosy_lab.java_smt.basicimpl;
 
 import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.FunctionDeclaration;
@@ -23,28 +26,57 @@ import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 final class FormulaTransformationVisitorImpl implements FormulaVisitor<Void> {
 
   private final Deque<Formula> toProcess;
-  private final Map<Formula, Formula> pCache;
+  private final Map<Object, Formula> pCache;
+  private final @Nullable Map<Object, Formula> pSources;
+  private final Function<Formula, ?> key;
   private final FormulaVisitor<? extends Formula> delegate;
 
+  /**
+   * Create a transformation with the given cache.
+   *
+   * @param pCache results of transformed formulas, identified by their key.
+   * @param pSources the transformed formulas, identified by their key. The map keeps the formulas
+   *     alive, such that their keys stay valid. It can be null if formulas are their own keys.
+   * @param pKey identifies formulas, e.g., by their solver-specific term.
+   */
   FormulaTransformationVisitorImpl(
       FormulaVisitor<? extends Formula> delegate,
       Deque<Formula> toProcess,
-      Map<Formula, Formula> pCache) {
+      Map<Object, Formula> pCache,
+      @Nullable Map<Object, Formula> pSources,
+      Function<Formula, ?> pKey) {
     this.toProcess = Preconditions.checkNotNull(toProcess);
     this.pCache = Preconditions.checkNotNull(pCache);
+    this.pSources = pSources;
+    this.key = Preconditions.checkNotNull(pKey);
     this.delegate = Preconditions.checkNotNull(delegate);
   }
 
+  /** Returns the result of the formula, or null if it was not yet transformed. */
+  @Nullable Formula getTransformed(Formula f) {
+    return pCache.get(key.apply(f));
+  }
+
+  /** Store the result of the formula. Returns the previous result, or null. */
+  @CanIgnoreReturnValue
+  @Nullable Formula putTransformed(Formula f, Formula result) {
+    Object k = key.apply(f);
+    if (pSources != null) {
+      pSources.put(k, f);
+    }
+    return pCache.put(k, result);
+  }
+
   @Override
   public Void visitFreeVariable(Formula f, String name) {
-    pCache.put(f, delegate.visitFreeVariable(f, name));
+    putTransformed(f, delegate.visitFreeVariable(f, name));
     return null;
   }
 
   @Override
   public Void visitConstant(Formula f, Object value) {
     Preconditions.checkNotNull(f);
-    pCache.put(f, delegate.visitConstant(f, value));
+    putTransformed(f, delegate.visitConstant(f, value));
     return null;
   }
 
@@ -59,7 +91,7 @@ final class FormulaTransformationVisitorImpl implements FormulaVisitor<Void> {
     List<Formula> newArgs = new ArrayList<>(args.size());
 
     for (Formula c : args) {
-      Formula newC = pCache.get(c);
+      Formula newC = getTransformed(c);
 
       if (newC != null) {
         newArgs.add(newC);
@@ -78,7 +110,7 @@ final class FormulaTransformationVisitorImpl implements FormulaVisitor<Void> {
         toProcess.pop();
       }
       Formula out = delegate.visitFunction(f, newArgs, functionDeclaration);
-      Formula prev = pCache.put(f, out);
+      Formula prev = putTransformed(f, out);
       assert prev == null;
     }
     return null;
@@ -92,12 +124,12 @@ final class FormulaTransformationVisitorImpl implements FormulaVisitor<Void> {
     Preconditions.checkNotNull(boundVariables);
     Preconditions.checkNotNull(body);
 
-    BooleanFormula transformedBody = (BooleanFormula) pCache.get(body);
+    BooleanFormula transformedBody = (BooleanFormula) getTransformed(body);
 
     if (transformedBody != null) {
       BooleanFormula newTt =
           (BooleanFormula) delegate.visitQuantifier(f, quantifier, boundVariables, transformedBody);
-      pCache.put(f, newTt);
+      putTransformed(f, newTt);
 
     } else {
       toProcess.push(body);
@@ -13,9 +13,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.google.common.collect.ImmutableList;
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.function.Function;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.FunctionDeclaration;
@@ -26,21 +27,47 @@ import org.sosy_lab.java_smt.api.visitors.TraversalProcess.TraversalType;
 
 final class RecursiveFormulaVisitorImpl implements FormulaVisitor<TraversalProcess> {
 
-  private final Set<Formula> seen = new HashSet<>();
+  private final Map<Object, Formula> seen;
+  private final Function<Formula, ?> key;
   private final Deque<Formula> toVisit = new ArrayDeque<>();
 
   private final FormulaVisitor<TraversalProcess> delegate;
 
   RecursiveFormulaVisitorImpl(FormulaVisitor<TraversalProcess> pDelegate) {
+    this(pDelegate, new HashMap<>(), f -> f);
+  }
+
+  /**
+   * Create a visitor that skips all formulas whose key is already contained in the given map.
+   *
+   * @param pSeen all formulas that were already visited, indexed by their key, will be updated
+   *     while visiting. The map keeps the formulas alive, such that their keys stay valid.
+   * @param pKey identifies formulas, e.g., by their solver-specific term.
+   */
+  RecursiveFormulaVisitorImpl(
+      FormulaVisitor<TraversalProcess> pDelegate,
+      Map<Object, Formula> pSeen,
+      Function<Formula, ?> pKey) {
     delegate = checkNotNull(pDelegate);
+    seen = checkNotNull(pSeen);
+    key = checkNotNull(pKey);
   }
 
   void addToQueue(Formula f) {
-    if (seen.add(f)) {
+    if (seen.putIfAbsent(key.apply(f), f) == null) {
       toVisit.push(f);
     }
   }
 
+  /**
+   * Drop all formulas that are queued, but not yet visited, such that they are not marked as seen.
+   */
+  void clearQueue() {
+    while (!toVisit.isEmpty()) {
+      seen.remove(key.apply(toVisit.pop()));
+    }
+  }
+
   boolean isQueueEmpty() {
     return toVisit.isEmpty();
   }
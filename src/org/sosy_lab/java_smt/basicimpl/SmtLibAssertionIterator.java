@@ -0,0 +1,170 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.basicimpl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * Iterator over the assertions of an SMT-LIB2 script that is tokenized on the fly.
+ *
+ * <p>Declarations and definitions are stored by the name of their symbol. For each assertion we
+ * build a small script with the assertion and all (transitively) referenced declarations and
+ * definitions in their original order, and hand it to the parser of the solver. Thus, the solver
+ * never sees more than one assertion at once, and unrelated parts of the script are not parsed
+ * again.
+ *
+ * <p>The same commands as in {@link AbstractFormulaManager#parse(String)} are accepted: <code>
+ * (set-logic ..)</code> must be the first command, <code>(exit)</code> must be the last command,
+ * and commands that change the assertion stack are forbidden.
+ */
+final class SmtLibAssertionIterator extends AbstractIterator<BooleanFormula> {
+
+  /** A declaration or definition from the script, with all symbols it refers to. */
+  private static final class Symbol {
+    private final int index;
+    private final String command;
+    private final List<String> references;
+
+    private Symbol(int pIndex, String pCommand, List<String> pReferences) {
+      index = pIndex;
+      command = pCommand;
+      references = pReferences;
+    }
+  }
+
+  private final Iterator<String> tokens;
+  private final Function<String, BooleanFormula> parser;
+
+  /** All declared and defined symbols by name. Redeclarations replace the old entry. */
+  private final Map<String, Symbol> symbols = new HashMap<>();
+
+  private int pos = 0; // index of the current token
+  private boolean exited = false;
+
+  SmtLibAssertionIterator(Iterator<String> pTokens, Function<String, BooleanFormula> pParser) {
+    tokens = checkNotNull(pTokens);
+    parser = checkNotNull(pParser);
+  }
+
+  @Override
+  protected @Nullable BooleanFormula computeNext() {
+    while (tokens.hasNext()) {
+      String token = tokens.next();
+      // Only (exit) may be the last command
+      checkArgument(!exited);
+
+      if (Tokenizer.isSetLogicToken(token)) {
+        // Skip the (set-logic ...) command at the beginning of the input
+        checkArgument(pos == 0);
+
+      } else if (Tokenizer.isExitToken(token)) {
+        // Skip the (exit) command, but make sure that nothing follows
+        exited = true;
+
+      } else if (Tokenizer.isDeclarationToken(token) || Tokenizer.isDefinitionToken(token)) {
+        List<String> names = symbolsOf(token);
+        checkArgument(names.size() >= 2, "missing symbol in declaration %s", token);
+        // The first symbol is the command itself, the second one is the declared symbol
+        symbols.put(names.get(1), new Symbol(pos, token, names.subList(2, names.size())));
+
+      } else if (Tokenizer.isAssertToken(token)) {
+        pos++;
+        return parser.apply(buildScript(token));
+
+      } else if (Tokenizer.isForbiddenToken(token)) {
+        throw AbstractFormulaManager.unsupportedCommand(token);
+
+      } else {
+        // Remove everything else
+      }
+      pos++;
+    }
+    return endOfData();
+  }
+
+  /** Returns a script with the assertion and all declarations and definitions it depends on. */
+  private String buildScript(String assertion) {
+    Set<Symbol> required = new TreeSet<>(Comparator.comparingInt(s -> s.index));
+    Set<String> visited = new HashSet<>();
+    Deque<String> waitlist = new ArrayDeque<>(symbolsOf(assertion));
+    while (!waitlist.isEmpty()) {
+      String name = waitlist.pop();
+      Symbol symbol = symbols.get(name);
+      if (visited.add(name) && symbol != null && required.add(symbol)) {
+        waitlist.addAll(symbol.references);
+      }
+    }
+    StringBuilder builder = new StringBuilder();
+    for (Symbol symbol : required) {
+      builder.append(symbol.command).append('\n');
+    }
+    return builder.append(assertion).append('\n').toString();
+  }
+
+  /**
+   * Returns all symbols in the given command in their order of appearance. Quoted symbols are
+   * returned without the quotes, such that <code>|a|</code> and <code>a</code> are the same symbol.
+   * Numerals, keywords, and string literals are skipped. The result may contain builtin names, sort
+   * names, and bound variables, which we simply do not find in the symbol table.
+   */
+  static List<String> symbolsOf(String command) {
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    int pos = 0;
+    while (pos < command.length()) {
+      char c = command.charAt(pos);
+      if (c == '|') {
+        // Quoted symbol, the tokenizer already checked that it is closed
+        int end = command.indexOf('|', pos + 1);
+        builder.add(command.substring(pos + 1, end));
+        pos = end + 1;
+
+      } else if (c == '"') {
+        // String literal, where a double quote is escaped by another double quote. Skipping both
+        // quotes separately is equivalent to skipping an empty string.
+        int end = command.indexOf('"', pos + 1);
+        pos = end + 1;
+
+      } else if (c == '(' || c == ')' || Character.isWhitespace(c)) {
+        pos++;
+
+      } else {
+        // Simple symbol, numeral, or keyword
+        int start = pos;
+        while (pos < command.length() && !isDelimiter(command.charAt(pos))) {
+          pos++;
+        }
+        if (c != ':' && c != '#' && !Character.isDigit(c)) {
+          builder.add(command.substring(start, pos));
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  private static boolean isDelimiter(char c) {
+    return c == '(' || c == ')' || c == '|' || c == '"' || Character.isWhitespace(c);
+  }
+}
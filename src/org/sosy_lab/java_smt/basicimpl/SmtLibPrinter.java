@@ -0,0 +1,565 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.basicimpl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.rationals.Rational;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.FormulaType;
+import org.sosy_lab.java_smt.api.FormulaType.ArrayFormulaType;
+import org.sosy_lab.java_smt.api.FormulaType.BitvectorType;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.FunctionDeclarationKind;
+import org.sosy_lab.java_smt.api.QuantifiedFormulaManager.Quantifier;
+import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+
+/**
+ * Solver-independent printer for SMT-LIB2, based on {@link FormulaVisitor}.
+ *
+ * <p>The printer writes the declarations of all symbols and a single assertion directly into an
+ * {@link Appendable}, without building the dump as string. Subterms that occur more than once are
+ * bound with <code>let</code> and printed only once, such that the output is linear in the size of
+ * the formula DAG. Independent subterms share a single <code>let</code>, such that the nesting
+ * depth of the output only grows with the depth of the formula DAG.
+ *
+ * <p>The printer only supports a common subset of SMT-LIB2, i.e., Boolean logic, arithmetics,
+ * bitvectors without indexed operations, arrays, strings, and uninterpreted functions. For other
+ * formulas, {@link #print} returns <code>false</code> before writing any output, such that the
+ * caller can use a different printer instead.
+ */
+public final class SmtLibPrinter {
+
+  private static final String LET_PREFIX = ".def_";
+
+  private static final Pattern SIMPLE_SYMBOL =
+      Pattern.compile("[a-zA-Z~!@$%^&*_+=<>.?/\\-][0-9a-zA-Z~!@$%^&*_+=<>.?/\\-]*");
+
+  /** A function application that is printed with its operator and arguments. */
+  private static final class Application {
+    private final String operator;
+    private final List<Formula> args;
+
+    private Application(String pOperator, List<Formula> pArgs) {
+      operator = pOperator;
+      args = pArgs;
+    }
+  }
+
+  private final FormulaManager mgr;
+
+  /** Declarations of all symbols, indexed by name. */
+  private final Map<String, String> declarations = new LinkedHashMap<>();
+
+  /** Text for all variables and constants. */
+  private final Map<Formula, String> leaves = new HashMap<>();
+
+  /** All function applications in the formula. */
+  private final Map<Formula, Application> applications = new HashMap<>();
+
+  /** Number of parents for each subterm, counted once for each occurrence as argument. */
+  private final Map<Formula, Integer> references = new HashMap<>();
+
+  private boolean supported = true;
+
+  private SmtLibPrinter(FormulaManager pMgr) {
+    mgr = checkNotNull(pMgr);
+  }
+
+  /**
+   * Write the formula as SMT-LIB2 script to the output.
+   *
+   * @param pMgr the manager that created the formula.
+   * @param pFormula the formula to print.
+   * @param out where to write the script.
+   * @return whether the formula was printed. If the formula contains an operation that is not
+   *     supported by this printer, nothing is written and <code>false</code> is returned.
+   */
+  public static boolean print(FormulaManager pMgr, BooleanFormula pFormula, Appendable out)
+      throws IOException {
+    SmtLibPrinter printer = new SmtLibPrinter(pMgr);
+    pMgr.visitRecursively(pFormula, printer.new Collector());
+    if (!printer.supported) {
+      return false;
+    }
+    printer.appendTo(pFormula, out);
+    return true;
+  }
+
+  private void appendTo(Formula root, Appendable out) throws IOException {
+    for (String declaration : declarations.values()) {
+      out.append(declaration).append('\n');
+    }
+    out.append("(assert ");
+    Map<Formula, String> names = new HashMap<>();
+    List<List<Formula>> levels = getSharedApplicationsByLevel(root);
+    for (List<Formula> level : levels) {
+      // the terms of one level only refer to names of lower levels, thus one let suffices
+      Map<Formula, String> levelNames = new HashMap<>();
+      out.append("(let (");
+      for (Formula shared : level) {
+        String name = LET_PREFIX + (names.size() + levelNames.size());
+        out.append('(').append(name).append(' ');
+        appendTerm(shared, names, out);
+        out.append(')');
+        levelNames.put(shared, name);
+      }
+      out.append(") ");
+      names.putAll(levelNames);
+    }
+    appendTerm(root, names, out);
+    for (int i = 0; i < levels.size(); i++) {
+      out.append(')');
+    }
+    out.append(")\n");
+  }
+
+  /**
+   * Returns all applications with more than one parent, grouped by their level. The level of a
+   * shared application is one more than the highest level of the shared applications that occur in
+   * its printed term, i.e., below it without another shared application in between. Thus, each term
+   * only refers to shared applications of lower levels, and the number of nested <code>let</code>s
+   * is the number of levels instead of the number of shared applications.
+   */
+  private List<List<Formula>> getSharedApplicationsByLevel(Formula root) {
+    // the highest level of shared applications in the printed term of each application
+    Map<Formula, Integer> heights = new HashMap<>();
+    List<List<Formula>> result = new ArrayList<>();
+    Deque<Formula> waitlist = new ArrayDeque<>();
+    waitlist.push(root);
+    while (!waitlist.isEmpty()) {
+      Formula f = waitlist.peek();
+      Application application = applications.get(f);
+      if (heights.containsKey(f) || application == null) {
+        waitlist.pop();
+        continue;
+      }
+      boolean argsFinished = true;
+      int height = 0;
+      for (Formula arg : application.args) {
+        if (!applications.containsKey(arg)) {
+          continue;
+        }
+        Integer argHeight = heights.get(arg);
+        if (argHeight == null) {
+          waitlist.push(arg);
+          argsFinished = false;
+        } else {
+          height = Math.max(height, isShared(arg) ? argHeight + 1 : argHeight);
+        }
+      }
+      if (argsFinished) {
+        waitlist.pop();
+        heights.put(f, height);
+        if (isShared(f)) {
+          while (result.size() <= height) {
+            result.add(new ArrayList<>());
+          }
+          result.get(height).add(f);
+        }
+      }
+    }
+    return result;
+  }
+
+  private boolean isShared(Formula f) {
+    return references.getOrDefault(f, 0) > 1;
+  }
+
+  /** Print a term without recursion, such that deeply nested terms do not overflow the stack. */
+  private void appendTerm(Formula term, Map<Formula, String> names, Appendable out)
+      throws IOException {
+    // the stack contains either formulas to print or closing brackets
+    Deque<Object> stack = new ArrayDeque<>();
+    stack.push(term);
+    while (!stack.isEmpty()) {
+      Object next = stack.pop();
+      if (next instanceof String) {
+        out.append((String) next);
+        continue;
+      }
+      Formula f = (Formula) next;
+      String leaf = leaves.get(f);
+      String name = names.get(f);
+      if (leaf != null) {
+        out.append(leaf);
+      } else if (name != null) {
+        out.append(name);
+      } else {
+        Application application = applications.get(f);
+        if (application.args.isEmpty()) {
+          out.append(application.operator);
+        } else {
+          out.append('(').append(application.operator);
+          stack.push(")");
+          for (Formula arg : Lists.reverse(application.args)) {
+            stack.push(arg);
+            stack.push(" ");
+          }
+        }
+      }
+    }
+  }
+
+  /** First pass: collect declarations, leaves and applications, and count references. */
+  private final class Collector implements FormulaVisitor<TraversalProcess> {
+
+    private TraversalProcess unsupported() {
+      supported = false;
+      return TraversalProcess.ABORT;
+    }
+
+    @Override
+    public TraversalProcess visitFreeVariable(Formula f, String name) {
+      String sort = getSort(mgr.getFormulaType(f));
+      if (sort == null || !isPrintable(name)) {
+        return unsupported();
+      }
+      String symbol = quote(name);
+      declarations.putIfAbsent(name, String.format("(declare-fun %s () %s)", symbol, sort));
+      leaves.put(f, symbol);
+      return TraversalProcess.CONTINUE;
+    }
+
+    @Override
+    public TraversalProcess visitConstant(Formula f, Object value) {
+      String literal = getLiteral(mgr.getFormulaType(f), value);
+      if (literal == null) {
+        return unsupported();
+      }
+      leaves.put(f, literal);
+      return TraversalProcess.CONTINUE;
+    }
+
+    @Override
+    public TraversalProcess visitFunction(
+        Formula f, List<Formula> args, FunctionDeclaration<?> functionDeclaration) {
+      String operator;
+      if (functionDeclaration.getKind() == FunctionDeclarationKind.UF) {
+        operator = declareFunction(functionDeclaration);
+      } else {
+        operator = getOperator(f, args, functionDeclaration.getKind());
+      }
+      if (operator == null) {
+        return unsupported();
+      }
+      applications.put(f, new Application(operator, ImmutableList.copyOf(args)));
+      for (Formula arg : args) {
+        references.merge(arg, 1, Integer::sum);
+      }
+      return TraversalProcess.CONTINUE;
+    }
+
+    @Override
+    public TraversalProcess visitQuantifier(
+        BooleanFormula f,
+        Quantifier quantifier,
+        List<Formula> boundVariables,
+        BooleanFormula body) {
+      return unsupported();
+    }
+
+    private @Nullable String declareFunction(FunctionDeclaration<?> declaration) {
+      String name = declaration.getName();
+      String returnSort = getSort(declaration.getType());
+      if (returnSort == null || !isPrintable(name)) {
+        return null;
+      }
+      List<String> argumentSorts = new ArrayList<>();
+      for (FormulaType<?> argumentType : declaration.getArgumentTypes()) {
+        String argumentSort = getSort(argumentType);
+        if (argumentSort == null) {
+          return null;
+        }
+        argumentSorts.add(argumentSort);
+      }
+      String symbol = quote(name);
+      declarations.putIfAbsent(
+          name,
+          String.format(
+              "(declare-fun %s (%s) %s)", symbol, String.join(" ", argumentSorts), returnSort));
+      return symbol;
+    }
+
+    private @Nullable String getOperator(
+        Formula f, List<Formula> args, FunctionDeclarationKind kind) {
+      switch (kind) {
+        case AND:
+          return "and";
+        case OR:
+          return "or";
+        case NOT:
+          return "not";
+        case IMPLIES:
+          return "=>";
+        case XOR:
+          return "xor";
+        case ITE:
+          return "ite";
+        case IFF:
+        case EQ:
+        case BV_EQ:
+          return "=";
+        case DISTINCT:
+          return "distinct";
+        case UMINUS:
+        case SUB:
+          return "-";
+        case ADD:
+          return "+";
+        case MUL:
+          return "*";
+        case DIV:
+          return mgr.getFormulaType(f).isIntegerType() ? "div" : "/";
+        case MODULO:
+          return mgr.getFormulaType(f).isIntegerType() ? "mod" : null;
+        case LT:
+          return "<";
+        case LTE:
+          return "<=";
+        case GT:
+          return ">";
+        case GTE:
+          return ">=";
+        case FLOOR:
+          return "to_int";
+        case TO_REAL:
+          return "to_real";
+        case SELECT:
+          return "select";
+        case STORE:
+          return "store";
+        case BV_CONCAT:
+          return "concat";
+        case BV_NOT:
+          return "bvnot";
+        case BV_NEG:
+          return "bvneg";
+        case BV_OR:
+          return "bvor";
+        case BV_AND:
+          return "bvand";
+        case BV_XOR:
+          return "bvxor";
+        case BV_SUB:
+          return "bvsub";
+        case BV_ADD:
+          return "bvadd";
+        case BV_SDIV:
+          return "bvsdiv";
+        case BV_UDIV:
+          return "bvudiv";
+        case BV_SREM:
+          return "bvsrem";
+        case BV_UREM:
+          return "bvurem";
+        case BV_SMOD:
+          return "bvsmod";
+        case BV_MUL:
+          return "bvmul";
+        case BV_ULT:
+          return "bvult";
+        case BV_SLT:
+          return "bvslt";
+        case BV_ULE:
+          return "bvule";
+        case BV_SLE:
+          return "bvsle";
+        case BV_UGT:
+          return "bvugt";
+        case BV_SGT:
+          return "bvsgt";
+        case BV_UGE:
+          return "bvuge";
+        case BV_SGE:
+          return "bvsge";
+        case BV_SHL:
+          return "bvshl";
+        case BV_LSHR:
+          return "bvlshr";
+        case BV_ASHR:
+          return "bvashr";
+        case BV_SIGN_EXTENSION:
+          return getExtension("sign_extend", f, args);
+        case BV_ZERO_EXTENSION:
+          return getExtension("zero_extend", f, args);
+        case STR_CONCAT:
+          return "str.++";
+        case STR_PREFIX:
+          return "str.prefixof";
+        case STR_SUFFIX:
+          return "str.suffixof";
+        case STR_CONTAINS:
+          return "str.contains";
+        case STR_SUBSTRING:
+          return "str.substr";
+        case STR_REPLACE:
+          return "str.replace";
+        case STR_REPLACE_ALL:
+          return "str.replace_all";
+        case STR_CHAR_AT:
+          return "str.at";
+        case STR_LENGTH:
+          return "str.len";
+        case STR_INDEX_OF:
+          return "str.indexof";
+        case STR_TO_RE:
+          return "str.to_re";
+        case STR_IN_RE:
+          return "str.in_re";
+        case STR_TO_INT:
+          return "str.to_int";
+        case INT_TO_STR:
+          return "str.from_int";
+        case STR_FROM_CODE:
+          return "str.from_code";
+        case STR_TO_CODE:
+          return "str.to_code";
+        case STR_LT:
+          return "str.<";
+        case STR_LE:
+          return "str.<=";
+        case RE_PLUS:
+          return "re.+";
+        case RE_STAR:
+          return "re.*";
+        case RE_OPTIONAL:
+          return "re.opt";
+        case RE_CONCAT:
+          return "re.++";
+        case RE_UNION:
+          return "re.union";
+        case RE_RANGE:
+          return "re.range";
+        case RE_INTERSECT:
+          return "re.inter";
+        case RE_COMPLEMENT:
+          return "re.comp";
+        case RE_DIFFERENCE:
+          return "re.diff";
+        default:
+          // indexed operations, floating points, and solver-specific operations
+          return null;
+      }
+    }
+
+    /** The number of extension bits is not available from the visitor, but from the types. */
+    private @Nullable String getExtension(String operator, Formula f, List<Formula> args) {
+      if (args.size() != 1) {
+        return null;
+      }
+      FormulaType<?> resultType = mgr.getFormulaType(f);
+      FormulaType<?> argType = mgr.getFormulaType(args.get(0));
+      int extension = ((BitvectorType) resultType).getSize() - ((BitvectorType) argType).getSize();
+      return String.format("(_ %s %d)", operator, extension);
+    }
+  }
+
+  private static @Nullable String getSort(FormulaType<?> type) {
+    if (type.isArrayType()) {
+      ArrayFormulaType<?, ?> arrayType = (ArrayFormulaType<?, ?>) type;
+      if (getSort(arrayType.getIndexType()) == null
+          || getSort(arrayType.getElementType()) == null) {
+        return null;
+      }
+    } else if (type.isEnumerationType() || type.isSLType()) {
+      // would require additional declarations
+      return null;
+    }
+    return type.toSMTLIBString();
+  }
+
+  private static @Nullable String getLiteral(FormulaType<?> type, Object value) {
+    if (type.isBooleanType() && value instanceof Boolean) {
+      return value.toString();
+    } else if (type.isIntegerType() && value instanceof BigInteger) {
+      return getNumber((BigInteger) value);
+    } else if (type.isRationalType() && value instanceof BigInteger) {
+      return getDecimal(new BigDecimal((BigInteger) value));
+    } else if (type.isRationalType() && value instanceof BigDecimal) {
+      return getDecimal((BigDecimal) value);
+    } else if (type.isRationalType() && value instanceof Rational) {
+      Rational rational = (Rational) value;
+      if (rational.isIntegral()) {
+        return getDecimal(new BigDecimal(rational.getNum()));
+      }
+      return String.format(
+          "(/ %s %s)",
+          getDecimal(new BigDecimal(rational.getNum())),
+          getDecimal(new BigDecimal(rational.getDen())));
+    } else if (type.isBitvectorType() && value instanceof BigInteger) {
+      int size = ((BitvectorType) type).getSize();
+      BigInteger unsigned = ((BigInteger) value).mod(BigInteger.ONE.shiftLeft(size));
+      StringBuilder bits = new StringBuilder(unsigned.toString(2));
+      while (bits.length() < size) {
+        bits.insert(0, '0');
+      }
+      return "#b" + bits;
+    } else if (type.isStringType() && value instanceof String) {
+      return getStringLiteral((String) value);
+    } else {
+      return null;
+    }
+  }
+
+  private static String getNumber(BigInteger value) {
+    return value.signum() < 0 ? "(- " + value.negate() + ")" : value.toString();
+  }
+
+  private static String getDecimal(BigDecimal value) {
+    String abs = value.abs().toPlainString();
+    if (!abs.contains(".")) {
+      abs += ".0";
+    }
+    return value.signum() < 0 ? "(- " + abs + ")" : abs;
+  }
+
+  /** Only printable ASCII characters are supported, other characters would need escaping. */
+  private static @Nullable String getStringLiteral(String value) {
+    StringBuilder literal = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x20 || c > 0x7e || c == '\\') {
+        return null;
+      }
+      literal.append(c == '"' ? "\"\"" : String.valueOf(c));
+    }
+    return literal.append('"').toString();
+  }
+
+  /** Symbols must not be confused with our names for shared subterms. */
+  private static boolean isPrintable(String name) {
+    return name.indexOf('|') < 0 && name.indexOf('\\') < 0 && !name.startsWith(LET_PREFIX);
+  }
+
+  private static String quote(String name) {
+    if (SIMPLE_SYMBOL.matcher(name).matches()
+        && !AbstractFormulaManager.SMTLIB2_KEYWORDS.contains(name)) {
+      return name;
+    }
+    return "|" + name + "|";
+  }
+}
@@ -10,9 +10,17 @@
 
 package org.sosy_lab.java_smt.basicimpl;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /** Helper class for splitting up an SMT-LIB2 file into a string of commands. */
 public final class Tokenizer {
@@ -30,112 +38,169 @@ public final class Tokenizer {
    * sequence <code>["(define-const a Int)", "(assert (= a 0))"]</code>
    */
   public static List<String> tokenize(String input) {
-    ImmutableList.Builder<String> builder = ImmutableList.builder();
-    boolean inComment = false;
-    boolean inString = false;
-    boolean inQuoted = false;
-
-    int level = 0;
-    int pos = 0;
-
-    StringBuilder token = new StringBuilder();
-    while (pos < input.length()) {
-      char c = input.charAt(pos);
-      if (inComment) {
-        if (c == '\n') {
-          // End of a comment
-          inComment = false;
-          if (level > 0) {
-            // If we're in an expression we need to replace the entire comment (+ the newline) with
-            // some whitespace. Otherwise, symbols might get merged across line-wraps. This is not
-            // a problem at the top-level where all terms are surrounded by brackets.
-            token.append(c);
+    return ImmutableList.copyOf(tokenize(new StringReader(input)));
+  }
+
+  /**
+   * Split up a sequence of lisp expressions that is read from the given reader.
+   *
+   * <p>This works like {@link #tokenize(String)}, but the input is read lazily through a small
+   * buffer while iterating, such that only the current command needs to be kept in memory. The
+   * reader is not closed by the iterator.
+   *
+   * @throws UncheckedIOException from the iterator if reading the input fails.
+   * @throws IllegalArgumentException from the iterator if the input is not a valid sequence of lisp
+   *     expressions.
+   */
+  public static Iterator<String> tokenize(Reader input) {
+    return new CommandIterator(input);
+  }
+
+  /** Iterator over the top-level commands of an SMT-LIB2 script. */
+  private static final class CommandIterator extends AbstractIterator<String> {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader input;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos = 0;
+    private int bufferLength = 0;
+
+    private boolean inComment = false;
+    private boolean inString = false;
+    private boolean inQuoted = false;
+    private int level = 0;
+
+    private StringBuilder token = new StringBuilder();
+
+    private CommandIterator(Reader pInput) {
+      input = checkNotNull(pInput);
+    }
+
+    /** Returns the next character, or -1 at the end of the input. */
+    private int peekChar() {
+      if (bufferPos == bufferLength) {
+        try {
+          int read;
+          do {
+            read = input.read(buffer, 0, buffer.length);
+          } while (read == 0);
+          if (read < 0) {
+            return -1;
           }
+          bufferPos = 0;
+          bufferLength = read;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
         }
+      }
+      return buffer[bufferPos];
+    }
 
-      } else if (inString) {
-        if (c == '"') {
-          // We have a double quote: Check that it's not followed by another and actually closes
-          // the string.
-          Optional<Character> n =
-              (pos == input.length() - 1) ? Optional.empty() : Optional.of(input.charAt(pos + 1));
-          if (n.isEmpty() || n.orElseThrow() != '"') {
-            // Close the string
-            token.append(c);
-            inString = false;
-          } else {
-            // Add both quotes to the token and skip one character ahead
-            token.append(c);
-            token.append(n.orElseThrow());
-            pos++;
+    /** Returns and consumes the next character, or returns -1 at the end of the input. */
+    private int readChar() {
+      int c = peekChar();
+      if (c >= 0) {
+        bufferPos++;
+      }
+      return c;
+    }
+
+    @Override
+    protected @Nullable String computeNext() {
+      int next;
+      while ((next = readChar()) >= 0) {
+        char c = (char) next;
+        if (inComment) {
+          if (c == '\n') {
+            // End of a comment
+            inComment = false;
+            if (level > 0) {
+              // If we're in an expression we need to replace the entire comment (+ the newline)
+              // with some whitespace. Otherwise, symbols might get merged across line-wraps. This
+              // is not a problem at the top-level where all terms are surrounded by brackets.
+              token.append(c);
+            }
           }
-        } else {
-          token.append(c);
-        }
 
-      } else if (inQuoted) {
-        if (c == '|') {
-          // Close the quotes
-          inQuoted = false;
-        }
-        if (c == '\\') {
-          // The SMT-LIB2 standard does not allow backslash inside quoted symbols:
-          // Throw an exception
-          throw new IllegalArgumentException();
-        }
-        token.append(c);
-
-      } else if (c == ';') {
-        // Start of a comment
-        inComment = true;
-
-      } else if (c == '"') {
-        // Start of a string literal
-        inString = true;
-        token.append(c);
-
-      } else if (c == '|') {
-        // Start of a quoted symbol
-        inQuoted = true;
-        token.append(c);
-
-      } else {
-        // Just a regular character outside of comments, quotes or string literals
-        if (level == 0) {
-          // We're at the top-level
-          if (!Character.isWhitespace(c)) {
-            if (c == '(') {
-              // Handle opening brackets
-              token.append("(");
-              level++;
+        } else if (inString) {
+          token.append(c);
+          if (c == '"') {
+            // We have a double quote: Check that it's not followed by another and actually closes
+            // the string.
+            if (peekChar() == '"') {
+              // Add both quotes to the token and skip one character ahead
+              token.append((char) readChar());
             } else {
-              // Should be unreachable: all top-level expressions need parentheses around them
-              throw new IllegalArgumentException();
+              // Close the string
+              inString = false;
             }
           }
-        } else {
-          // We're inside an r-expression
-          token.append(c);
-          // Handle opening/closing brackets
-          if (c == '(') {
-            level++;
+
+        } else if (inQuoted) {
+          if (c == '|') {
+            // Close the quotes
+            inQuoted = false;
+          }
+          if (c == '\\') {
+            // The SMT-LIB2 standard does not allow backslash inside quoted symbols:
+            // Throw an exception
+            throw new IllegalArgumentException();
           }
-          if (c == ')') {
-            if (level == 1) {
-              builder.add(token.toString());
-              token = new StringBuilder();
+          token.append(c);
+
+        } else if (c == ';') {
+          // Start of a comment
+          inComment = true;
+
+        } else if (c == '"') {
+          // Start of a string literal
+          inString = true;
+          token.append(c);
+
+        } else if (c == '|') {
+          // Start of a quoted symbol
+          inQuoted = true;
+          token.append(c);
+
+        } else {
+          // Just a regular character outside of comments, quotes or string literals
+          if (level == 0) {
+            // We're at the top-level
+            if (!Character.isWhitespace(c)) {
+              if (c == '(') {
+                // Handle opening brackets
+                token.append("(");
+                level++;
+              } else {
+                // Should be unreachable: all top-level expressions need parentheses around them
+                throw new IllegalArgumentException();
+              }
+            }
+          } else {
+            // We're inside an r-expression
+            token.append(c);
+            // Handle opening/closing brackets
+            if (c == '(') {
+              level++;
+            }
+            if (c == ')') {
+              level--;
+              if (level == 0) {
+                String command = token.toString();
+                token = new StringBuilder();
+                return command;
+              }
             }
-            level--;
           }
         }
       }
-      pos++;
-    }
-    if (level != 0) {
-      // Throw an exception if the brackets don't match
-      throw new IllegalArgumentException("brackets do not match, too many open brackets");
+      if (level != 0) {
+        // Throw an exception if the brackets don't match
+        throw new IllegalArgumentException("brackets do not match, too many open brackets");
+      }
+      return endOfData();
     }
-    return builder.build();
   }
 
   private static boolean matchesOneOf(String token, String... regexp) {
@@ -14,8 +14,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.SolverException;
 
@@ -48,6 +50,13 @@ public class BasicProverWithAssumptionsWrapper<T, P extends BasicProverEnvironme
     return delegate.addConstraint(constraint);
   }
 
+  @Override
+  public List<@Nullable T> addConstraints(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    clearAssumptions();
+    return delegate.addConstraints(constraints);
+  }
+
   @Override
   public void push() throws InterruptedException {
     clearAssumptions();
@@ -89,6 +98,17 @@ public class BasicProverWithAssumptionsWrapper<T, P extends BasicProverEnvironme
     return delegate.getModelAssignments();
   }
 
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    return delegate.getModel(pRelevantFormulas);
+  }
+
+  @Override
+  public ImmutableList<Model.ValueAssignment> getModelAssignments(
+      Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    return delegate.getModelAssignments(pRelevantFormulas);
+  }
+
   @Override
   public List<BooleanFormula> getUnsatCore() {
     return delegate.getUnsatCore();
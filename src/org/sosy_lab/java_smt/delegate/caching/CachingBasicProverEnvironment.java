@@ -0,0 +1,313 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.caching;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.Model.ValueAssignment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.UserPropagator;
+import org.sosy_lab.java_smt.delegate.caching.SatResultCache.CacheEntry;
+import org.sosy_lab.java_smt.delegate.caching.SatResultCache.CacheKey;
+
+/**
+ * Prover that answers satisfiability checks from a cache if the same set of formulas (and
+ * assumptions) was already checked before. The prover tracks the asserted formulas of each level on
+ * its own, because the wrapped prover does not expose them.
+ *
+ * <p>If a query is answered from the cache and the user afterward requests information that is not
+ * cached, e.g., a {@link Model}, then the query is sent to the wrapped prover.
+ */
+class CachingBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
+
+  private final BasicProverEnvironment<T> delegate;
+  private final SatResultCache cache;
+  private final boolean storeModels;
+  private final boolean storeUnsatCores;
+  private final boolean generateModels;
+  private final boolean generateUnsatCores;
+  private final ImmutableSet<ProverOptions> semanticOptions;
+
+  private final List<List<BooleanFormula>> assertedFormulas = new ArrayList<>();
+
+  /** the canonical set of asserted formulas, lazily computed. */
+  private @Nullable ImmutableSet<BooleanFormula> currentAssertions = null;
+
+  /** the result of the last query, if it was answered from the cache or stored there. */
+  private @Nullable CacheEntry lastEntry = null;
+
+  /** the last query, if it was answered from the cache and not yet sent to the wrapped prover. */
+  private @Nullable CacheKey unsolvedQuery = null;
+
+  /** user propagators influence the result of a query, we do not cache such queries. */
+  private boolean cachingEnabled = true;
+
+  CachingBasicProverEnvironment(
+      BasicProverEnvironment<T> pDelegate,
+      SatResultCache pCache,
+      Set<ProverOptions> pOptions,
+      boolean pStoreModels,
+      boolean pStoreUnsatCores) {
+    delegate = checkNotNull(pDelegate);
+    cache = checkNotNull(pCache);
+    storeModels = pStoreModels;
+    storeUnsatCores = pStoreUnsatCores;
+    generateModels = pOptions.contains(ProverOptions.GENERATE_MODELS);
+    generateUnsatCores = pOptions.contains(ProverOptions.GENERATE_UNSAT_CORE);
+    semanticOptions = SatResultCache.getSemanticOptions(pOptions);
+    assertedFormulas.add(new ArrayList<>());
+  }
+
+  @Override
+  public void pop() {
+    delegate.pop();
+    assertedFormulas.remove(assertedFormulas.size() - 1);
+    stackChanged();
+  }
+
+  @Override
+  public @Nullable T addConstraint(BooleanFormula pConstraint) throws InterruptedException {
+    T id = delegate.addConstraint(pConstraint);
+    Iterables.getLast(assertedFormulas).add(pConstraint);
+    stackChanged();
+    return id;
+  }
+
+  @Override
+  public List<@Nullable T> addConstraints(Collection<BooleanFormula> pConstraints)
+      throws InterruptedException {
+    List<@Nullable T> ids = delegate.addConstraints(pConstraints);
+    Iterables.getLast(assertedFormulas).addAll(pConstraints);
+    stackChanged();
+    return ids;
+  }
+
+  @Override
+  public void push() throws InterruptedException {
+    delegate.push();
+    assertedFormulas.add(new ArrayList<>());
+    stackChanged();
+  }
+
+  private void stackChanged() {
+    currentAssertions = null;
+    lastEntry = null;
+    unsolvedQuery = null;
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  private ImmutableSet<BooleanFormula> getCurrentAssertions() {
+    if (currentAssertions == null) {
+      currentAssertions = ImmutableSet.copyOf(Iterables.concat(assertedFormulas));
+    }
+    return currentAssertions;
+  }
+
+  @Override
+  public boolean isUnsat() throws SolverException, InterruptedException {
+    return checkSat(ImmutableSet.of());
+  }
+
+  @Override
+  public boolean isUnsatWithAssumptions(Collection<BooleanFormula> pAssumptions)
+      throws SolverException, InterruptedException {
+    return checkSat(ImmutableSet.copyOf(pAssumptions));
+  }
+
+  private boolean checkSat(ImmutableSet<BooleanFormula> pAssumptions)
+      throws SolverException, InterruptedException {
+    if (!cachingEnabled) {
+      return solve(pAssumptions);
+    }
+    CacheKey key = new CacheKey(getCurrentAssertions(), pAssumptions, semanticOptions);
+    @Nullable CacheEntry entry = cache.get(key);
+    if (entry != null && isUsable(entry)) {
+      cache.recordHit();
+      lastEntry = entry;
+      unsolvedQuery = key;
+      return entry.isUnsat();
+    }
+
+    cache.recordMiss();
+    lastEntry = null;
+    unsolvedQuery = null;
+    boolean unsat = solve(pAssumptions);
+    @Nullable ImmutableList<ValueAssignment> model = null;
+    @Nullable ImmutableList<BooleanFormula> unsatCore = null;
+    if (!unsat && storeModels && generateModels) {
+      model = delegate.getModelAssignments();
+    }
+    if (unsat && storeUnsatCores && generateUnsatCores) {
+      unsatCore = ImmutableList.copyOf(delegate.getUnsatCore());
+    }
+    lastEntry = new CacheEntry(unsat, model, unsatCore, null);
+    cache.put(key, lastEntry);
+    return unsat;
+  }
+
+  /**
+   * A cached entry can only be used if it provides all information that the wrapped prover would
+   * provide after the query. Models are an exception, because they can not be stored completely.
+   */
+  private boolean isUsable(CacheEntry pEntry) {
+    if (pEntry.isUnsat()) {
+      return !generateUnsatCores || pEntry.getUnsatCore() != null;
+    } else {
+      return !storeModels || !generateModels || pEntry.getModel() != null;
+    }
+  }
+
+  private boolean solve(ImmutableSet<BooleanFormula> pAssumptions)
+      throws SolverException, InterruptedException {
+    if (pAssumptions.isEmpty()) {
+      return delegate.isUnsat();
+    } else {
+      return delegate.isUnsatWithAssumptions(pAssumptions);
+    }
+  }
+
+  /** Send the last query to the wrapped prover, if it was answered from the cache. */
+  void ensureQueryIsSolved() throws SolverException, InterruptedException {
+    if (unsolvedQuery != null) {
+      ImmutableSet<BooleanFormula> assumptions = unsolvedQuery.getAssumptions();
+      unsolvedQuery = null;
+      solve(assumptions);
+    }
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public Model getModel() throws SolverException {
+    try {
+      ensureQueryIsSolved();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolverException("Interrupted while computing a model", e);
+    }
+    return delegate.getModel();
+  }
+
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    try {
+      ensureQueryIsSolved();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolverException("Interrupted while computing a model", e);
+    }
+    return delegate.getModel(pRelevantFormulas);
+  }
+
+  @Override
+  public ImmutableList<ValueAssignment> getModelAssignments() throws SolverException {
+    if (unsolvedQuery != null && lastEntry != null && lastEntry.getModel() != null) {
+      return lastEntry.getModel();
+    }
+    try (Model model = getModel()) {
+      return model.asList();
+    }
+  }
+
+  @Override
+  public List<BooleanFormula> getUnsatCore() {
+    if (unsolvedQuery != null && lastEntry != null && lastEntry.getUnsatCore() != null) {
+      return lastEntry.getUnsatCore();
+    }
+    // without the option, the wrapped prover reports the missing option
+    return delegate.getUnsatCore();
+  }
+
+  @Override
+  public Optional<List<BooleanFormula>> unsatCoreOverAssumptions(
+      Collection<BooleanFormula> pAssumptions) throws SolverException, InterruptedException {
+    if (!cachingEnabled) {
+      return delegate.unsatCoreOverAssumptions(pAssumptions);
+    }
+    CacheKey key =
+        new CacheKey(getCurrentAssertions(), ImmutableSet.copyOf(pAssumptions), semanticOptions);
+    @Nullable CacheEntry entry = cache.get(key);
+    if (entry != null && (!entry.isUnsat() || entry.getUnsatCoreOverAssumptions() != null)) {
+      cache.recordHit();
+      lastEntry = entry;
+      unsolvedQuery = key;
+      return entry.isUnsat() ? Optional.of(entry.getUnsatCoreOverAssumptions()) : Optional.empty();
+    }
+
+    cache.recordMiss();
+    lastEntry = null;
+    unsolvedQuery = null;
+    Optional<List<BooleanFormula>> result = delegate.unsatCoreOverAssumptions(pAssumptions);
+    if (result.isPresent() && storeUnsatCores) {
+      ImmutableList<BooleanFormula> core = ImmutableList.copyOf(result.orElseThrow());
+      cache.put(
+          key,
+          entry == null
+              ? new CacheEntry(true, null, null, core)
+              : entry.withUnsatCoreOverAssumptions(core));
+    } else if (entry == null) {
+      cache.put(key, new CacheEntry(result.isPresent(), null, null, null));
+    }
+    return result;
+  }
+
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    builder.putAll(delegate.getStatistics());
+    builder.putAll(cache.getStatistics());
+    return builder.buildOrThrow();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+
+  @Override
+  public <R> R allSat(AllSatCallback<R> pCallback, List<BooleanFormula> pImportant)
+      throws InterruptedException, SolverException {
+    lastEntry = null;
+    unsolvedQuery = null;
+    return delegate.allSat(pCallback, pImportant);
+  }
+
+  @Override
+  public boolean registerUserPropagator(UserPropagator pPropagator) {
+    boolean registered = delegate.registerUserPropagator(pPropagator);
+    if (registered) {
+      cachingEnabled = false;
+      stackChanged();
+    }
+    return registered;
+  }
+}
@@ -0,0 +1,61 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.caching;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/**
+ * Interpolation requires the internal proof of the wrapped prover, thus any cached query is sent to
+ * the wrapped prover before computing interpolants.
+ */
+class CachingInterpolatingProverEnvironment<T> extends CachingBasicProverEnvironment<T>
+    implements InterpolatingProverEnvironment<T> {
+
+  private final InterpolatingProverEnvironment<T> delegate;
+
+  CachingInterpolatingProverEnvironment(
+      InterpolatingProverEnvironment<T> pDelegate,
+      SatResultCache pCache,
+      Set<ProverOptions> pOptions,
+      boolean pStoreModels,
+      boolean pStoreUnsatCores) {
+    super(pDelegate, pCache, pOptions, pStoreModels, pStoreUnsatCores);
+    delegate = checkNotNull(pDelegate);
+  }
+
+  @Override
+  public BooleanFormula getInterpolant(Collection<T> formulasOfA)
+      throws SolverException, InterruptedException {
+    ensureQueryIsSolved();
+    return delegate.getInterpolant(formulasOfA);
+  }
+
+  @Override
+  public List<BooleanFormula> getSeqInterpolants(List<? extends Collection<T>> partitionedFormulas)
+      throws SolverException, InterruptedException {
+    ensureQueryIsSolved();
+    return delegate.getSeqInterpolants(partitionedFormulas);
+  }
+
+  @Override
+  public List<BooleanFormula> getTreeInterpolants(
+      List<? extends Collection<T>> partitionedFormulas, int[] startOfSubTree)
+      throws SolverException, InterruptedException {
+    ensureQueryIsSolved();
+    return delegate.getTreeInterpolants(partitionedFormulas, startOfSubTree);
+  }
+}
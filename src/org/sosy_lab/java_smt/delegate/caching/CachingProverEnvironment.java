@@ -0,0 +1,26 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.caching;
+
+import java.util.Set;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+class CachingProverEnvironment extends CachingBasicProverEnvironment<Void>
+    implements ProverEnvironment {
+
+  CachingProverEnvironment(
+      ProverEnvironment pDelegate,
+      SatResultCache pCache,
+      Set<ProverOptions> pOptions,
+      boolean pStoreModels,
+      boolean pStoreUnsatCores) {
+    super(pDelegate, pCache, pOptions, pStoreModels, pStoreUnsatCores);
+  }
+}
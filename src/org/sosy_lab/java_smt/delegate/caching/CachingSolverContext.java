@@ -0,0 +1,118 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.caching;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.OptionalLong;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * Context that answers repeated satisfiability checks from a cache that is shared by all provers of
+ * this context. Queries are identified by the set of asserted formulas and the set of assumptions,
+ * such that the order of constraints and assumptions does not matter.
+ *
+ * <p>Optimization provers are not wrapped, because their results depend on the objectives.
+ */
+@Options(prefix = "solver.cache")
+public class CachingSolverContext implements SolverContext {
+
+  @Option(secure = true, description = "Maximum number of cached results of satisfiability checks.")
+  @IntegerOption(min = 1)
+  private int size = 1000;
+
+  @Option(secure = true, description = "Also cache the model for satisfiable queries.")
+  private boolean storeModels = false;
+
+  @Option(secure = true, description = "Also cache the unsat core for unsatisfiable queries.")
+  private boolean storeUnsatCores = false;
+
+  private final SolverContext delegate;
+  private final SatResultCache cache;
+
+  public CachingSolverContext(Configuration pConfig, SolverContext pDelegate)
+      throws InvalidConfigurationException {
+    pConfig.inject(this, CachingSolverContext.class);
+    delegate = checkNotNull(pDelegate);
+    cache = new SatResultCache(size);
+  }
+
+  @Override
+  public FormulaManager getFormulaManager() {
+    return delegate.getFormulaManager();
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public ProverEnvironment newProverEnvironment(ProverOptions... pOptions) {
+    return new CachingProverEnvironment(
+        delegate.newProverEnvironment(pOptions),
+        cache,
+        ImmutableSet.copyOf(pOptions),
+        storeModels,
+        storeUnsatCores);
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public InterpolatingProverEnvironment<?> newProverEnvironmentWithInterpolation(
+      ProverOptions... pOptions) {
+    return new CachingInterpolatingProverEnvironment<>(
+        delegate.newProverEnvironmentWithInterpolation(pOptions),
+        cache,
+        ImmutableSet.copyOf(pOptions),
+        storeModels,
+        storeUnsatCores);
+  }
+
+  @Override
+  public OptimizationProverEnvironment newOptimizationProverEnvironment(ProverOptions... pOptions) {
+    return delegate.newOptimizationProverEnvironment(pOptions);
+  }
+
+  @Override
+  public String getVersion() {
+    return delegate.getVersion();
+  }
+
+  @Override
+  public Solvers getSolverName() {
+    return delegate.getSolverName();
+  }
+
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    builder.putAll(delegate.getStatistics());
+    builder.putAll(cache.getStatistics());
+    return builder.buildOrThrow();
+  }
+
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    return delegate.getNativeMemoryUsage();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,193 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.caching;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Model.ValueAssignment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * A bounded cache for the results of satisfiability checks. The least recently used entry is
+ * removed when the cache is full. The cache is shared by all provers of one context.
+ */
+final class SatResultCache {
+
+  private final int maxSize;
+  private final Map<CacheKey, CacheEntry> entries;
+
+  private int hits = 0;
+  private int misses = 0;
+  private int evictions = 0;
+
+  SatResultCache(int pMaxSize) {
+    checkArgument(pMaxSize > 0, "cache size must be positive");
+    maxSize = pMaxSize;
+    entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> pEldest) {
+            if (size() > maxSize) {
+              evictions++;
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  synchronized @Nullable CacheEntry get(CacheKey pKey) {
+    return entries.get(pKey);
+  }
+
+  synchronized void put(CacheKey pKey, CacheEntry pEntry) {
+    entries.put(pKey, pEntry);
+  }
+
+  synchronized void recordHit() {
+    hits++;
+  }
+
+  synchronized void recordMiss() {
+    misses++;
+  }
+
+  synchronized ImmutableMap<String, String> getStatistics() {
+    return ImmutableMap.of(
+        "number of cache hits", Integer.toString(hits),
+        "number of cache misses", Integer.toString(misses),
+        "number of cache evictions", Integer.toString(evictions),
+        "number of cached results", Integer.toString(entries.size()));
+  }
+
+  /**
+   * The prover options that change the semantics of a query. Provers that differ in one of these
+   * options must not share results. All other options only control which additional data, e.g.,
+   * models or unsat cores, is available after a query.
+   */
+  private static final ImmutableSet<ProverOptions> SEMANTIC_OPTIONS =
+      Sets.immutableEnumSet(ProverOptions.ENABLE_SEPARATION_LOGIC);
+
+  /** Returns the options of a prover that must be part of the key of its queries. */
+  static ImmutableSet<ProverOptions> getSemanticOptions(Set<ProverOptions> pOptions) {
+    return Sets.immutableEnumSet(Sets.intersection(pOptions, SEMANTIC_OPTIONS));
+  }
+
+  /**
+   * The canonical representation of a satisfiability query: the set of asserted formulas, the set
+   * of assumptions, and the options of the prover that influence the result. The order and
+   * multiplicity of formulas are irrelevant for the result.
+   */
+  static final class CacheKey {
+
+    private final ImmutableSet<BooleanFormula> assertions;
+    private final ImmutableSet<BooleanFormula> assumptions;
+    private final ImmutableSet<ProverOptions> options;
+    private final int hashCode;
+
+    CacheKey(
+        ImmutableSet<BooleanFormula> pAssertions,
+        ImmutableSet<BooleanFormula> pAssumptions,
+        ImmutableSet<ProverOptions> pOptions) {
+      assertions = checkNotNull(pAssertions);
+      assumptions = checkNotNull(pAssumptions);
+      options = checkNotNull(pOptions);
+      hashCode = 31 * (31 * assertions.hashCode() + assumptions.hashCode()) + options.hashCode();
+    }
+
+    ImmutableSet<BooleanFormula> getAssumptions() {
+      return assumptions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) o;
+      return hashCode == other.hashCode
+          && assertions.equals(other.assertions)
+          && assumptions.equals(other.assumptions)
+          && options.equals(other.options);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public String toString() {
+      return "assertions: "
+          + assertions
+          + ", assumptions: "
+          + assumptions
+          + ", options: "
+          + options;
+    }
+  }
+
+  /**
+   * The cached result of a satisfiability query. Models and unsat cores are only available if they
+   * were requested when the entry was created and storing them is enabled.
+   */
+  static final class CacheEntry {
+
+    private final boolean unsat;
+    private final @Nullable ImmutableList<ValueAssignment> model;
+    private final @Nullable ImmutableList<BooleanFormula> unsatCore;
+    private final @Nullable ImmutableList<BooleanFormula> unsatCoreOverAssumptions;
+
+    CacheEntry(
+        boolean pUnsat,
+        @Nullable ImmutableList<ValueAssignment> pModel,
+        @Nullable ImmutableList<BooleanFormula> pUnsatCore,
+        @Nullable ImmutableList<BooleanFormula> pUnsatCoreOverAssumptions) {
+      unsat = pUnsat;
+      model = pModel;
+      unsatCore = pUnsatCore;
+      unsatCoreOverAssumptions = pUnsatCoreOverAssumptions;
+    }
+
+    boolean isUnsat() {
+      return unsat;
+    }
+
+    @Nullable ImmutableList<ValueAssignment> getModel() {
+      return model;
+    }
+
+    @Nullable ImmutableList<BooleanFormula> getUnsatCore() {
+      return unsatCore;
+    }
+
+    @Nullable ImmutableList<BooleanFormula> getUnsatCoreOverAssumptions() {
+      return unsatCoreOverAssumptions;
+    }
+
+    CacheEntry withUnsatCoreOverAssumptions(ImmutableList<BooleanFormula> pCore) {
+      return new CacheEntry(unsat, model, unsatCore, pCore);
+    }
+  }
+}
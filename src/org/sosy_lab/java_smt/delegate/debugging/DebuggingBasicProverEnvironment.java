@@ -16,6 +16,7 @@ import java.util.Optional;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.SolverException;
 
@@ -42,6 +43,16 @@ class DebuggingBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
     return delegate.addConstraint(constraint);
   }
 
+  @Override
+  public List<@Nullable T> addConstraints(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    debugging.assertThreadLocal();
+    for (BooleanFormula constraint : constraints) {
+      debugging.assertFormulaInContext(constraint);
+    }
+    return delegate.addConstraints(constraints);
+  }
+
   @Override
   public void push() throws InterruptedException {
     debugging.assertThreadLocal();
@@ -77,6 +88,15 @@ class DebuggingBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
     return new DebuggingModel(delegate.getModel(), debugging);
   }
 
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    debugging.assertThreadLocal();
+    for (Formula f : pRelevantFormulas) {
+      debugging.assertFormulaInContext(f);
+    }
+    return new DebuggingModel(delegate.getModel(pRelevantFormulas), debugging);
+  }
+
   @Override
   public List<BooleanFormula> getUnsatCore() {
     debugging.assertThreadLocal();
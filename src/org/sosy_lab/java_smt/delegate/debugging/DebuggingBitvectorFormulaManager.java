@@ -36,6 +36,16 @@ public class DebuggingBitvectorFormulaManager implements BitvectorFormulaManager
     return result;
   }
 
+  @Override
+  public List<BitvectorFormula> makeBitvectors(int length, long... values) {
+    debugging.assertThreadLocal();
+    List<BitvectorFormula> result = delegate.makeBitvectors(length, values);
+    for (BitvectorFormula f : result) {
+      debugging.addFormulaTerm(f);
+    }
+    return result;
+  }
+
   @Override
   public BitvectorFormula makeBitvector(int length, BigInteger pI) {
     debugging.assertThreadLocal();
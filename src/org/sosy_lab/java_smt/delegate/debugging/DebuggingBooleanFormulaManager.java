@@ -129,6 +129,17 @@ public class DebuggingBooleanFormulaManager implements BooleanFormulaManager {
     return result;
   }
 
+  @Override
+  public BooleanFormula and(BooleanFormula... bits) {
+    debugging.assertThreadLocal();
+    for (BooleanFormula f : bits) {
+      debugging.assertFormulaInContext(f);
+    }
+    BooleanFormula result = delegate.and(bits);
+    debugging.addFormulaTerm(result);
+    return result;
+  }
+
   @Override
   public Collector<BooleanFormula, ?, BooleanFormula> toConjunction() {
     return Collectors.collectingAndThen(
@@ -164,6 +175,17 @@ public class DebuggingBooleanFormulaManager implements BooleanFormulaManager {
     return result;
   }
 
+  @Override
+  public BooleanFormula or(BooleanFormula... bits) {
+    debugging.assertThreadLocal();
+    for (BooleanFormula f : bits) {
+      debugging.assertFormulaInContext(f);
+    }
+    BooleanFormula result = delegate.or(bits);
+    debugging.addFormulaTerm(result);
+    return result;
+  }
+
   @Override
   public Collector<BooleanFormula, ?, BooleanFormula> toDisjunction() {
     return Collectors.collectingAndThen(
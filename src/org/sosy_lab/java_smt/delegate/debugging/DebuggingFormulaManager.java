@@ -12,8 +12,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.sosy_lab.common.Appender;
@@ -39,6 +41,7 @@ import org.sosy_lab.java_smt.api.UFManager;
 import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
 import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
 
 public class DebuggingFormulaManager implements FormulaManager {
   private final FormulaManager delegate;
@@ -182,6 +185,28 @@ public class DebuggingFormulaManager implements FormulaManager {
     return result;
   }
 
+  @Override
+  public Iterator<BooleanFormula> parseAssertions(Reader pReader) {
+    debugging.assertThreadLocal();
+    Iterator<BooleanFormula> assertions = delegate.parseAssertions(pReader);
+    // parsing happens lazily while iterating, thus we need to check each step
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        debugging.assertThreadLocal();
+        return assertions.hasNext();
+      }
+
+      @Override
+      public BooleanFormula next() {
+        debugging.assertThreadLocal();
+        BooleanFormula result = assertions.next();
+        debugging.addFormulaTerm(result);
+        return result;
+      }
+    };
+  }
+
   @Override
   public Appender dumpFormula(BooleanFormula pT) {
     debugging.assertThreadLocal();
@@ -236,6 +261,12 @@ public class DebuggingFormulaManager implements FormulaManager {
     return delegate.transformRecursively(f, pFormulaVisitor);
   }
 
+  @Override
+  public TraversalSession newTraversalSession(int maxCacheSize) {
+    debugging.assertThreadLocal();
+    return new DebuggingTraversalSession(delegate.newTraversalSession(maxCacheSize), debugging);
+  }
+
   @Override
   public ImmutableMap<String, Formula> extractVariables(Formula f) {
     debugging.assertThreadLocal();
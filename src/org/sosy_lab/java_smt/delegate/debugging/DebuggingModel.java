@@ -12,6 +12,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableList;
 import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.BitvectorFormula;
@@ -99,6 +102,42 @@ public class DebuggingModel implements Model {
     return delegate.evaluate(formula);
   }
 
+  @Override
+  public List<@Nullable Object> evaluateAll(List<? extends Formula> formulas) {
+    debugging.assertThreadLocal();
+    for (Formula formula : formulas) {
+      debugging.assertFormulaInContext(formula);
+    }
+    return delegate.evaluateAll(formulas);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateIntegers(List<? extends IntegerFormula> formulas) {
+    debugging.assertThreadLocal();
+    for (Formula formula : formulas) {
+      debugging.assertFormulaInContext(formula);
+    }
+    return delegate.evaluateIntegers(formulas);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateBitvectors(List<? extends BitvectorFormula> formulas) {
+    debugging.assertThreadLocal();
+    for (Formula formula : formulas) {
+      debugging.assertFormulaInContext(formula);
+    }
+    return delegate.evaluateBitvectors(formulas);
+  }
+
+  @Override
+  public List<@Nullable Boolean> evaluateBooleans(List<? extends BooleanFormula> formulas) {
+    debugging.assertThreadLocal();
+    for (Formula formula : formulas) {
+      debugging.assertFormulaInContext(formula);
+    }
+    return delegate.evaluateBooleans(formulas);
+  }
+
   @Override
   public ImmutableList<ValueAssignment> asList() {
     debugging.assertThreadLocal();
@@ -113,6 +152,25 @@ public class DebuggingModel implements Model {
     return result;
   }
 
+  @Override
+  public Stream<ValueAssignment> stream() {
+    debugging.assertThreadLocal();
+    return delegate.stream().map(this::addAssignmentTerms);
+  }
+
+  @Override
+  public Stream<ValueAssignment> stream(Predicate<String> nameFilter) {
+    debugging.assertThreadLocal();
+    return delegate.stream(nameFilter).map(this::addAssignmentTerms);
+  }
+
+  private ValueAssignment addAssignmentTerms(ValueAssignment v) {
+    debugging.assertThreadLocal();
+    debugging.addFormulaTerm(v.getValueAsFormula());
+    debugging.addFormulaTerm(v.getAssignmentAsFormula());
+    return v;
+  }
+
   @Override
   public void close() {
     debugging.assertThreadLocal();
@@ -42,6 +42,16 @@ public class DebuggingNumeralFormulaManager<
     return result;
   }
 
+  @Override
+  public List<ResultFormulaType> makeNumbers(long... numbers) {
+    debugging.assertThreadLocal();
+    List<ResultFormulaType> result = delegate.makeNumbers(numbers);
+    for (ResultFormulaType f : result) {
+      debugging.addFormulaTerm(f);
+    }
+    return result;
+  }
+
   @Override
   public ResultFormulaType makeNumber(BigInteger number) {
     debugging.assertThreadLocal();
@@ -11,6 +11,7 @@ package org.sosy_lab.java_smt.delegate.debugging;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.OptionalLong;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
@@ -82,6 +83,12 @@ public class DebuggingSolverContext implements SolverContext {
     return delegate.getStatistics();
   }
 
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    debugging.assertThreadLocal();
+    return delegate.getNativeMemoryUsage();
+  }
+
   @Override
   public void close() {
     debugging.assertThreadLocal();
@@ -0,0 +1,60 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.debugging;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
+import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
+
+class DebuggingTraversalSession implements TraversalSession {
+  private final TraversalSession delegate;
+  private final DebuggingAssertions debugging;
+
+  DebuggingTraversalSession(TraversalSession pDelegate, DebuggingAssertions pDebugging) {
+    delegate = checkNotNull(pDelegate);
+    debugging = pDebugging;
+  }
+
+  @Override
+  public void visitRecursively(Formula f, FormulaVisitor<TraversalProcess> pFormulaVisitor) {
+    debugging.assertThreadLocal();
+    debugging.assertFormulaInContext(f);
+    delegate.visitRecursively(f, pFormulaVisitor);
+  }
+
+  @Override
+  public <T extends Formula> T transformRecursively(
+      T f, FormulaTransformationVisitor pFormulaVisitor) {
+    debugging.assertThreadLocal();
+    debugging.assertFormulaInContext(f);
+    return delegate.transformRecursively(f, pFormulaVisitor);
+  }
+
+  @Override
+  public void invalidate(FormulaVisitor<?> pFormulaVisitor) {
+    debugging.assertThreadLocal();
+    delegate.invalidate(pFormulaVisitor);
+  }
+
+  @Override
+  public void invalidate() {
+    debugging.assertThreadLocal();
+    delegate.invalidate();
+  }
+
+  @Override
+  public int getCacheSize() {
+    debugging.assertThreadLocal();
+    return delegate.getCacheSize();
+  }
+}
@@ -0,0 +1,85 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
+
+/**
+ * Common fields of all JFR events of JavaSMT.
+ *
+ * <p>The size of the involved formulas is only computed for events that are actually recorded,
+ * i.e., if JFR is enabled and the event is longer than the configured threshold. By default, only
+ * operations that take at least {@link #DEFAULT_THRESHOLD} are recorded, such that cheap and
+ * frequent operations, e.g., adding a constraint, do not cause any overhead for the traversal of
+ * formulas. The threshold can be changed in the settings of the recording.
+ */
+abstract class AbstractSolverEvent extends Event {
+
+  static final String DEFAULT_THRESHOLD = "1 ms";
+
+  @Label("Solver")
+  final String solver;
+
+  @Label("Operation")
+  final String operation;
+
+  @Label("DAG Size")
+  @Description("Number of distinct subterms of the formulas involved in the operation")
+  int dagSize;
+
+  @Label("Variables")
+  @Description("Number of distinct variables of the formulas involved in the operation")
+  int variables;
+
+  AbstractSolverEvent(String pSolver, String pOperation) {
+    solver = pSolver;
+    operation = pOperation;
+  }
+
+  /**
+   * Compute the size of the given formulas. This method must only be called for events that will be
+   * recorded, i.e., after {@link #end()} and if {@link #shouldCommit()} holds.
+   */
+  void setFormulas(FormulaManager mgr, Collection<? extends Formula> formulas) {
+    if (formulas.isEmpty()) {
+      return;
+    }
+    Set<Formula> variableSet = new HashSet<>();
+    DefaultFormulaVisitor<TraversalProcess> counter =
+        new DefaultFormulaVisitor<>() {
+          @Override
+          protected TraversalProcess visitDefault(Formula f) {
+            dagSize++;
+            return TraversalProcess.CONTINUE;
+          }
+
+          @Override
+          public TraversalProcess visitFreeVariable(Formula f, String name) {
+            variableSet.add(f);
+            return visitDefault(f);
+          }
+        };
+    // the session visits shared subterms of several formulas only once
+    TraversalSession session = mgr.newTraversalSession(Integer.MAX_VALUE);
+    for (Formula formula : formulas) {
+      session.visitRecursively(formula, counter);
+    }
+    variables = variableSet.size();
+  }
+}
@@ -0,0 +1,33 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** JFR event for parsing, dumping, or translating a formula. */
+@Name("org.sosy_lab.java_smt.FormulaManagerOperation")
+@Label("Formula Manager Operation")
+@Category("JavaSMT")
+@StackTrace(false)
+@Threshold(AbstractSolverEvent.DEFAULT_THRESHOLD)
+final class FormulaManagerEvent extends AbstractSolverEvent {
+
+  @Label("Text Length")
+  @Description("Number of characters of the parsed or dumped SMT-LIB2 text")
+  int textLength;
+
+  FormulaManagerEvent(String pSolver, String pOperation) {
+    super(pSolver, pOperation);
+  }
+}
@@ -0,0 +1,229 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/** Wraps a basic prover environment and emits a {@link ProverEvent} for each operation. */
+class JfrBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
+
+  static final String FAILED = "failed";
+
+  private final BasicProverEnvironment<T> delegate;
+  private final FormulaManager mgr;
+  private final String solver;
+
+  /** We track the stack depth on our own, because the prover might be in an invalid state. */
+  private int level = 0;
+
+  JfrBasicProverEnvironment(
+      BasicProverEnvironment<T> pDelegate, FormulaManager pMgr, String pSolver) {
+    delegate = checkNotNull(pDelegate);
+    mgr = checkNotNull(pMgr);
+    solver = checkNotNull(pSolver);
+  }
+
+  final ProverEvent begin(String operation) {
+    ProverEvent event = new ProverEvent(solver, operation);
+    event.begin();
+    return event;
+  }
+
+  final void commit(
+      ProverEvent event, Collection<? extends Formula> formulas, @Nullable Object result) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.setFormulas(mgr, formulas);
+      event.stackDepth = level;
+      event.result = String.valueOf(result);
+      event.commit();
+    }
+  }
+
+  @Override
+  public void pop() {
+    ProverEvent event = begin("pop");
+    String result = FAILED;
+    try {
+      delegate.pop();
+      level--;
+      result = "";
+    } finally {
+      commit(event, ImmutableList.of(), result);
+    }
+  }
+
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    ProverEvent event = begin("getModel");
+    String result = FAILED;
+    try {
+      Model model = delegate.getModel(pRelevantFormulas);
+      result = "";
+      return model;
+    } finally {
+      commit(event, pRelevantFormulas, result);
+    }
+  }
+
+  @Override
+  public @Nullable T addConstraint(BooleanFormula pConstraint) throws InterruptedException {
+    ProverEvent event = begin("addConstraint");
+    String result = FAILED;
+    try {
+      T id = delegate.addConstraint(pConstraint);
+      result = "";
+      return id;
+    } finally {
+      commit(event, ImmutableList.of(pConstraint), result);
+    }
+  }
+
+  @Override
+  public List<@Nullable T> addConstraints(Collection<BooleanFormula> pConstraints)
+      throws InterruptedException {
+    ProverEvent event = begin("addConstraints");
+    String result = FAILED;
+    try {
+      List<@Nullable T> ids = delegate.addConstraints(pConstraints);
+      result = "";
+      return ids;
+    } finally {
+      commit(event, pConstraints, result);
+    }
+  }
+
+  @Override
+  public void push() throws InterruptedException {
+    ProverEvent event = begin("push");
+    String result = FAILED;
+    try {
+      delegate.push();
+      level++;
+      result = "";
+    } finally {
+      commit(event, ImmutableList.of(), result);
+    }
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public boolean isUnsat() throws SolverException, InterruptedException {
+    ProverEvent event = begin("isUnsat");
+    String result = FAILED;
+    try {
+      boolean unsat = delegate.isUnsat();
+      result = unsat ? "unsat" : "sat";
+      return unsat;
+    } finally {
+      commit(event, ImmutableList.of(), result);
+    }
+  }
+
+  @Override
+  public boolean isUnsatWithAssumptions(Collection<BooleanFormula> pAssumptions)
+      throws SolverException, InterruptedException {
+    ProverEvent event = begin("isUnsatWithAssumptions");
+    String result = FAILED;
+    try {
+      boolean unsat = delegate.isUnsatWithAssumptions(pAssumptions);
+      result = unsat ? "unsat" : "sat";
+      return unsat;
+    } finally {
+      commit(event, pAssumptions, result);
+    }
+  }
+
+  @Override
+  public Model getModel() throws SolverException {
+    ProverEvent event = begin("getModel");
+    String result = FAILED;
+    try {
+      Model model = delegate.getModel();
+      result = "";
+      return model;
+    } finally {
+      commit(event, ImmutableList.of(), result);
+    }
+  }
+
+  @Override
+  public List<BooleanFormula> getUnsatCore() {
+    ProverEvent event = begin("getUnsatCore");
+    List<BooleanFormula> core = ImmutableList.of();
+    String result = FAILED;
+    try {
+      core = delegate.getUnsatCore();
+      result = "";
+      return core;
+    } finally {
+      commit(event, core, result);
+    }
+  }
+
+  @Override
+  public Optional<List<BooleanFormula>> unsatCoreOverAssumptions(
+      Collection<BooleanFormula> pAssumptions) throws SolverException, InterruptedException {
+    ProverEvent event = begin("unsatCoreOverAssumptions");
+    String result = FAILED;
+    try {
+      Optional<List<BooleanFormula>> core = delegate.unsatCoreOverAssumptions(pAssumptions);
+      result = core.isPresent() ? "unsat" : "sat";
+      return core;
+    } finally {
+      commit(event, pAssumptions, result);
+    }
+  }
+
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    return delegate.getStatistics();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+
+  @Override
+  public <R> R allSat(AllSatCallback<R> pCallback, List<BooleanFormula> pImportant)
+      throws InterruptedException, SolverException {
+    ProverEvent event = begin("allSat");
+    String result = FAILED;
+    try {
+      R allSatResult = delegate.allSat(pCallback, pImportant);
+      result = "";
+      return allSatResult;
+    } finally {
+      commit(event, pImportant, result);
+    }
+  }
+}
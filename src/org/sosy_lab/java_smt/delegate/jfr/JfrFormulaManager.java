@@ -0,0 +1,325 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.Appender;
+import org.sosy_lab.common.Appenders;
+import org.sosy_lab.java_smt.api.ArrayFormulaManager;
+import org.sosy_lab.java_smt.api.BitvectorFormulaManager;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.EnumerationFormulaManager;
+import org.sosy_lab.java_smt.api.FloatingPointFormulaManager;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.FormulaType;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.IntegerFormulaManager;
+import org.sosy_lab.java_smt.api.QuantifiedFormulaManager;
+import org.sosy_lab.java_smt.api.RationalFormulaManager;
+import org.sosy_lab.java_smt.api.SLFormulaManager;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.StringFormulaManager;
+import org.sosy_lab.java_smt.api.Tactic;
+import org.sosy_lab.java_smt.api.UFManager;
+import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
+import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
+
+/**
+ * Emits a {@link FormulaManagerEvent} for parsing, dumping, and translating formulas. All other
+ * operations are directly forwarded to the delegate.
+ */
+class JfrFormulaManager implements FormulaManager {
+
+  private final FormulaManager delegate;
+  private final String solver;
+
+  JfrFormulaManager(FormulaManager pDelegate, String pSolver) {
+    delegate = checkNotNull(pDelegate);
+    solver = checkNotNull(pSolver);
+  }
+
+  private FormulaManagerEvent begin(String operation) {
+    FormulaManagerEvent event = new FormulaManagerEvent(solver, operation);
+    event.begin();
+    return event;
+  }
+
+  private void commit(FormulaManagerEvent event, @Nullable Formula formula, int textLength) {
+    event.end();
+    if (event.shouldCommit()) {
+      if (formula != null) {
+        event.setFormulas(delegate, ImmutableList.of(formula));
+      }
+      event.textLength = textLength;
+      event.commit();
+    }
+  }
+
+  @Override
+  public IntegerFormulaManager getIntegerFormulaManager() {
+    return delegate.getIntegerFormulaManager();
+  }
+
+  @Override
+  public RationalFormulaManager getRationalFormulaManager() {
+    return delegate.getRationalFormulaManager();
+  }
+
+  @Override
+  public BooleanFormulaManager getBooleanFormulaManager() {
+    return delegate.getBooleanFormulaManager();
+  }
+
+  @Override
+  public ArrayFormulaManager getArrayFormulaManager() {
+    return delegate.getArrayFormulaManager();
+  }
+
+  @Override
+  public BitvectorFormulaManager getBitvectorFormulaManager() {
+    return delegate.getBitvectorFormulaManager();
+  }
+
+  @Override
+  public FloatingPointFormulaManager getFloatingPointFormulaManager() {
+    return delegate.getFloatingPointFormulaManager();
+  }
+
+  @Override
+  public UFManager getUFManager() {
+    return delegate.getUFManager();
+  }
+
+  @Override
+  public SLFormulaManager getSLFormulaManager() {
+    return delegate.getSLFormulaManager();
+  }
+
+  @Override
+  public QuantifiedFormulaManager getQuantifiedFormulaManager() {
+    return delegate.getQuantifiedFormulaManager();
+  }
+
+  @Override
+  public StringFormulaManager getStringFormulaManager() {
+    return delegate.getStringFormulaManager();
+  }
+
+  @Override
+  public EnumerationFormulaManager getEnumerationFormulaManager() {
+    return delegate.getEnumerationFormulaManager();
+  }
+
+  @Override
+  public <T extends Formula> T makeVariable(FormulaType<T> pFormulaType, String pName) {
+    return delegate.makeVariable(pFormulaType, pName);
+  }
+
+  @Override
+  public <T extends Formula> T makeApplication(
+      FunctionDeclaration<T> pDeclaration, List<? extends Formula> pArgs) {
+    return delegate.makeApplication(pDeclaration, pArgs);
+  }
+
+  @Override
+  public <T extends Formula> T makeApplication(
+      FunctionDeclaration<T> pDeclaration, Formula... pArgs) {
+    return delegate.makeApplication(pDeclaration, pArgs);
+  }
+
+  @Override
+  public BooleanFormula equal(Collection<Formula> pArgs) {
+    return delegate.equal(pArgs);
+  }
+
+  @Override
+  public BooleanFormula distinct(Collection<Formula> pArgs) {
+    return delegate.distinct(pArgs);
+  }
+
+  @Override
+  public <T extends Formula> FormulaType<T> getFormulaType(T pFormula) {
+    return delegate.getFormulaType(pFormula);
+  }
+
+  @Override
+  public BooleanFormula parse(String pS) throws IllegalArgumentException {
+    FormulaManagerEvent event = begin("parse");
+    BooleanFormula result = null;
+    try {
+      result = delegate.parse(pS);
+      return result;
+    } finally {
+      commit(event, result, pS.length());
+    }
+  }
+
+  @Override
+  public Iterator<BooleanFormula> parseAssertions(Reader pReader) {
+    Iterator<BooleanFormula> assertions = delegate.parseAssertions(pReader);
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return assertions.hasNext();
+      }
+
+      @Override
+      public BooleanFormula next() {
+        // the assertions are parsed lazily, so we record one event per assertion
+        FormulaManagerEvent event = begin("parseAssertion");
+        BooleanFormula result = null;
+        try {
+          result = assertions.next();
+          return result;
+        } finally {
+          commit(event, result, 0);
+        }
+      }
+    };
+  }
+
+  @Override
+  public Appender dumpFormula(BooleanFormula pT) {
+    return new Appenders.AbstractAppender() {
+      @Override
+      public void appendTo(Appendable out) throws IOException {
+        FormulaManagerEvent event = begin("dump");
+        CountingAppendable counter = new CountingAppendable(out);
+        try {
+          delegate.dumpFormula(pT).appendTo(counter); // the work is done here
+        } finally {
+          commit(event, pT, counter.length);
+        }
+      }
+    };
+  }
+
+  /** Forwards all output and counts the written characters, without storing them. */
+  private static final class CountingAppendable implements Appendable {
+
+    private final Appendable delegate;
+    private int length = 0;
+
+    private CountingAppendable(Appendable pDelegate) {
+      delegate = pDelegate;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      CharSequence text = String.valueOf(csq); // null is appended as "null"
+      delegate.append(text);
+      length += text.length();
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      CharSequence text = String.valueOf(csq);
+      delegate.append(text, start, end);
+      length += end - start;
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      delegate.append(c);
+      length++;
+      return this;
+    }
+  }
+
+  @Override
+  public BooleanFormula applyTactic(BooleanFormula pInput, Tactic pTactic)
+      throws InterruptedException, SolverException {
+    return delegate.applyTactic(pInput, pTactic);
+  }
+
+  @Override
+  public <T extends Formula> T simplify(T pInput) throws InterruptedException {
+    return delegate.simplify(pInput);
+  }
+
+  @Override
+  public <R> R visit(Formula pF, FormulaVisitor<R> pFormulaVisitor) {
+    return delegate.visit(pF, pFormulaVisitor);
+  }
+
+  @Override
+  public void visitRecursively(Formula pF, FormulaVisitor<TraversalProcess> pFormulaVisitor) {
+    delegate.visitRecursively(pF, pFormulaVisitor);
+  }
+
+  @Override
+  public <T extends Formula> T transformRecursively(
+      T pF, FormulaTransformationVisitor pFormulaVisitor) {
+    return delegate.transformRecursively(pF, pFormulaVisitor);
+  }
+
+  @Override
+  public TraversalSession newTraversalSession(int maxCacheSize) {
+    return delegate.newTraversalSession(maxCacheSize);
+  }
+
+  @Override
+  public ImmutableMap<String, Formula> extractVariables(Formula pF) {
+    return delegate.extractVariables(pF);
+  }
+
+  @Override
+  public ImmutableMap<String, Formula> extractVariablesAndUFs(Formula pF) {
+    return delegate.extractVariablesAndUFs(pF);
+  }
+
+  @Override
+  public <T extends Formula> T substitute(
+      T pF, Map<? extends Formula, ? extends Formula> pFromToMapping) {
+    return delegate.substitute(pF, pFromToMapping);
+  }
+
+  @Override
+  public BooleanFormula translateFrom(BooleanFormula pFormula, FormulaManager pOtherContext) {
+    FormulaManagerEvent event = begin("translateFrom");
+    BooleanFormula result = null;
+    try {
+      result = delegate.translateFrom(pFormula, pOtherContext);
+      return result;
+    } finally {
+      commit(event, result, 0);
+    }
+  }
+
+  @Override
+  public boolean isValidName(String pVariableName) {
+    return delegate.isValidName(pVariableName);
+  }
+
+  @Override
+  public String escape(String pVariableName) {
+    return delegate.escape(pVariableName);
+  }
+
+  @Override
+  public String unescape(String pVariableName) {
+    return delegate.unescape(pVariableName);
+  }
+}
@@ -0,0 +1,76 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.List;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+class JfrInterpolatingProverEnvironment<T> extends JfrBasicProverEnvironment<T>
+    implements InterpolatingProverEnvironment<T> {
+
+  private final InterpolatingProverEnvironment<T> delegate;
+
+  JfrInterpolatingProverEnvironment(
+      InterpolatingProverEnvironment<T> pDelegate, FormulaManager pMgr, String pSolver) {
+    super(pDelegate, pMgr, pSolver);
+    delegate = pDelegate;
+  }
+
+  @Override
+  public BooleanFormula getInterpolant(Collection<T> pFormulasOfA)
+      throws SolverException, InterruptedException {
+    ProverEvent event = begin("getInterpolant");
+    List<BooleanFormula> interpolants = ImmutableList.of();
+    String result = FAILED;
+    try {
+      BooleanFormula interpolant = delegate.getInterpolant(pFormulasOfA);
+      interpolants = ImmutableList.of(interpolant);
+      result = "";
+      return interpolant;
+    } finally {
+      commit(event, interpolants, result);
+    }
+  }
+
+  @Override
+  public List<BooleanFormula> getSeqInterpolants(List<? extends Collection<T>> pPartitionedFormulas)
+      throws SolverException, InterruptedException {
+    ProverEvent event = begin("getSeqInterpolants");
+    List<BooleanFormula> interpolants = ImmutableList.of();
+    String result = FAILED;
+    try {
+      interpolants = delegate.getSeqInterpolants(pPartitionedFormulas);
+      result = "";
+      return interpolants;
+    } finally {
+      commit(event, interpolants, result);
+    }
+  }
+
+  @Override
+  public List<BooleanFormula> getTreeInterpolants(
+      List<? extends Collection<T>> pPartitionedFormulas, int[] pStartOfSubTree)
+      throws SolverException, InterruptedException {
+    ProverEvent event = begin("getTreeInterpolants");
+    List<BooleanFormula> interpolants = ImmutableList.of();
+    String result = FAILED;
+    try {
+      interpolants = delegate.getTreeInterpolants(pPartitionedFormulas, pStartOfSubTree);
+      result = "";
+      return interpolants;
+    } finally {
+      commit(event, interpolants, result);
+    }
+  }
+}
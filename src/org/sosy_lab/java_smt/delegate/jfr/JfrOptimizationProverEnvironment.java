@@ -0,0 +1,62 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import org.sosy_lab.common.rationals.Rational;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+class JfrOptimizationProverEnvironment extends JfrBasicProverEnvironment<Void>
+    implements OptimizationProverEnvironment {
+
+  private final OptimizationProverEnvironment delegate;
+
+  JfrOptimizationProverEnvironment(
+      OptimizationProverEnvironment pDelegate, FormulaManager pMgr, String pSolver) {
+    super(pDelegate, pMgr, pSolver);
+    delegate = pDelegate;
+  }
+
+  @Override
+  public int maximize(Formula pObjective) {
+    return delegate.maximize(pObjective);
+  }
+
+  @Override
+  public int minimize(Formula pObjective) {
+    return delegate.minimize(pObjective);
+  }
+
+  @Override
+  public OptStatus check() throws InterruptedException, SolverException {
+    ProverEvent event = begin("optimize");
+    String result = FAILED;
+    try {
+      OptStatus status = delegate.check();
+      result = status.toString();
+      return status;
+    } finally {
+      commit(event, ImmutableList.of(), result);
+    }
+  }
+
+  @Override
+  public Optional<Rational> upper(int pHandle, Rational pEpsilon) {
+    return delegate.upper(pHandle, pEpsilon);
+  }
+
+  @Override
+  public Optional<Rational> lower(int pHandle, Rational pEpsilon) {
+    return delegate.lower(pHandle, pEpsilon);
+  }
+}
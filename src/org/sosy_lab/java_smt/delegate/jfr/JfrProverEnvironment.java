@@ -0,0 +1,21 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+
+class JfrProverEnvironment extends JfrBasicProverEnvironment<Void> implements ProverEnvironment {
+
+  JfrProverEnvironment(
+      BasicProverEnvironment<Void> pDelegate, FormulaManager pMgr, String pSolver) {
+    super(pDelegate, pMgr, pSolver);
+  }
+}
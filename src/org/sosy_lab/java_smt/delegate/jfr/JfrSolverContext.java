@@ -0,0 +1,110 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * Solver context that emits events for the Java Flight Recorder (JFR). The events are only recorded
+ * if a JFR recording is running and has the events of the category "JavaSMT" enabled, and the costs
+ * of computing the formula metrics of an event are only paid for recorded events.
+ */
+public final class JfrSolverContext implements SolverContext {
+
+  private final SolverContext delegate;
+  private final String solver;
+  private final FormulaManager mgr;
+
+  public JfrSolverContext(SolverContext pDelegate) {
+    delegate = checkNotNull(pDelegate);
+    solver = delegate.getSolverName().name();
+    mgr = new JfrFormulaManager(delegate.getFormulaManager(), solver);
+  }
+
+  @Override
+  public FormulaManager getFormulaManager() {
+    return mgr;
+  }
+
+  private <T> T create(Supplier<T> pCreator, ProverOptions... pOptions) {
+    ProverEvent event = new ProverEvent(solver, "create");
+    event.begin();
+    T prover = pCreator.get();
+    event.end();
+    if (event.shouldCommit()) {
+      event.result = Arrays.toString(pOptions);
+      event.commit();
+    }
+    return prover;
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public ProverEnvironment newProverEnvironment(ProverOptions... pOptions) {
+    return new JfrProverEnvironment(
+        create(() -> delegate.newProverEnvironment(pOptions), pOptions),
+        delegate.getFormulaManager(),
+        solver);
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public InterpolatingProverEnvironment<?> newProverEnvironmentWithInterpolation(
+      ProverOptions... pOptions) {
+    return new JfrInterpolatingProverEnvironment<>(
+        create(() -> delegate.newProverEnvironmentWithInterpolation(pOptions), pOptions),
+        delegate.getFormulaManager(),
+        solver);
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public OptimizationProverEnvironment newOptimizationProverEnvironment(ProverOptions... pOptions) {
+    return new JfrOptimizationProverEnvironment(
+        create(() -> delegate.newOptimizationProverEnvironment(pOptions), pOptions),
+        delegate.getFormulaManager(),
+        solver);
+  }
+
+  @Override
+  public String getVersion() {
+    return delegate.getVersion();
+  }
+
+  @Override
+  public Solvers getSolverName() {
+    return delegate.getSolverName();
+  }
+
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    return delegate.getStatistics();
+  }
+
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    return delegate.getNativeMemoryUsage();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,36 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** JFR event for an operation on a prover environment, e.g., a satisfiability check. */
+@Name("org.sosy_lab.java_smt.ProverOperation")
+@Label("Prover Operation")
+@Category("JavaSMT")
+@StackTrace(false)
+@Threshold(AbstractSolverEvent.DEFAULT_THRESHOLD)
+final class ProverEvent extends AbstractSolverEvent {
+
+  @Label("Stack Depth")
+  @Description("Number of levels on the assertion stack of the prover after the operation")
+  int stackDepth;
+
+  @Label("Result")
+  String result = "";
+
+  ProverEvent(String pSolver, String pOperation) {
+    super(pSolver, pOperation);
+  }
+}
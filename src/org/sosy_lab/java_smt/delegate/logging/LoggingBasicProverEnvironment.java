@@ -21,6 +21,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.Model.ValueAssignment;
 import org.sosy_lab.java_smt.api.SolverException;
@@ -56,6 +57,13 @@ class LoggingBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
     return wrapped.addConstraint(constraint);
   }
 
+  @Override
+  public List<@Nullable T> addConstraints(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    logger.log(Level.FINE, "adding", constraints.size(), "constraints");
+    return wrapped.addConstraints(constraints);
+  }
+
   @Override
   public void push() throws InterruptedException {
     logger.log(Level.FINE, "up to level " + level++);
@@ -100,6 +108,21 @@ class LoggingBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
     return m;
   }
 
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    Model m = wrapped.getModel(pRelevantFormulas);
+    logger.log(Level.FINE, "projected model", m);
+    return m;
+  }
+
+  @Override
+  public ImmutableList<ValueAssignment> getModelAssignments(
+      Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    ImmutableList<ValueAssignment> m = wrapped.getModelAssignments(pRelevantFormulas);
+    logger.log(Level.FINE, "projected model", m);
+    return m;
+  }
+
   @Override
   public List<BooleanFormula> getUnsatCore() {
     List<BooleanFormula> unsatCore = wrapped.getUnsatCore();
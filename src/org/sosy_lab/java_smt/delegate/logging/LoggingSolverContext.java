@@ -11,6 +11,7 @@ package org.sosy_lab.java_smt.delegate.logging;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.OptionalLong;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.FormulaManager;
@@ -71,6 +72,11 @@ public final class LoggingSolverContext implements SolverContext {
     return delegate.getStatistics();
   }
 
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    return delegate.getNativeMemoryUsage();
+  }
+
   @Override
   public void close() {
     delegate.close();
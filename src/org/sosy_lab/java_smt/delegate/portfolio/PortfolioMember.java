@@ -0,0 +1,417 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.portfolio;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.Model.ValueAssignment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * One solver of a portfolio prover. Each member owns a thread, and its context is created, fed,
+ * and queried only on this thread. Thus, solvers whose context must be used from a single thread,
+ * e.g., CVC5, can be members of a portfolio.
+ *
+ * <p>All operations are submitted to the member thread and executed in order. Formulas are handed
+ * over as SMT-LIB2 strings that were dumped by the calling thread, and model assignments are
+ * handed back as SMT-LIB2 strings and Java values, such that the member thread never accesses the
+ * formulas of the portfolio. Queries that are outdated before they start are skipped.
+ *
+ * <p>A running query that is cancelled with {@link #cancel} is interrupted through the shutdown
+ * notifier of the member context, which is a child of the shutdown manager of the member. As the
+ * interrupted context can not be used anymore, it is replaced before the next operation, and the
+ * assertion stack is replayed from the SMT-LIB2 strings. A shutdown request of the user or closing
+ * the member interrupts and stops the member for good.
+ *
+ * <p>If an assertion can not be handed over, e.g., because the solver does not support its theory,
+ * the member does not take part in queries until the level of this assertion is popped.
+ */
+final class PortfolioMember {
+
+  private final Configuration config;
+  private final Solvers solver;
+  private final LogManager logger;
+  private final ProverOptions[] options;
+  private final ShutdownNotifier userNotifier;
+  private final ShutdownManager shutdownManager;
+  private final ShutdownRequestListener shutdownListener;
+  private final ExecutorService executor;
+
+  /** the number of the latest query, queries with a smaller number are outdated. */
+  private volatile long latestQuery = -1;
+
+  /** the number of the query that is currently solved on the member thread, or -1. */
+  private volatile long runningQuery = -1;
+
+  /** the number of the latest query that was cancelled. */
+  private volatile long cancelledQuery = -1;
+
+  /** the child of {@link #shutdownManager} that is used for the current context. */
+  private volatile @Nullable ShutdownManager contextManager = null;
+
+  // only accessed from the member thread
+  private @Nullable SolverContext context = null;
+  private @Nullable ProverEnvironment prover = null;
+  private @Nullable Throwable creationError = null;
+
+  /** the asserted formulas as SMT-LIB2 strings, one list per level of the assertion stack. */
+  private final List<List<String>> assertions = new ArrayList<>();
+
+  /** the lowest level with an assertion that was not handed over, or -1. */
+  private int failedLevel = -1;
+
+  private @Nullable Throwable failure = null;
+
+  /**
+   * Start a new member and create its context on the member thread. The creation does not block
+   * the calling thread.
+   */
+  PortfolioMember(
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pUserNotifier,
+      Solvers pSolver,
+      Set<ProverOptions> pOptions) {
+    config = pConfig;
+    solver = pSolver;
+    logger = pLogger;
+    options = pOptions.toArray(new ProverOptions[0]);
+    userNotifier = pUserNotifier;
+    shutdownManager = ShutdownManager.create();
+    shutdownListener = shutdownManager::requestShutdown;
+    executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("JavaSMT portfolio " + pSolver + " thread %d")
+                .setDaemon(true)
+                .build());
+    userNotifier.registerAndCheckImmediately(shutdownListener);
+    assertions.add(new ArrayList<>());
+    execute(this::createContext);
+  }
+
+  Solvers getSolver() {
+    return solver;
+  }
+
+  /** Create the context and the prover with a new child of the shutdown manager of the member. */
+  private void createContext() {
+    ShutdownManager manager = ShutdownManager.createWithParent(shutdownManager.getNotifier());
+    contextManager = manager;
+    creationError = null;
+    try {
+      context =
+          new SolverContextFactory(config, logger, manager.getNotifier()).generateContext(solver);
+      prover = context.newProverEnvironment(options);
+    } catch (Exception e) {
+      logger.logDebugException(e, "Creating the portfolio member for " + solver + " failed");
+      creationError = e;
+      closeContext();
+    }
+  }
+
+  private void closeContext() {
+    if (prover != null) {
+      prover.close();
+      prover = null;
+    }
+    if (context != null) {
+      context.close();
+      context = null;
+    }
+  }
+
+  /**
+   * Replace the context if a cancelled query has interrupted it, and replay the assertion stack.
+   * Nothing is replaced after a shutdown request of the user or after closing the member.
+   */
+  private void replaceInterruptedContext() {
+    ShutdownManager manager = contextManager;
+    if (manager == null
+        || !manager.getNotifier().shouldShutdown()
+        || shutdownManager.getNotifier().shouldShutdown()) {
+      return;
+    }
+    closeContext();
+    createContext();
+    failedLevel = -1;
+    failure = null;
+    try {
+      for (int i = 0; i < assertions.size(); i++) {
+        if (i > 0 && prover != null) {
+          prover.push();
+        }
+        assertOnMember(i, assertions.get(i));
+      }
+    } catch (InterruptedException e) {
+      // only happens after a shutdown request, the member does not take part in queries anymore
+      logger.logDebugException(e, "Replaying the assertions of " + solver + " was interrupted");
+      creationError = e;
+      closeContext();
+    }
+  }
+
+  void push() {
+    execute(
+        () -> {
+          assertions.add(new ArrayList<>());
+          if (prover != null) {
+            prover.push();
+          }
+        });
+  }
+
+  void pop() {
+    execute(
+        () -> {
+          assertions.remove(assertions.size() - 1);
+          if (assertions.size() <= failedLevel) {
+            failedLevel = -1;
+            failure = null;
+          }
+          if (prover != null) {
+            prover.pop();
+          }
+        });
+  }
+
+  /** Assert the given formulas, each given as SMT-LIB2 string. */
+  void addConstraints(List<String> pFormulas) {
+    execute(
+        () -> {
+          int level = assertions.size() - 1;
+          assertions.get(level).addAll(pFormulas);
+          assertOnMember(level, pFormulas);
+        });
+  }
+
+  private void assertOnMember(int pLevel, List<String> pFormulas) throws InterruptedException {
+    if (prover == null || failedLevel >= 0 || pFormulas.isEmpty()) {
+      return;
+    }
+    try {
+      prover.addConstraints(parse(pFormulas));
+    } catch (IllegalArgumentException | UnsupportedOperationException e) {
+      logger.logDebugException(e, "Portfolio member " + solver + " can not assert formula");
+      failedLevel = pLevel;
+      failure = e;
+    }
+  }
+
+  private List<BooleanFormula> parse(List<String> pFormulas) {
+    FormulaManager fmgr = getContext().getFormulaManager();
+    List<BooleanFormula> result = new ArrayList<>(pFormulas.size());
+    for (String formula : pFormulas) {
+      result.add(fmgr.parse(formula));
+    }
+    return result;
+  }
+
+  /**
+   * Mark all queries before the given one as outdated. Must be called in the calling thread before
+   * {@link #query}, such that the member thread skips the outdated queries.
+   */
+  void startQuery(long pQuery) {
+    latestQuery = pQuery;
+  }
+
+  /**
+   * Solve the current stack on the member thread, optionally with assumptions given as SMT-LIB2
+   * strings. The future completes with a {@link CancellationException} if the query is outdated or
+   * cancelled before it starts, and with an {@link InterruptedException} if it is interrupted.
+   */
+  CompletableFuture<Boolean> query(long pQuery, @Nullable List<String> pAssumptions) {
+    return submit(
+        () -> {
+          // set before checking for cancellation, such that a concurrent cancel() sees the query
+          runningQuery = pQuery;
+          try {
+            if (pQuery != latestQuery || pQuery == cancelledQuery) {
+              throw new CancellationException("query is outdated");
+            }
+            ProverEnvironment p = getProver();
+            return pAssumptions == null
+                ? p.isUnsat()
+                : p.isUnsatWithAssumptions(parse(pAssumptions));
+          } finally {
+            runningQuery = -1;
+          }
+        });
+  }
+
+  /**
+   * Cancel the given query, because another member answered it. The query is skipped if it did not
+   * start yet, and interrupted if it is running. This method does not wait for the member thread.
+   */
+  void cancel(long pQuery) {
+    cancelledQuery = pQuery;
+    ShutdownManager manager = contextManager;
+    if (runningQuery == pQuery && manager != null) {
+      manager.requestShutdown("another solver of the portfolio answered first");
+    }
+  }
+
+  /**
+   * Compute the model assignments of the last query on the member thread. Each assignment is
+   * handed over as SMT-LIB2 string together with its Java values, such that the calling thread can
+   * rebuild it in its own context.
+   *
+   * @param pRelevantSymbols names of variables and UFs for a projected model, or null for the
+   *     complete model.
+   */
+  CompletableFuture<ImmutableList<DumpedAssignment>> getModelAssignments(
+      @Nullable Set<String> pRelevantSymbols) {
+    return submit(
+        () -> {
+          FormulaManager fmgr = getContext().getFormulaManager();
+          ImmutableList.Builder<DumpedAssignment> result = ImmutableList.builder();
+          for (ValueAssignment assignment : getProver().getModelAssignments()) {
+            if (pRelevantSymbols == null || pRelevantSymbols.contains(assignment.getName())) {
+              result.add(
+                  new DumpedAssignment(
+                      fmgr.dumpFormula(assignment.getAssignmentAsFormula()).toString(),
+                      assignment.getName(),
+                      assignment.getValue(),
+                      assignment.getArgumentsInterpretation()));
+            }
+          }
+          return result.build();
+        });
+  }
+
+  /** A model assignment of a member, given as SMT-LIB2 string and Java values. */
+  static final class DumpedAssignment {
+
+    private final String formula;
+    private final String name;
+    private final Object value;
+    private final ImmutableList<Object> arguments;
+
+    private DumpedAssignment(String pFormula, String pName, Object pValue, List<?> pArguments) {
+      formula = pFormula;
+      name = pName;
+      value = pValue;
+      arguments = ImmutableList.copyOf(pArguments);
+    }
+
+    /** The assignment as equation between key and value, dumped as SMT-LIB2 string. */
+    String getFormula() {
+      return formula;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    Object getValue() {
+      return value;
+    }
+
+    ImmutableList<Object> getArgumentsInterpretation() {
+      return arguments;
+    }
+  }
+
+  private SolverContext getContext() {
+    if (context == null) {
+      throw new IllegalStateException("portfolio member could not be created", creationError);
+    }
+    return context;
+  }
+
+  private ProverEnvironment getProver() {
+    if (prover == null) {
+      throw new IllegalStateException("portfolio member could not be created", creationError);
+    }
+    if (failure != null) {
+      throw new IllegalStateException("portfolio member can not assert all formulas", failure);
+    }
+    return prover;
+  }
+
+  /** An operation on the member thread. */
+  @FunctionalInterface
+  private interface MemberTask<R> {
+    R run() throws Exception;
+  }
+
+  /** An operation on the member thread without result. */
+  @FunctionalInterface
+  private interface MemberAction {
+    void run() throws Exception;
+  }
+
+  private <R> CompletableFuture<R> submit(MemberTask<R> pTask) {
+    CompletableFuture<R> future = new CompletableFuture<>();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              replaceInterruptedContext();
+              future.complete(pTask.run());
+            } catch (Throwable t) {
+              future.completeExceptionally(t);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(new IllegalStateException("portfolio member is closed", e));
+    }
+    return future;
+  }
+
+  private void execute(MemberAction pAction) {
+    executor.execute(
+        () -> {
+          try {
+            replaceInterruptedContext();
+            pAction.run();
+          } catch (Exception e) {
+            logger.logDebugException(e, "Portfolio member " + solver + " failed");
+          }
+        });
+  }
+
+  /**
+   * Interrupt the running query, close the context on the member thread, and stop the thread. This
+   * method does not wait until the context is closed.
+   */
+  void close() {
+    if (!executor.isShutdown()) {
+      userNotifier.unregister(shutdownListener);
+      shutdownManager.requestShutdown("portfolio prover was closed");
+      execute(this::closeContext);
+      executor.shutdown();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PortfolioMember " + solver;
+  }
+}
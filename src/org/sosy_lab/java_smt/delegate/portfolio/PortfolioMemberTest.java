@@ -0,0 +1,96 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.portfolio;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.test.HardIntegerFormulaGenerator;
+import org.sosy_lab.java_smt.test.SolverBasedTest0;
+
+/** Check that a member of a portfolio that loses a race is interrupted and stays usable. */
+public class PortfolioMemberTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private static final int TIMEOUT_MILLISECONDS = 20000;
+
+  private PortfolioMember member;
+
+  @Before
+  public void setUp() {
+    // see TimeoutTest for solvers that do not support interruption
+    assume()
+        .withMessage(solverToUse() + " does not support interruption")
+        .that(solverToUse())
+        .isNoneOf(Solvers.PRINCESS, Solvers.CVC5);
+    requireIntegers();
+    member =
+        new PortfolioMember(
+            config, logger, shutdownNotifierToUse(), solverToUse(), ImmutableSet.of());
+  }
+
+  @After
+  public void tearDown() {
+    if (member != null) {
+      member.close();
+    }
+  }
+
+  private List<String> dump(BooleanFormula pFormula) {
+    return ImmutableList.of(mgr.dumpFormula(pFormula).toString());
+  }
+
+  @Test(timeout = TIMEOUT_MILLISECONDS)
+  public void slowQueryIsInterrupted() throws Exception {
+    BooleanFormula hard = new HardIntegerFormulaGenerator(imgr, bmgr).generate(200);
+    BooleanFormula a = bmgr.makeVariable("a");
+
+    member.addConstraints(dump(a));
+    member.push();
+    member.addConstraints(dump(hard));
+    member.startQuery(1);
+    CompletableFuture<Boolean> slow = member.query(1, null);
+    Thread.sleep(100);
+    member.cancel(1);
+
+    // the hard query is skipped or interrupted, and does not block the member thread
+    assertThrows(Exception.class, slow::get);
+
+    // the member replaces its interrupted context and keeps the remaining assertions
+    member.pop();
+    member.startQuery(2);
+    assertThat(member.query(2, null).get()).isFalse();
+    member.startQuery(3);
+    assertThat(member.query(3, dump(bmgr.not(a))).get()).isTrue();
+  }
+
+  @Test(timeout = TIMEOUT_MILLISECONDS)
+  public void userShutdownStopsMember() throws Exception {
+    BooleanFormula hard = new HardIntegerFormulaGenerator(imgr, bmgr).generate(200);
+
+    member.addConstraints(dump(hard));
+    member.startQuery(1);
+    CompletableFuture<Boolean> slow = member.query(1, null);
+    Thread.sleep(100);
+    shutdownManager.requestShutdown("test");
+
+    assertThrows(Exception.class, slow::get);
+    member.startQuery(2);
+    assertThrows(Exception.class, () -> member.query(2, null).get());
+  }
+}
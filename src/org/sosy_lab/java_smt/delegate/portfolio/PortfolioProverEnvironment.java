@@ -0,0 +1,442 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.portfolio;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.FunctionDeclarationKind;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
+import org.sosy_lab.java_smt.delegate.portfolio.PortfolioMember.DumpedAssignment;
+
+/**
+ * Prover that mirrors its assertion stack into one prover per solver of the portfolio and races
+ * them on each satisfiability check. The members are created together with this prover and are
+ * kept for its whole lifetime: a member that does not answer first is interrupted and takes part in
+ * the next query afterward.
+ *
+ * <p>The model assignments of a satisfiable query are taken from the member that answered first.
+ * They are handed over as SMT-LIB2 strings and rebuilt in the calling thread. If this fails, and
+ * for {@link #getModel}, unsat cores, and ALLSAT, the primary prover of the first solver solves the
+ * query again.
+ */
+class PortfolioProverEnvironment implements ProverEnvironment {
+
+  /** Kinds of the equations that solvers use as formula of a model assignment. */
+  private static final ImmutableSet<FunctionDeclarationKind> EQUATIONS =
+      ImmutableSet.of(
+          FunctionDeclarationKind.EQ,
+          FunctionDeclarationKind.IFF,
+          FunctionDeclarationKind.BV_EQ,
+          FunctionDeclarationKind.FP_EQ);
+
+  /** Returns key and value of an assignment formula, or null for any other formula. */
+  private static final FormulaVisitor<@Nullable List<Formula>> EQUATION_SIDES =
+      new DefaultFormulaVisitor<>() {
+        @Override
+        protected @Nullable List<Formula> visitDefault(Formula pF) {
+          return null;
+        }
+
+        @Override
+        public @Nullable List<Formula> visitFunction(
+            Formula pF, List<Formula> pArgs, FunctionDeclaration<?> pFunctionDeclaration) {
+          if (pArgs.size() == 2 && EQUATIONS.contains(pFunctionDeclaration.getKind())) {
+            return pArgs;
+          }
+          return null;
+        }
+      };
+
+  private final PortfolioSolverContext portfolio;
+  private final ProverEnvironment primary;
+  private final boolean generateModels;
+  private final ImmutableList<PortfolioMember> members;
+
+  /** the number of levels of the assertion stack. */
+  private int level = 0;
+
+  /** the number of the last query, used to skip outdated queries in the members. */
+  private long lastQuery = 0;
+
+  /** the assumptions of the last query, or null for a query without assumptions. */
+  private @Nullable ImmutableList<BooleanFormula> lastAssumptions = null;
+
+  /** the member that answered the last query, or null if the stack changed afterward. */
+  private @Nullable PortfolioMember winner = null;
+
+  /** whether the primary prover has solved the last query, e.g., for model generation. */
+  private boolean primaryIsSolved = true;
+
+  private boolean closed = false;
+
+  PortfolioProverEnvironment(
+      PortfolioSolverContext pPortfolio, ProverEnvironment pPrimary, ProverOptions... pOptions) {
+    portfolio = checkNotNull(pPortfolio);
+    primary = checkNotNull(pPrimary);
+    // the members only decide satisfiability and provide model assignments.
+    Set<ProverOptions> options = ImmutableSet.copyOf(pOptions);
+    generateModels = options.contains(ProverOptions.GENERATE_MODELS);
+    Set<ProverOptions> memberOptions =
+        Sets.intersection(
+            options,
+            ImmutableSet.of(ProverOptions.GENERATE_MODELS, ProverOptions.ENABLE_SEPARATION_LOGIC));
+    ImmutableList.Builder<PortfolioMember> builder = ImmutableList.builder();
+    for (Solvers solver : portfolio.getSolvers()) {
+      builder.add(
+          new PortfolioMember(
+              portfolio.getConfig(),
+              portfolio.getLogger(),
+              portfolio.getShutdownNotifier(),
+              solver,
+              memberOptions));
+    }
+    members = builder.build();
+  }
+
+  @Override
+  public void push() throws InterruptedException {
+    checkState(!closed);
+    primary.push();
+    for (PortfolioMember member : members) {
+      member.push();
+    }
+    level++;
+    stackChanged();
+  }
+
+  @Override
+  public void pop() {
+    checkState(!closed);
+    checkState(level > 0, "not enough levels to remove");
+    primary.pop();
+    for (PortfolioMember member : members) {
+      member.pop();
+    }
+    level--;
+    stackChanged();
+  }
+
+  @Override
+  public @Nullable Void addConstraint(BooleanFormula pConstraint) throws InterruptedException {
+    checkState(!closed);
+    primary.addConstraint(pConstraint);
+    List<String> dumped = dump(ImmutableList.of(pConstraint));
+    for (PortfolioMember member : members) {
+      member.addConstraints(dumped);
+    }
+    stackChanged();
+    return null;
+  }
+
+  @Override
+  public List<@Nullable Void> addConstraints(Collection<BooleanFormula> pConstraints)
+      throws InterruptedException {
+    checkState(!closed);
+    List<@Nullable Void> ids = primary.addConstraints(pConstraints);
+    List<String> dumped = dump(pConstraints);
+    for (PortfolioMember member : members) {
+      member.addConstraints(dumped);
+    }
+    stackChanged();
+    return ids;
+  }
+
+  /** Dump the given formulas once for all members, which parse them on their own thread. */
+  private List<String> dump(Collection<BooleanFormula> pFormulas) {
+    FormulaManager fmgr = portfolio.getFormulaManager();
+    List<String> result = new ArrayList<>(pFormulas.size());
+    for (BooleanFormula formula : pFormulas) {
+      result.add(fmgr.dumpFormula(formula).toString());
+    }
+    return result;
+  }
+
+  private void stackChanged() {
+    lastAssumptions = null;
+    winner = null;
+    primaryIsSolved = true;
+  }
+
+  @Override
+  public int size() {
+    checkState(!closed);
+    return level;
+  }
+
+  @Override
+  public boolean isUnsat() throws SolverException, InterruptedException {
+    return race(null);
+  }
+
+  @Override
+  public boolean isUnsatWithAssumptions(Collection<BooleanFormula> pAssumptions)
+      throws SolverException, InterruptedException {
+    return race(ImmutableList.copyOf(pAssumptions));
+  }
+
+  /**
+   * Run the query on all members concurrently, and return the first result. The other members are
+   * cancelled as soon as the first result is known.
+   */
+  private boolean race(@Nullable ImmutableList<BooleanFormula> pAssumptions)
+      throws SolverException, InterruptedException {
+    checkState(!closed);
+    portfolio.getShutdownNotifier().shutdownIfNecessary();
+    @Nullable List<String> assumptions = pAssumptions == null ? null : dump(pAssumptions);
+    long query = ++lastQuery;
+
+    Map<CompletableFuture<Boolean>, PortfolioMember> running = new HashMap<>();
+    for (PortfolioMember member : members) {
+      member.startQuery(query);
+      running.put(member.query(query, assumptions), member);
+    }
+
+    @Nullable Throwable firstError = null;
+    while (!running.isEmpty()) {
+      try {
+        CompletableFuture.anyOf(running.keySet().toArray(new CompletableFuture<?>[0])).get();
+      } catch (ExecutionException | CancellationException e) {
+        // handled below for each completed future
+      }
+      Iterator<Map.Entry<CompletableFuture<Boolean>, PortfolioMember>> it =
+          running.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<CompletableFuture<Boolean>, PortfolioMember> entry = it.next();
+        if (!entry.getKey().isDone()) {
+          continue;
+        }
+        it.remove();
+        try {
+          boolean result = entry.getKey().get();
+          portfolio.recordWin(entry.getValue().getSolver());
+          lastAssumptions = pAssumptions;
+          winner = entry.getValue();
+          primaryIsSolved = false;
+          for (PortfolioMember loser : running.values()) {
+            loser.cancel(query);
+          }
+          return result;
+        } catch (ExecutionException e) {
+          if (firstError == null) {
+            firstError = e.getCause();
+          }
+        } catch (CancellationException e) {
+          if (firstError == null) {
+            firstError = e;
+          }
+        }
+      }
+    }
+
+    Throwable error = checkNotNull(firstError);
+    Throwables.throwIfInstanceOf(error, SolverException.class);
+    Throwables.throwIfInstanceOf(error, InterruptedException.class);
+    Throwables.throwIfUnchecked(error);
+    throw new SolverException("all solvers of the portfolio failed", error);
+  }
+
+  /** Let the primary prover solve the last query, if it was answered by the portfolio. */
+  private void ensurePrimaryIsSolved() throws SolverException, InterruptedException {
+    if (!primaryIsSolved) {
+      primaryIsSolved = true;
+      if (lastAssumptions == null) {
+        primary.isUnsat();
+      } else {
+        primary.isUnsatWithAssumptions(lastAssumptions);
+      }
+    }
+  }
+
+  /**
+   * Take the model assignments from the member that answered the last query and rebuild them with
+   * the formula manager of the portfolio.
+   *
+   * @return the rebuilt assignments, or null if the primary prover needs to compute them.
+   */
+  private @Nullable ImmutableList<Model.ValueAssignment> getWinnerModelAssignments(
+      @Nullable Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    if (primaryIsSolved || winner == null || !generateModels) {
+      return null;
+    }
+    FormulaManager fmgr = portfolio.getFormulaManager();
+    @Nullable Set<String> relevantSymbols = null;
+    if (pRelevantFormulas != null) {
+      relevantSymbols = new HashSet<>();
+      for (Formula formula : pRelevantFormulas) {
+        relevantSymbols.addAll(fmgr.extractVariablesAndUFs(formula).keySet());
+      }
+    }
+    ImmutableList<DumpedAssignment> dumped;
+    try {
+      dumped = winner.getModelAssignments(relevantSymbols).get();
+    } catch (ExecutionException e) {
+      portfolio
+          .getLogger()
+          .logDebugException(e.getCause(), "Computing the model of " + winner + " failed");
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolverException("Interrupted while computing a model", e);
+    }
+    ImmutableList.Builder<Model.ValueAssignment> result = ImmutableList.builder();
+    for (DumpedAssignment assignment : dumped) {
+      BooleanFormula formula;
+      try {
+        formula = fmgr.parse(assignment.getFormula());
+      } catch (IllegalArgumentException e) {
+        portfolio.getLogger().logDebugException(e, "Parsing the model of " + winner + " failed");
+        return null;
+      }
+      @Nullable List<Formula> sides = fmgr.visit(formula, EQUATION_SIDES);
+      if (sides == null) {
+        return null;
+      }
+      result.add(
+          new Model.ValueAssignment(
+              sides.get(0),
+              sides.get(1),
+              formula,
+              assignment.getName(),
+              assignment.getValue(),
+              assignment.getArgumentsInterpretation()));
+    }
+    return result.build();
+  }
+
+  @Override
+  public Model getModel() throws SolverException {
+    try {
+      ensurePrimaryIsSolved();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolverException("Interrupted while computing a model", e);
+    }
+    return primary.getModel();
+  }
+
+  @Override
+  public ImmutableList<Model.ValueAssignment> getModelAssignments() throws SolverException {
+    @Nullable ImmutableList<Model.ValueAssignment> assignments = getWinnerModelAssignments(null);
+    if (assignments != null) {
+      return assignments;
+    }
+    try {
+      ensurePrimaryIsSolved();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolverException("Interrupted while computing a model", e);
+    }
+    return primary.getModelAssignments();
+  }
+
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    try {
+      ensurePrimaryIsSolved();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolverException("Interrupted while computing a model", e);
+    }
+    return primary.getModel(pRelevantFormulas);
+  }
+
+  @Override
+  public ImmutableList<Model.ValueAssignment> getModelAssignments(
+      Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    @Nullable ImmutableList<Model.ValueAssignment> assignments =
+        getWinnerModelAssignments(pRelevantFormulas);
+    if (assignments != null) {
+      return assignments;
+    }
+    try {
+      ensurePrimaryIsSolved();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolverException("Interrupted while computing a model", e);
+    }
+    return primary.getModelAssignments(pRelevantFormulas);
+  }
+
+  @Override
+  public List<BooleanFormula> getUnsatCore() {
+    try {
+      ensurePrimaryIsSolved();
+    } catch (SolverException e) {
+      throw new IllegalStateException("Computing the unsat core failed", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while computing the unsat core", e);
+    }
+    return primary.getUnsatCore();
+  }
+
+  @Override
+  public Optional<List<BooleanFormula>> unsatCoreOverAssumptions(
+      Collection<BooleanFormula> pAssumptions) throws SolverException, InterruptedException {
+    primaryIsSolved = true;
+    return primary.unsatCoreOverAssumptions(pAssumptions);
+  }
+
+  @Override
+  public <R> R allSat(AllSatCallback<R> pCallback, List<BooleanFormula> pImportant)
+      throws InterruptedException, SolverException {
+    primaryIsSolved = true;
+    return primary.allSat(pCallback, pImportant);
+  }
+
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    return primary.getStatistics();
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      for (PortfolioMember member : members) {
+        member.close();
+      }
+      primary.close();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PortfolioProverEnvironment " + portfolio.getSolvers();
+  }
+}
@@ -0,0 +1,171 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.portfolio;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.LinkedHashMultiset;
+import com.google.common.collect.Multiset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * A context that races several solvers on each satisfiability check of a {@link ProverEnvironment}
+ * and answers with the first result.
+ *
+ * <p>All formulas belong to the context of the first solver in the portfolio. Each prover creates
+ * its own context for every solver of the portfolio, each on a dedicated thread, and mirrors its
+ * assertion stack there. The formulas are handed over as SMT-LIB2 strings, such that solvers with
+ * thread-local contexts like CVC5 can be used, too. A solver that does not answer first is
+ * interrupted and is reused for the next query.
+ *
+ * <p>Model assignments are handed back as SMT-LIB2 strings from the solver that answered first and
+ * rebuilt in the thread of the prover. For models, unsat cores, and ALLSAT, a prover of the first
+ * solver solves the query again on demand, which costs as much as a query without portfolio.
+ * Provers for interpolation and optimization are taken directly from the first solver.
+ *
+ * <p>The context counts how often each solver answered a query first, see {@link #getWins()}.
+ */
+public class PortfolioSolverContext implements SolverContext {
+
+  private final Configuration config;
+  private final LogManager logger;
+  private final ShutdownNotifier shutdownNotifier;
+  private final ImmutableList<Solvers> solvers;
+  private final SolverContext primary;
+
+  // guarded by this
+  private final Multiset<Solvers> wins = LinkedHashMultiset.create();
+
+  /**
+   * Create a portfolio of the given solvers.
+   *
+   * @param pSolvers the solvers of the portfolio, the first solver is used for creating formulas.
+   * @throws InvalidConfigurationException if one of the solvers is not available.
+   */
+  public PortfolioSolverContext(
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      List<Solvers> pSolvers)
+      throws InvalidConfigurationException {
+    checkArgument(!pSolvers.isEmpty(), "a portfolio needs at least one solver");
+    config = checkNotNull(pConfig);
+    logger = checkNotNull(pLogger);
+    shutdownNotifier = checkNotNull(pShutdownNotifier);
+    solvers = ImmutableList.copyOf(pSolvers);
+
+    // check early that all solvers are available
+    Set<Solvers> otherSolvers = new LinkedHashSet<>(solvers);
+    otherSolvers.remove(solvers.get(0));
+    for (Solvers solver : otherSolvers) {
+      createContext(solver).close();
+    }
+    primary = createContext(solvers.get(0));
+  }
+
+  private SolverContext createContext(Solvers pSolver) throws InvalidConfigurationException {
+    return new SolverContextFactory(config, logger, shutdownNotifier).generateContext(pSolver);
+  }
+
+  Configuration getConfig() {
+    return config;
+  }
+
+  LogManager getLogger() {
+    return logger;
+  }
+
+  ShutdownNotifier getShutdownNotifier() {
+    return shutdownNotifier;
+  }
+
+  ImmutableList<Solvers> getSolvers() {
+    return solvers;
+  }
+
+  synchronized void recordWin(Solvers pSolver) {
+    wins.add(pSolver);
+  }
+
+  /** Returns how often each solver answered a satisfiability check first. */
+  public synchronized ImmutableMultiset<Solvers> getWins() {
+    return ImmutableMultiset.copyOf(wins);
+  }
+
+  @Override
+  public FormulaManager getFormulaManager() {
+    return primary.getFormulaManager();
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public ProverEnvironment newProverEnvironment(ProverOptions... pOptions) {
+    return new PortfolioProverEnvironment(this, primary.newProverEnvironment(pOptions), pOptions);
+  }
+
+  @Override
+  public InterpolatingProverEnvironment<?> newProverEnvironmentWithInterpolation(
+      ProverOptions... pOptions) {
+    return primary.newProverEnvironmentWithInterpolation(pOptions);
+  }
+
+  @Override
+  public OptimizationProverEnvironment newOptimizationProverEnvironment(ProverOptions... pOptions) {
+    return primary.newOptimizationProverEnvironment(pOptions);
+  }
+
+  @Override
+  public String getVersion() {
+    return "Portfolio of " + solvers + " with " + primary.getVersion();
+  }
+
+  @Override
+  public Solvers getSolverName() {
+    return primary.getSolverName();
+  }
+
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    builder.putAll(primary.getStatistics());
+    ImmutableMultiset<Solvers> currentWins = getWins();
+    for (Solvers solver : new LinkedHashSet<>(solvers)) {
+      builder.put("number of wins for " + solver, Integer.toString(currentWins.count(solver)));
+    }
+    return builder.buildOrThrow();
+  }
+
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    return primary.getNativeMemoryUsage();
+  }
+
+  @Override
+  public void close() {
+    primary.close();
+  }
+}
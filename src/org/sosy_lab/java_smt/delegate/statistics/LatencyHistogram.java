@@ -0,0 +1,200 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.statistics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.sosy_lab.common.time.TimeSpan;
+
+/**
+ * Lock-free histogram of latencies with a fixed memory footprint.
+ *
+ * <p>The buckets are log-linear: each power of two is split into {@link #SUB_BUCKETS} linear
+ * buckets, such that the relative error of a reported percentile is at most 1/{@value
+ * #SUB_BUCKETS}. Latencies above {@link #MAX_LATENCY} nanoseconds (more than one hour) are counted
+ * in the last bucket. The counters are striped by thread, such that concurrent provers do not
+ * contend on the same counters.
+ *
+ * <p>Reading a {@link Snapshot} does not block recording threads. Values recorded concurrently to
+ * {@link #snapshotAndReset()} are either part of the returned snapshot or of the next one.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 41;
+
+  /** The largest latency (in nanoseconds) that is counted in its own bucket. */
+  static final long MAX_LATENCY = (1L << (MAX_EXPONENT + 1)) - 1;
+
+  private static final int BUCKETS = bucketIndex(MAX_LATENCY) + 1;
+  private static final int MAX_STRIPES = 8;
+
+  private final int stripeMask;
+
+  /** The counters of all stripes, stripe after stripe. */
+  private final AtomicLongArray counts;
+
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /** Create a histogram for concurrent use from several threads. */
+  public LatencyHistogram() {
+    this(Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES)));
+  }
+
+  /** Create a histogram with the given number of stripes, which must be a power of two. */
+  LatencyHistogram(int pStripes) {
+    checkArgument(pStripes > 0 && Integer.bitCount(pStripes) == 1);
+    stripeMask = pStripes - 1;
+    counts = new AtomicLongArray(pStripes * BUCKETS);
+  }
+
+  static int bucketIndex(long pNanos) {
+    long value = Math.min(Math.max(pNanos, 0), MAX_LATENCY);
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) | (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /** Returns the largest latency that is counted in the given bucket. */
+  static long upperBound(int pIndex) {
+    if (pIndex < SUB_BUCKETS) {
+      return pIndex;
+    }
+    int shift = (pIndex >>> SUB_BUCKET_BITS) - 1;
+    long lowerBound = ((long) (SUB_BUCKETS | (pIndex & (SUB_BUCKETS - 1)))) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+  /** Record a latency, given in nanoseconds. Negative values are counted as zero. */
+  public void record(long pNanos) {
+    // thread ids are assigned sequentially, thus threads are distributed evenly over the stripes
+    int stripe = (int) Thread.currentThread().getId() & stripeMask;
+    counts.getAndIncrement(stripe * BUCKETS + bucketIndex(pNanos));
+    sum.add(Math.max(pNanos, 0));
+    max.accumulate(pNanos);
+  }
+
+  /** Returns the current state of the histogram. */
+  public Snapshot snapshot() {
+    long[] buckets = new long[BUCKETS];
+    for (int i = 0; i < counts.length(); i++) {
+      buckets[i % BUCKETS] += counts.get(i);
+    }
+    return new Snapshot(buckets, sum.sum(), max.get());
+  }
+
+  /** Returns the current state of the histogram and resets all counters. */
+  public Snapshot snapshotAndReset() {
+    long[] buckets = new long[BUCKETS];
+    for (int i = 0; i < counts.length(); i++) {
+      buckets[i % BUCKETS] += counts.getAndSet(i, 0);
+    }
+    return new Snapshot(buckets, sum.sumThenReset(), max.getThenReset());
+  }
+
+  @Override
+  public String toString() {
+    return snapshot().toString();
+  }
+
+  /** Immutable view on the state of a {@link LatencyHistogram} at some point in time. */
+  public static final class Snapshot {
+
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(long[] pBuckets, long pSum, long pMax) {
+      buckets = pBuckets;
+      long total = 0;
+      for (long bucket : pBuckets) {
+        total += bucket;
+      }
+      count = total;
+      sum = pSum;
+      max = pMax;
+    }
+
+    /** Returns the number of recorded latencies. */
+    public long getCount() {
+      return count;
+    }
+
+    /** Returns the sum of all recorded latencies. */
+    public TimeSpan getSumTime() {
+      return TimeSpan.of(sum, TimeUnit.NANOSECONDS);
+    }
+
+    /** Returns the maximal recorded latency. */
+    public TimeSpan getMaxTime() {
+      return TimeSpan.of(max, TimeUnit.NANOSECONDS);
+    }
+
+    /** Returns the average of all recorded latencies, or zero if nothing was recorded. */
+    public TimeSpan getMeanTime() {
+      return TimeSpan.of(count == 0 ? 0 : sum / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the latency below or equal to which the given percentage of all recorded latencies
+     * lie, e.g., {@code getPercentile(99.9)} for the 99.9th percentile. The result is the upper
+     * bound of the corresponding bucket, but never larger than the maximal recorded latency.
+     *
+     * @param pPercentile a value in the range (0, 100].
+     */
+    public TimeSpan getPercentile(double pPercentile) {
+      checkArgument(pPercentile > 0 && pPercentile <= 100, "invalid percentile %s", pPercentile);
+      if (count == 0) {
+        return TimeSpan.empty();
+      }
+      long rank = Math.max(1, (long) Math.ceil(count * pPercentile / 100));
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          // the last bucket also counts all larger latencies, its only known bound is the maximum
+          long bound = i == BUCKETS - 1 ? max : Math.min(upperBound(i), max);
+          return TimeSpan.of(bound, TimeUnit.NANOSECONDS);
+        }
+      }
+      // only reachable if concurrent updates made the counts inconsistent with the maximum
+      return getMaxTime();
+    }
+
+    /** Returns the count, the sum, and the usual percentiles, prefixed with the given name. */
+    public ImmutableMap<String, Object> asMap(String pName) {
+      return ImmutableMap.<String, Object>builder()
+          .put("number of " + pName, getCount())
+          .put("sumTime of " + pName, getSumTime())
+          .put("p50 of " + pName, getPercentile(50))
+          .put("p99 of " + pName, getPercentile(99))
+          .put("p999 of " + pName, getPercentile(99.9))
+          .put("maxTime of " + pName, getMaxTime())
+          .buildOrThrow();
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "count=%d, p50=%s, p99=%s, p999=%s, max=%s",
+          count, getPercentile(50), getPercentile(99), getPercentile(99.9), getMaxTime());
+    }
+  }
+}
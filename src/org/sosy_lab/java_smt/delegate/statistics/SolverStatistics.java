@@ -9,8 +9,11 @@
 package org.sosy_lab.java_smt.delegate.statistics;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.java_smt.api.Tactic;
 
 public class SolverStatistics {
 
@@ -26,6 +29,10 @@ public class SolverStatistics {
   final TimerPool allSat = new TimerPool();
   final TimerPool interpolation = new TimerPool();
 
+  final LatencyHistogram unsatLatency = new LatencyHistogram();
+  final LatencyHistogram allSatLatency = new LatencyHistogram();
+  final LatencyHistogram interpolationLatency = new LatencyHistogram();
+
   // manager operations
   final AtomicInteger visits = new AtomicInteger();
   final AtomicInteger booleanOperations = new AtomicInteger();
@@ -45,7 +52,15 @@ public class SolverStatistics {
   final AtomicInteger modelEvaluations = new AtomicInteger();
   final AtomicInteger modelListings = new AtomicInteger();
 
-  SolverStatistics() {}
+  // formula transformations
+  final Map<Tactic, TimerPool> tactics = new EnumMap<>(Tactic.class);
+  final TimerPool simplifications = new TimerPool();
+
+  SolverStatistics() {
+    for (Tactic tactic : Tactic.values()) {
+      tactics.put(tactic, new TimerPool());
+    }
+  }
 
   // visible access methods
   public int getNumberOfProverEnvironments() {
@@ -108,6 +123,24 @@ public class SolverStatistics {
     return interpolation.getMaxTime();
   }
 
+  /**
+   * Returns the distribution of latencies of all isUnsat queries of this context. The histogram can
+   * be read (and reset) concurrently to running queries.
+   */
+  public LatencyHistogram getIsUnsatLatencies() {
+    return unsatLatency;
+  }
+
+  /** Returns the distribution of latencies of all allSat queries of this context. */
+  public LatencyHistogram getAllSatLatencies() {
+    return allSatLatency;
+  }
+
+  /** Returns the distribution of latencies of all interpolation queries of this context. */
+  public LatencyHistogram getInterpolationLatencies() {
+    return interpolationLatency;
+  }
+
   public int getNumberOfBooleanOperations() {
     return booleanOperations.get();
   }
@@ -156,7 +189,26 @@ public class SolverStatistics {
     return modelListings.get();
   }
 
+  public int getNumberOfTacticApplications(Tactic pTactic) {
+    return tactics.get(pTactic).getNumberOfIntervals();
+  }
+
+  public TimeSpan getSumTimeOfTacticApplications(Tactic pTactic) {
+    return tactics.get(pTactic).getSumTime();
+  }
+
+  public int getNumberOfSimplifications() {
+    return simplifications.getNumberOfIntervals();
+  }
+
+  public TimeSpan getSumTimeOfSimplifications() {
+    return simplifications.getSumTime();
+  }
+
   public ImmutableMap<String, Object> asMap() {
+    LatencyHistogram.Snapshot unsatLatencies = unsatLatency.snapshot();
+    LatencyHistogram.Snapshot allSatLatencies = allSatLatency.snapshot();
+    LatencyHistogram.Snapshot interpolationLatencies = interpolationLatency.snapshot();
     return ImmutableMap.<String, Object>builder()
         .put("number of prover environments", getNumberOfProverEnvironments())
         .put("number of pop queries", getNumberOfPopQueries())
@@ -167,12 +219,21 @@ public class SolverStatistics {
         .put("number of isUnsat queries", getNumberOfIsUnsatQueries())
         .put("sumTime of isUnsat queries", getSumTimeOfIsUnsatQueries())
         .put("maxTime of isUnsat queries", getMaxTimeOfIsUnsatQueries())
+        .put("p50 of isUnsat queries", unsatLatencies.getPercentile(50))
+        .put("p99 of isUnsat queries", unsatLatencies.getPercentile(99))
+        .put("p999 of isUnsat queries", unsatLatencies.getPercentile(99.9))
         .put("number of allSat queries", getNumberOfAllSatQueries())
         .put("sumTime of allSat queries", getSumTimeOfAllSatQueries())
         .put("maxTime of allSat queries", getMaxTimeOfAllSatQueries())
+        .put("p50 of allSat queries", allSatLatencies.getPercentile(50))
+        .put("p99 of allSat queries", allSatLatencies.getPercentile(99))
+        .put("p999 of allSat queries", allSatLatencies.getPercentile(99.9))
         .put("number of interpolation queries", getNumberOfInterpolationQueries())
         .put("sumTime of interpolation queries", getSumTimeOfInterpolationQueries())
         .put("maxTime of interpolation queries", getMaxTimeOfInterpolationQueries())
+        .put("p50 of interpolation queries", interpolationLatencies.getPercentile(50))
+        .put("p99 of interpolation queries", interpolationLatencies.getPercentile(99))
+        .put("p999 of interpolation queries", interpolationLatencies.getPercentile(99.9))
         .put("number of visits", getNumberOfVisits())
         .put("number of Boolean operations", getNumberOfBooleanOperations())
         .put("number of Numeric operations", getNumberOfNumericOperations())
@@ -185,6 +246,20 @@ public class SolverStatistics {
         .put("number of String operations", getNumberOfStringOperations())
         .put("number of model evaluation queries", getNumberOfModelEvaluationQueries())
         .put("number of model listings", getNumberOfModelListings())
+        .putAll(getTransformationStatistics())
+        .buildOrThrow();
+  }
+
+  private ImmutableMap<String, Object> getTransformationStatistics() {
+    ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
+    for (Tactic tactic : Tactic.values()) {
+      builder
+          .put("number of " + tactic + " applications", getNumberOfTacticApplications(tactic))
+          .put("sumTime of " + tactic + " applications", getSumTimeOfTacticApplications(tactic));
+    }
+    return builder
+        .put("number of simplifications", getNumberOfSimplifications())
+        .put("sumTime of simplifications", getSumTimeOfSimplifications())
         .buildOrThrow();
   }
 }
@@ -10,12 +10,16 @@ package org.sosy_lab.java_smt.delegate.statistics;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableMap;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.SolverException;
 import org.sosy_lab.java_smt.delegate.statistics.TimerPool.TimerWrapper;
@@ -27,6 +31,10 @@ class StatisticsBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
   final TimerWrapper unsatTimer;
   private final TimerWrapper allSatTimer;
 
+  // latencies of this prover, in addition to the latencies of the whole context in stats
+  private final LatencyHistogram unsatLatency = new LatencyHistogram(1);
+  private final LatencyHistogram allSatLatency = new LatencyHistogram(1);
+
   StatisticsBasicProverEnvironment(BasicProverEnvironment<T> pDelegate, SolverStatistics pStats) {
     delegate = checkNotNull(pDelegate);
     stats = checkNotNull(pStats);
@@ -47,6 +55,13 @@ class StatisticsBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
     return delegate.addConstraint(pConstraint);
   }
 
+  @Override
+  public List<@Nullable T> addConstraints(Collection<BooleanFormula> pConstraints)
+      throws InterruptedException {
+    stats.constraint.getAndAdd(pConstraints.size());
+    return delegate.addConstraints(pConstraints);
+  }
+
   @Override
   public void push() throws InterruptedException {
     stats.push.getAndIncrement();
@@ -60,22 +75,26 @@ class StatisticsBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
 
   @Override
   public boolean isUnsat() throws SolverException, InterruptedException {
+    long start = System.nanoTime();
     unsatTimer.start();
     try {
       return delegate.isUnsat();
     } finally {
       unsatTimer.stop();
+      recordLatency(start, stats.unsatLatency, unsatLatency);
     }
   }
 
   @Override
   public boolean isUnsatWithAssumptions(Collection<BooleanFormula> pAssumptions)
       throws SolverException, InterruptedException {
+    long start = System.nanoTime();
     unsatTimer.start();
     try {
       return delegate.isUnsatWithAssumptions(pAssumptions);
     } finally {
       unsatTimer.stop();
+      recordLatency(start, stats.unsatLatency, unsatLatency);
     }
   }
 
@@ -86,6 +105,12 @@ class StatisticsBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
     return new StatisticsModel(delegate.getModel(), stats);
   }
 
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    stats.model.getAndIncrement();
+    return new StatisticsModel(delegate.getModel(pRelevantFormulas), stats);
+  }
+
   @Override
   public List<BooleanFormula> getUnsatCore() {
     stats.unsatCore.getAndIncrement();
@@ -99,6 +124,25 @@ class StatisticsBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
     return delegate.unsatCoreOverAssumptions(pAssumptions);
   }
 
+  /**
+   * Returns the statistics of the solver for this prover, together with the distribution of
+   * latencies of all queries on this prover.
+   */
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    Map<String, Object> latencies = new LinkedHashMap<>();
+    collectLatencies(latencies);
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    builder.putAll(delegate.getStatistics());
+    latencies.forEach((key, value) -> builder.put(key, value.toString()));
+    return builder.buildKeepingLast();
+  }
+
+  void collectLatencies(Map<String, Object> pLatencies) {
+    pLatencies.putAll(unsatLatency.snapshot().asMap("isUnsat queries"));
+    pLatencies.putAll(allSatLatency.snapshot().asMap("allSat queries"));
+  }
+
   @Override
   public void close() {
     delegate.close();
@@ -112,11 +156,21 @@ class StatisticsBasicProverEnvironment<T> implements BasicProverEnvironment<T> {
   @Override
   public <R> R allSat(AllSatCallback<R> pCallback, List<BooleanFormula> pImportant)
       throws InterruptedException, SolverException {
+    long start = System.nanoTime();
     allSatTimer.start();
     try {
       return delegate.allSat(pCallback, pImportant);
     } finally {
       allSatTimer.stop();
+      recordLatency(start, stats.allSatLatency, allSatLatency);
+    }
+  }
+
+  /** Record the time since the given start (from {@link System#nanoTime()}) in all histograms. */
+  static void recordLatency(long pStart, LatencyHistogram... pHistograms) {
+    long latency = System.nanoTime() - pStart;
+    for (LatencyHistogram histogram : pHistograms) {
+      histogram.record(latency);
     }
   }
 }
@@ -34,6 +34,12 @@ class StatisticsBitvectorFormulaManager implements BitvectorFormulaManager {
     return delegate.makeBitvector(pLength, pI);
   }
 
+  @Override
+  public List<BitvectorFormula> makeBitvectors(int pLength, long... pValues) {
+    stats.bvOperations.getAndAdd(pValues.length);
+    return delegate.makeBitvectors(pLength, pValues);
+  }
+
   @Override
   public BitvectorFormula makeBitvector(int pLength, BigInteger pI) {
     stats.bvOperations.getAndIncrement();
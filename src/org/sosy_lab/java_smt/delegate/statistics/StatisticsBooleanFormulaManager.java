@@ -97,6 +97,12 @@ class StatisticsBooleanFormulaManager implements BooleanFormulaManager {
     return delegate.and(pBits);
   }
 
+  @Override
+  public BooleanFormula and(BooleanFormula... pBits) {
+    stats.booleanOperations.getAndIncrement();
+    return delegate.and(pBits);
+  }
+
   @Override
   public Collector<BooleanFormula, ?, BooleanFormula> toConjunction() {
     return Collectors.collectingAndThen(Collectors.toList(), this::and);
@@ -114,6 +120,12 @@ class StatisticsBooleanFormulaManager implements BooleanFormulaManager {
     return delegate.or(pBits);
   }
 
+  @Override
+  public BooleanFormula or(BooleanFormula... pBits) {
+    stats.booleanOperations.getAndIncrement();
+    return delegate.or(pBits);
+  }
+
   @Override
   public Collector<BooleanFormula, ?, BooleanFormula> toDisjunction() {
     return Collectors.collectingAndThen(Collectors.toList(), this::or);
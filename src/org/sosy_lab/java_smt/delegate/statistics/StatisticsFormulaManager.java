@@ -12,7 +12,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.sosy_lab.common.Appender;
@@ -38,6 +40,8 @@ import org.sosy_lab.java_smt.api.UFManager;
 import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
 import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
+import org.sosy_lab.java_smt.delegate.statistics.TimerPool.TimerWrapper;
 
 class StatisticsFormulaManager implements FormulaManager {
 
@@ -146,6 +150,11 @@ class StatisticsFormulaManager implements FormulaManager {
     return delegate.parse(pS);
   }
 
+  @Override
+  public Iterator<BooleanFormula> parseAssertions(Reader pReader) {
+    return delegate.parseAssertions(pReader);
+  }
+
   @Override
   public Appender dumpFormula(BooleanFormula pT) {
     return new Appenders.AbstractAppender() {
@@ -161,12 +170,24 @@ class StatisticsFormulaManager implements FormulaManager {
   @Override
   public BooleanFormula applyTactic(BooleanFormula pInput, Tactic pTactic)
       throws InterruptedException, SolverException {
-    return delegate.applyTactic(pInput, pTactic);
+    TimerWrapper timer = stats.tactics.get(pTactic).getNewTimer();
+    timer.start();
+    try {
+      return delegate.applyTactic(pInput, pTactic);
+    } finally {
+      timer.stop();
+    }
   }
 
   @Override
   public <T extends Formula> T simplify(T pInput) throws InterruptedException {
-    return delegate.simplify(pInput);
+    TimerWrapper timer = stats.simplifications.getNewTimer();
+    timer.start();
+    try {
+      return delegate.simplify(pInput);
+    } finally {
+      timer.stop();
+    }
   }
 
   @Override
@@ -185,6 +206,11 @@ class StatisticsFormulaManager implements FormulaManager {
     return delegate.transformRecursively(pF, pFormulaVisitor);
   }
 
+  @Override
+  public TraversalSession newTraversalSession(int maxCacheSize) {
+    return delegate.newTraversalSession(maxCacheSize);
+  }
+
   @Override
   public ImmutableMap<String, Formula> extractVariables(Formula pF) {
     return delegate.extractVariables(pF);
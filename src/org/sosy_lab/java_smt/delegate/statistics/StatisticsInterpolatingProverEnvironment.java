@@ -10,6 +10,7 @@ package org.sosy_lab.java_smt.delegate.statistics;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
 import org.sosy_lab.java_smt.api.SolverException;
@@ -20,6 +21,7 @@ class StatisticsInterpolatingProverEnvironment<T> extends StatisticsBasicProverE
 
   private final InterpolatingProverEnvironment<T> delegate;
   private final TimerWrapper itpTimer;
+  private final LatencyHistogram itpLatency = new LatencyHistogram(1);
 
   StatisticsInterpolatingProverEnvironment(
       InterpolatingProverEnvironment<T> pDelegate, SolverStatistics pStats) {
@@ -31,22 +33,26 @@ class StatisticsInterpolatingProverEnvironment<T> extends StatisticsBasicProverE
   @Override
   public BooleanFormula getInterpolant(Collection<T> pFormulasOfA)
       throws SolverException, InterruptedException {
+    long start = System.nanoTime();
     itpTimer.start();
     try {
       return delegate.getInterpolant(pFormulasOfA);
     } finally {
       itpTimer.stop();
+      recordLatency(start, stats.interpolationLatency, itpLatency);
     }
   }
 
   @Override
   public List<BooleanFormula> getSeqInterpolants(List<? extends Collection<T>> pPartitionedFormulas)
       throws SolverException, InterruptedException {
+    long start = System.nanoTime();
     itpTimer.start();
     try {
       return delegate.getSeqInterpolants(pPartitionedFormulas);
     } finally {
       itpTimer.stop();
+      recordLatency(start, stats.interpolationLatency, itpLatency);
     }
   }
 
@@ -54,11 +60,19 @@ class StatisticsInterpolatingProverEnvironment<T> extends StatisticsBasicProverE
   public List<BooleanFormula> getTreeInterpolants(
       List<? extends Collection<T>> pPartitionedFormulas, int[] pStartOfSubTree)
       throws SolverException, InterruptedException {
+    long start = System.nanoTime();
     itpTimer.start();
     try {
       return delegate.getTreeInterpolants(pPartitionedFormulas, pStartOfSubTree);
     } finally {
       itpTimer.stop();
+      recordLatency(start, stats.interpolationLatency, itpLatency);
     }
   }
+
+  @Override
+  void collectLatencies(Map<String, Object> pLatencies) {
+    super.collectLatencies(pLatencies);
+    pLatencies.putAll(itpLatency.snapshot().asMap("interpolation queries"));
+  }
 }
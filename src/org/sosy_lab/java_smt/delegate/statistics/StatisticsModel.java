@@ -12,6 +12,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableList;
 import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.BitvectorFormula;
@@ -89,12 +92,48 @@ class StatisticsModel implements Model {
     return delegate.evaluate(pF);
   }
 
+  @Override
+  public List<@Nullable Object> evaluateAll(List<? extends Formula> pFormulas) {
+    stats.modelEvaluations.getAndAdd(pFormulas.size());
+    return delegate.evaluateAll(pFormulas);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateIntegers(List<? extends IntegerFormula> pFormulas) {
+    stats.modelEvaluations.getAndAdd(pFormulas.size());
+    return delegate.evaluateIntegers(pFormulas);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateBitvectors(List<? extends BitvectorFormula> pFormulas) {
+    stats.modelEvaluations.getAndAdd(pFormulas.size());
+    return delegate.evaluateBitvectors(pFormulas);
+  }
+
+  @Override
+  public List<@Nullable Boolean> evaluateBooleans(List<? extends BooleanFormula> pFormulas) {
+    stats.modelEvaluations.getAndAdd(pFormulas.size());
+    return delegate.evaluateBooleans(pFormulas);
+  }
+
   @Override
   public ImmutableList<ValueAssignment> asList() {
     stats.modelListings.getAndIncrement();
     return delegate.asList();
   }
 
+  @Override
+  public Stream<ValueAssignment> stream() {
+    stats.modelListings.getAndIncrement();
+    return delegate.stream();
+  }
+
+  @Override
+  public Stream<ValueAssignment> stream(Predicate<String> pNameFilter) {
+    stats.modelListings.getAndIncrement();
+    return delegate.stream(pNameFilter);
+  }
+
   @Override
   public void close() {
     delegate.close();
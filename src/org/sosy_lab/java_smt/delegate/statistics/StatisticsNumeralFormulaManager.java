@@ -41,6 +41,12 @@ class StatisticsNumeralFormulaManager<
     return delegate.makeNumber(pNumber);
   }
 
+  @Override
+  public List<ResultFormulaType> makeNumbers(long... pNumbers) {
+    stats.numericOperations.getAndAdd(pNumbers.length);
+    return delegate.makeNumbers(pNumbers);
+  }
+
   @Override
   public ResultFormulaType makeNumber(BigInteger pNumber) {
     stats.numericOperations.getAndIncrement();
@@ -12,6 +12,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
+import java.util.OptionalLong;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
@@ -74,6 +75,11 @@ public class StatisticsSolverContext implements SolverContext {
     return builder.buildOrThrow();
   }
 
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    return delegate.getNativeMemoryUsage();
+  }
+
   @Override
   public void close() {
     delegate.close();
@@ -0,0 +1,73 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.synchronize;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.sosy_lab.common.time.TimeSpan;
+
+/**
+ * A lock that guards the access to (a part of) a solver and counts how often threads have to wait
+ * for it.
+ *
+ * <p>Several instances can share one {@link ReentrantLock} and count their acquisitions separately.
+ */
+final class SolverLock {
+
+  private final ReentrantLock lock;
+  private final Statistics stats;
+
+  SolverLock(ReentrantLock pLock, Statistics pStats) {
+    lock = checkNotNull(pLock);
+    stats = checkNotNull(pStats);
+  }
+
+  void lock() {
+    if (lock.tryLock()) {
+      stats.acquisitions.increment();
+      return;
+    }
+    long start = System.nanoTime();
+    lock.lock();
+    stats.waitTime.add(System.nanoTime() - start);
+    stats.contendedAcquisitions.increment();
+    stats.acquisitions.increment();
+  }
+
+  void unlock() {
+    lock.unlock();
+  }
+
+  /** Counters for the contention on one or several locks. */
+  static final class Statistics {
+
+    private final String name;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contendedAcquisitions = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+
+    Statistics(String pName) {
+      name = checkNotNull(pName);
+    }
+
+    ImmutableMap<String, String> asMap() {
+      return ImmutableMap.of(
+          "number of acquisitions of " + name,
+          acquisitions.toString(),
+          "number of contended acquisitions of " + name,
+          contendedAcquisitions.toString(),
+          "waitTime for " + name,
+          TimeSpan.of(waitTime.sum(), TimeUnit.NANOSECONDS).formatAs(TimeUnit.SECONDS));
+    }
+  }
+}
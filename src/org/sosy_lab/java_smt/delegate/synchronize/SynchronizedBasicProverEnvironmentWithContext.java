@@ -20,118 +20,195 @@ import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.Model;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
 
+/**
+ * Prover environment that runs in its own solver context. The prover is guarded by its own lock,
+ * such that queries of several provers run in parallel. Only the translation of formulas from and
+ * to the shared context needs the lock of the shared context. Locks are always acquired in this
+ * order: first the prover lock, then the lock of the shared context.
+ */
 class SynchronizedBasicProverEnvironmentWithContext<T> implements BasicProverEnvironment<T> {
 
   private final BasicProverEnvironment<T> delegate;
   final FormulaManager manager;
   final FormulaManager otherManager;
-  final SolverContext sync;
+  final SolverLock sync;
+  final SolverLock proverLock;
 
   SynchronizedBasicProverEnvironmentWithContext(
       BasicProverEnvironment<T> pDelegate,
-      SolverContext pSync,
+      SolverLock pSync,
+      SolverLock pProverLock,
       FormulaManager pManager,
       FormulaManager pOtherManager) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
+    proverLock = checkNotNull(pProverLock);
     manager = checkNotNull(pManager);
     otherManager = checkNotNull(pOtherManager);
   }
 
+  /** Translate formulas, the caller must hold the prover lock. */
   List<BooleanFormula> translate(
       Collection<BooleanFormula> fs, FormulaManager from, FormulaManager to) {
     ImmutableList.Builder<BooleanFormula> result = ImmutableList.builder();
-    synchronized (sync) {
+    sync.lock();
+    try {
       for (BooleanFormula f : fs) {
         result.add(to.translateFrom(f, from));
       }
+    } finally {
+      sync.unlock();
     }
     return result.build();
   }
 
   @Override
   public void pop() {
-    delegate.pop();
+    proverLock.lock();
+    try {
+      delegate.pop();
+    } finally {
+      proverLock.unlock();
+    }
   }
 
   @Override
   public @Nullable T addConstraint(BooleanFormula pConstraint) throws InterruptedException {
-    BooleanFormula constraint;
-    synchronized (sync) {
-      constraint = otherManager.translateFrom(pConstraint, manager);
+    proverLock.lock();
+    try {
+      BooleanFormula constraint;
+      sync.lock();
+      try {
+        constraint = otherManager.translateFrom(pConstraint, manager);
+      } finally {
+        sync.unlock();
+      }
+      return delegate.addConstraint(constraint);
+    } finally {
+      proverLock.unlock();
+    }
+  }
+
+  @Override
+  public List<@Nullable T> addConstraints(Collection<BooleanFormula> pConstraints)
+      throws InterruptedException {
+    proverLock.lock();
+    try {
+      return delegate.addConstraints(translate(pConstraints, manager, otherManager));
+    } finally {
+      proverLock.unlock();
     }
-    return delegate.addConstraint(constraint);
   }
 
   @Override
   public void push() throws InterruptedException {
-    delegate.push();
+    proverLock.lock();
+    try {
+      delegate.push();
+    } finally {
+      proverLock.unlock();
+    }
   }
 
   @Override
   public int size() {
-    synchronized (sync) {
+    proverLock.lock();
+    try {
       return delegate.size();
+    } finally {
+      proverLock.unlock();
     }
   }
 
   @Override
   public boolean isUnsat() throws SolverException, InterruptedException {
-    return delegate.isUnsat();
+    proverLock.lock();
+    try {
+      return delegate.isUnsat();
+    } finally {
+      proverLock.unlock();
+    }
   }
 
   @Override
   public boolean isUnsatWithAssumptions(Collection<BooleanFormula> pAssumptions)
       throws SolverException, InterruptedException {
-    return delegate.isUnsatWithAssumptions(translate(pAssumptions, manager, otherManager));
+    proverLock.lock();
+    try {
+      return delegate.isUnsatWithAssumptions(translate(pAssumptions, manager, otherManager));
+    } finally {
+      proverLock.unlock();
+    }
   }
 
   @SuppressWarnings("resource")
   @Override
   public Model getModel() throws SolverException {
-    synchronized (sync) {
-      return new SynchronizedModelWithContext(delegate.getModel(), sync, manager, otherManager);
+    proverLock.lock();
+    try {
+      return new SynchronizedModelWithContext(
+          delegate.getModel(), sync, proverLock, manager, otherManager);
+    } finally {
+      proverLock.unlock();
     }
   }
 
   @Override
   public List<BooleanFormula> getUnsatCore() {
-    return translate(delegate.getUnsatCore(), otherManager, manager);
+    proverLock.lock();
+    try {
+      return translate(delegate.getUnsatCore(), otherManager, manager);
+    } finally {
+      proverLock.unlock();
+    }
   }
 
   @Override
   public Optional<List<BooleanFormula>> unsatCoreOverAssumptions(
       Collection<BooleanFormula> pAssumptions) throws SolverException, InterruptedException {
-    Optional<List<BooleanFormula>> core =
-        delegate.unsatCoreOverAssumptions(translate(pAssumptions, manager, otherManager));
-    if (core.isPresent()) {
-      return Optional.of(translate(core.orElseThrow(), otherManager, manager));
-    } else {
-      return Optional.empty();
+    proverLock.lock();
+    try {
+      Optional<List<BooleanFormula>> core =
+          delegate.unsatCoreOverAssumptions(translate(pAssumptions, manager, otherManager));
+      if (core.isPresent()) {
+        return Optional.of(translate(core.orElseThrow(), otherManager, manager));
+      } else {
+        return Optional.empty();
+      }
+    } finally {
+      proverLock.unlock();
     }
   }
 
   @Override
   public ImmutableMap<String, String> getStatistics() {
-    synchronized (sync) {
+    proverLock.lock();
+    try {
       return delegate.getStatistics();
+    } finally {
+      proverLock.unlock();
     }
   }
 
   @Override
   public void close() {
-    synchronized (sync) {
+    proverLock.lock();
+    try {
       delegate.close();
+    } finally {
+      proverLock.unlock();
     }
   }
 
   @Override
   public String toString() {
-    synchronized (sync) {
+    proverLock.lock();
+    try {
       return delegate.toString();
+    } finally {
+      proverLock.unlock();
     }
   }
 
@@ -139,8 +216,11 @@ class SynchronizedBasicProverEnvironmentWithContext<T> implements BasicProverEnv
   public <R> R allSat(AllSatCallback<R> pCallback, List<BooleanFormula> pImportant)
       throws InterruptedException, SolverException {
     AllSatCallback<R> callback = new AllSatCallbackWithContext<>(pCallback);
-    synchronized (sync) {
+    proverLock.lock();
+    try {
       return delegate.allSat(callback, translate(pImportant, manager, otherManager));
+    } finally {
+      proverLock.unlock();
     }
   }
 
@@ -17,253 +17,361 @@ import org.sosy_lab.java_smt.api.BitvectorFormulaManager;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.FormulaType.BitvectorType;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
-import org.sosy_lab.java_smt.api.SolverContext;
 
 class SynchronizedBitvectorFormulaManager implements BitvectorFormulaManager {
 
   private final BitvectorFormulaManager delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
 
-  SynchronizedBitvectorFormulaManager(BitvectorFormulaManager pDelegate, SolverContext pSync) {
+  SynchronizedBitvectorFormulaManager(BitvectorFormulaManager pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
 
   @Override
   public BitvectorFormula makeBitvector(int pLength, long pI) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeBitvector(pLength, pI);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public List<BitvectorFormula> makeBitvectors(int pLength, long... pValues) {
+    sync.lock();
+    try {
+      return delegate.makeBitvectors(pLength, pValues);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula makeBitvector(int pLength, BigInteger pI) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeBitvector(pLength, pI);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula makeBitvector(int pLength, IntegerFormula pI) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeBitvector(pLength, pI);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public IntegerFormula toIntegerFormula(BitvectorFormula pI, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.toIntegerFormula(pI, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula makeVariable(int pLength, String pVar) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeVariable(pLength, pVar);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula makeVariable(BitvectorType pType, String pVar) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeVariable(pType, pVar);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public int getLength(BitvectorFormula pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getLength(pNumber);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula negate(BitvectorFormula pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.negate(pNumber);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula add(BitvectorFormula pNumber1, BitvectorFormula pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.add(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula subtract(BitvectorFormula pNumber1, BitvectorFormula pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.subtract(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula divide(
       BitvectorFormula pNumber1, BitvectorFormula pNumber2, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.divide(pNumber1, pNumber2, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula remainder(
       BitvectorFormula pNumber1, BitvectorFormula pNumber2, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.remainder(pNumber1, pNumber2, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula smodulo(BitvectorFormula pNumber1, BitvectorFormula pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.smodulo(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula multiply(BitvectorFormula pNumber1, BitvectorFormula pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.multiply(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula equal(BitvectorFormula pNumber1, BitvectorFormula pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.equal(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula greaterThan(
       BitvectorFormula pNumber1, BitvectorFormula pNumber2, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.greaterThan(pNumber1, pNumber2, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula greaterOrEquals(
       BitvectorFormula pNumber1, BitvectorFormula pNumber2, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.greaterOrEquals(pNumber1, pNumber2, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula lessThan(
       BitvectorFormula pNumber1, BitvectorFormula pNumber2, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.lessThan(pNumber1, pNumber2, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula lessOrEquals(
       BitvectorFormula pNumber1, BitvectorFormula pNumber2, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.lessOrEquals(pNumber1, pNumber2, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula not(BitvectorFormula pBits) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.not(pBits);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula and(BitvectorFormula pBits1, BitvectorFormula pBits2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.and(pBits1, pBits2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula or(BitvectorFormula pBits1, BitvectorFormula pBits2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.or(pBits1, pBits2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula xor(BitvectorFormula pBits1, BitvectorFormula pBits2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.xor(pBits1, pBits2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula shiftRight(
       BitvectorFormula pNumber, BitvectorFormula pToShift, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.shiftRight(pNumber, pToShift, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula shiftLeft(BitvectorFormula pNumber, BitvectorFormula pToShift) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.shiftLeft(pNumber, pToShift);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula rotateLeft(BitvectorFormula pNumber, int pToRotate) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.rotateLeft(pNumber, pToRotate);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula rotateLeft(BitvectorFormula pNumber, BitvectorFormula pToRotate) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.rotateLeft(pNumber, pToRotate);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula rotateRight(BitvectorFormula pNumber, int pToRotate) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.rotateRight(pNumber, pToRotate);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula rotateRight(BitvectorFormula pNumber, BitvectorFormula pToRotate) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.rotateRight(pNumber, pToRotate);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula concat(BitvectorFormula pNumber, BitvectorFormula pAppend) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.concat(pNumber, pAppend);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula extract(BitvectorFormula pNumber, int pMsb, int pLsb) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.extract(pNumber, pMsb, pLsb);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormula extend(BitvectorFormula pNumber, int pExtensionBits, boolean pSigned) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.extend(pNumber, pExtensionBits, pSigned);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula distinct(List<BitvectorFormula> pBits) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.distinct(pBits);
+    } finally {
+      sync.unlock();
     }
   }
 }
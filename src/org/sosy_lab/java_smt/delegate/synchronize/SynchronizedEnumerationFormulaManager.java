@@ -15,44 +15,55 @@ import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.EnumerationFormula;
 import org.sosy_lab.java_smt.api.EnumerationFormulaManager;
 import org.sosy_lab.java_smt.api.FormulaType.EnumerationFormulaType;
-import org.sosy_lab.java_smt.api.SolverContext;
 
 public class SynchronizedEnumerationFormulaManager implements EnumerationFormulaManager {
 
   private final EnumerationFormulaManager delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
 
-  SynchronizedEnumerationFormulaManager(EnumerationFormulaManager pDelegate, SolverContext pSync) {
+  SynchronizedEnumerationFormulaManager(EnumerationFormulaManager pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
 
   @Override
   public EnumerationFormulaType declareEnumeration(String name, Set<String> elementNames) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.declareEnumeration(name, elementNames);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public EnumerationFormula makeConstant(String pName, EnumerationFormulaType pType) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeConstant(pName, pType);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public EnumerationFormula makeVariable(String pVar, EnumerationFormulaType pType) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeVariable(pVar, pType);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula equivalence(
       EnumerationFormula pEnumeration1, EnumerationFormula pEnumeration2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.equivalence(pEnumeration1, pEnumeration2);
+    } finally {
+      sync.unlock();
     }
   }
 }
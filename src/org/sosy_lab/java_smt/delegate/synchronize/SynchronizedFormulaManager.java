@@ -12,7 +12,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.sosy_lab.common.Appender;
@@ -31,7 +33,6 @@ import org.sosy_lab.java_smt.api.IntegerFormulaManager;
 import org.sosy_lab.java_smt.api.QuantifiedFormulaManager;
 import org.sosy_lab.java_smt.api.RationalFormulaManager;
 import org.sosy_lab.java_smt.api.SLFormulaManager;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
 import org.sosy_lab.java_smt.api.StringFormulaManager;
 import org.sosy_lab.java_smt.api.Tactic;
@@ -39,155 +40,246 @@ import org.sosy_lab.java_smt.api.UFManager;
 import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
 import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
 
 class SynchronizedFormulaManager implements FormulaManager {
 
   private final FormulaManager delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
 
-  protected SynchronizedFormulaManager(FormulaManager pDelegate, SolverContext pSync) {
+  protected SynchronizedFormulaManager(FormulaManager pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
 
   @Override
   public IntegerFormulaManager getIntegerFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedIntegerFormulaManager(delegate.getIntegerFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RationalFormulaManager getRationalFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedRationalFormulaManager(delegate.getRationalFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormulaManager getBooleanFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedBooleanFormulaManager(delegate.getBooleanFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ArrayFormulaManager getArrayFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedArrayFormulaManager(delegate.getArrayFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BitvectorFormulaManager getBitvectorFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedBitvectorFormulaManager(delegate.getBitvectorFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public FloatingPointFormulaManager getFloatingPointFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedFloatingPointFormulaManager(
           delegate.getFloatingPointFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public UFManager getUFManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedUFManager(delegate.getUFManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public SLFormulaManager getSLFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedSLFormulaManager(delegate.getSLFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public QuantifiedFormulaManager getQuantifiedFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedQuantifiedFormulaManager(delegate.getQuantifiedFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormulaManager getStringFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedStringFormulaManager(delegate.getStringFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public EnumerationFormulaManager getEnumerationFormulaManager() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return new SynchronizedEnumerationFormulaManager(
           delegate.getEnumerationFormulaManager(), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <T extends Formula> T makeVariable(FormulaType<T> pFormulaType, String pName) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeVariable(pFormulaType, pName);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <T extends Formula> T makeApplication(
       FunctionDeclaration<T> pDeclaration, List<? extends Formula> pArgs) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeApplication(pDeclaration, pArgs);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <T extends Formula> T makeApplication(
       FunctionDeclaration<T> pDeclaration, Formula... pArgs) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeApplication(pDeclaration, pArgs);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula equal(Collection<Formula> pArgs) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.equal(pArgs);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula distinct(Collection<Formula> pArgs) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.distinct(pArgs);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <T extends Formula> FormulaType<T> getFormulaType(T pFormula) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getFormulaType(pFormula);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula parse(String pS) throws IllegalArgumentException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.parse(pS);
+    } finally {
+      sync.unlock();
     }
   }
 
+  @Override
+  public Iterator<BooleanFormula> parseAssertions(Reader pReader) {
+    final Iterator<BooleanFormula> assertions;
+    sync.lock();
+    try {
+      assertions = delegate.parseAssertions(pReader);
+    } finally {
+      sync.unlock();
+    }
+    // parsing happens lazily while iterating, thus we need to synchronize each step
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        sync.lock();
+        try {
+          return assertions.hasNext();
+        } finally {
+          sync.unlock();
+        }
+      }
+
+      @Override
+      public BooleanFormula next() {
+        sync.lock();
+        try {
+          return assertions.next();
+        } finally {
+          sync.unlock();
+        }
+      }
+    };
+  }
+
   @Override
   public Appender dumpFormula(BooleanFormula pT) {
     return new Appenders.AbstractAppender() {
       @Override
       public void appendTo(Appendable out) throws IOException {
         String dump;
-        synchronized (sync) {
+        sync.lock();
+        try {
           dump = delegate.dumpFormula(pT).toString(); // the work is done here
+        } finally {
+          sync.unlock();
         }
         out.append(dump);
       }
@@ -197,87 +289,133 @@ class SynchronizedFormulaManager implements FormulaManager {
   @Override
   public BooleanFormula applyTactic(BooleanFormula pInput, Tactic pTactic)
       throws InterruptedException, SolverException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.applyTactic(pInput, pTactic);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <T extends Formula> T simplify(T pInput) throws InterruptedException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.simplify(pInput);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <R> R visit(Formula pF, FormulaVisitor<R> pFormulaVisitor) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.visit(pF, pFormulaVisitor);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public void visitRecursively(Formula pF, FormulaVisitor<TraversalProcess> pFormulaVisitor) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       delegate.visitRecursively(pF, pFormulaVisitor);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <T extends Formula> T transformRecursively(
       T pF, FormulaTransformationVisitor pFormulaVisitor) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.transformRecursively(pF, pFormulaVisitor);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public TraversalSession newTraversalSession(int maxCacheSize) {
+    sync.lock();
+    try {
+      return new SynchronizedTraversalSession(delegate.newTraversalSession(maxCacheSize), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ImmutableMap<String, Formula> extractVariables(Formula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.extractVariables(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ImmutableMap<String, Formula> extractVariablesAndUFs(Formula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.extractVariablesAndUFs(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <T extends Formula> T substitute(
       T pF, Map<? extends Formula, ? extends Formula> pFromToMapping) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.substitute(pF, pFromToMapping);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula translateFrom(BooleanFormula pFormula, FormulaManager pOtherContext) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.translateFrom(pFormula, pOtherContext);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public boolean isValidName(String pVariableName) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.isValidName(pVariableName);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public String escape(String pVariableName) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.escape(pVariableName);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public String unescape(String pVariableName) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.unescape(pVariableName);
+    } finally {
+      sync.unlock();
     }
   }
 }
@@ -12,7 +12,6 @@ import java.util.Collection;
 import java.util.List;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
 
 class SynchronizedInterpolatingProverEnvironment<T> extends SynchronizedBasicProverEnvironment<T>
@@ -21,7 +20,7 @@ class SynchronizedInterpolatingProverEnvironment<T> extends SynchronizedBasicPro
   private final InterpolatingProverEnvironment<T> delegate;
 
   SynchronizedInterpolatingProverEnvironment(
-      InterpolatingProverEnvironment<T> pDelegate, SolverContext pSync) {
+      InterpolatingProverEnvironment<T> pDelegate, SolverLock pSync) {
     super(pDelegate, pSync);
     delegate = pDelegate;
   }
@@ -29,16 +28,22 @@ class SynchronizedInterpolatingProverEnvironment<T> extends SynchronizedBasicPro
   @Override
   public BooleanFormula getInterpolant(Collection<T> pFormulasOfA)
       throws SolverException, InterruptedException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getInterpolant(pFormulasOfA);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public List<BooleanFormula> getSeqInterpolants(List<? extends Collection<T>> pPartitionedFormulas)
       throws SolverException, InterruptedException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getSeqInterpolants(pPartitionedFormulas);
+    } finally {
+      sync.unlock();
     }
   }
 
@@ -46,8 +51,11 @@ class SynchronizedInterpolatingProverEnvironment<T> extends SynchronizedBasicPro
   public List<BooleanFormula> getTreeInterpolants(
       List<? extends Collection<T>> pPartitionedFormulas, int[] pStartOfSubTree)
       throws SolverException, InterruptedException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getTreeInterpolants(pPartitionedFormulas, pStartOfSubTree);
+    } finally {
+      sync.unlock();
     }
   }
 }
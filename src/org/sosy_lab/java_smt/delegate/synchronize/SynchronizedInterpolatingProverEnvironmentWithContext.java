@@ -15,7 +15,6 @@ import java.util.List;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.InterpolatingProverEnvironment;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
 
 class SynchronizedInterpolatingProverEnvironmentWithContext<T>
@@ -26,30 +25,54 @@ class SynchronizedInterpolatingProverEnvironmentWithContext<T>
 
   SynchronizedInterpolatingProverEnvironmentWithContext(
       InterpolatingProverEnvironment<T> pDelegate,
-      SolverContext pSync,
+      SolverLock pSync,
+      SolverLock pProverLock,
       FormulaManager pManager,
       FormulaManager pOtherManager) {
-    super(pDelegate, pSync, pManager, pOtherManager);
+    super(pDelegate, pSync, pProverLock, pManager, pOtherManager);
     delegate = checkNotNull(pDelegate);
   }
 
   @Override
   public BooleanFormula getInterpolant(Collection<T> pFormulasOfA)
       throws SolverException, InterruptedException {
-    return manager.translateFrom(delegate.getInterpolant(pFormulasOfA), otherManager);
+    proverLock.lock();
+    try {
+      BooleanFormula interpolant = delegate.getInterpolant(pFormulasOfA);
+      sync.lock();
+      try {
+        return manager.translateFrom(interpolant, otherManager);
+      } finally {
+        sync.unlock();
+      }
+    } finally {
+      proverLock.unlock();
+    }
   }
 
   @Override
   public List<BooleanFormula> getSeqInterpolants(List<? extends Collection<T>> pPartitionedFormulas)
       throws SolverException, InterruptedException {
-    return translate(delegate.getSeqInterpolants(pPartitionedFormulas), otherManager, manager);
+    proverLock.lock();
+    try {
+      return translate(delegate.getSeqInterpolants(pPartitionedFormulas), otherManager, manager);
+    } finally {
+      proverLock.unlock();
+    }
   }
 
   @Override
   public List<BooleanFormula> getTreeInterpolants(
       List<? extends Collection<T>> pPartitionedFormulas, int[] pStartOfSubTree)
       throws SolverException, InterruptedException {
-    return translate(
-        delegate.getTreeInterpolants(pPartitionedFormulas, pStartOfSubTree), otherManager, manager);
+    proverLock.lock();
+    try {
+      return translate(
+          delegate.getTreeInterpolants(pPartitionedFormulas, pStartOfSubTree),
+          otherManager,
+          manager);
+    } finally {
+      proverLock.unlock();
+    }
   }
 }
@@ -12,6 +12,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableList;
 import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.BitvectorFormula;
@@ -23,93 +26,181 @@ import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.RationalFormula;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.StringFormula;
 
 class SynchronizedModel implements Model {
 
   private final Model delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
 
-  SynchronizedModel(Model pDelegate, SolverContext pSync) {
+  SynchronizedModel(Model pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
 
   @Override
   public <T extends Formula> @Nullable T eval(T pFormula) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.eval(pFormula);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable Object evaluate(Formula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable BigInteger evaluate(IntegerFormula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable Rational evaluate(RationalFormula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable Boolean evaluate(BooleanFormula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable BigInteger evaluate(BitvectorFormula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable String evaluate(StringFormula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable String evaluate(EnumerationFormula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public @Nullable FloatingPointNumber evaluate(FloatingPointFormula pF) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.evaluate(pF);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public List<@Nullable Object> evaluateAll(List<? extends Formula> pFormulas) {
+    sync.lock();
+    try {
+      return delegate.evaluateAll(pFormulas);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateIntegers(List<? extends IntegerFormula> pFormulas) {
+    sync.lock();
+    try {
+      return delegate.evaluateIntegers(pFormulas);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateBitvectors(List<? extends BitvectorFormula> pFormulas) {
+    sync.lock();
+    try {
+      return delegate.evaluateBitvectors(pFormulas);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public List<@Nullable Boolean> evaluateBooleans(List<? extends BooleanFormula> pFormulas) {
+    sync.lock();
+    try {
+      return delegate.evaluateBooleans(pFormulas);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ImmutableList<ValueAssignment> asList() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.asList();
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public Stream<ValueAssignment> stream() {
+    return stream(name -> true);
+  }
+
+  @Override
+  public Stream<ValueAssignment> stream(Predicate<String> pNameFilter) {
+    // the delegate builds its assignments lazily, thus we collect them while holding the lock
+    sync.lock();
+    try {
+      return delegate.stream(pNameFilter).collect(ImmutableList.toImmutableList()).stream();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public void close() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       delegate.close();
+    } finally {
+      sync.unlock();
     }
   }
 }
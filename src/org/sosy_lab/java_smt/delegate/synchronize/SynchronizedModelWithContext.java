@@ -12,6 +12,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableList;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.BitvectorFormula;
@@ -24,7 +26,6 @@ import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.RationalFormula;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.StringFormula;
 
 class SynchronizedModelWithContext implements Model {
@@ -33,14 +34,20 @@ class SynchronizedModelWithContext implements Model {
       "translating non-boolean formulae is not supported";
 
   private final Model delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
+  private final SolverLock proverLock;
   private final FormulaManager manager;
   private final FormulaManager otherManager;
 
   SynchronizedModelWithContext(
-      Model pDelegate, SolverContext pSync, FormulaManager pManager, FormulaManager pOtherManager) {
+      Model pDelegate,
+      SolverLock pSync,
+      SolverLock pProverLock,
+      FormulaManager pManager,
+      FormulaManager pOtherManager) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
+    proverLock = checkNotNull(pProverLock);
     manager = checkNotNull(pManager);
     otherManager = checkNotNull(pOtherManager);
   }
@@ -67,11 +74,19 @@ class SynchronizedModelWithContext implements Model {
 
   @Override
   public @Nullable Boolean evaluate(BooleanFormula pF) {
-    BooleanFormula f;
-    synchronized (sync) {
-      f = otherManager.translateFrom(pF, manager);
+    proverLock.lock();
+    try {
+      BooleanFormula f;
+      sync.lock();
+      try {
+        f = otherManager.translateFrom(pF, manager);
+      } finally {
+        sync.unlock();
+      }
+      return delegate.evaluate(f);
+    } finally {
+      proverLock.unlock();
     }
-    return delegate.evaluate(f);
   }
 
   @Override
@@ -94,6 +109,40 @@ class SynchronizedModelWithContext implements Model {
     throw new UnsupportedOperationException(UNSUPPORTED_OPERATION);
   }
 
+  @Override
+  public List<@Nullable Object> evaluateAll(List<? extends Formula> pFormulas) {
+    throw new UnsupportedOperationException(UNSUPPORTED_OPERATION);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateIntegers(List<? extends IntegerFormula> pFormulas) {
+    throw new UnsupportedOperationException(UNSUPPORTED_OPERATION);
+  }
+
+  @Override
+  public List<@Nullable BigInteger> evaluateBitvectors(List<? extends BitvectorFormula> pFormulas) {
+    throw new UnsupportedOperationException(UNSUPPORTED_OPERATION);
+  }
+
+  @Override
+  public List<@Nullable Boolean> evaluateBooleans(List<? extends BooleanFormula> pFormulas) {
+    proverLock.lock();
+    try {
+      List<BooleanFormula> formulas = new ArrayList<>(pFormulas.size());
+      sync.lock();
+      try {
+        for (BooleanFormula f : pFormulas) {
+          formulas.add(otherManager.translateFrom(f, manager));
+        }
+      } finally {
+        sync.unlock();
+      }
+      return delegate.evaluateBooleans(formulas);
+    } finally {
+      proverLock.unlock();
+    }
+  }
+
   @Override
   public ImmutableList<ValueAssignment> asList() {
     throw new UnsupportedOperationException(UNSUPPORTED_OPERATION);
@@ -120,8 +169,11 @@ class SynchronizedModelWithContext implements Model {
 
   @Override
   public void close() {
-    synchronized (sync) {
+    proverLock.lock();
+    try {
       delegate.close();
+    } finally {
+      proverLock.unlock();
     }
   }
 }
@@ -19,7 +19,6 @@ import org.sosy_lab.java_smt.api.FormulaType;
 import org.sosy_lab.java_smt.api.NumeralFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 import org.sosy_lab.java_smt.api.NumeralFormulaManager;
-import org.sosy_lab.java_smt.api.SolverContext;
 
 @SuppressWarnings("ClassTypeParameterName")
 class SynchronizedNumeralFormulaManager<
@@ -27,158 +26,231 @@ class SynchronizedNumeralFormulaManager<
     implements NumeralFormulaManager<ParamFormulaType, ResultFormulaType> {
 
   private final NumeralFormulaManager<ParamFormulaType, ResultFormulaType> delegate;
-  final SolverContext sync;
+  final SolverLock sync;
 
   SynchronizedNumeralFormulaManager(
-      NumeralFormulaManager<ParamFormulaType, ResultFormulaType> pDelegate, SolverContext pSync) {
+      NumeralFormulaManager<ParamFormulaType, ResultFormulaType> pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
 
   @Override
   public ResultFormulaType makeNumber(long pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeNumber(pNumber);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public List<ResultFormulaType> makeNumbers(long... pNumbers) {
+    sync.lock();
+    try {
+      return delegate.makeNumbers(pNumbers);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType makeNumber(BigInteger pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeNumber(pNumber);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType makeNumber(double pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeNumber(pNumber);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType makeNumber(BigDecimal pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeNumber(pNumber);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType makeNumber(String pI) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeNumber(pI);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType makeNumber(Rational pRational) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeNumber(pRational);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType makeVariable(String pVar) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeVariable(pVar);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public FormulaType<ResultFormulaType> getFormulaType() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getFormulaType();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType negate(ParamFormulaType pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.negate(pNumber);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType add(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.add(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType sum(List<ParamFormulaType> pOperands) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.sum(pOperands);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType subtract(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.subtract(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType divide(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.divide(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ResultFormulaType multiply(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.multiply(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula equal(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.equal(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula distinct(List<ParamFormulaType> pNumbers) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.distinct(pNumbers);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula greaterThan(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.greaterThan(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula greaterOrEquals(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.greaterOrEquals(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula lessThan(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.lessThan(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula lessOrEquals(ParamFormulaType pNumber1, ParamFormulaType pNumber2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.lessOrEquals(pNumber1, pNumber2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public IntegerFormula floor(ParamFormulaType pNumber) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.floor(pNumber);
+    } finally {
+      sync.unlock();
     }
   }
 }
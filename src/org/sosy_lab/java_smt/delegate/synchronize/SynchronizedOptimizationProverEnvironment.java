@@ -12,7 +12,6 @@ import java.util.Optional;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
 
 class SynchronizedOptimizationProverEnvironment extends SynchronizedBasicProverEnvironment<Void>
@@ -21,43 +20,58 @@ class SynchronizedOptimizationProverEnvironment extends SynchronizedBasicProverE
   private final OptimizationProverEnvironment delegate;
 
   SynchronizedOptimizationProverEnvironment(
-      OptimizationProverEnvironment pDelegate, SolverContext pSync) {
+      OptimizationProverEnvironment pDelegate, SolverLock pSync) {
     super(pDelegate, pSync);
     delegate = pDelegate;
   }
 
   @Override
   public int maximize(Formula pObjective) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.maximize(pObjective);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public int minimize(Formula pObjective) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.minimize(pObjective);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public OptStatus check() throws InterruptedException, SolverException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.check();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public Optional<Rational> upper(int pHandle, Rational pEpsilon) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.upper(pHandle, pEpsilon);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public Optional<Rational> lower(int pHandle, Rational pEpsilon) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.lower(pHandle, pEpsilon);
+    } finally {
+      sync.unlock();
     }
   }
 }
@@ -10,16 +10,16 @@ package org.sosy_lab.java_smt.delegate.synchronize;
 
 import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.ProverEnvironment;
-import org.sosy_lab.java_smt.api.SolverContext;
 
 class SynchronizedProverEnvironmentWithContext
     extends SynchronizedBasicProverEnvironmentWithContext<Void> implements ProverEnvironment {
 
   SynchronizedProverEnvironmentWithContext(
       ProverEnvironment pDelegate,
-      SolverContext pSync,
+      SolverLock pSync,
+      SolverLock pProverLock,
       FormulaManager pManager,
       FormulaManager pOtherManager) {
-    super(pDelegate, pSync, pManager, pOtherManager);
+    super(pDelegate, pSync, pProverLock, pManager, pOtherManager);
   }
 }
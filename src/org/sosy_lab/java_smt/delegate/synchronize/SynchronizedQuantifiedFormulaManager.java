@@ -14,15 +14,14 @@ import java.util.List;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.QuantifiedFormulaManager;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
 
 class SynchronizedQuantifiedFormulaManager implements QuantifiedFormulaManager {
 
   private final QuantifiedFormulaManager delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
 
-  SynchronizedQuantifiedFormulaManager(QuantifiedFormulaManager pDelegate, SolverContext pSync) {
+  SynchronizedQuantifiedFormulaManager(QuantifiedFormulaManager pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
@@ -30,16 +29,22 @@ class SynchronizedQuantifiedFormulaManager implements QuantifiedFormulaManager {
   @Override
   public BooleanFormula mkQuantifier(
       Quantifier pQ, List<? extends Formula> pVariables, BooleanFormula pBody) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.mkQuantifier(pQ, pVariables, pBody);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula eliminateQuantifiers(BooleanFormula pF)
       throws InterruptedException, SolverException {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.eliminateQuantifiers(pF);
+    } finally {
+      sync.unlock();
     }
   }
 }
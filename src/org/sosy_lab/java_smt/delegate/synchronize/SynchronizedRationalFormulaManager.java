@@ -11,13 +11,12 @@ package org.sosy_lab.java_smt.delegate.synchronize;
 import org.sosy_lab.java_smt.api.NumeralFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.RationalFormula;
 import org.sosy_lab.java_smt.api.RationalFormulaManager;
-import org.sosy_lab.java_smt.api.SolverContext;
 
 class SynchronizedRationalFormulaManager
     extends SynchronizedNumeralFormulaManager<NumeralFormula, RationalFormula>
     implements RationalFormulaManager {
 
-  SynchronizedRationalFormulaManager(RationalFormulaManager pDelegate, SolverContext pSync) {
+  SynchronizedRationalFormulaManager(RationalFormulaManager pDelegate, SolverLock pSync) {
     super(pDelegate, pSync);
   }
 }
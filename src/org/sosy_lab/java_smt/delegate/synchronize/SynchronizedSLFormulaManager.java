@@ -14,37 +14,45 @@ import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.FormulaType;
 import org.sosy_lab.java_smt.api.SLFormulaManager;
-import org.sosy_lab.java_smt.api.SolverContext;
 
 @SuppressWarnings({"ClassTypeParameterName", "MethodTypeParameterName"})
 class SynchronizedSLFormulaManager implements SLFormulaManager {
 
   private final SLFormulaManager delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
 
-  SynchronizedSLFormulaManager(SLFormulaManager pDelegate, SolverContext pSync) {
+  SynchronizedSLFormulaManager(SLFormulaManager pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
 
   @Override
   public BooleanFormula makeStar(BooleanFormula pF1, BooleanFormula pF2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeStar(pF1, pF2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <AF extends Formula, VF extends Formula> BooleanFormula makePointsTo(AF pPtr, VF pTo) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makePointsTo(pPtr, pTo);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula makeMagicWand(BooleanFormula pF1, BooleanFormula pF2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeMagicWand(pF1, pF2);
+    } finally {
+      sync.unlock();
     }
   }
 
@@ -55,15 +63,21 @@ class SynchronizedSLFormulaManager implements SLFormulaManager {
           AT extends FormulaType<AF>,
           VT extends FormulaType<VF>>
       BooleanFormula makeEmptyHeap(AT pAdressType, VT pValueType) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeEmptyHeap(pAdressType, pValueType);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public <AF extends Formula, AT extends FormulaType<AF>> AF makeNilElement(AT pAdressType) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeNilElement(pAdressType);
+    } finally {
+      sync.unlock();
     }
   }
 }
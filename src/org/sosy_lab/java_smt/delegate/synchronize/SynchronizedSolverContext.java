@@ -12,6 +12,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -37,7 +39,18 @@ public class SynchronizedSolverContext implements SolverContext {
   private boolean useSeperateProvers = false;
 
   private final SolverContext delegate;
-  private final SolverContext sync;
+
+  /** Guards the shared context. Used for provers of the shared context and for closing. */
+  private final SolverLock sync;
+
+  /**
+   * Guards formula creation in the shared context. Shares the underlying lock with {@link #sync}.
+   */
+  private final SolverLock formulaLock;
+
+  private final SolverLock.Statistics contextLockStats = new SolverLock.Statistics("context lock");
+  private final SolverLock.Statistics formulaLockStats = new SolverLock.Statistics("formula lock");
+  private final SolverLock.Statistics proverLockStats = new SolverLock.Statistics("prover locks");
   private final Configuration config;
   private final LogManager logger;
   private final ShutdownNotifier shutdownNotifier;
@@ -50,7 +63,9 @@ public class SynchronizedSolverContext implements SolverContext {
       throws InvalidConfigurationException {
     pConfig.inject(this, SynchronizedSolverContext.class);
     delegate = checkNotNull(pDelegate);
-    sync = delegate;
+    ReentrantLock contextLock = new ReentrantLock();
+    sync = new SolverLock(contextLock, contextLockStats);
+    formulaLock = new SolverLock(contextLock, formulaLockStats);
     config = pConfig;
     logger = pLogger;
     shutdownNotifier = pShutdownNotifier;
@@ -72,25 +87,34 @@ public class SynchronizedSolverContext implements SolverContext {
     return ((SynchronizedSolverContext) otherContext).delegate;
   }
 
+  /** Each prover in a separate context gets its own lock. */
+  private SolverLock newProverLock() {
+    return new SolverLock(new ReentrantLock(), proverLockStats);
+  }
+
   @Override
   public FormulaManager getFormulaManager() {
-    return new SynchronizedFormulaManager(delegate.getFormulaManager(), delegate);
+    return new SynchronizedFormulaManager(delegate.getFormulaManager(), formulaLock);
   }
 
   @SuppressWarnings("resource")
   @Override
   public ProverEnvironment newProverEnvironment(ProverOptions... pOptions) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       if (useSeperateProvers) {
         SolverContext otherContext = createOtherContext();
         return new SynchronizedProverEnvironmentWithContext(
             otherContext.newProverEnvironment(pOptions),
-            sync,
+            formulaLock,
+            newProverLock(),
             delegate.getFormulaManager(),
             otherContext.getFormulaManager());
       } else {
-        return new SynchronizedProverEnvironment(delegate.newProverEnvironment(pOptions), delegate);
+        return new SynchronizedProverEnvironment(delegate.newProverEnvironment(pOptions), sync);
       }
+    } finally {
+      sync.unlock();
     }
   }
 
@@ -98,57 +122,91 @@ public class SynchronizedSolverContext implements SolverContext {
   @Override
   public InterpolatingProverEnvironment<?> newProverEnvironmentWithInterpolation(
       ProverOptions... pOptions) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       if (useSeperateProvers) {
         SolverContext otherContext = createOtherContext();
         return new SynchronizedInterpolatingProverEnvironmentWithContext<>(
             otherContext.newProverEnvironmentWithInterpolation(pOptions),
-            sync,
+            formulaLock,
+            newProverLock(),
             delegate.getFormulaManager(),
             otherContext.getFormulaManager());
       } else {
         return new SynchronizedInterpolatingProverEnvironment<>(
-            delegate.newProverEnvironmentWithInterpolation(pOptions), delegate);
+            delegate.newProverEnvironmentWithInterpolation(pOptions), sync);
       }
+    } finally {
+      sync.unlock();
     }
   }
 
   @SuppressWarnings("resource")
   @Override
   public OptimizationProverEnvironment newOptimizationProverEnvironment(ProverOptions... pOptions) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       // seperate prover environment not available, because we can not translate arbitrary formulae.
       // if (useSeperateProvers) { }
       return new SynchronizedOptimizationProverEnvironment(
-          delegate.newOptimizationProverEnvironment(pOptions), delegate);
+          delegate.newOptimizationProverEnvironment(pOptions), sync);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public String getVersion() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getVersion();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public Solvers getSolverName() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.getSolverName();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public ImmutableMap<String, String> getStatistics() {
-    synchronized (sync) {
-      return delegate.getStatistics();
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    sync.lock();
+    try {
+      builder.putAll(delegate.getStatistics());
+    } finally {
+      sync.unlock();
+    }
+    builder.putAll(contextLockStats.asMap());
+    builder.putAll(formulaLockStats.asMap());
+    builder.putAll(proverLockStats.asMap());
+    return builder.buildKeepingLast();
+  }
+
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    sync.lock();
+    try {
+      return delegate.getNativeMemoryUsage();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public void close() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       delegate.close();
+    } finally {
+      sync.unlock();
     }
   }
 }
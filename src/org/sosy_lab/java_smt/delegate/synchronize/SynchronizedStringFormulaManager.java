@@ -15,271 +15,378 @@ import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 import org.sosy_lab.java_smt.api.RegexFormula;
-import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.StringFormula;
 import org.sosy_lab.java_smt.api.StringFormulaManager;
 
 class SynchronizedStringFormulaManager implements StringFormulaManager {
 
   private final StringFormulaManager delegate;
-  private final SolverContext sync;
+  private final SolverLock sync;
 
-  SynchronizedStringFormulaManager(StringFormulaManager pDelegate, SolverContext pSync) {
+  SynchronizedStringFormulaManager(StringFormulaManager pDelegate, SolverLock pSync) {
     delegate = checkNotNull(pDelegate);
     sync = checkNotNull(pSync);
   }
 
   @Override
   public StringFormula makeString(String value) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeString(value);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula makeVariable(String pVar) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeVariable(pVar);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula equal(StringFormula str1, StringFormula str2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.equal(str1, str2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula greaterThan(StringFormula str1, StringFormula str2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.greaterThan(str1, str2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula greaterOrEquals(StringFormula str1, StringFormula str2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.greaterOrEquals(str1, str2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula lessThan(StringFormula str1, StringFormula str2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.lessThan(str1, str2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula lessOrEquals(StringFormula str1, StringFormula str2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.lessOrEquals(str1, str2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public NumeralFormula.IntegerFormula length(StringFormula str) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.length(str);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula concat(List<StringFormula> parts) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.concat(parts);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula prefix(StringFormula str1, StringFormula str2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.prefix(str1, str2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula suffix(StringFormula str1, StringFormula str2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.suffix(str1, str2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula contains(StringFormula str, StringFormula part) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.contains(str, part);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public IntegerFormula indexOf(StringFormula str, StringFormula part, IntegerFormula startIndex) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.indexOf(str, part, startIndex);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula charAt(StringFormula str, IntegerFormula index) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.charAt(str, index);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula substring(StringFormula str, IntegerFormula index, IntegerFormula length) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.substring(str, index, length);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula replace(
       StringFormula fullStr, StringFormula target, StringFormula replacement) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.replace(fullStr, target, replacement);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula replaceAll(
       StringFormula fullStr, StringFormula target, StringFormula replacement) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.replaceAll(fullStr, target, replacement);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public BooleanFormula in(StringFormula str, RegexFormula regex) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.in(str, regex);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula makeRegex(String value) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.makeRegex(value);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula none() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.none();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula all() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.all();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula allChar() {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.allChar();
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula range(StringFormula start, StringFormula end) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.range(start, end);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula concatRegex(List<RegexFormula> parts) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.concatRegex(parts);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula union(RegexFormula regex1, RegexFormula regex2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.union(regex1, regex2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula intersection(RegexFormula regex1, RegexFormula regex2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.intersection(regex1, regex2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula closure(RegexFormula regex) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.closure(regex);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula complement(RegexFormula regex) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.complement(regex);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula difference(RegexFormula regex1, RegexFormula regex2) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.difference(regex1, regex2);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula cross(RegexFormula regex) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.cross(regex);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula optional(RegexFormula regex) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.optional(regex);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public RegexFormula times(RegexFormula regex, int repetitions) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.times(regex, repetitions);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public IntegerFormula toIntegerFormula(StringFormula str) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.toIntegerFormula(str);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula toStringFormula(IntegerFormula number) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.toStringFormula(number);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public IntegerFormula toCodePoint(StringFormula str) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.toCodePoint(str);
+    } finally {
+      sync.unlock();
     }
   }
 
   @Override
   public StringFormula fromCodePoint(IntegerFormula codepoint) {
-    synchronized (sync) {
+    sync.lock();
+    try {
       return delegate.fromCodePoint(codepoint);
+    } finally {
+      sync.unlock();
     }
   }
 }
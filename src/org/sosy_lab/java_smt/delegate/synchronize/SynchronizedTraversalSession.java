@@ -0,0 +1,79 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.delegate.synchronize;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
+import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
+
+class SynchronizedTraversalSession implements TraversalSession {
+
+  private final TraversalSession delegate;
+  private final SolverLock sync;
+
+  SynchronizedTraversalSession(TraversalSession pDelegate, SolverLock pSync) {
+    delegate = checkNotNull(pDelegate);
+    sync = checkNotNull(pSync);
+  }
+
+  @Override
+  public void visitRecursively(Formula pF, FormulaVisitor<TraversalProcess> pFormulaVisitor) {
+    sync.lock();
+    try {
+      delegate.visitRecursively(pF, pFormulaVisitor);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public <T extends Formula> T transformRecursively(
+      T pF, FormulaTransformationVisitor pFormulaVisitor) {
+    sync.lock();
+    try {
+      return delegate.transformRecursively(pF, pFormulaVisitor);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public void invalidate(FormulaVisitor<?> pFormulaVisitor) {
+    sync.lock();
+    try {
+      delegate.invalidate(pFormulaVisitor);
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    sync.lock();
+    try {
+      delegate.invalidate();
+    } finally {
+      sync.unlock();
+    }
+  }
+
+  @Override
+  public int getCacheSize() {
+    sync.lock();
+    try {
+      return delegate.getCacheSize();
+    } finally {
+      sync.unlock();
+    }
+  }
+}
@@ -40,6 +40,7 @@ import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentMap;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Evaluator;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
@@ -174,6 +175,17 @@ abstract class CVC5AbstractProver<T> extends AbstractProverWithAllSat<T> {
             this, creator, Collections2.transform(getAssertedFormulas(), creator::extractInfo)));
   }
 
+  @SuppressWarnings("resource")
+  @Override
+  public CVC5Model getModel(Collection<? extends Formula> pRelevantFormulas)
+      throws SolverException {
+    checkGenerateModels();
+    // the model assignments are only built for the symbols in the given formulas
+    return registerEvaluator(
+        new CVC5Model(
+            this, creator, Collections2.transform(pRelevantFormulas, creator::extractInfo)));
+  }
+
   @Override
   public Evaluator getEvaluator() {
     checkGenerateModels();
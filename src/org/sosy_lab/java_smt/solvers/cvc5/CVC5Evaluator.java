@@ -13,6 +13,8 @@ import io.github.cvc5.Solver;
 import io.github.cvc5.Sort;
 import io.github.cvc5.Term;
 import io.github.cvc5.TermManager;
+import java.util.Arrays;
+import java.util.List;
 import org.sosy_lab.java_smt.basicimpl.AbstractEvaluator;
 
 public class CVC5Evaluator extends AbstractEvaluator<Term, Sort, TermManager> {
@@ -29,4 +31,10 @@ public class CVC5Evaluator extends AbstractEvaluator<Term, Sort, TermManager> {
     Preconditions.checkState(!isClosed());
     return solver.getValue(f);
   }
+
+  @Override
+  protected List<Term> evalAllImpl(List<Term> formulas) {
+    Preconditions.checkState(!isClosed());
+    return Arrays.asList(solver.getValue(formulas.toArray(new Term[0])));
+  }
 }
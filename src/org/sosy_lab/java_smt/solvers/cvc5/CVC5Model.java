@@ -20,6 +20,7 @@ import io.github.cvc5.Sort;
 import io.github.cvc5.Term;
 import io.github.cvc5.TermManager;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import org.sosy_lab.java_smt.basicimpl.AbstractModel;
@@ -50,6 +51,13 @@ public class CVC5Model extends AbstractModel<Term, Sort, TermManager> {
     return solver.getValue(f);
   }
 
+  @Override
+  protected List<Term> evalAllImpl(List<Term> formulas) {
+    checkState(!isClosed());
+    // CVC5 evaluates all terms with one call and shares the evaluation of common subterms
+    return Arrays.asList(solver.getValue(formulas.toArray(new Term[0])));
+  }
+
   private ImmutableList<ValueAssignment> generateModel(Collection<Term> assertedExpressions) {
     ImmutableSet.Builder<ValueAssignment> builder = ImmutableSet.builder();
     for (Term expr : assertedExpressions) {
@@ -45,6 +45,7 @@ import java.util.Set;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Evaluator;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
@@ -148,6 +149,15 @@ abstract class Mathsat5AbstractProver<T2> extends AbstractProver<T2> {
     return new CachingModel(new Mathsat5Model(getMsatModel(), creator, this));
   }
 
+  @SuppressWarnings("resource")
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    checkGenerateModels();
+    return new CachingModel(
+        new Mathsat5Model(getMsatModel(), creator, this),
+        creator.extractVariableAndUFNames(pRelevantFormulas)::contains);
+  }
+
   /**
    * @throws SolverException if an expected MathSAT failure occurs
    */
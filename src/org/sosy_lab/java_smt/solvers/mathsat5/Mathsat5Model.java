@@ -24,12 +24,15 @@ import static org.sosy_lab.java_smt.solvers.mathsat5.Mathsat5NativeApi.msat_term
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Predicate;
 import org.sosy_lab.java_smt.basicimpl.AbstractModel;
 
 class Mathsat5Model extends AbstractModel<Long, Long, Long> {
@@ -49,26 +52,49 @@ class Mathsat5Model extends AbstractModel<Long, Long, Long> {
 
   @Override
   public ImmutableList<ValueAssignment> asList() {
+    return ImmutableList.copyOf(assignmentIterator(name -> true));
+  }
+
+  /**
+   * Iterate lazily over the model assignments. We copy only the pairs of key and value from the
+   * native model iterator, such that the native iterator can be destroyed directly and nothing
+   * leaks if the caller stops the iteration early. The {@link ValueAssignment}s (including the
+   * unrolling of arrays) are built on demand, and only for keys whose name matches the filter.
+   */
+  @Override
+  protected Iterator<ValueAssignment> assignmentIterator(Predicate<String> pNameFilter) {
     Preconditions.checkState(!isClosed());
     Preconditions.checkState(!prover.isClosed(), "cannot use model after prover is closed");
-    ImmutableList.Builder<ValueAssignment> assignments = ImmutableList.builder();
+    List<long[]> entries = new ArrayList<>();
 
     long modelIterator = msat_model_create_iterator(model);
-    while (msat_model_iterator_has_next(modelIterator)) {
-      long[] key = new long[1];
-      long[] value = new long[1];
-      if (msat_model_iterator_next(modelIterator, key, value)) {
-        throw new NoSuchElementException();
+    try {
+      while (msat_model_iterator_has_next(modelIterator)) {
+        long[] key = new long[1];
+        long[] value = new long[1];
+        if (msat_model_iterator_next(modelIterator, key, value)) {
+          throw new NoSuchElementException();
+        }
+        entries.add(new long[] {key[0], value[0]});
       }
+    } finally {
+      msat_destroy_model_iterator(modelIterator);
+    }
 
-      if (msat_is_array_type(creator.getEnv(), msat_term_get_type(value[0]))) {
-        assignments.addAll(getArrayAssignments(key[0], key[0], value[0], ImmutableList.of()));
-      } else {
-        assignments.add(getAssignment(key[0], value[0]));
-      }
+    return Iterators.concat(
+        Iterators.transform(
+            Iterators.filter(
+                entries.iterator(), entry -> pNameFilter.test(formulaCreator.getName(entry[0]))),
+            entry -> getAssignments(entry[0], entry[1]).iterator()));
+  }
+
+  private Collection<ValueAssignment> getAssignments(long key, long value) {
+    Preconditions.checkState(!isClosed(), "cannot use iterator after model is closed");
+    if (msat_is_array_type(creator.getEnv(), msat_term_get_type(value))) {
+      return getArrayAssignments(key, key, value, ImmutableList.of());
+    } else {
+      return ImmutableList.of(getAssignment(key, value));
     }
-    msat_destroy_model_iterator(modelIterator);
-    return assignments.build();
   }
 
   private ValueAssignment getAssignment(long key, long value) {
@@ -23,6 +23,7 @@ import static org.sosy_lab.java_smt.solvers.mathsat5.Mathsat5NativeApi.msat_obje
 import static org.sosy_lab.java_smt.solvers.mathsat5.Mathsat5NativeApi.msat_term_repr;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
@@ -151,4 +152,13 @@ class Mathsat5OptimizationProver extends Mathsat5AbstractProver<Void>
     }
     return super.getModel();
   }
+
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    checkState(!closed);
+    if (!objectiveMap.isEmpty()) {
+      msat_load_objective_model(curEnv, objectiveMap.values().iterator().next());
+    }
+    return super.getModel(pRelevantFormulas);
+  }
 }
@@ -12,6 +12,9 @@ import static org.sosy_lab.java_smt.solvers.mathsat5.Mathsat5FormulaManager.getM
 import static org.sosy_lab.java_smt.solvers.mathsat5.Mathsat5NativeApi.msat_assert_formula;
 
 import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -43,4 +46,16 @@ class Mathsat5TheoremProver extends Mathsat5AbstractProver<Void> implements Prov
     msat_assert_formula(curEnv, getMsatTerm(constraint));
     return null;
   }
+
+  /** Assert all constraints without any bookkeeping in between. */
+  @Override
+  protected List<@Nullable Void> addConstraintsImpl(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    Preconditions.checkState(!closed);
+    closeAllEvaluators();
+    for (BooleanFormula constraint : constraints) {
+      msat_assert_formula(curEnv, getMsatTerm(constraint));
+    }
+    return Collections.nCopies(constraints.size(), null);
+  }
 }
@@ -32,6 +32,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,21 @@ class PrincessModel extends AbstractModel<IExpression, Sort, PrincessEnvironment
 
   @Override
   public ImmutableList<ValueAssignment> asList() {
+    return getAssignments(name -> true);
+  }
+
+  @Override
+  protected Iterator<ValueAssignment> assignmentIterator(
+      java.util.function.Predicate<String> pNameFilter) {
+    return getAssignments(pNameFilter).iterator();
+  }
+
+  /**
+   * Build the assignments of all model entries whose name matches the filter. The name is checked
+   * before building the assignment, such that filtered entries are never converted.
+   */
+  private ImmutableList<ValueAssignment> getAssignments(
+      java.util.function.Predicate<String> pNameFilter) {
     scala.collection.Map<IExpression, IExpression> interpretation = model.interpretation();
 
     // get abbreviations, we do not want to export them.
@@ -68,13 +84,20 @@ class PrincessModel extends AbstractModel<IExpression, Sort, PrincessEnvironment
     // then iterate over the model and generate the assignments
     ImmutableSet.Builder<ValueAssignment> assignments = ImmutableSet.builder();
     for (Map.Entry<IExpression, IExpression> entry : asJava(interpretation).entrySet()) {
-      if (!entry.getKey().toString().equals("Rat_denom") && !isAbbrev(abbrevs, entry.getKey())) {
+      if (!entry.getKey().toString().equals("Rat_denom")
+          && !isAbbrev(abbrevs, entry.getKey())
+          && pNameFilter.test(getName(entry.getKey()))) {
         assignments.addAll(getAssignments(entry.getKey(), entry.getValue()));
       }
     }
     return assignments.build().asList();
   }
 
+  /** The name of a model entry, as used for its assignments. */
+  private static String getName(IExpression key) {
+    return key instanceof IFunApp ? ((IFunApp) key).fun().name() : key.toString();
+  }
+
   private boolean isAbbrev(Set<Predicate> abbrevs, IExpression var) {
     return var instanceof IAtom && abbrevs.contains(((IAtom) var).pred());
   }
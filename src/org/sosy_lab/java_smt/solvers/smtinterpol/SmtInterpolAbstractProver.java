@@ -38,6 +38,7 @@ import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentMap;
 import org.sosy_lab.java_smt.api.BasicProverEnvironment;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
 import org.sosy_lab.java_smt.basicimpl.AbstractProver;
@@ -140,10 +141,22 @@ abstract class SmtInterpolAbstractProver<T> extends AbstractProver<T> {
     }
   }
 
-  @SuppressWarnings("resource")
   @Override
   public org.sosy_lab.java_smt.api.Model getModel() {
     checkGenerateModels();
+    return createModel(transformedImmutableSetCopy(getAssertedFormulas(), mgr::extractInfo));
+  }
+
+  @Override
+  public org.sosy_lab.java_smt.api.Model getModel(Collection<? extends Formula> pRelevantFormulas) {
+    checkGenerateModels();
+    // the model assignments are only built for the symbols in the given formulas
+    return createModel(transformedImmutableSetCopy(pRelevantFormulas, mgr::extractInfo));
+  }
+
+  /** Create a model whose assignments contain the symbols occurring in the given terms. */
+  @SuppressWarnings("resource")
+  private org.sosy_lab.java_smt.api.Model createModel(Collection<Term> pTerms) {
     final Model model;
     try {
       model = env.getModel();
@@ -155,12 +168,7 @@ abstract class SmtInterpolAbstractProver<T> extends AbstractProver<T> {
         throw e;
       }
     }
-    return new CachingModel(
-        new SmtInterpolModel(
-            this,
-            model,
-            creator,
-            transformedImmutableSetCopy(getAssertedFormulas(), mgr::extractInfo)));
+    return new CachingModel(new SmtInterpolModel(this, model, creator, pTerms));
   }
 
   protected static String generateTermName() {
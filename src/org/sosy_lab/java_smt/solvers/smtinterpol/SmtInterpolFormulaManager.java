@@ -25,6 +25,7 @@ import de.uni_freiburg.informatik.ultimate.logic.simplification.SimplifyDDA;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.ParseEnvironment;
+import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayDeque;
 import java.util.Collection;
@@ -112,10 +113,20 @@ public class SmtInterpolFormulaManager
 
   @Override
   public String dumpFormulaImpl(final Term formula) {
+    StringBuilder out = new StringBuilder();
+    try {
+      dumpFormulaImpl(formula, out);
+    } catch (IOException e) {
+      throw new AssertionError("StringBuilder does not throw IOException", e);
+    }
+    return out.toString();
+  }
+
+  @Override
+  protected void dumpFormulaImpl(final Term formula, Appendable out) throws IOException {
     assert getFormulaCreator().getFormulaType(formula) == FormulaType.BooleanType
         : "Only BooleanFormulas may be dumped";
 
-    StringBuilder out = new StringBuilder();
     Set<Term> seen = new HashSet<>();
     Set<FunctionSymbol> declaredFunctions = new HashSet<>();
     Deque<Term> todo = new ArrayDeque<>();
@@ -173,8 +184,7 @@ public class SmtInterpolFormulaManager
     Term letted = new FormulaLet().let(formula);
     termPrinter.append(out, letted);
 
-    out.append(")");
-    return out.toString();
+    out.append(")\n");
   }
 
   @Override
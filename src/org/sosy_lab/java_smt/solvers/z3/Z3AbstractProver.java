@@ -19,6 +19,7 @@ import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentMap;
 import org.sosy_lab.common.io.PathCounterTemplate;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
@@ -114,6 +116,15 @@ abstract class Z3AbstractProver extends AbstractProverWithAllSat<Void> {
     return new CachingModel(getEvaluatorWithoutChecks());
   }
 
+  @SuppressWarnings("resource")
+  @Override
+  public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+    checkGenerateModels();
+    return new CachingModel(
+        getEvaluatorWithoutChecks(),
+        creator.extractVariableAndUFNames(pRelevantFormulas)::contains);
+  }
+
   @Override
   protected Z3Model getEvaluatorWithoutChecks() throws SolverException {
     return new Z3Model(this, z3context, getZ3Model(), creator);
@@ -144,6 +155,36 @@ abstract class Z3AbstractProver extends AbstractProverWithAllSat<Void> {
     return null;
   }
 
+  /**
+   * Without unsat-core tracking, we assert the conjunction of all constraints, which needs only one
+   * native assertion instead of one per constraint.
+   */
+  @Override
+  protected List<@Nullable Void> addConstraintsImpl(Collection<BooleanFormula> constraints)
+      throws InterruptedException {
+    if (storedConstraints != null || constraints.size() == 1) {
+      return super.addConstraintsImpl(constraints);
+    }
+    Preconditions.checkState(!closed);
+    long[] terms = new long[constraints.size()];
+    int i = 0;
+    for (BooleanFormula constraint : constraints) {
+      terms[i++] = creator.extractInfo(constraint);
+    }
+    try {
+      long conjunction = Native.mkAnd(z3context, terms.length, terms);
+      Native.incRef(z3context, conjunction);
+      try {
+        assertContraint(conjunction);
+      } finally {
+        Native.decRef(z3context, conjunction);
+      }
+    } catch (Z3Exception exception) {
+      throw creator.handleZ3ExceptionAsRuntimeException(exception);
+    }
+    return Collections.nCopies(terms.length, null);
+  }
+
   protected void push0() {
     Preconditions.checkState(!closed);
     if (storedConstraints != null) {
@@ -49,6 +49,27 @@ class Z3BitvectorFormulaManager extends AbstractBitvectorFormulaManager<Long, Lo
     return Native.mkNumeral(z3context, pI.toString(), sort);
   }
 
+  /**
+   * Create a bitvector literal directly from its 64-bit representation, which avoids the detour via
+   * BigInteger and String. Negative values for wide bitvectors and values out of range are handled
+   * by {@link #makeBitvectorImpl(int, BigInteger)}.
+   */
+  @Override
+  protected Long makeBitvectorImpl(int pLength, long pI) {
+    if (pLength < Long.SIZE - 1) {
+      long max = 1L << pLength;
+      if (pI >= 0 && pI < max) {
+        return Native.mkUnsignedInt64(z3context, pI, Native.mkBvSort(z3context, pLength));
+      } else if (pI < 0 && pI >= -(max >> 1)) {
+        return Native.mkUnsignedInt64(z3context, pI + max, Native.mkBvSort(z3context, pLength));
+      }
+    } else if (pI >= 0 || pLength == Long.SIZE) {
+      // for 64 bits, the two's complement of a negative value is its unsigned representation
+      return Native.mkUnsignedInt64(z3context, pI, Native.mkBvSort(z3context, pLength));
+    }
+    return makeBitvectorImpl(pLength, BigInteger.valueOf(pI));
+  }
+
   @Override
   protected Long makeBitvectorImpl(int pLength, Long pNumeralFormula) {
     return Native.mkInt2bv(z3context, pLength, pNumeralFormula);
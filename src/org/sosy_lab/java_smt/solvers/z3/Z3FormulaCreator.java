@@ -28,6 +28,7 @@ import com.microsoft.z3.enumerations.Z3_symbol_kind;
 import java.lang.ref.PhantomReference;
 import java.lang.ref.ReferenceQueue;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,7 @@ import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -61,6 +63,7 @@ import org.sosy_lab.java_smt.api.StringFormula;
 import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
 import org.sosy_lab.java_smt.basicimpl.AbstractStringFormulaManager;
 import org.sosy_lab.java_smt.basicimpl.FormulaCreator;
+import org.sosy_lab.java_smt.basicimpl.FormulaInterner;
 import org.sosy_lab.java_smt.basicimpl.FunctionDeclarationImpl;
 import org.sosy_lab.java_smt.solvers.z3.Z3Formula.Z3ArrayFormula;
 import org.sosy_lab.java_smt.solvers.z3.Z3Formula.Z3BitvectorFormula;
@@ -114,9 +117,47 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
           "maximization suspended" // Z3::src/opt/opt_solver.cpp
           );
 
+  private static final int INITIAL_PENDING_ASTS = 1024;
+  private static final long MEGABYTE = 1024 * 1024;
+
   @Option(secure = true, description = "Whether to use PhantomReferences for discarding Z3 AST")
   private boolean usePhantomReferences = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Whether to return the same Java object for each occurrence of the same Z3 AST. This"
+              + " avoids allocating a new wrapper object for each access to a term and registers"
+              + " each term only once for PhantomReference-based clean-up.")
+  private boolean internFormulas = false;
+
+  @Option(
+      secure = true,
+      description =
+          "Whether to collect the ASTs of garbage-collected formulas and release them in batches"
+              + " at safe points, e.g., before a satisfiability check, instead of releasing each"
+              + " AST when creating the next formula. Only relevant with usePhantomReferences.")
+  private boolean batchReferenceCleanup = false;
+
+  @Option(
+      secure = true,
+      description =
+          "Maximum number of collected ASTs that are not yet released with"
+              + " batchReferenceCleanup. If this number is reached, all collected ASTs are"
+              + " released directly.")
+  @IntegerOption(min = 1)
+  private int maxPendingReferences = 100_000;
+
+  @Option(
+      secure = true,
+      description =
+          "Soft limit for the native memory of Z3 in MB, or 0 for no limit. The limit is checked"
+              + " before each satisfiability check. If it is still exceeded after releasing unused"
+              + " ASTs, the check fails with a SolverException instead of running out of memory."
+              + " Z3 tracks its memory per process, thus the limit applies to all Z3 contexts.")
+  @IntegerOption(min = 0)
+  private int memoryLimit = 0;
+
   /**
    * We need to track all created symbols for parsing.
    *
@@ -131,7 +172,18 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
 
   private final Z3AstReference referenceListHead;
 
-  // todo: getters for statistic.
+  /** Interned wrappers for Z3 ASTs, only available with option {@link #internFormulas}. */
+  private final @Nullable FormulaInterner<Z3Formula> interner;
+
+  /** ASTs of garbage-collected formulas that are not yet released, with batch clean-up. */
+  private long[] pendingAsts = new long[INITIAL_PENDING_ASTS];
+
+  private int numPendingAsts = 0;
+  private long numReleasedAsts = 0;
+
+  /** Number of ASTs that are referenced from live formulas and released via PhantomReferences. */
+  private long numTrackedAsts = 0;
+
   private final Timer cleanupTimer = new Timer();
   protected final ShutdownNotifier shutdownNotifier;
 
@@ -160,6 +212,7 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
     } else {
       referenceListHead = null;
     }
+    interner = internFormulas ? new FormulaInterner<>() : null;
   }
 
   /**
@@ -316,32 +369,35 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
                 && getFormulaType(pTerm).equals(FormulaType.IntegerType))
         : String.format(
             "Trying to encapsulate formula of type %s as %s", getFormulaType(pTerm), pType);
-    cleanupReferences();
     if (pType.isBooleanType()) {
-      return (T) storePhantomReference(new Z3BooleanFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3BooleanFormula.class, Z3BooleanFormula::new);
     } else if (pType.isIntegerType()) {
-      return (T) storePhantomReference(new Z3IntegerFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3IntegerFormula.class, Z3IntegerFormula::new);
     } else if (pType.isRationalType()) {
-      return (T) storePhantomReference(new Z3RationalFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3RationalFormula.class, Z3RationalFormula::new);
     } else if (pType.isStringType()) {
-      return (T) storePhantomReference(new Z3StringFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3StringFormula.class, Z3StringFormula::new);
     } else if (pType.isRegexType()) {
-      return (T) storePhantomReference(new Z3RegexFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3RegexFormula.class, Z3RegexFormula::new);
     } else if (pType.isBitvectorType()) {
-      return (T) storePhantomReference(new Z3BitvectorFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3BitvectorFormula.class, Z3BitvectorFormula::new);
     } else if (pType.isFloatingPointType()) {
-      return (T) storePhantomReference(new Z3FloatingPointFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3FloatingPointFormula.class, Z3FloatingPointFormula::new);
     } else if (pType.isFloatingPointRoundingModeType()) {
       return (T)
-          storePhantomReference(new Z3FloatingPointRoundingModeFormula(getEnv(), pTerm), pTerm);
+          wrap(
+              pTerm,
+              Z3FloatingPointRoundingModeFormula.class,
+              Z3FloatingPointRoundingModeFormula::new);
     } else if (pType.isArrayType()) {
       ArrayFormulaType<?, ?> arrFt = (ArrayFormulaType<?, ?>) pType;
+      cleanupReferences();
       return (T)
           storePhantomReference(
               new Z3ArrayFormula<>(getEnv(), pTerm, arrFt.getIndexType(), arrFt.getElementType()),
               pTerm);
     } else if (pType.isEnumerationType()) {
-      return (T) storePhantomReference(new Z3EnumerationFormula(getEnv(), pTerm), pTerm);
+      return (T) wrap(pTerm, Z3EnumerationFormula.class, Z3EnumerationFormula::new);
     }
 
     throw new IllegalArgumentException("Cannot create formulas of type " + pType + " in Z3");
@@ -350,29 +406,26 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
   @Override
   public BooleanFormula encapsulateBoolean(Long pTerm) {
     assert getFormulaType(pTerm).isBooleanType();
-    cleanupReferences();
-    return storePhantomReference(new Z3BooleanFormula(getEnv(), pTerm), pTerm);
+    return wrap(pTerm, Z3BooleanFormula.class, Z3BooleanFormula::new);
   }
 
   @Override
   public BitvectorFormula encapsulateBitvector(Long pTerm) {
     assert getFormulaType(pTerm).isBitvectorType();
-    cleanupReferences();
-    return storePhantomReference(new Z3BitvectorFormula(getEnv(), pTerm), pTerm);
+    return wrap(pTerm, Z3BitvectorFormula.class, Z3BitvectorFormula::new);
   }
 
   @Override
   protected FloatingPointFormula encapsulateFloatingPoint(Long pTerm) {
     assert getFormulaType(pTerm).isFloatingPointType();
-    cleanupReferences();
-    return storePhantomReference(new Z3FloatingPointFormula(getEnv(), pTerm), pTerm);
+    return wrap(pTerm, Z3FloatingPointFormula.class, Z3FloatingPointFormula::new);
   }
 
   @Override
   protected FloatingPointRoundingModeFormula encapsulateRoundingMode(Long pTerm) {
     assert getFormulaType(pTerm).isFloatingPointRoundingModeType();
-    cleanupReferences();
-    return storePhantomReference(new Z3FloatingPointRoundingModeFormula(getEnv(), pTerm), pTerm);
+    return wrap(
+        pTerm, Z3FloatingPointRoundingModeFormula.class, Z3FloatingPointRoundingModeFormula::new);
   }
 
   @Override
@@ -382,8 +435,7 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
             "Term %s has unexpected type %s.",
             Native.astToString(getEnv(), pTerm),
             Native.sortToString(getEnv(), Native.getSort(getEnv(), pTerm)));
-    cleanupReferences();
-    return storePhantomReference(new Z3StringFormula(getEnv(), pTerm), pTerm);
+    return wrap(pTerm, Z3StringFormula.class, Z3StringFormula::new);
   }
 
   @Override
@@ -393,8 +445,7 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
             "Term %s has unexpected type %s.",
             Native.astToString(getEnv(), pTerm),
             Native.sortToString(getEnv(), Native.getSort(getEnv(), pTerm)));
-    cleanupReferences();
-    return storePhantomReference(new Z3RegexFormula(getEnv(), pTerm), pTerm);
+    return wrap(pTerm, Z3RegexFormula.class, Z3RegexFormula::new);
   }
 
   @Override
@@ -404,8 +455,7 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
             "Term %s has unexpected type %s.",
             Native.astToString(getEnv(), pTerm),
             Native.sortToString(getEnv(), Native.getSort(getEnv(), pTerm)));
-    cleanupReferences();
-    return storePhantomReference(new Z3EnumerationFormula(getEnv(), pTerm), pTerm);
+    return wrap(pTerm, Z3EnumerationFormula.class, Z3EnumerationFormula::new);
   }
 
   @Override
@@ -483,17 +533,42 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
       this.next = ref;
     }
 
-    private void cleanup(long environment) {
-      Native.decRef(environment, z3Ast);
+    private void unlink() {
       assert (prev != null && next != null);
       prev.next = next;
       next.prev = prev;
     }
   }
 
+  /** Constructor of a {@link Z3Formula} for a given context and AST. */
+  private interface Z3FormulaConstructor<T extends Z3Formula> {
+    T create(long z3context, long z3expr);
+  }
+
+  /**
+   * Wrap the given AST into a formula of the given class. If interning is enabled, an existing
+   * wrapper for the AST is reused, and only new wrappers are registered for clean-up.
+   *
+   * <p>Arrays are not interned, because their wrappers also carry the index and element type.
+   */
+  private <T extends Z3Formula> T wrap(
+      long pTerm, Class<T> pClass, Z3FormulaConstructor<T> pConstructor) {
+    cleanupReferences();
+    if (interner == null) {
+      return storePhantomReference(pConstructor.create(getEnv(), pTerm), pTerm);
+    }
+    T formula = interner.get(pTerm, pClass);
+    if (formula == null) {
+      formula = storePhantomReference(pConstructor.create(getEnv(), pTerm), pTerm);
+      interner.put(pTerm, formula);
+    }
+    return formula;
+  }
+
   private <T extends Z3Formula> T storePhantomReference(T out, long pTerm) {
     if (usePhantomReferences) {
       referenceListHead.insert(new Z3AstReference(out, referenceQueue, pTerm));
+      numTrackedAsts++;
     }
     return out;
   }
@@ -506,13 +581,95 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
     try {
       Z3AstReference ref;
       while ((ref = (Z3AstReference) referenceQueue.poll()) != null) {
-        ref.cleanup(environment);
+        ref.unlink();
+        numTrackedAsts--;
+        if (batchReferenceCleanup) {
+          if (numPendingAsts == pendingAsts.length) {
+            pendingAsts = Arrays.copyOf(pendingAsts, 2 * pendingAsts.length);
+          }
+          pendingAsts[numPendingAsts++] = ref.z3Ast;
+        } else {
+          Native.decRef(environment, ref.z3Ast);
+          numReleasedAsts++;
+        }
       }
+      if (numPendingAsts >= maxPendingReferences) {
+        releasePendingAsts();
+      }
+    } finally {
+      cleanupTimer.stop();
+    }
+  }
+
+  /**
+   * Release all ASTs of garbage-collected formulas. With option {@link #batchReferenceCleanup},
+   * this method should be called at safe points where a short delay does not matter, e.g., before a
+   * satisfiability check.
+   */
+  void releasePendingReferences() {
+    if (!usePhantomReferences) {
+      return;
+    }
+    cleanupReferences();
+    cleanupTimer.start();
+    try {
+      releasePendingAsts();
     } finally {
       cleanupTimer.stop();
     }
   }
 
+  private void releasePendingAsts() {
+    for (int i = 0; i < numPendingAsts; i++) {
+      Native.decRef(environment, pendingAsts[i]);
+    }
+    numReleasedAsts += numPendingAsts;
+    numPendingAsts = 0;
+    if (pendingAsts.length > INITIAL_PENDING_ASTS) {
+      pendingAsts = new long[INITIAL_PENDING_ASTS];
+    }
+  }
+
+  /**
+   * Prepare a satisfiability check: release unused ASTs and check the soft limit for the native
+   * memory of Z3.
+   *
+   * @throws SolverException if Z3 uses more memory than allowed by option {@link #memoryLimit}.
+   */
+  void beforeSatCheck() throws SolverException {
+    releasePendingReferences();
+    if (memoryLimit > 0) {
+      long usage = getNativeMemoryUsage();
+      if (usage > memoryLimit * MEGABYTE) {
+        throw new SolverException(
+            String.format(
+                "Z3 uses %d MB of native memory, which exceeds the limit of %d MB",
+                usage / MEGABYTE, memoryLimit));
+      }
+    }
+  }
+
+  /** Returns Z3's estimation of its native memory in bytes, for all contexts of the process. */
+  long getNativeMemoryUsage() {
+    return Native.getEstimatedAllocSize();
+  }
+
+  /** Statistics about the memory of Z3 and the clean-up of ASTs via PhantomReferences. */
+  ImmutableMap<String, String> getMemoryStatistics() {
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    builder.put("estimated native memory (bytes)", Long.toString(getNativeMemoryUsage()));
+    if (interner != null) {
+      builder.put("number of interned formulas", Integer.toString(interner.size()));
+    }
+    if (usePhantomReferences) {
+      builder.put("number of live ASTs", Long.toString(numTrackedAsts));
+      builder.put("number of pending ASTs", Integer.toString(numPendingAsts));
+      builder.put("number of released ASTs", Long.toString(numReleasedAsts));
+      builder.put("time for releasing ASTs", cleanupTimer.getSumTime().toString());
+    }
+    return builder.buildOrThrow();
+  }
+
   private String getAppName(long f) {
     long funcDecl = Native.getAppDecl(environment, f);
     long symbol = Native.getDeclName(environment, funcDecl);
@@ -1155,8 +1312,12 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
   /** Closing the context. */
   @SuppressWarnings("empty-statement")
   public void forceClose() {
+    if (interner != null) {
+      interner.clear();
+    }
     // Force clean all ASTs, even those which were not GC'd yet.
     if (usePhantomReferences) {
+      releasePendingAsts();
       Z3AstReference cur = referenceListHead.next;
       assert cur != null;
       while (cur.next != null) {
@@ -1167,6 +1328,7 @@ class Z3FormulaCreator extends FormulaCreator<Long, Long, Long, Long> {
       // Bulk delete everything between head and tail
       referenceListHead.next = tail;
       tail.prev = referenceListHead;
+      numTrackedAsts = 0;
 
       // Remove already enqueued references.
       while (referenceQueue.poll() != null) {
@@ -13,6 +13,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Longs;
 import com.microsoft.z3.Native;
 import com.microsoft.z3.Z3Exception;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -25,10 +26,12 @@ import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.FormulaType;
 import org.sosy_lab.java_smt.api.SolverException;
 import org.sosy_lab.java_smt.basicimpl.AbstractFormulaManager;
+import org.sosy_lab.java_smt.basicimpl.SmtLibPrinter;
 
 final class Z3FormulaManager extends AbstractFormulaManager<Long, Long, Long, Long> {
 
   private final Z3FormulaCreator formulaCreator;
+  private final boolean useStreamingDump;
 
   @SuppressWarnings("checkstyle:parameternumber")
   Z3FormulaManager(
@@ -42,7 +45,8 @@ final class Z3FormulaManager extends AbstractFormulaManager<Long, Long, Long, Lo
       Z3QuantifiedFormulaManager pQuantifiedManager,
       Z3ArrayFormulaManager pArrayManager,
       Z3StringFormulaManager pStringManager,
-      Z3EnumerationFormulaManager pEnumerationManager) {
+      Z3EnumerationFormulaManager pEnumerationManager,
+      boolean pUseStreamingDump) {
     super(
         pFormulaCreator,
         pFunctionManager,
@@ -57,6 +61,7 @@ final class Z3FormulaManager extends AbstractFormulaManager<Long, Long, Long, Lo
         pStringManager,
         pEnumerationManager);
     formulaCreator = pFormulaCreator;
+    useStreamingDump = pUseStreamingDump;
   }
 
   @Override
@@ -201,6 +206,19 @@ final class Z3FormulaManager extends AbstractFormulaManager<Long, Long, Long, Lo
     return serialized;
   }
 
+  /**
+   * Z3 can only serialize a formula into a single native string. If enabled, we prefer the
+   * solver-independent printer, which writes directly to the output, and use Z3 only for formulas
+   * that are not supported by that printer.
+   */
+  @Override
+  protected void dumpFormulaImpl(final Long expr, Appendable out) throws IOException {
+    if (!useStreamingDump
+        || !SmtLibPrinter.print(this, formulaCreator.encapsulateBoolean(expr), out)) {
+      super.dumpFormulaImpl(expr, out);
+    }
+  }
+
   @Override
   protected Long simplify(Long pF) throws InterruptedException {
     try {
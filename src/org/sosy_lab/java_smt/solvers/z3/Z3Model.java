@@ -13,6 +13,7 @@ import static org.sosy_lab.common.collect.Collections3.transformedImmutableListC
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.VerifyException;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.microsoft.z3.Native;
 import com.microsoft.z3.Native.LongPtr;
@@ -22,9 +23,12 @@ import com.microsoft.z3.enumerations.Z3_sort_kind;
 import com.microsoft.z3.enumerations.Z3_symbol_kind;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.java_smt.basicimpl.AbstractModel;
@@ -49,32 +53,79 @@ final class Z3Model extends AbstractModel<Long, Long, Long> {
   @Override
   public ImmutableList<ValueAssignment> asList() {
     checkState(!isClosed());
-    ImmutableList.Builder<ValueAssignment> out = ImmutableList.builder();
+    return ImmutableList.copyOf(assignmentIterator(name -> true));
+  }
 
-    try {
-      // Iterate through constants.
-      for (int constIdx = 0; constIdx < Native.modelGetNumConsts(z3context, model); constIdx++) {
-        long keyDecl = Native.modelGetConstDecl(z3context, model, constIdx);
-        Native.incRef(z3context, keyDecl);
-        out.addAll(getConstAssignments(keyDecl));
-        Native.decRef(z3context, keyDecl);
+  @Override
+  protected Iterator<ValueAssignment> assignmentIterator(Predicate<String> pNameFilter) {
+    return new AssignmentIterator(pNameFilter);
+  }
+
+  /**
+   * Iterates lazily through the constants and function applications of the model. The assignments
+   * of one declaration (e.g., all entries of an array) are built only when the iteration reaches
+   * the declaration, and only if the name of the declaration matches the filter.
+   */
+  private final class AssignmentIterator extends AbstractIterator<ValueAssignment> {
+
+    private final Predicate<String> nameFilter;
+    private final int numConsts;
+    private final int numFuncs;
+    private int constIdx = 0;
+    private int funcIdx = 0;
+    private Iterator<ValueAssignment> current = Collections.emptyIterator();
+
+    private AssignmentIterator(Predicate<String> pNameFilter) {
+      nameFilter = pNameFilter;
+      try {
+        numConsts = Native.modelGetNumConsts(z3context, model);
+        numFuncs = Native.modelGetNumFuncs(z3context, model);
+      } catch (Z3Exception e) {
+        throw z3creator.handleZ3ExceptionAsRuntimeException(e);
+      }
+    }
+
+    @Override
+    protected @Nullable ValueAssignment computeNext() {
+      while (!current.hasNext()) {
+        if (constIdx >= numConsts && funcIdx >= numFuncs) {
+          return endOfData();
+        }
+        checkState(!isClosed(), "cannot use iterator after model is closed");
+        try {
+          current = nextAssignments().iterator();
+        } catch (Z3Exception e) {
+          throw z3creator.handleZ3ExceptionAsRuntimeException(e);
+        }
       }
+      return current.next();
+    }
 
-      // Iterate through function applications.
-      for (int funcIdx = 0; funcIdx < Native.modelGetNumFuncs(z3context, model); funcIdx++) {
-        long funcDecl = Native.modelGetFuncDecl(z3context, model, funcIdx);
+    /** Returns the assignments of the next declaration, which might be empty. */
+    private Collection<ValueAssignment> nextAssignments() {
+      Collection<ValueAssignment> assignments = ImmutableList.of();
+      if (constIdx < numConsts) {
+        // Iterate through constants.
+        long keyDecl = Native.modelGetConstDecl(z3context, model, constIdx++);
+        Native.incRef(z3context, keyDecl);
+        if (nameFilter.test(z3creator.symbolToString(Native.getDeclName(z3context, keyDecl)))) {
+          assignments = getConstAssignments(keyDecl);
+        }
+        Native.decRef(z3context, keyDecl);
+      } else {
+        // Iterate through function applications.
+        long funcDecl = Native.modelGetFuncDecl(z3context, model, funcIdx++);
         Native.incRef(z3context, funcDecl);
         if (!isInternalSymbol(funcDecl)) {
           String functionName = z3creator.symbolToString(Native.getDeclName(z3context, funcDecl));
-          out.addAll(getFunctionAssignments(funcDecl, funcDecl, functionName));
+          if (nameFilter.test(functionName)) {
+            assignments = getFunctionAssignments(funcDecl, funcDecl, functionName);
+          }
         }
         Native.decRef(z3context, funcDecl);
       }
-    } catch (Z3Exception e) {
-      throw z3creator.handleZ3ExceptionAsRuntimeException(e);
+      return assignments;
     }
-
-    return out.build();
   }
 
   /**
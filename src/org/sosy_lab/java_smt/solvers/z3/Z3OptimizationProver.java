@@ -134,6 +134,7 @@ class Z3OptimizationProver extends Z3AbstractProver implements OptimizationProve
 
   @Override
   protected boolean isUnsatImpl() throws SolverException, InterruptedException {
+    creator.beforeSatCheck();
     logSolverStack();
     return check() == OptStatus.UNSAT;
   }
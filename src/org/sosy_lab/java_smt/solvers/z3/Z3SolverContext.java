@@ -16,6 +16,7 @@ import com.microsoft.z3.enumerations.Z3_ast_print_mode;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -79,6 +80,15 @@ public final class Z3SolverContext extends AbstractSolverContext {
         values = {"lex", "pareto", "box"})
     String objectivePrioritizationMode = "box";
 
+    @Option(
+        secure = true,
+        description =
+            "Dump formulas with the solver-independent SMT-LIB2 printer, which writes directly into"
+                + " the output, instead of the native serialization of Z3, which builds the whole"
+                + " dump as string. The output differs from the native dump, e.g., in the names of"
+                + " shared subterms.")
+    boolean useStreamingDump = false;
+
     private final @Nullable PathCounterTemplate logfile;
 
     private final int randomSeed;
@@ -210,7 +220,8 @@ public final class Z3SolverContext extends AbstractSolverContext {
             quantifierManager,
             arrayManager,
             stringTheory,
-            enumTheory);
+            enumTheory,
+            extraOptions.useStreamingDump);
     return new Z3SolverContext(creator, pShutdownNotifier, logger, manager, extraOptions);
   }
 
@@ -268,6 +279,18 @@ public final class Z3SolverContext extends AbstractSolverContext {
     return Solvers.Z3;
   }
 
+  @Override
+  public ImmutableMap<String, String> getStatistics() {
+    Preconditions.checkState(!closed.get(), "solver context is already closed");
+    return creator.getMemoryStatistics();
+  }
+
+  @Override
+  public OptionalLong getNativeMemoryUsage() {
+    Preconditions.checkState(!closed.get(), "solver context is already closed");
+    return OptionalLong.of(creator.getNativeMemoryUsage());
+  }
+
   @Override
   public void close() {
     if (!closed.getAndSet(true)) {
@@ -10,6 +10,7 @@ package org.sosy_lab.java_smt.solvers.z3;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.microsoft.z3.Native;
 import com.microsoft.z3.Z3Exception;
 import com.microsoft.z3.enumerations.Z3_lbool;
@@ -29,6 +30,7 @@ import org.sosy_lab.java_smt.api.UserPropagator;
 class Z3TheoremProver extends Z3AbstractProver implements ProverEnvironment {
 
   private final long z3solver;
+  private final ImmutableMap<String, Object> solverOptions;
   private final ShutdownRequestListener interruptListener;
 
   private @Nullable Z3UserPropagator propagator = null;
@@ -41,6 +43,7 @@ class Z3TheoremProver extends Z3AbstractProver implements ProverEnvironment {
       @Nullable PathCounterTemplate pLogfile,
       ShutdownNotifier pShutdownNotifier) {
     super(creator, pMgr, pOptions, pLogfile, pShutdownNotifier);
+    solverOptions = pSolverOptions;
     z3solver = Native.mkSolver(z3context);
     Native.solverIncRef(z3context, z3solver);
 
@@ -56,6 +59,12 @@ class Z3TheoremProver extends Z3AbstractProver implements ProverEnvironment {
     Native.paramsDecRef(z3context, z3params);
   }
 
+  @Override
+  protected Z3TheoremProver newGeneralizationProver() {
+    return new Z3TheoremProver(
+        creator, mgr, ImmutableSet.of(), solverOptions, null, shutdownNotifier);
+  }
+
   @Override
   protected void pushImpl() {
     push0();
@@ -84,6 +93,7 @@ class Z3TheoremProver extends Z3AbstractProver implements ProverEnvironment {
 
   @Override
   protected boolean isUnsatImpl() throws SolverException, InterruptedException {
+    creator.beforeSatCheck();
     logSolverStack();
     int result;
     try {
@@ -100,6 +110,7 @@ class Z3TheoremProver extends Z3AbstractProver implements ProverEnvironment {
       throws SolverException, InterruptedException {
     Preconditions.checkState(!closed);
     changedSinceLastSatQuery = false;
+    creator.beforeSatCheck();
 
     int result;
     try {
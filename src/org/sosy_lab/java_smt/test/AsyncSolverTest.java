@@ -0,0 +1,117 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.utils.AsyncSolver;
+import org.sosy_lab.java_smt.utils.AsyncSolver.AsyncProverEnvironment;
+import org.sosy_lab.java_smt.utils.SolverUtils;
+
+public class AsyncSolverTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private final ShutdownManager asyncShutdownManager = ShutdownManager.create();
+  private AsyncSolver asyncSolver;
+
+  @Before
+  public void setUp() throws InvalidConfigurationException {
+    asyncSolver =
+        SolverUtils.asyncSolver(config, logger, asyncShutdownManager.getNotifier(), solver);
+  }
+
+  @After
+  public void tearDown() {
+    if (asyncSolver != null) {
+      asyncSolver.close();
+    }
+  }
+
+  @Test
+  public void operationsRunInOrder() throws InterruptedException, ExecutionException {
+    BooleanFormula a =
+        asyncSolver
+            .submit(ctx -> ctx.getFormulaManager().getBooleanFormulaManager().makeVariable("a"))
+            .get();
+    BooleanFormula notA =
+        asyncSolver.submit(ctx -> ctx.getFormulaManager().getBooleanFormulaManager().not(a)).get();
+
+    AsyncProverEnvironment prover =
+        asyncSolver.newProverEnvironment(ProverOptions.GENERATE_MODELS).get();
+    // no need to wait between the operations
+    prover.pushAsync(a);
+    CompletableFuture<Boolean> sat = prover.isUnsatAsync();
+    CompletableFuture<Boolean> modelValue =
+        prover.getModelAsync().thenApply(model -> model.get(0).getValue().equals(true));
+    prover.pushAsync(notA);
+    CompletableFuture<Boolean> unsat = prover.isUnsatAsync();
+    prover.popAsync();
+    prover.closeAsync().get();
+
+    assertThat(sat.get()).isFalse();
+    assertThat(modelValue.get()).isTrue();
+    assertThat(unsat.get()).isTrue();
+  }
+
+  @Test
+  public void cancelledOperationIsSkipped() throws InterruptedException, ExecutionException {
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicBoolean executed = new AtomicBoolean(false);
+    CompletableFuture<Boolean> blocking = asyncSolver.submit(ctx -> latch.await(60, SECONDS));
+    CompletableFuture<Boolean> skipped =
+        asyncSolver.submit(
+            ctx -> {
+              executed.set(true);
+              return true;
+            });
+    assertThat(skipped.cancel(false)).isTrue();
+    latch.countDown();
+    assertThat(blocking.get()).isTrue();
+
+    // operations are executed in order, thus the skipped operation was handled now
+    asyncSolver.submit(ctx -> null).get();
+    assertThat(executed.get()).isFalse();
+  }
+
+  @Test
+  public void shutdownCompletesPendingOperations() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    CompletableFuture<Boolean> blocking = asyncSolver.submit(ctx -> latch.await(60, SECONDS));
+    CompletableFuture<BooleanFormula> pending =
+        asyncSolver.submit(ctx -> ctx.getFormulaManager().getBooleanFormulaManager().makeTrue());
+    asyncShutdownManager.requestShutdown("test");
+    ExecutionException e = assertThrows(ExecutionException.class, pending::get);
+    assertThat(e).hasCauseThat().isInstanceOf(InterruptedException.class);
+    assertThat(blocking.isCompletedExceptionally()).isTrue();
+    latch.countDown();
+  }
+
+  @Test
+  public void closedSolverRejectsOperations() {
+    asyncSolver.close();
+    CompletableFuture<BooleanFormulaManager> future =
+        asyncSolver.submit(ctx -> ctx.getFormulaManager().getBooleanFormulaManager());
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertThat(e).hasCauseThat().isInstanceOf(IllegalStateException.class);
+    asyncSolver.close(); // closing twice is allowed
+  }
+}
@@ -17,6 +17,7 @@ import static org.sosy_lab.java_smt.test.ProverEnvironmentSubject.assertThat;
 import com.google.common.collect.ImmutableList;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -109,6 +110,31 @@ public class BitvectorFormulaManagerTest extends SolverBasedTest0.ParameterizedS
     }
   }
 
+  @Test
+  public void makeBitvectors() throws SolverException, InterruptedException {
+    long[] values = {0, 1, -1, 5, -8, Long.MAX_VALUE, Long.MIN_VALUE};
+    for (int size : new int[] {4, 32, 63, 64, 65, 1000}) {
+      long[] valuesInRange =
+          size >= 64 ? values : Arrays.stream(values).filter(v -> inRange(size, v)).toArray();
+      List<BitvectorFormula> bitvectors = bvmgr.makeBitvectors(size, valuesInRange);
+      assertThat(bitvectors).hasSize(valuesInRange.length);
+      for (int i = 0; i < valuesInRange.length; i++) {
+        BitvectorFormula expected = bvmgr.makeBitvector(size, BigInteger.valueOf(valuesInRange[i]));
+        assertThatFormula(bvmgr.equal(bitvectors.get(i), expected)).isTautological();
+      }
+    }
+    assertThat(bvmgr.makeBitvectors(4)).isEmpty();
+    assertThrows(IllegalArgumentException.class, () -> bvmgr.makeBitvectors(2, 1, 4));
+    assertThrows(IllegalArgumentException.class, () -> bvmgr.makeBitvectors(2, -4, 1));
+  }
+
+  private static boolean inRange(int size, long value) {
+    // BigInteger avoids the overflow of 1L << 63
+    BigInteger v = BigInteger.valueOf(value);
+    return v.compareTo(BigInteger.ONE.shiftLeft(size - 1).negate()) >= 0
+        && v.compareTo(BigInteger.ONE.shiftLeft(size)) < 0;
+  }
+
   @Test
   public void bvTooSmallNum() {
     // value -4 is too small for size 2
@@ -0,0 +1,95 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
+
+/** Tests for the option <code>solver.z3.internFormulas</code>. */
+public class FormulaInterningTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() {
+    return super.createTestConfigBuilder()
+        .setOption("solver.z3.internFormulas", "true")
+        .setOption("solver.z3.usePhantomReferences", "true");
+  }
+
+  @Before
+  public void onlyZ3() {
+    assume()
+        .withMessage("Formula interning is only implemented for Z3")
+        .that(solverToUse())
+        .isEqualTo(Solvers.Z3);
+  }
+
+  @Test
+  public void sameTermReturnsSameWrapper() {
+    requireIntegers();
+    IntegerFormula x = imgr.makeVariable("x");
+    assertThat(imgr.makeVariable("x")).isSameInstanceAs(x);
+
+    BooleanFormula f = imgr.greaterThan(x, imgr.makeNumber(1));
+    assertThat(imgr.greaterThan(imgr.makeVariable("x"), imgr.makeNumber(1))).isSameInstanceAs(f);
+    assertThat(bmgr.and(f, f)).isSameInstanceAs(f);
+
+    List<Formula> args = new ArrayList<>();
+    mgr.visit(f, new ExtractingVisitor(args));
+    assertThat(args.get(0)).isSameInstanceAs(x);
+  }
+
+  @Test
+  public void formulasStayValidAfterGarbageCollection()
+      throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    for (int i = 0; i < 100; i++) {
+      BooleanFormula unused = bmgr.and(a, bmgr.makeVariable("b" + i));
+      assertThat(unused).isNotNull();
+    }
+    System.gc();
+    for (int i = 0; i < 100; i++) {
+      BooleanFormula f = bmgr.and(a, bmgr.makeVariable("b" + i));
+      assertThatFormula(f).isSatisfiable();
+      assertThatFormula(f).implies(a);
+    }
+  }
+
+  private static final class ExtractingVisitor extends DefaultFormulaVisitor<Void> {
+    private final List<Formula> args;
+
+    private ExtractingVisitor(List<Formula> pArgs) {
+      args = pArgs;
+    }
+
+    @Override
+    protected Void visitDefault(Formula pF) {
+      return null;
+    }
+
+    @Override
+    public Void visitFunction(
+        Formula pF, List<Formula> pArgs, FunctionDeclaration<?> pFunctionDeclaration) {
+      args.addAll(pArgs);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.sosy_lab.java_smt.test.BooleanFormulaSubject.assertUsing;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.rationals.Rational;
+import org.sosy_lab.java_smt.api.BitvectorFormula;
+import org.sosy_lab.java_smt.api.BitvectorFormulaManager;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.FormulaType;
+import org.sosy_lab.java_smt.api.IntegerFormulaManager;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.NumeralFormula.RationalFormula;
+import org.sosy_lab.java_smt.api.RationalFormulaManager;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.utils.FormulaTranslator;
+import org.sosy_lab.java_smt.utils.SolverUtils;
+
+public class FormulaTranslatorTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private SolverContext otherContext;
+  private FormulaManager otherMgr;
+  private FormulaTranslator translator;
+
+  @Before
+  public void createOtherContext() throws InvalidConfigurationException {
+    requireVisitor();
+    otherContext = factory.generateContext();
+    otherMgr = otherContext.getFormulaManager();
+    translator = SolverUtils.formulaTranslator(mgr, otherMgr);
+  }
+
+  @After
+  public void closeOtherContext() {
+    if (otherContext != null) {
+      otherContext.close();
+    }
+  }
+
+  private static BooleanFormula integerFormula(FormulaManager pMgr, int pIndex) {
+    BooleanFormulaManager bfmgr = pMgr.getBooleanFormulaManager();
+    IntegerFormulaManager ifmgr = pMgr.getIntegerFormulaManager();
+    IntegerFormula x = ifmgr.makeVariable("x");
+    IntegerFormula y = ifmgr.makeVariable("y" + pIndex);
+    IntegerFormula fx =
+        pMgr.getUFManager().declareAndCallUF("f", FormulaType.IntegerType, ImmutableList.of(x));
+    return bfmgr.and(
+        bfmgr.or(ifmgr.equal(x, ifmgr.add(y, ifmgr.makeNumber(-3))), bfmgr.makeVariable("p")),
+        ifmgr.lessThan(fx, ifmgr.multiply(ifmgr.makeNumber(2), y)),
+        bfmgr.not(ifmgr.equal(ifmgr.subtract(x, fx), ifmgr.makeNumber(pIndex))));
+  }
+
+  private static BooleanFormula bitvectorFormula(FormulaManager pMgr) {
+    BitvectorFormulaManager bmgr = pMgr.getBitvectorFormulaManager();
+    BitvectorFormula a = bmgr.makeVariable(8, "a");
+    BitvectorFormula b = bmgr.makeVariable(8, "b");
+    return pMgr.getBooleanFormulaManager()
+        .and(
+            bmgr.lessThan(bmgr.add(a, bmgr.makeBitvector(8, 200)), b, true),
+            bmgr.equal(
+                bmgr.extend(bmgr.and(a, b), 8, false),
+                bmgr.multiply(bmgr.extend(b, 8, true), bmgr.makeBitvector(16, 3))));
+  }
+
+  private static BooleanFormula mixedFormula(FormulaManager pMgr) {
+    BooleanFormulaManager bfmgr = pMgr.getBooleanFormulaManager();
+    IntegerFormulaManager ifmgr = pMgr.getIntegerFormulaManager();
+    RationalFormulaManager rfmgr = pMgr.getRationalFormulaManager();
+    IntegerFormula x = ifmgr.makeVariable("x");
+    RationalFormula r = rfmgr.makeVariable("r");
+    BooleanFormula c = bfmgr.makeVariable("c");
+    // the integer is converted to a rational in the branch of the if-then-else
+    RationalFormula ite = bfmgr.ifThenElse(c, rfmgr.sum(ImmutableList.of(x)), r);
+    RationalFormula gx =
+        pMgr.getUFManager()
+            .declareAndCallUF("g", FormulaType.RationalType, ImmutableList.of(rfmgr.add(x, r)));
+    return bfmgr.and(
+        rfmgr.lessThan(ite, rfmgr.makeNumber(Rational.of(7, 2))),
+        rfmgr.greaterThan(rfmgr.add(x, r), rfmgr.floor(r)),
+        ifmgr.equal(rfmgr.floor(gx), x));
+  }
+
+  @Test
+  public void translateIntegerFormula() throws SolverException, InterruptedException {
+    requireIntegers();
+    BooleanFormula translated = translator.translate(integerFormula(mgr, 1));
+    assertUsing(otherContext).that(translated).isEquivalentTo(integerFormula(otherMgr, 1));
+  }
+
+  @Test
+  public void translateBitvectorFormula() throws SolverException, InterruptedException {
+    requireBitvectors();
+    BooleanFormula translated = translator.translate(bitvectorFormula(mgr));
+    assertUsing(otherContext).that(translated).isEquivalentTo(bitvectorFormula(otherMgr));
+  }
+
+  @Test
+  public void translateMixedFormula() throws SolverException, InterruptedException {
+    requireIntegers();
+    requireRationals();
+    requireRationalFloor();
+    BooleanFormula translated = translator.translate(mixedFormula(mgr));
+    assertUsing(otherContext).that(translated).isEquivalentTo(mixedFormula(otherMgr));
+
+    translated = otherMgr.translateFrom(mixedFormula(mgr), mgr);
+    assertUsing(otherContext).that(translated).isEquivalentTo(mixedFormula(otherMgr));
+  }
+
+  @Test
+  public void translationSessionReusesSubterms() {
+    requireIntegers();
+    BooleanFormula first = translator.translate(integerFormula(mgr, 1));
+    int cacheSize = translator.getCacheSize();
+    assertThat(cacheSize).isGreaterThan(0);
+
+    assertThat(translator.translate(integerFormula(mgr, 1))).isSameInstanceAs(first);
+    assertThat(translator.getCacheSize()).isEqualTo(cacheSize);
+
+    // only the new subterms of the second formula are added
+    translator.translate(integerFormula(mgr, 2));
+    assertThat(translator.getCacheSize()).isGreaterThan(cacheSize);
+    assertThat(translator.getCacheSize()).isLessThan(2 * cacheSize);
+
+    translator.clearCache();
+    assertThat(translator.getCacheSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void translateQuantifiedFormula() throws SolverException, InterruptedException {
+    requireIntegers();
+    requireQuantifiers();
+    IntegerFormula x = imgr.makeVariable("x");
+    BooleanFormula quantified =
+        qmgr.forall(ImmutableList.of(x), imgr.greaterOrEquals(imgr.multiply(x, x), x));
+    assertThrows(UnsupportedOperationException.class, () -> translator.translate(quantified));
+
+    requireParser();
+    BooleanFormula translated = otherMgr.translateFrom(quantified, mgr);
+    assertUsing(otherContext).that(translated).isTautological();
+  }
+}
@@ -0,0 +1,153 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.EventSettings;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+public class JfrEventsTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private static final String PROVER_EVENT = "org.sosy_lab.java_smt.ProverOperation";
+  private static final String FORMULA_MANAGER_EVENT =
+      "org.sosy_lab.java_smt.FormulaManagerOperation";
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() {
+    return super.createTestConfigBuilder().setOption("solver.recordJfrEvents", "true");
+  }
+
+  @FunctionalInterface
+  private interface Workload {
+    void run() throws SolverException, InterruptedException;
+  }
+
+  private static List<RecordedEvent> record(Workload workload)
+      throws IOException, SolverException, InterruptedException {
+    return record(Duration.ZERO, workload);
+  }
+
+  /** Record the events of the workload, with the default threshold if none is given. */
+  private static List<RecordedEvent> record(@Nullable Duration threshold, Workload workload)
+      throws IOException, SolverException, InterruptedException {
+    Path file = Files.createTempFile("javasmt", ".jfr");
+    try {
+      try (Recording recording = new Recording()) {
+        EventSettings proverSettings = recording.enable(PROVER_EVENT);
+        EventSettings formulaManagerSettings = recording.enable(FORMULA_MANAGER_EVENT);
+        if (threshold != null) {
+          proverSettings.withThreshold(threshold);
+          formulaManagerSettings.withThreshold(threshold);
+        }
+        recording.start();
+        workload.run();
+        recording.stop();
+        recording.dump(file);
+      }
+      return RecordingFile.readAllEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static ImmutableList<RecordedEvent> filter(List<RecordedEvent> events, String operation) {
+    return events.stream()
+        .filter(e -> operation.equals(e.getString("operation")))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  @Test
+  public void cheapOperationsAreNotRecordedByDefault()
+      throws IOException, SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    List<RecordedEvent> events =
+        record(
+            null,
+            () -> {
+              try (ProverEnvironment prover = context.newProverEnvironment()) {
+                for (int i = 0; i < 100; i++) {
+                  prover.push(a);
+                  prover.pop();
+                }
+              }
+            });
+    assertThat(filter(events, "push").size()).isLessThan(100);
+    assertThat(filter(events, "addConstraint").size()).isLessThan(100);
+  }
+
+  @Test
+  public void proverEvents() throws IOException, SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    BooleanFormula b = bmgr.makeVariable("b");
+    List<RecordedEvent> events =
+        record(
+            () -> {
+              try (ProverEnvironment prover = context.newProverEnvironment()) {
+                prover.push(bmgr.and(a, bmgr.or(a, b)));
+                assertThat(prover.isUnsat()).isFalse();
+                prover.push(bmgr.not(a));
+                assertThat(prover.isUnsat()).isTrue();
+                prover.pop();
+              }
+            });
+
+    assertThat(filter(events, "create")).hasSize(1);
+    assertThat(filter(events, "push")).hasSize(2);
+    assertThat(filter(events, "pop")).hasSize(1);
+
+    ImmutableList<RecordedEvent> constraints = filter(events, "addConstraint");
+    assertThat(constraints).hasSize(2);
+    assertThat(constraints.get(0).getInt("variables")).isEqualTo(2);
+    assertThat(constraints.get(0).getInt("dagSize")).isAtLeast(3);
+
+    ImmutableList<RecordedEvent> checks = filter(events, "isUnsat");
+    assertThat(checks).hasSize(2);
+    assertThat(checks.get(0).getString("result")).isEqualTo("sat");
+    assertThat(checks.get(0).getInt("stackDepth")).isEqualTo(1);
+    assertThat(checks.get(1).getString("result")).isEqualTo("unsat");
+    assertThat(checks.get(1).getInt("stackDepth")).isEqualTo(2);
+    for (RecordedEvent event : events) {
+      assertThat(event.getString("solver")).isEqualTo(solverToUse().name());
+    }
+  }
+
+  @Test
+  public void formulaManagerEvents() throws IOException, SolverException, InterruptedException {
+    requireParser();
+    BooleanFormula f = bmgr.or(bmgr.makeVariable("a"), bmgr.makeVariable("b"));
+    List<RecordedEvent> events =
+        record(
+            () -> {
+              String dump = mgr.dumpFormula(f).toString();
+              assertThat(mgr.parse(dump)).isEqualTo(f);
+            });
+
+    ImmutableList<RecordedEvent> dumps = filter(events, "dump");
+    assertThat(dumps).hasSize(1);
+    assertThat(dumps.get(0).getInt("variables")).isEqualTo(2);
+    ImmutableList<RecordedEvent> parses = filter(events, "parse");
+    assertThat(parses).hasSize(1);
+    assertThat(parses.get(0).getInt("textLength")).isEqualTo(dumps.get(0).getInt("textLength"));
+  }
+}
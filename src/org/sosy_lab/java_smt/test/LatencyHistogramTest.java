@@ -0,0 +1,98 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.java_smt.delegate.statistics.LatencyHistogram;
+import org.sosy_lab.java_smt.delegate.statistics.LatencyHistogram.Snapshot;
+
+public class LatencyHistogramTest {
+
+  private static long nanos(TimeSpan time) {
+    return time.asNanos();
+  }
+
+  @Test
+  public void emptyHistogram() {
+    Snapshot snapshot = new LatencyHistogram().snapshot();
+    assertThat(snapshot.getCount()).isEqualTo(0);
+    assertThat(nanos(snapshot.getPercentile(50))).isEqualTo(0);
+    assertThat(nanos(snapshot.getMaxTime())).isEqualTo(0);
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentile(0));
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentile(100.1));
+  }
+
+  @Test
+  public void percentilesAreAccurate() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+    }
+    Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount()).isEqualTo(1000);
+    assertThat(nanos(snapshot.getMaxTime())).isEqualTo(1_000_000);
+    assertThat(nanos(snapshot.getSumTime())).isEqualTo(500_500_000);
+    // the buckets have a relative error of at most 1/8
+    assertThat((double) nanos(snapshot.getPercentile(50))).isWithin(500_000 / 8.0).of(500_000);
+    assertThat((double) nanos(snapshot.getPercentile(99))).isWithin(990_000 / 8.0).of(990_000);
+    assertThat(nanos(snapshot.getPercentile(100))).isEqualTo(1_000_000);
+    assertThat(nanos(snapshot.getPercentile(50))).isAtMost(nanos(snapshot.getPercentile(99)));
+  }
+
+  @Test
+  public void smallAndLargeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(3);
+    histogram.record(Long.MAX_VALUE);
+    Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount()).isEqualTo(3);
+    assertThat(nanos(snapshot.getPercentile(1))).isEqualTo(0);
+    assertThat(nanos(snapshot.getPercentile(50))).isEqualTo(3);
+    assertThat(nanos(snapshot.getPercentile(100))).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void snapshotAndReset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(100);
+    histogram.record(200);
+    assertThat(histogram.snapshotAndReset().getCount()).isEqualTo(2);
+    assertThat(histogram.snapshot().getCount()).isEqualTo(0);
+    histogram.record(300);
+    Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount()).isEqualTo(1);
+    assertThat(nanos(snapshot.getMaxTime())).isEqualTo(300);
+  }
+
+  @Test
+  public void concurrentRecording() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 10_000; i++) {
+                  histogram.record(i);
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(histogram.snapshot().getCount()).isEqualTo(40_000);
+  }
+}
@@ -8,8 +8,10 @@
 
 package org.sosy_lab.java_smt.test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static org.sosy_lab.java_smt.test.ProverEnvironmentSubject.assertThat;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -19,9 +21,11 @@ import org.junit.Test;
 import org.sosy_lab.common.configuration.ConfigurationBuilder;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BitvectorFormula;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Evaluator;
 import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 import org.sosy_lab.java_smt.api.ProverEnvironment;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
@@ -223,6 +227,62 @@ public class ModelEvaluationTest extends SolverBasedTest0.ParameterizedSolverBas
     }
   }
 
+  @Test
+  public void testEvaluateAll() throws SolverException, InterruptedException {
+    requireIntegers();
+    IntegerFormula x = imgr.makeVariable("x");
+    IntegerFormula y = imgr.makeVariable("y");
+    BooleanFormula p = bmgr.makeVariable("p");
+    try (ProverEnvironment prover = context.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+      prover.push(
+          bmgr.and(
+              imgr.equal(x, imgr.makeNumber(3)),
+              imgr.equal(y, imgr.add(x, imgr.makeNumber(1))),
+              p));
+      assertThat(prover).isSatisfiable();
+      try (Model m = prover.getModel();
+          Evaluator e = prover.getEvaluator()) {
+        for (Evaluator evaluator : ImmutableList.of(m, e)) {
+          assertThat(evaluator.evaluateIntegers(ImmutableList.of(x, y, x, imgr.add(x, y))))
+              .containsExactly(
+                  BigInteger.valueOf(3),
+                  BigInteger.valueOf(4),
+                  BigInteger.valueOf(3),
+                  BigInteger.valueOf(7))
+              .inOrder();
+          assertThat(evaluator.evaluateBooleans(ImmutableList.of(p, bmgr.not(p))))
+              .containsExactly(true, false)
+              .inOrder();
+          assertThat(evaluator.evaluateAll(ImmutableList.of(p, y)))
+              .containsExactly(true, BigInteger.valueOf(4))
+              .inOrder();
+          assertThat(evaluator.evaluateAll(ImmutableList.of())).isEmpty();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEvaluateAllBitvectors() throws SolverException, InterruptedException {
+    requireBitvectors();
+    BitvectorFormula a = bvmgr.makeVariable(8, "a");
+    BitvectorFormula b = bvmgr.makeVariable(8, "b");
+    try (ProverEnvironment prover = context.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+      prover.push(
+          bmgr.and(
+              bvmgr.equal(a, bvmgr.makeBitvector(8, 200)),
+              bvmgr.equal(b, bvmgr.add(a, bvmgr.makeBitvector(8, 100)))));
+      assertThat(prover).isSatisfiable();
+      try (Model m = prover.getModel()) {
+        List<BigInteger> values = m.evaluateBitvectors(ImmutableList.of(a, b));
+        assertThat(values)
+            .containsExactly(BigInteger.valueOf(200), BigInteger.valueOf(44))
+            .inOrder();
+        assertThat(values).containsExactly(m.evaluate(a), m.evaluate(b)).inOrder();
+      }
+    }
+  }
+
   @NonNull
   private List<BooleanFormula> getConstraints() {
     List<BooleanFormula> constraints = new ArrayList<>();
@@ -21,6 +21,7 @@ import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
@@ -1171,6 +1172,82 @@ public class ModelTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
     }
   }
 
+  @Test
+  public void testStreamAssignments() throws SolverException, InterruptedException {
+    requireArrays();
+    requireArrayModel();
+    requireIntegers();
+
+    IntegerFormula x = imgr.makeVariable("x");
+    ArrayFormula<IntegerFormula, IntegerFormula> array =
+        amgr.makeArray("arr", IntegerType, IntegerType);
+    BooleanFormula constraint = imgr.equal(x, imgr.makeNumber(5));
+    for (int i = 0; i < 10; i++) {
+      constraint =
+          bmgr.and(
+              constraint, imgr.equal(amgr.select(array, imgr.makeNumber(i)), imgr.makeNumber(i)));
+    }
+
+    try (ProverEnvironment prover = context.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+      prover.push(constraint);
+      assertThat(prover).isSatisfiable();
+
+      try (Model m = prover.getModel()) {
+        assertThat(m.stream().collect(Collectors.toList())).containsExactlyElementsIn(m.asList());
+        assertThat(ImmutableList.copyOf(m)).containsExactlyElementsIn(m.asList());
+        assertThat(m.stream().findFirst()).isPresent();
+
+        List<ValueAssignment> onlyX = m.stream("x"::equals).collect(Collectors.toList());
+        assertThat(onlyX).hasSize(1);
+        assertThat(onlyX.get(0).getValue()).isEqualTo(BigInteger.valueOf(5));
+
+        List<ValueAssignment> onlyArray = m.stream("arr"::equals).collect(Collectors.toList());
+        assertThat(onlyArray.size()).isAtLeast(10);
+        assertThat(onlyArray).containsNoneIn(onlyX);
+        assertThat(m.stream(name -> false).count()).isEqualTo(0);
+      }
+    }
+  }
+
+  @Test
+  public void testProjectedModel() throws SolverException, InterruptedException {
+    requireIntegers();
+    assume()
+        .withMessage("Solver %s does not restrict projected models", solverToUse())
+        .that(solverToUse())
+        .isIn(
+            ImmutableList.of(
+                Solvers.SMTINTERPOL, Solvers.Z3, Solvers.PRINCESS, Solvers.MATHSAT5, Solvers.CVC5));
+
+    IntegerFormula x = imgr.makeVariable("x");
+    IntegerFormula y = imgr.makeVariable("y");
+    IntegerFormula z = imgr.makeVariable("z");
+    BooleanFormula constraint =
+        bmgr.and(
+            imgr.equal(x, imgr.makeNumber(1)),
+            imgr.equal(y, imgr.makeNumber(2)),
+            imgr.equal(z, imgr.makeNumber(3)));
+
+    try (ProverEnvironment prover = context.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+      prover.push(constraint);
+      assertThat(prover).isSatisfiable();
+
+      try (Model m = prover.getModel(ImmutableList.of(x))) {
+        assertThat(Lists.transform(m.asList(), ValueAssignment::getName)).containsExactly("x");
+        assertThat(m.evaluate(x)).isEqualTo(BigInteger.ONE);
+        // evaluation is not restricted by the projection
+        assertThat(m.evaluate(y)).isEqualTo(BigInteger.TWO);
+      }
+
+      ImmutableList<ValueAssignment> assignments =
+          prover.getModelAssignments(ImmutableList.of(imgr.add(y, z)));
+      assertThat(Lists.transform(assignments, ValueAssignment::getName)).containsExactly("y", "z");
+      assertThat(prover.getModelAssignments(ImmutableList.of(x, y, z)))
+          .containsExactlyElementsIn(prover.getModelAssignments());
+      assertThat(prover.getModelAssignments(ImmutableList.of())).isEmpty();
+    }
+  }
+
   @Test
   public void testGetIntArrays() throws SolverException, InterruptedException {
     requireArrays();
@@ -0,0 +1,67 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+import static org.junit.Assert.assertThrows;
+
+import java.util.OptionalLong;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverException;
+
+public class NativeMemoryTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  @Test
+  public void nativeMemoryUsage() {
+    OptionalLong usage = context.getNativeMemoryUsage();
+    if (solverToUse() == Solvers.Z3) {
+      assertThat(usage.isPresent()).isTrue();
+      assertThat(context.getStatistics()).containsKey("estimated native memory (bytes)");
+    }
+    if (usage.isPresent()) {
+      assertThat(usage.getAsLong()).isGreaterThan(0L);
+    }
+  }
+
+  @Test
+  public void memoryLimitStopsSatCheck()
+      throws InvalidConfigurationException, SolverException, InterruptedException {
+    assume()
+        .withMessage("Memory limits are only implemented for Z3")
+        .that(solverToUse())
+        .isEqualTo(Solvers.Z3);
+
+    Configuration limitedConfig =
+        createTestConfigBuilder().setOption("solver.z3.memoryLimit", "1").build();
+    try (SolverContext limitedContext =
+            new SolverContextFactory(limitedConfig, logger, shutdownNotifierToUse())
+                .generateContext();
+        ProverEnvironment prover = limitedContext.newProverEnvironment()) {
+      BooleanFormulaManager limitedBmgr =
+          limitedContext.getFormulaManager().getBooleanFormulaManager();
+      prover.push(limitedBmgr.makeVariable("a"));
+      SolverException e = assertThrows(SolverException.class, prover::isUnsat);
+      assertThat(e).hasMessageThat().contains("exceeds the limit of 1 MB");
+    }
+
+    // the context without limit is not affected
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(bmgr.makeVariable("a"));
+      assertThat(prover.isUnsat()).isFalse();
+    }
+  }
+}
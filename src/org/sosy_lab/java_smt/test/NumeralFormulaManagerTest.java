@@ -160,6 +160,19 @@ public class NumeralFormulaManagerTest extends SolverBasedTest0.ParameterizedSol
         .isTautological();
   }
 
+  @Test
+  public void makeNumbersTest() throws SolverException, InterruptedException {
+    requireIntegers();
+    long[] values = {0, 1, -1, 42, Long.MAX_VALUE, Long.MIN_VALUE};
+    List<IntegerFormula> numbers = imgr.makeNumbers(values);
+    assertThat(numbers).hasSize(values.length);
+    for (int i = 0; i < values.length; i++) {
+      assertThat(numbers.get(i)).isEqualTo(imgr.makeNumber(values[i]));
+    }
+    assertThatFormula(imgr.equal(imgr.sum(numbers), imgr.makeNumber(41))).isTautological();
+    assertThat(imgr.makeNumbers()).isEmpty();
+  }
+
   @SuppressWarnings("CheckReturnValue")
   @Test
   public void failOnInvalidStringInteger() {
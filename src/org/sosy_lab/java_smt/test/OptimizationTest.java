@@ -11,6 +11,7 @@ package org.sosy_lab.java_smt.test;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.TruthJUnit.assume;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Range;
 import java.math.BigInteger;
 import org.junit.Before;
@@ -110,6 +111,27 @@ public class OptimizationTest extends SolverBasedTest0.ParameterizedSolverBasedT
     }
   }
 
+  @Test
+  @SuppressWarnings("CheckReturnValue")
+  public void testOptimalProjectedModel() throws SolverException, InterruptedException {
+    try (OptimizationProverEnvironment prover =
+        context.newOptimizationProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+      IntegerFormula x = imgr.makeVariable("x");
+      IntegerFormula obj = imgr.makeVariable("obj");
+      prover.addConstraint(
+          bmgr.and(
+              imgr.lessOrEquals(x, imgr.makeNumber(10)),
+              imgr.equal(obj, imgr.add(x, imgr.makeNumber(5)))));
+      prover.maximize(obj);
+      assertThat(prover.check()).isEqualTo(OptStatus.OPT);
+
+      // the projected model must be the optimal model, too
+      try (Model model = prover.getModel(ImmutableList.of(obj))) {
+        assertThat(model.evaluate(obj)).isEqualTo(BigInteger.valueOf(15));
+      }
+    }
+  }
+
   @Test(timeout = 20_000)
   public void testSwitchingObjectives() throws SolverException, InterruptedException {
     requireRationals();
@@ -0,0 +1,137 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment.AllSatCallback;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.utils.ParallelAllSat;
+import org.sosy_lab.java_smt.utils.SolverUtils;
+
+public class ParallelAllSatTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private ParallelAllSat allSat;
+
+  @Before
+  public void setUp() {
+    // CVC5 does not support using a context in another thread
+    assume().that(solverToUse()).isNotEqualTo(Solvers.CVC5);
+    allSat = SolverUtils.parallelAllSat(config, logger, shutdownNotifierToUse(), solver, 2, 2);
+  }
+
+  @After
+  public void tearDown() {
+    if (allSat != null) {
+      allSat.close();
+    }
+  }
+
+  private static class CollectingCallback implements AllSatCallback<List<List<BooleanFormula>>> {
+
+    private final List<List<BooleanFormula>> models = new ArrayList<>();
+
+    @Override
+    public void apply(List<BooleanFormula> pModel) {
+      models.add(pModel);
+    }
+
+    @Override
+    public List<List<BooleanFormula>> getResult() {
+      return models;
+    }
+  }
+
+  @Test
+  public void allSatInDecisionTreeOrder() throws SolverException, InterruptedException {
+    requireIntegers();
+
+    // 0 <= i <= 3 with predicates for each bit of i and one predicate for i = 3.
+    IntegerFormula i = imgr.makeVariable("i");
+    BooleanFormula high = bmgr.makeVariable("high");
+    BooleanFormula low = bmgr.makeVariable("low");
+    BooleanFormula three = bmgr.makeVariable("three");
+    ImmutableList<BooleanFormula> constraints =
+        ImmutableList.of(
+            imgr.greaterOrEquals(i, imgr.makeNumber(0)),
+            imgr.lessOrEquals(i, imgr.makeNumber(3)),
+            bmgr.equivalence(high, imgr.greaterOrEquals(i, imgr.makeNumber(2))),
+            bmgr.equivalence(
+                low, bmgr.or(imgr.equal(i, imgr.makeNumber(1)), imgr.equal(i, imgr.makeNumber(3)))),
+            bmgr.equivalence(three, imgr.equal(i, imgr.makeNumber(3))));
+
+    List<List<BooleanFormula>> models =
+        allSat.allSat(
+            mgr, constraints, ImmutableList.of(high, low, three), new CollectingCallback());
+
+    assertThat(models)
+        .containsExactly(
+            ImmutableList.of(high, low, three),
+            ImmutableList.of(high, bmgr.not(low), bmgr.not(three)),
+            ImmutableList.of(bmgr.not(high), low, bmgr.not(three)),
+            ImmutableList.of(bmgr.not(high), bmgr.not(low), bmgr.not(three)))
+        .inOrder();
+  }
+
+  @Test
+  public void allSatWithFewPredicates() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+
+    List<List<BooleanFormula>> models =
+        allSat.allSat(mgr, ImmutableList.of(a), ImmutableList.of(a), new CollectingCallback());
+    assertThat(models).containsExactly(ImmutableList.of(a));
+
+    models =
+        allSat.allSat(
+            mgr, ImmutableList.of(a, bmgr.not(a)), ImmutableList.of(a), new CollectingCallback());
+    assertThat(models).isEmpty();
+  }
+
+  @Test
+  public void allSatWithCompoundPredicates() throws SolverException, InterruptedException {
+    requireIntegers();
+
+    // the solver may return negated or normalized forms of these predicates in its models
+    IntegerFormula i = imgr.makeVariable("i");
+    BooleanFormula a = bmgr.makeVariable("a");
+    BooleanFormula b = bmgr.makeVariable("b");
+    ImmutableList<BooleanFormula> predicates =
+        ImmutableList.of(
+            a,
+            bmgr.not(b),
+            imgr.lessThan(i, imgr.makeNumber(2)),
+            bmgr.not(imgr.equal(i, imgr.makeNumber(0))));
+    ImmutableList<BooleanFormula> constraints =
+        ImmutableList.of(
+            imgr.greaterOrEquals(i, imgr.makeNumber(0)), imgr.lessOrEquals(i, imgr.makeNumber(3)));
+
+    List<List<BooleanFormula>> models =
+        allSat.allSat(mgr, constraints, predicates, new CollectingCallback());
+    // i = 0 implies i < 2, so only 3 of 4 combinations of the last two predicates are possible
+    assertThat(ImmutableSet.copyOf(models)).hasSize(12);
+
+    // more cubes than worker threads
+    try (ParallelAllSat sequential =
+        SolverUtils.parallelAllSat(config, logger, shutdownNotifierToUse(), solver, 3, 1)) {
+      assertThat(sequential.allSat(mgr, constraints, predicates, new CollectingCallback()))
+          .containsExactlyElementsIn(models);
+    }
+  }
+}
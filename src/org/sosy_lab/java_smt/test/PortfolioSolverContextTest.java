@@ -0,0 +1,119 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.Model.ValueAssignment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.delegate.portfolio.PortfolioSolverContext;
+
+public class PortfolioSolverContextTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private PortfolioSolverContext portfolio;
+  private BooleanFormulaManager pbmgr;
+
+  @Before
+  public void setUp() throws InvalidConfigurationException {
+    portfolio =
+        new PortfolioSolverContext(
+            config,
+            logger,
+            shutdownNotifierToUse(),
+            ImmutableList.of(solverToUse(), Solvers.SMTINTERPOL));
+    pbmgr = portfolio.getFormulaManager().getBooleanFormulaManager();
+  }
+
+  @After
+  public void tearDown() {
+    if (portfolio != null) {
+      portfolio.close();
+    }
+  }
+
+  @Test
+  public void stackIsMirrored() throws SolverException, InterruptedException {
+    BooleanFormula a = pbmgr.makeVariable("a");
+    BooleanFormula b = pbmgr.makeVariable("b");
+
+    try (ProverEnvironment prover = portfolio.newProverEnvironment()) {
+      prover.push(pbmgr.or(a, b));
+      assertThat(prover.isUnsat()).isFalse();
+      prover.push(pbmgr.not(a));
+      assertThat(prover.isUnsat()).isFalse();
+      prover.addConstraint(pbmgr.not(b));
+      assertThat(prover.isUnsat()).isTrue();
+      prover.pop();
+      assertThat(prover.size()).isEqualTo(1);
+      assertThat(prover.isUnsat()).isFalse();
+      prover.pop();
+      prover.push(pbmgr.and(a, pbmgr.not(a)));
+      assertThat(prover.isUnsat()).isTrue();
+    }
+    assertThat(portfolio.getWins()).hasSize(5);
+    assertThat(portfolio.getStatistics()).containsKey("number of wins for " + Solvers.SMTINTERPOL);
+  }
+
+  @Test
+  public void modelFromPortfolio() throws SolverException, InterruptedException {
+    BooleanFormula a = pbmgr.makeVariable("a");
+    BooleanFormula b = pbmgr.makeVariable("b");
+
+    try (ProverEnvironment prover = portfolio.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+      prover.push(pbmgr.and(a, pbmgr.not(b)));
+      assertThat(prover.isUnsat()).isFalse();
+      try (Model model = prover.getModel()) {
+        assertThat(model.evaluate(a)).isTrue();
+        assertThat(model.evaluate(b)).isFalse();
+      }
+    }
+  }
+
+  @Test
+  public void modelAssignmentsFromPortfolio() throws SolverException, InterruptedException {
+    BooleanFormula a = pbmgr.makeVariable("a");
+    BooleanFormula b = pbmgr.makeVariable("b");
+
+    try (ProverEnvironment prover = portfolio.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+      prover.push(pbmgr.and(a, pbmgr.not(b)));
+      assertThat(prover.isUnsat()).isFalse();
+      ImmutableList<ValueAssignment> assignments = prover.getModelAssignments();
+      assertThat(assignments).hasSize(2);
+      for (ValueAssignment assignment : assignments) {
+        assertThat(assignment.getKey()).isAnyOf(a, b);
+        assertThat(assignment.getValue()).isEqualTo(assignment.getKey().equals(a));
+      }
+      prover.push(b);
+      assertThat(prover.isUnsat()).isTrue();
+    }
+  }
+
+  @Test
+  public void assumptionsAreTranslated() throws SolverException, InterruptedException {
+    BooleanFormula a = pbmgr.makeVariable("a");
+    BooleanFormula b = pbmgr.makeVariable("b");
+
+    try (ProverEnvironment prover = portfolio.newProverEnvironment()) {
+      prover.push(pbmgr.implication(a, b));
+      assertThat(prover.isUnsatWithAssumptions(ImmutableList.of(a, pbmgr.not(b)))).isTrue();
+      assertThat(prover.isUnsatWithAssumptions(ImmutableList.of(a, b))).isFalse();
+    }
+  }
+}
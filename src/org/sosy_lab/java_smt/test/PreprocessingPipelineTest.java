@@ -0,0 +1,174 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.FormulaType;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.Tactic;
+import org.sosy_lab.java_smt.delegate.statistics.SolverStatistics;
+import org.sosy_lab.java_smt.delegate.statistics.StatisticsSolverContext;
+import org.sosy_lab.java_smt.utils.PreprocessingPipeline;
+import org.sosy_lab.java_smt.utils.PreprocessingPipeline.Stage;
+import org.sosy_lab.java_smt.utils.SolverUtils;
+
+public class PreprocessingPipelineTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private BooleanFormula a;
+  private BooleanFormula b;
+  private BooleanFormula c;
+  private BooleanFormula d;
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() {
+    return super.createTestConfigBuilder().setOption("solver.collectStatistics", "true");
+  }
+
+  @Before
+  public void setUp() {
+    a = bmgr.makeVariable("a");
+    b = bmgr.makeVariable("b");
+    c = bmgr.makeVariable("c");
+    d = bmgr.makeVariable("d");
+  }
+
+  private SolverStatistics statistics() {
+    return ((StatisticsSolverContext) context).getSolverStatistics();
+  }
+
+  @Test
+  public void emptyPipeline() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SolverUtils.preprocessingPipeline(mgr, ImmutableList.of()));
+  }
+
+  @Test
+  public void applyKeepsEquivalence() throws SolverException, InterruptedException {
+    PreprocessingPipeline pipeline =
+        SolverUtils.preprocessingPipeline(
+            mgr, ImmutableList.of(Stage.tactic(Tactic.NNF), Stage.simplification()));
+    BooleanFormula f =
+        bmgr.and(bmgr.not(bmgr.and(a, bmgr.or(b, bmgr.not(c)))), d, bmgr.implication(a, d));
+
+    BooleanFormula result = pipeline.apply(f);
+    assertThatFormula(result).isEquivalentTo(f);
+    assertThat(pipeline.apply(f)).isSameInstanceAs(result);
+    assertThat(statistics().getNumberOfTacticApplications(Tactic.NNF)).isEqualTo(3);
+    assertThat(statistics().getNumberOfSimplifications()).isEqualTo(3);
+  }
+
+  @Test
+  public void conjunctsAreMemoized() throws SolverException, InterruptedException {
+    PreprocessingPipeline pipeline =
+        SolverUtils.preprocessingPipeline(mgr, ImmutableList.of(Stage.tactic(Tactic.NNF)));
+    BooleanFormula p = bmgr.not(bmgr.and(a, b));
+    BooleanFormula q = bmgr.not(bmgr.or(c, d));
+    BooleanFormula r = bmgr.not(bmgr.or(a, d));
+
+    assertThatFormula(pipeline.apply(bmgr.and(p, q))).isEquivalentTo(bmgr.and(p, q));
+    assertThat(statistics().getNumberOfTacticApplications(Tactic.NNF)).isEqualTo(2);
+
+    // only the new conjunct is processed
+    assertThatFormula(pipeline.apply(bmgr.and(p, r))).isEquivalentTo(bmgr.and(p, r));
+    assertThat(statistics().getNumberOfTacticApplications(Tactic.NNF)).isEqualTo(3);
+
+    pipeline.apply(bmgr.and(p, q));
+    assertThat(statistics().getNumberOfTacticApplications(Tactic.NNF)).isEqualTo(3);
+
+    pipeline.clearCache();
+    pipeline.apply(bmgr.and(p, q));
+    assertThat(statistics().getNumberOfTacticApplications(Tactic.NNF)).isEqualTo(5);
+    assertThat(context.getStatistics()).containsEntry("number of NNF applications", "5");
+  }
+
+  @Test
+  public void globalStageSeesAllConjuncts() throws SolverException, InterruptedException {
+    requireIntegers();
+    IntegerFormula x = imgr.makeVariable("x");
+    IntegerFormula y = imgr.makeVariable("y");
+    FunctionDeclaration<IntegerFormula> uf =
+        fmgr.declareUF("uf", FormulaType.IntegerType, FormulaType.IntegerType);
+    BooleanFormula f =
+        bmgr.and(
+            imgr.equal(x, y),
+            bmgr.not(bmgr.and(imgr.equal(fmgr.callUF(uf, x), fmgr.callUF(uf, y)), a)),
+            a);
+
+    PreprocessingPipeline pipeline =
+        SolverUtils.preprocessingPipeline(
+            mgr, ImmutableList.of(Stage.tactic(Tactic.NNF), Stage.tactic(Tactic.ACKERMANNIZATION)));
+    assertThatFormula(pipeline.apply(f)).isUnsatisfiable();
+    assertThat(statistics().getNumberOfTacticApplications(Tactic.NNF)).isEqualTo(3);
+    // the pipeline eliminates UFs itself, such that it can relate the UFs of several formulas
+    assertThat(statistics().getNumberOfTacticApplications(Tactic.ACKERMANNIZATION)).isEqualTo(0);
+  }
+
+  @Test
+  public void ackermannizationAcrossCalls() throws SolverException, InterruptedException {
+    requireIntegers();
+    IntegerFormula x = imgr.makeVariable("x");
+    IntegerFormula y = imgr.makeVariable("y");
+    FunctionDeclaration<IntegerFormula> uf =
+        fmgr.declareUF("uf", FormulaType.IntegerType, FormulaType.IntegerType);
+    PreprocessingPipeline pipeline =
+        SolverUtils.preprocessingPipeline(
+            mgr, ImmutableList.of(Stage.tactic(Tactic.ACKERMANNIZATION)));
+
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      pipeline.addConstraints(prover, imgr.equal(fmgr.callUF(uf, x), imgr.makeNumber(0)));
+      assertThat(prover.isUnsat()).isFalse();
+      pipeline.addConstraints(prover, imgr.equal(fmgr.callUF(uf, x), imgr.makeNumber(1)));
+      assertThat(prover.isUnsat()).isTrue();
+    }
+
+    // new applications are related to the applications of earlier formulas
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push();
+      pipeline.addConstraints(prover, imgr.equal(fmgr.callUF(uf, y), imgr.makeNumber(1)));
+      pipeline.addConstraints(prover, imgr.equal(x, y));
+      assertThat(prover.isUnsat()).isFalse();
+      pipeline.addConstraints(prover, imgr.equal(fmgr.callUF(uf, x), imgr.makeNumber(0)));
+      assertThat(prover.isUnsat()).isTrue();
+      prover.pop();
+
+      // the constraints are asserted again after popping
+      pipeline.addConstraints(
+          prover, bmgr.and(imgr.equal(x, y), imgr.equal(fmgr.callUF(uf, x), imgr.makeNumber(0))));
+      pipeline.addConstraints(prover, imgr.equal(fmgr.callUF(uf, y), imgr.makeNumber(1)));
+      assertThat(prover.isUnsat()).isTrue();
+    }
+  }
+
+  @Test
+  public void addConstraints() throws SolverException, InterruptedException {
+    PreprocessingPipeline pipeline =
+        SolverUtils.preprocessingPipeline(mgr, ImmutableList.of(Stage.tactic(Tactic.NNF)));
+    BooleanFormula f = bmgr.and(bmgr.not(bmgr.or(a, b)), bmgr.or(a, c));
+
+    // NNF splits the negated disjunction into two conjuncts
+    assertThat(pipeline.applyToConjuncts(f)).hasSize(3);
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      assertThat(pipeline.addConstraints(prover, f)).hasSize(3);
+      assertThat(prover.isUnsat()).isFalse();
+      pipeline.addConstraints(prover, bmgr.not(c));
+      assertThat(prover.isUnsat()).isTrue();
+    }
+  }
+}
@@ -114,6 +114,26 @@ public class ProverEnvironmentTest extends SolverBasedTest0.ParameterizedSolverB
             imgr.equal(imgr.makeVariable("x"), imgr.makeNumber(1)));
   }
 
+  @Test
+  public void unsatCoreWithBatchedConstraints() throws SolverException, InterruptedException {
+    requireUnsatCore();
+    requireIntegers();
+    try (ProverEnvironment pe = context.newProverEnvironment(GENERATE_UNSAT_CORE)) {
+      List<Void> ids =
+          pe.push(
+              ImmutableList.of(
+                  imgr.equal(imgr.makeVariable("x"), imgr.makeNumber(1)),
+                  imgr.equal(imgr.makeVariable("x"), imgr.makeNumber(2)),
+                  imgr.equal(imgr.makeVariable("y"), imgr.makeNumber(2))));
+      assertThat(ids).hasSize(3);
+      assertThat(pe).isUnsatisfiable();
+      assertThat(pe.getUnsatCore())
+          .containsExactly(
+              imgr.equal(imgr.makeVariable("x"), imgr.makeNumber(2)),
+              imgr.equal(imgr.makeVariable("x"), imgr.makeNumber(1)));
+    }
+  }
+
   @Test
   public void unsatCoreWithAssumptionsNullTest() throws InterruptedException, SolverException {
     requireUnsatCore();
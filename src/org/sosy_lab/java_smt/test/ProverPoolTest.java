@@ -0,0 +1,147 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.utils.ProverPool;
+import org.sosy_lab.java_smt.utils.SolverUtils;
+
+public class ProverPoolTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private ProverPool pool;
+  private BooleanFormula a;
+  private BooleanFormula b;
+
+  @Before
+  public void setUp() {
+    pool = SolverUtils.proverPool(context, 2, 2, TimeSpan.ofSeconds(600));
+    a = bmgr.makeVariable("a");
+    b = bmgr.makeVariable("b");
+  }
+
+  @After
+  public void tearDown() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void reuseProver() throws SolverException, InterruptedException {
+    try (ProverEnvironment prover = pool.checkout()) {
+      assertThat(prover.size()).isEqualTo(0);
+      prover.addConstraint(bmgr.makeFalse());
+      prover.push(a);
+      assertThat(prover.size()).isEqualTo(1);
+      assertThat(prover.isUnsat()).isTrue();
+    }
+    assertThat(pool.getNumberOfIdleProvers()).isEqualTo(1);
+
+    try (ProverEnvironment prover = pool.checkout()) {
+      assertThat(prover.size()).isEqualTo(0);
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    assertThat(pool.getStatistics()).containsEntry("number of created provers", 1);
+    assertThat(pool.getStatistics()).containsEntry("number of reused provers", 1);
+  }
+
+  @Test
+  public void prefixStaysAsserted() throws SolverException, InterruptedException {
+    pool.setPrefix(ImmutableList.of(a));
+    try (ProverEnvironment prover = pool.checkout()) {
+      assertThrows(IllegalStateException.class, prover::pop);
+      prover.push(bmgr.not(a));
+      assertThat(prover.isUnsat()).isTrue();
+      prover.pop();
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    try (ProverEnvironment prover = pool.checkout()) {
+      prover.addConstraint(bmgr.not(a));
+      assertThat(prover.isUnsat()).isTrue();
+    }
+  }
+
+  @Test
+  public void prefixIsReplaced() throws SolverException, InterruptedException {
+    pool.setPrefix(ImmutableList.of(a, b));
+    try (ProverEnvironment prover = pool.checkout()) {
+      prover.addConstraint(bmgr.not(b));
+      assertThat(prover.isUnsat()).isTrue();
+    }
+    pool.setPrefix(ImmutableList.of(a));
+    try (ProverEnvironment prover = pool.checkout()) {
+      prover.addConstraint(bmgr.not(b));
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    assertThat(pool.getStatistics()).containsEntry("number of created provers", 1);
+  }
+
+  @Test
+  public void partitionByOptions() throws SolverException, InterruptedException {
+    try (ProverEnvironment prover = pool.checkout(ProverOptions.GENERATE_MODELS)) {
+      prover.addConstraint(a);
+      assertThat(prover.isUnsat()).isFalse();
+      assertThat(prover.getModel().evaluate(a)).isTrue();
+    }
+    try (ProverEnvironment prover = pool.checkout()) {
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    assertThat(pool.getStatistics()).containsEntry("number of created provers", 2);
+    assertThat(pool.getNumberOfIdleProvers()).isEqualTo(2);
+  }
+
+  @Test
+  public void maximumNumberOfProvers() throws InterruptedException {
+    try (ProverEnvironment prover1 = pool.checkout();
+        ProverEnvironment prover2 = pool.checkout()) {
+      assertThat(prover1.size()).isEqualTo(prover2.size());
+      assertThat(pool.getNumberOfCheckedOutProvers()).isEqualTo(2);
+      assertThrows(IllegalStateException.class, pool::checkout);
+    }
+    assertThat(pool.getNumberOfCheckedOutProvers()).isEqualTo(0);
+
+    // idle provers of other partitions are closed to make room for new provers
+    try (ProverEnvironment prover = pool.checkout(ProverOptions.GENERATE_MODELS)) {
+      assertThat(prover.size()).isEqualTo(0);
+      assertThat(pool.getNumberOfIdleProvers()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void evictIdleProvers() throws InterruptedException {
+    try (ProverPool shortLivingPool = SolverUtils.proverPool(context, 2, 2, TimeSpan.empty())) {
+      try (ProverEnvironment prover = shortLivingPool.checkout()) {
+        prover.push(a);
+      }
+      shortLivingPool.evictIdleProvers();
+      assertThat(shortLivingPool.getNumberOfIdleProvers()).isEqualTo(0);
+      assertThat(shortLivingPool.getStatistics()).containsEntry("number of closed provers", 1);
+    }
+  }
+
+  @Test
+  public void closedProverIsNotUsable() throws InterruptedException {
+    ProverEnvironment prover = pool.checkout();
+    prover.close();
+    assertThrows(IllegalStateException.class, prover::size);
+    prover.close(); // closing twice is allowed
+    assertThat(pool.getNumberOfIdleProvers()).isEqualTo(1);
+  }
+}
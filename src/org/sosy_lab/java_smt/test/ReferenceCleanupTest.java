@@ -0,0 +1,69 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/** Tests for the option <code>solver.z3.batchReferenceCleanup</code>. */
+public class ReferenceCleanupTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() {
+    return super.createTestConfigBuilder()
+        .setOption("solver.z3.usePhantomReferences", "true")
+        .setOption("solver.z3.batchReferenceCleanup", "true");
+  }
+
+  @Before
+  public void onlyZ3() {
+    assume()
+        .withMessage("Batched clean-up of references is only implemented for Z3")
+        .that(solverToUse())
+        .isEqualTo(Solvers.Z3);
+  }
+
+  private long getStatistic(String key) {
+    return Long.parseLong(context.getStatistics().get(key));
+  }
+
+  @Test
+  public void releaseAtSatCheck() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    for (int round = 0; round < 10 && getStatistic("number of pending ASTs") == 0; round++) {
+      for (int i = 0; i < 1000; i++) {
+        assertThat(bmgr.and(a, bmgr.makeVariable("b" + i))).isNotNull();
+      }
+      System.gc();
+      Thread.sleep(10);
+      // creating a formula collects the references of garbage-collected formulas
+      assertThat(bmgr.makeVariable("c")).isNotNull();
+    }
+    assume()
+        .withMessage("garbage collector did not collect any formula")
+        .that(getStatistic("number of pending ASTs"))
+        .isGreaterThan(0L);
+    assertThat(getStatistic("number of released ASTs")).isEqualTo(0L);
+
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(a);
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    assertThat(getStatistic("number of pending ASTs")).isEqualTo(0L);
+    assertThat(getStatistic("number of released ASTs")).isGreaterThan(0L);
+  }
+}
@@ -0,0 +1,177 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+import static org.sosy_lab.java_smt.api.SolverContext.ProverOptions.ENABLE_SEPARATION_LOGIC;
+import static org.sosy_lab.java_smt.api.SolverContext.ProverOptions.GENERATE_MODELS;
+import static org.sosy_lab.java_smt.api.SolverContext.ProverOptions.GENERATE_UNSAT_CORE;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+public class ResultCacheTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() {
+    return super.createTestConfigBuilder()
+        .setOption("solver.cacheResults", "true")
+        .setOption("solver.cache.size", "2")
+        .setOption("solver.cache.storeModels", "true")
+        .setOption("solver.cache.storeUnsatCores", "true");
+  }
+
+  private void assertCacheStatistics(int hits, int misses) {
+    assertThat(context.getStatistics())
+        .containsEntry("number of cache hits", Integer.toString(hits));
+    assertThat(context.getStatistics())
+        .containsEntry("number of cache misses", Integer.toString(misses));
+  }
+
+  @Test
+  public void repeatedQueryIsCached() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    BooleanFormula b = bmgr.makeVariable("b");
+
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(a);
+      prover.push(bmgr.not(b));
+      assertThat(prover.isUnsat()).isFalse();
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    // another prover with the same constraints in a different order
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.addConstraint(bmgr.not(b));
+      prover.addConstraint(a);
+      prover.addConstraint(a);
+      assertThat(prover.isUnsat()).isFalse();
+      prover.addConstraint(b);
+      assertThat(prover.isUnsat()).isTrue();
+    }
+    assertCacheStatistics(2, 2);
+  }
+
+  @Test
+  public void proverOptionsAreRespected() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+
+    try (ProverEnvironment prover = context.newProverEnvironment(GENERATE_MODELS)) {
+      prover.push(a);
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    // separation logic changes the semantics of a query, the result is not shared
+    try (ProverEnvironment prover = context.newProverEnvironment(ENABLE_SEPARATION_LOGIC)) {
+      prover.push(a);
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    // other options do not influence the result
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(a);
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    assertCacheStatistics(1, 2);
+  }
+
+  @Test
+  public void stackChangesAreRespected() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(a);
+      assertThat(prover.isUnsat()).isFalse();
+      prover.push(bmgr.not(a));
+      assertThat(prover.isUnsat()).isTrue();
+      prover.pop();
+      assertThat(prover.isUnsat()).isFalse();
+      prover.push(bmgr.not(a));
+      assertThat(prover.isUnsat()).isTrue();
+    }
+    assertCacheStatistics(2, 2);
+  }
+
+  @Test
+  public void assumptionOrderIsIrrelevant() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    BooleanFormula b = bmgr.makeVariable("b");
+
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.addConstraint(bmgr.or(bmgr.not(a), bmgr.not(b)));
+      try {
+        assertThat(prover.isUnsatWithAssumptions(ImmutableList.of(a, b))).isTrue();
+      } catch (UnsupportedOperationException e) {
+        assume()
+            .withMessage("Solver %s does not support assumption-solving", solverToUse())
+            .that(e)
+            .isNull();
+      }
+      assertThat(prover.isUnsatWithAssumptions(ImmutableList.of(b, a))).isTrue();
+      assertThat(prover.isUnsatWithAssumptions(ImmutableList.of(b))).isFalse();
+    }
+    assertCacheStatistics(1, 2);
+  }
+
+  @Test
+  public void modelAfterCachedQuery() throws SolverException, InterruptedException {
+    requireModel();
+    BooleanFormula a = bmgr.makeVariable("a");
+
+    try (ProverEnvironment prover = context.newProverEnvironment(GENERATE_MODELS)) {
+      prover.push(a);
+      assertThat(prover.isUnsat()).isFalse();
+    }
+    try (ProverEnvironment prover = context.newProverEnvironment(GENERATE_MODELS)) {
+      prover.push(a);
+      assertThat(prover.isUnsat()).isFalse();
+      assertThat(prover.getModelAssignments()).isNotEmpty();
+      try (Model model = prover.getModel()) {
+        assertThat(model.evaluate(a)).isTrue();
+      }
+    }
+    assertCacheStatistics(1, 1);
+  }
+
+  @Test
+  public void unsatCoreAfterCachedQuery() throws SolverException, InterruptedException {
+    requireUnsatCore();
+    BooleanFormula a = bmgr.makeVariable("a");
+
+    try (ProverEnvironment prover = context.newProverEnvironment(GENERATE_UNSAT_CORE)) {
+      prover.push(a);
+      prover.push(bmgr.not(a));
+      assertThat(prover.isUnsat()).isTrue();
+      assertThat(prover.isUnsat()).isTrue();
+      assertThat(prover.getUnsatCore()).containsExactly(a, bmgr.not(a));
+    }
+    assertCacheStatistics(1, 1);
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvicted() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    BooleanFormula b = bmgr.makeVariable("b");
+    BooleanFormula c = bmgr.makeVariable("c");
+
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      for (BooleanFormula f : ImmutableList.of(a, b, a, c, a, b)) {
+        prover.push(f);
+        assertThat(prover.isUnsat()).isFalse();
+        prover.pop();
+      }
+    }
+    // a is used most often and stays in the cache, b is evicted by c
+    assertCacheStatistics(2, 4);
+    assertThat(context.getStatistics()).containsEntry("number of cache evictions", "2");
+  }
+}
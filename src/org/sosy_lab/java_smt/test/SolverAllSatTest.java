@@ -42,6 +42,8 @@ public class SolverAllSatTest extends SolverBasedTest0 {
       junitParams.add(new Object[] {solver, "normal"});
       junitParams.add(new Object[] {solver, "itp"});
       junitParams.add(new Object[] {solver, "opt"});
+      junitParams.add(new Object[] {solver, "minimal"});
+      junitParams.add(new Object[] {solver, "tree"});
     }
     return junitParams;
   }
@@ -84,6 +86,19 @@ public class SolverAllSatTest extends SolverBasedTest0 {
         requireOptimization();
         env = context.newOptimizationProverEnvironment(ProverOptions.GENERATE_ALL_SAT);
         break;
+
+      case "minimal":
+        env =
+            context.newProverEnvironment(
+                ProverOptions.GENERATE_ALL_SAT,
+                ProverOptions.ALL_SAT_WITH_MINIMAL_BLOCKING_CLAUSES);
+        break;
+
+      case "tree":
+        env =
+            context.newProverEnvironment(
+                ProverOptions.GENERATE_ALL_SAT, ProverOptions.ALL_SAT_WITH_DECISION_TREE);
+        break;
       default:
         throw new AssertionError("unexpected");
     }
@@ -176,6 +191,62 @@ public class SolverAllSatTest extends SolverBasedTest0 {
         .containsExactly(ImmutableList.of(v1, bmgr.not(v2)), ImmutableList.of(bmgr.not(v1), v2));
   }
 
+  @Test(timeout = 5_000)
+  public void allSatTest_impliedPredicates() throws SolverException, InterruptedException {
+    requireIntegers();
+
+    // We have the predicates b1, b2, and b3 defined as: '(i=1) <=> b1', '(i>0) <=> b2', and
+    // '(i>1) <=> b3', such that b1 implies b2, and b3 implies b2.
+    IntegerFormula a = imgr.makeVariable("i");
+    IntegerFormula n0 = imgr.makeNumber(0);
+    IntegerFormula n1 = imgr.makeNumber(1);
+
+    BooleanFormula v1 = bmgr.makeVariable("b1");
+    BooleanFormula v2 = bmgr.makeVariable("b2");
+    BooleanFormula v3 = bmgr.makeVariable("b3");
+
+    env.push(bmgr.equivalence(v1, imgr.equal(a, n1)));
+    env.push(bmgr.equivalence(v2, imgr.greaterThan(a, n0)));
+    env.push(bmgr.equivalence(v3, imgr.greaterThan(a, n1)));
+
+    TestAllSatCallback callback = new TestAllSatCallback();
+
+    assertThat(env.allSat(callback, ImmutableList.of(v1, v2, v3))).isEqualTo(EXPECTED_RESULT);
+
+    assertThat(callback.models)
+        .containsExactly(
+            ImmutableList.of(v1, v2, bmgr.not(v3)),
+            ImmutableList.of(bmgr.not(v1), v2, v3),
+            ImmutableList.of(bmgr.not(v1), bmgr.not(v2), bmgr.not(v3)));
+  }
+
+  @Test
+  public void allSatTest_generalizedCubes() throws SolverException, InterruptedException {
+    BooleanFormula v1 = bmgr.makeVariable("b1");
+    BooleanFormula v2 = bmgr.makeVariable("b2");
+    BooleanFormula v3 = bmgr.makeVariable("b3");
+
+    // five of the eight assignments to the predicates satisfy the formula
+    BooleanFormula formula = bmgr.or(bmgr.and(v1, v2), v3);
+    env.push(formula);
+
+    TestAllSatCallback callback = new TestAllSatCallback();
+
+    assertThat(env.allSat(callback, ImmutableList.of(v1, v2, v3))).isEqualTo(EXPECTED_RESULT);
+
+    // the cubes cover exactly the satisfying assignments
+    List<BooleanFormula> cubes = new ArrayList<>();
+    for (List<BooleanFormula> model : callback.models) {
+      cubes.add(bmgr.and(model));
+    }
+    assertThatFormula(bmgr.or(cubes)).isEquivalentTo(formula);
+
+    if (proverEnv.equals("minimal") && solverToUse() == Solvers.Z3) {
+      // each iteration blocks a generalized cube instead of a single assignment
+      assertThat(callback.models).containsExactly(ImmutableList.of(v1, v2), ImmutableList.of(v3));
+    }
+  }
+
   @Test
   public void allSatTest_nondetValue() throws SolverException, InterruptedException {
     BooleanFormula v1 = bmgr.makeVariable("b1");
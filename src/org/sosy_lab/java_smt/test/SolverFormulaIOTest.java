@@ -12,6 +12,7 @@ import static com.google.common.collect.Iterables.getLast;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 import static com.google.common.truth.TruthJUnit.assume;
+import static org.junit.Assert.assertThrows;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.HashMultimap;
@@ -19,18 +20,29 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import com.google.common.truth.TruthJUnit;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import org.junit.AssumptionViolatedException;
 import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.SolverContextFactory;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.BitvectorFormula;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.FormulaManager;
 import org.sosy_lab.java_smt.api.FormulaType;
 import org.sosy_lab.java_smt.api.FunctionDeclaration;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.basicimpl.SmtLibPrinter;
 import org.sosy_lab.java_smt.basicimpl.Tokenizer;
 
 @SuppressWarnings("checkstyle:linelength")
@@ -391,6 +403,126 @@ public class SolverFormulaIOTest extends SolverBasedTest0.ParameterizedSolverBas
     compareParseWithOrgExprFirst(MATHSAT_DUMP3, this::functionExprGen, ImmutableSet.of("fun_b"));
   }
 
+  @Test
+  public void parseAssertionsTest() throws SolverException, InterruptedException {
+    requireParser();
+    requireIntegers();
+    TruthJUnit.assume().that(solver).isNotEqualTo(Solvers.BOOLECTOR);
+
+    String script = MATHSAT_DUMP2 + "\n(assert (= c 0))\n(check-sat)\n(exit)";
+    Iterator<BooleanFormula> assertions = mgr.parseAssertions(new StringReader(script));
+    assertThat(assertions.hasNext()).isTrue();
+    assertThatFormula(assertions.next()).isEquivalentTo(redundancyExprGen());
+    assertThat(assertions.hasNext()).isTrue();
+    assertThatFormula(assertions.next())
+        .isEquivalentTo(imgr.equal(imgr.makeVariable("c"), imgr.makeNumber(0)));
+    assertThat(assertions.hasNext()).isFalse();
+  }
+
+  @Test
+  public void printerWithSharedSubtermsTest()
+      throws IOException, SolverException, InterruptedException {
+    requireParser();
+    requireVisitor();
+    TruthJUnit.assume().that(solver).isNotEqualTo(Solvers.BOOLECTOR);
+
+    // the tree representation of this formula has exponential size
+    BooleanFormula f = bmgr.makeVariable("a");
+    for (int i = 0; i < 30; i++) {
+      BooleanFormula b = bmgr.makeVariable("b" + i);
+      BooleanFormula c = bmgr.makeVariable("c" + i);
+      f = bmgr.and(bmgr.or(f, b), bmgr.or(bmgr.not(f), c));
+    }
+
+    StringBuilder out = new StringBuilder();
+    assertThat(SmtLibPrinter.print(mgr, f, out)).isTrue();
+    String dump = out.toString();
+    assertThat(dump.length()).isLessThan(10_000);
+    checkThatAssertIsInLastLine(dump);
+    assertThatFormula(mgr.parse(dump)).isEquivalentTo(f);
+  }
+
+  @Test
+  public void printerWithIndependentSharedSubtermsTest()
+      throws IOException, SolverException, InterruptedException {
+    requireParser();
+    requireVisitor();
+    requireIntegers();
+
+    // many shared subterms that do not depend on each other are bound in a single let
+    List<BooleanFormula> constraints = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      IntegerFormula shared = imgr.add(imgr.makeVariable("x" + i), imgr.makeVariable("y" + i));
+      constraints.add(imgr.greaterThan(shared, imgr.makeNumber(0)));
+      constraints.add(imgr.lessThan(shared, imgr.makeNumber(10)));
+    }
+    BooleanFormula f = bmgr.and(constraints);
+
+    StringBuilder out = new StringBuilder();
+    assertThat(SmtLibPrinter.print(mgr, f, out)).isTrue();
+    String dump = out.toString();
+    assertThat(dump.split("\\(let ", -1)).hasLength(2);
+    checkThatAssertIsInLastLine(dump);
+    assertThatFormula(mgr.parse(dump)).isEquivalentTo(f);
+  }
+
+  @Test
+  public void z3StreamingDumpIsOptionalTest()
+      throws IOException, InvalidConfigurationException, SolverException, InterruptedException {
+    assume().that(solverToUse()).isEqualTo(Solvers.Z3);
+
+    BooleanFormula a = bmgr.makeVariable("a");
+    BooleanFormula shared = bmgr.xor(a, bmgr.makeVariable("b"));
+    BooleanFormula f = bmgr.and(bmgr.or(shared, a), bmgr.or(shared, bmgr.not(a)));
+
+    // by default, Z3 uses its native serialization
+    assertThat(mgr.dumpFormula(f).toString()).doesNotContain(".def_");
+
+    Configuration streamingConfig =
+        Configuration.builder()
+            .copyFrom(config)
+            .setOption("solver.z3.useStreamingDump", "true")
+            .build();
+    try (SolverContext streamingContext =
+        SolverContextFactory.createSolverContext(
+            streamingConfig, logger, shutdownNotifierToUse(), Solvers.Z3)) {
+      FormulaManager streamingMgr = streamingContext.getFormulaManager();
+      BooleanFormula translated = streamingMgr.translateFrom(f, mgr);
+      String dump = streamingMgr.dumpFormula(translated).toString();
+      StringBuilder expected = new StringBuilder();
+      assertThat(SmtLibPrinter.print(streamingMgr, translated, expected)).isTrue();
+      assertThat(dump).isEqualTo(expected.toString());
+      assertThatFormula(mgr.parse(dump)).isEquivalentTo(f);
+    }
+  }
+
+  @Test
+  public void printerWithUnsupportedOperationTest() throws IOException {
+    requireVisitor();
+    requireBitvectors();
+
+    BooleanFormula f =
+        bvmgr.equal(bvmgr.extract(bvmgr.makeVariable(8, "x"), 3, 0), bvmgr.makeBitvector(4, 0));
+    StringBuilder out = new StringBuilder();
+    assertThat(SmtLibPrinter.print(mgr, f, out)).isFalse();
+    assertThat(out.toString()).isEmpty();
+  }
+
+  @Test
+  public void parseAssertionsWithForbiddenCommandTest() {
+    requireParser();
+    TruthJUnit.assume().that(solver).isNotEqualTo(Solvers.BOOLECTOR);
+
+    String script = "(declare-fun x () Bool)(assert x)(push 1)(assert (not x))";
+    Iterator<BooleanFormula> assertions = mgr.parseAssertions(new StringReader(script));
+    assertThat(assertions.next()).isEqualTo(bmgr.makeVariable("x"));
+    assertThrows(IllegalArgumentException.class, assertions::hasNext);
+
+    Iterator<BooleanFormula> afterExit =
+        mgr.parseAssertions(new StringReader("(declare-fun x () Bool)(exit)(assert x)"));
+    assertThrows(IllegalArgumentException.class, afterExit::hasNext);
+  }
+
   @Test
   public void redundancyTest() {
     assume()
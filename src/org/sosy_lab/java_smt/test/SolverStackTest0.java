@@ -107,6 +107,31 @@ public abstract class SolverStackTest0 extends SolverBasedTest0.ParameterizedSol
     assertThat(stack.size()).isEqualTo(0);
   }
 
+  @Test
+  public void batchedStackTestBool() throws SolverException, InterruptedException {
+    BasicProverEnvironment<?> stack = newEnvironmentForTest(context);
+
+    int i = index.getFreshId();
+    BooleanFormula a = bmgr.makeVariable("bool_a" + i);
+    BooleanFormula b = bmgr.makeVariable("bool_b" + i);
+
+    assertThat(stack.addConstraints(ImmutableList.of())).isEmpty();
+    assertThat(stack.addConstraints(ImmutableList.of(bmgr.or(a, b), bmgr.not(a)))).hasSize(2);
+    assertThat(stack.size()).isEqualTo(0);
+    assertThat(stack).isSatisfiable();
+
+    assertThat(stack.push(ImmutableList.of(a, b))).hasSize(2); // L1
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack).isUnsatisfiable();
+
+    stack.pop(); // L0
+    assertThat(stack.size()).isEqualTo(0);
+    assertThat(stack).isSatisfiable();
+
+    stack.push(ImmutableList.of(bmgr.not(b))); // L1
+    assertThat(stack).isUnsatisfiable();
+  }
+
   @Test
   public void singleStackTestInteger() throws SolverException, InterruptedException {
     requireIntegers();
@@ -0,0 +1,46 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.delegate.statistics.LatencyHistogram;
+import org.sosy_lab.java_smt.delegate.statistics.StatisticsSolverContext;
+
+public class StatisticsLatencyTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() {
+    return super.createTestConfigBuilder().setOption("solver.collectStatistics", "true");
+  }
+
+  @Test
+  public void latenciesOfContextAndProver() throws SolverException, InterruptedException {
+    LatencyHistogram contextLatencies =
+        ((StatisticsSolverContext) context).getSolverStatistics().getIsUnsatLatencies();
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(bmgr.makeVariable("a"));
+      for (int i = 0; i < 5; i++) {
+        assertThat(prover.isUnsat()).isFalse();
+      }
+      assertThat(prover.getStatistics()).containsEntry("number of isUnsat queries", "5");
+      assertThat(prover.getStatistics()).containsKey("p99 of isUnsat queries");
+    }
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      assertThat(prover.isUnsat()).isFalse();
+      assertThat(prover.getStatistics()).containsEntry("number of isUnsat queries", "1");
+    }
+    assertThat(contextLatencies.snapshot().getCount()).isEqualTo(6);
+    assertThat(context.getStatistics()).containsKey("p999 of isUnsat queries");
+  }
+}
@@ -0,0 +1,89 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+public class SynchronizedContextTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private static final int NUMBER_OF_THREADS = 4;
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() {
+    return super.createTestConfigBuilder()
+        .setOption("solver.synchronize", "true")
+        .setOption("solver.synchronized.useSeperateProvers", "true");
+  }
+
+  /** Build a small query with variables local to the given thread and check it. */
+  private boolean solveQuery(int pThread) throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a" + pThread);
+    BooleanFormula b = bmgr.makeVariable("b" + pThread);
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(bmgr.or(a, b));
+      prover.push(bmgr.not(a));
+      boolean sat = !prover.isUnsat();
+      prover.push(bmgr.not(b));
+      return sat && prover.isUnsat();
+    }
+  }
+
+  @Test
+  public void concurrentProvers() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+        int thread = i;
+        results.add(executor.submit(() -> solveQuery(thread)));
+      }
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(context.getStatistics()).containsKey("number of acquisitions of formula lock");
+    assertThat(context.getStatistics()).containsKey("waitTime for prover locks");
+    assertThat(context.getStatistics())
+        .doesNotContainEntry("number of acquisitions of prover locks", "0");
+  }
+
+  @Test
+  public void proverSharedBetweenThreads() throws Exception {
+    BooleanFormula a = bmgr.makeVariable("a");
+    ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    try (ProverEnvironment prover = context.newProverEnvironment()) {
+      prover.push(a);
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+        results.add(executor.submit(() -> prover.isUnsat()));
+      }
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isFalse();
+      }
+      prover.addConstraint(bmgr.not(a));
+      assertThat(prover.isUnsat()).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
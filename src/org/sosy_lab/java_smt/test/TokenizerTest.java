@@ -13,7 +13,13 @@ package org.sosy_lab.java_smt.test;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.truth.Truth;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Iterator;
 import org.junit.Test;
 import org.sosy_lab.java_smt.basicimpl.Tokenizer;
 
@@ -91,4 +97,28 @@ public class TokenizerTest {
     assertThat(stringToken).isEqualTo(stringTokenSMTLIB);
     assertThat(Tokenizer.isAssertToken(stringToken)).isTrue();
   }
+
+  @Test
+  public void readerTest() {
+    String script = "(declare-fun |a b| () String);comment)\n(assert (= |a b| \"x\"\"y\"))\n(exit)";
+    assertThat(ImmutableList.copyOf(Tokenizer.tokenize(new StringReader(script))))
+        .containsExactly("(declare-fun |a b| () String)", "(assert (= |a b| \"x\"\"y\"))", "(exit)")
+        .inOrder();
+
+    // Reading one character at a time must not split escaped quotes in string literals
+    Reader slowReader =
+        new FilterReader(new StringReader(script)) {
+          @Override
+          public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1));
+          }
+        };
+    assertThat(ImmutableList.copyOf(Tokenizer.tokenize(slowReader)))
+        .isEqualTo(Tokenizer.tokenize(script));
+
+    // Commands before an error are returned, the error is reported when it is reached
+    Iterator<String> tokens = Tokenizer.tokenize(new StringReader("(assert true)(assert"));
+    assertThat(tokens.next()).isEqualTo("(assert true)");
+    assertThrows(IllegalArgumentException.class, tokens::hasNext);
+  }
 }
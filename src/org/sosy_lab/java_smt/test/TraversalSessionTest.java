@@ -0,0 +1,174 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
+import org.sosy_lab.java_smt.api.visitors.FormulaTransformationVisitor;
+import org.sosy_lab.java_smt.api.visitors.TraversalProcess;
+import org.sosy_lab.java_smt.api.visitors.TraversalSession;
+
+public class TraversalSessionTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private BooleanFormula a;
+  private BooleanFormula b;
+  private BooleanFormula c;
+  private BooleanFormula shared;
+
+  @Before
+  public void setUp() {
+    requireVisitor();
+    a = bmgr.makeVariable("a");
+    b = bmgr.makeVariable("b");
+    c = bmgr.makeVariable("c");
+    shared = bmgr.or(a, b);
+  }
+
+  /** Counts how often each formula is visited. */
+  private static final class CountingVisitor extends DefaultFormulaVisitor<TraversalProcess> {
+    private final Multiset<Formula> visited = HashMultiset.create();
+
+    @Override
+    protected TraversalProcess visitDefault(Formula f) {
+      visited.add(f);
+      return TraversalProcess.CONTINUE;
+    }
+  }
+
+  /** Renames all variables and counts how often a variable is renamed. */
+  private final class RenamingVisitor extends FormulaTransformationVisitor {
+    private final Multiset<String> renamed = HashMultiset.create();
+
+    private RenamingVisitor() {
+      super(mgr);
+    }
+
+    @Override
+    public Formula visitFreeVariable(Formula f, String name) {
+      renamed.add(name);
+      return mgr.makeVariable(mgr.getFormulaType(f), name + "'");
+    }
+  }
+
+  /** Visits a new formula in the session and returns only a weak reference to it. */
+  private WeakReference<BooleanFormula> visitTemporaryFormula(TraversalSession session) {
+    BooleanFormula f = bmgr.and(bmgr.makeVariable("tmp1"), bmgr.makeVariable("tmp2"));
+    session.visitRecursively(
+        f,
+        new DefaultFormulaVisitor<>() {
+          @Override
+          protected TraversalProcess visitDefault(Formula pF) {
+            return TraversalProcess.CONTINUE;
+          }
+        });
+    return new WeakReference<>(f);
+  }
+
+  /** Transforms a new formula in the session and returns only a weak reference to it. */
+  private WeakReference<BooleanFormula> transformTemporaryFormula(TraversalSession session) {
+    BooleanFormula f = bmgr.and(bmgr.makeVariable("tmp1"), bmgr.makeVariable("tmp2"));
+    BooleanFormula unused = session.transformRecursively(f, new RenamingVisitor());
+    return new WeakReference<>(f);
+  }
+
+  @Test
+  public void cachedFormulasStayAlive() {
+    // Otherwise, the solver could free the term of a collected formula and reuse it for another
+    // term, which would then be confused with the cached one.
+    TraversalSession session = mgr.newTraversalSession(1000);
+    WeakReference<BooleanFormula> visitedReference = visitTemporaryFormula(session);
+    WeakReference<BooleanFormula> transformedReference = transformTemporaryFormula(session);
+    System.gc();
+    assertThat(visitedReference.get()).isNotNull();
+    assertThat(transformedReference.get()).isNotNull();
+  }
+
+  @Test
+  public void visitSharedSubformulasOnce() {
+    TraversalSession session = mgr.newTraversalSession(1000);
+    CountingVisitor visitor = new CountingVisitor();
+    session.visitRecursively(bmgr.and(shared, c), visitor);
+    session.visitRecursively(bmgr.and(shared, bmgr.not(c)), visitor);
+    assertThat(visitor.visited.count(a)).isEqualTo(1);
+    assertThat(visitor.visited.count(b)).isEqualTo(1);
+    assertThat(visitor.visited.count(c)).isEqualTo(1);
+
+    // another visitor has its own cache
+    CountingVisitor otherVisitor = new CountingVisitor();
+    session.visitRecursively(shared, otherVisitor);
+    assertThat(otherVisitor.visited.count(a)).isEqualTo(1);
+
+    session.invalidate(visitor);
+    session.visitRecursively(shared, visitor);
+    assertThat(visitor.visited.count(a)).isEqualTo(2);
+  }
+
+  @Test
+  public void abortedVisitIsNotCached() {
+    TraversalSession session = mgr.newTraversalSession(1000);
+    DefaultFormulaVisitor<TraversalProcess> abortingVisitor =
+        new DefaultFormulaVisitor<>() {
+          @Override
+          protected TraversalProcess visitDefault(Formula f) {
+            return TraversalProcess.CONTINUE;
+          }
+
+          @Override
+          public TraversalProcess visitFunction(
+              Formula f, List<Formula> args, FunctionDeclaration<?> functionDeclaration) {
+            return TraversalProcess.ABORT;
+          }
+        };
+    session.visitRecursively(bmgr.and(shared, c), abortingVisitor);
+    // only the root was visited, the children are not remembered
+    assertThat(session.getCacheSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void transformSharedSubformulasOnce() throws Exception {
+    TraversalSession session = mgr.newTraversalSession(1000);
+    RenamingVisitor visitor = new RenamingVisitor();
+    BooleanFormula f1 = session.transformRecursively(bmgr.and(shared, c), visitor);
+    BooleanFormula f2 = session.transformRecursively(bmgr.or(shared, c), visitor);
+    assertThat(visitor.renamed.count("a")).isEqualTo(1);
+    assertThat(visitor.renamed.count("c")).isEqualTo(1);
+
+    BooleanFormula a1 = bmgr.makeVariable("a'");
+    BooleanFormula b1 = bmgr.makeVariable("b'");
+    BooleanFormula c1 = bmgr.makeVariable("c'");
+    assertThatFormula(f1).isEquivalentTo(bmgr.and(bmgr.or(a1, b1), c1));
+    assertThatFormula(f2).isEquivalentTo(bmgr.or(bmgr.or(a1, b1), c1));
+    assertThat(session.transformRecursively(bmgr.and(shared, c), visitor)).isEqualTo(f1);
+  }
+
+  @Test
+  public void cacheIsBounded() {
+    TraversalSession session = mgr.newTraversalSession(2);
+    RenamingVisitor visitor = new RenamingVisitor();
+    session.transformRecursively(bmgr.and(shared, c), visitor);
+    assertThat(session.getCacheSize()).isEqualTo(2);
+
+    // the oldest entries, i.e., the variables, were removed from the cache
+    session.transformRecursively(bmgr.not(a), visitor);
+    assertThat(visitor.renamed.count("a")).isEqualTo(2);
+
+    session.invalidate();
+    assertThat(session.getCacheSize()).isEqualTo(0);
+  }
+}
@@ -16,6 +16,8 @@ import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.truth.Truth;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
@@ -216,6 +218,126 @@ public class UfEliminationTest extends SolverBasedTest0.ParameterizedSolverBased
     Truth.assertThat(variablesAndUFs).isEqualTo(variables);
   }
 
+  @Test
+  public void constantArgumentsTest() throws SolverException, InterruptedException {
+    requireIntegers();
+
+    // f := uf(1) = 5 AND uf(2) = 6 AND uf(1) = uf(2 - 1) AND x = 1 AND NOT(uf(x) = 5)
+    IntegerFormula x = imgr.makeVariable("x");
+    FunctionDeclaration<IntegerFormula> ufDecl = fmgr.declareUF("uf", IntegerType, IntegerType);
+    IntegerFormula uf1 = fmgr.callUF(ufDecl, imgr.makeNumber(1));
+    IntegerFormula uf2 = fmgr.callUF(ufDecl, imgr.makeNumber(2));
+    IntegerFormula ufX = fmgr.callUF(ufDecl, x);
+    BooleanFormula f =
+        bmgr.and(
+            imgr.equal(uf1, imgr.makeNumber(5)),
+            imgr.equal(uf2, imgr.makeNumber(6)),
+            imgr.equal(x, imgr.makeNumber(1)));
+
+    assertThatFormula(ackermannization.eliminateUfs(f)).isSatisfiable();
+    BooleanFormula g = bmgr.and(f, bmgr.not(imgr.equal(ufX, imgr.makeNumber(5))));
+    assertThatFormula(g).isUnsatisfiable(); // sanity check
+    assertThatFormula(ackermannization.eliminateUfs(g)).isUnsatisfiable();
+  }
+
+  @Test
+  public void manyConstantArgumentsTest() throws SolverException, InterruptedException {
+    requireIntegers();
+
+    // f := uf(0) = 0 AND ... AND uf(n-1) = n-1 AND uf(x) = x + 1
+    int size = 100;
+    IntegerFormula x = imgr.makeVariable("x");
+    FunctionDeclaration<IntegerFormula> ufDecl = fmgr.declareUF("uf", IntegerType, IntegerType);
+    List<BooleanFormula> parts = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      IntegerFormula number = imgr.makeNumber(i);
+      parts.add(imgr.equal(fmgr.callUF(ufDecl, number), number));
+    }
+    parts.add(imgr.equal(fmgr.callUF(ufDecl, x), imgr.add(x, imgr.makeNumber(1))));
+    BooleanFormula f = bmgr.and(parts);
+
+    Result result = ackermannization.eliminateUfs(f, Result.empty(mgr));
+    // only the application with a variable needs constraints, one for each other application
+    Truth.assertThat(bmgr.toConjunctionArgs(result.getConstraints(), false)).hasSize(size);
+
+    BooleanFormula withOutUfs = bmgr.and(result.getFormula(), result.getConstraints());
+    assertThatFormula(withOutUfs).isSatisfiable();
+    BooleanFormula inRange =
+        bmgr.and(
+            imgr.greaterOrEquals(x, imgr.makeNumber(0)), imgr.lessThan(x, imgr.makeNumber(size)));
+    assertThatFormula(bmgr.and(withOutUfs, inRange)).isUnsatisfiable();
+  }
+
+  @Test
+  public void incrementalTest() throws SolverException, InterruptedException {
+    requireIntegers();
+
+    // f1 := uf(x) = 1, f2 := uf(uf(y)) = 2, f3 := x = uf(y)
+    IntegerFormula x = imgr.makeVariable("x");
+    IntegerFormula y = imgr.makeVariable("y");
+    FunctionDeclaration<IntegerFormula> ufDecl = fmgr.declareUF("uf", IntegerType, IntegerType);
+    IntegerFormula ufY = fmgr.callUF(ufDecl, y);
+    BooleanFormula f1 = imgr.equal(fmgr.callUF(ufDecl, x), imgr.makeNumber(1));
+    BooleanFormula f2 = imgr.equal(fmgr.callUF(ufDecl, ufY), imgr.makeNumber(2));
+    BooleanFormula f3 = imgr.equal(x, ufY);
+    assertThatFormula(bmgr.and(f1, f2)).isSatisfiable(); // sanity check
+    assertThatFormula(bmgr.and(f1, f2, f3)).isUnsatisfiable(); // sanity check
+
+    Result result1 = ackermannization.eliminateUfsIncrementally(f1, Result.empty(mgr));
+    Result result2 = ackermannization.eliminateUfsIncrementally(f2, result1);
+    Result result3 = ackermannization.eliminateUfsIncrementally(f3, result2);
+    assertThatFormula(
+            bmgr.and(result1.getFormula(), result2.getFormula(), result2.getConstraints()))
+        .isSatisfiable();
+    BooleanFormula withOutUfs =
+        bmgr.and(
+            result1.getFormula(),
+            result2.getFormula(),
+            result3.getFormula(),
+            result3.getConstraints());
+    assertThatFormula(withOutUfs).isUnsatisfiable();
+    Truth.assertThat(result3.getSubstitution()).hasSize(3);
+
+    // check that UFs were really eliminated
+    Map<String, Formula> variablesAndUFs = mgr.extractVariablesAndUFs(withOutUfs);
+    Truth.assertThat(variablesAndUFs).doesNotContainKey("uf");
+
+    // g1 := uf(y) = 0, g2 := uf(uf(y)) = 1, g3 := uf(uf(y)) = 2
+    // the application in g3 is found again after substituting uf(y)
+    BooleanFormula g1 = imgr.equal(ufY, imgr.makeNumber(0));
+    BooleanFormula g2 = imgr.equal(fmgr.callUF(ufDecl, ufY), imgr.makeNumber(1));
+    BooleanFormula g3 = imgr.equal(fmgr.callUF(ufDecl, ufY), imgr.makeNumber(2));
+    assertThatFormula(bmgr.and(g1, g2)).isSatisfiable(); // sanity check
+    assertThatFormula(bmgr.and(g1, g2, g3)).isUnsatisfiable(); // sanity check
+
+    Result nested1 = ackermannization.eliminateUfsIncrementally(g1, Result.empty(mgr));
+    Result nested2 = ackermannization.eliminateUfsIncrementally(g2, nested1);
+    Result nested3 = ackermannization.eliminateUfsIncrementally(g3, nested2);
+    assertThatFormula(
+            bmgr.and(nested1.getFormula(), nested2.getFormula(), nested2.getConstraints()))
+        .isSatisfiable();
+    withOutUfs =
+        bmgr.and(
+            nested1.getFormula(),
+            nested2.getFormula(),
+            nested3.getFormula(),
+            nested3.getConstraints());
+    assertThatFormula(withOutUfs).isUnsatisfiable();
+    // the application in g3 reuses the variable from g2
+    Truth.assertThat(nested3.getSubstitution()).isEqualTo(nested2.getSubstitution());
+    Truth.assertThat(mgr.extractVariablesAndUFs(withOutUfs)).doesNotContainKey("uf");
+
+    Result other1 = ackermannization.eliminateUfs(g1, Result.empty(mgr));
+    Result other2 = ackermannization.eliminateUfs(g2, other1);
+    Result other3 = ackermannization.eliminateUfs(g3, other2);
+    withOutUfs =
+        bmgr.and(
+            other1.getFormula(), other2.getFormula(), other3.getFormula(), other3.getConstraints());
+    assertThatFormula(withOutUfs).isUnsatisfiable();
+    Truth.assertThat(other3.getSubstitution()).hasSize(2);
+    Truth.assertThat(mgr.extractVariablesAndUFs(withOutUfs)).doesNotContainKey("uf");
+  }
+
   @Test
   public void quantifierTest() {
     requireQuantifiers();
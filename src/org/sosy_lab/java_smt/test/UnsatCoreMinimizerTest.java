@@ -0,0 +1,163 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.utils.SolverUtils;
+import org.sosy_lab.java_smt.utils.UnsatCoreMinimizer;
+import org.sosy_lab.java_smt.utils.UnsatCoreMinimizer.Algorithm;
+
+public class UnsatCoreMinimizerTest extends SolverBasedTest0.ParameterizedSolverBasedTest0 {
+
+  private IntegerFormula x;
+  private IntegerFormula y;
+
+  private final List<List<BooleanFormula>> progress = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    requireIntegers();
+    requireUnsatCoreOverAssumptions();
+    x = imgr.makeVariable("x");
+    y = imgr.makeVariable("y");
+  }
+
+  private UnsatCoreMinimizer.ProgressListener collectProgress() {
+    return (current, checks) -> progress.add(current);
+  }
+
+  /** Soft constraints with the unique MUS {x >= 10, x <= 5}. */
+  private ImmutableList<BooleanFormula> softConstraints() {
+    return ImmutableList.of(
+        imgr.greaterOrEquals(y, imgr.makeNumber(0)),
+        imgr.greaterOrEquals(x, imgr.makeNumber(10)),
+        imgr.lessOrEquals(y, imgr.makeNumber(100)),
+        imgr.lessOrEquals(x, imgr.makeNumber(5)),
+        imgr.equal(y, imgr.makeNumber(7)));
+  }
+
+  private void checkMus(UnsatCoreMinimizer pMinimizer)
+      throws SolverException, InterruptedException {
+    ImmutableList<BooleanFormula> soft = softConstraints();
+    ImmutableList<BooleanFormula> mus =
+        pMinimizer.computeMus(ImmutableList.of(), soft, collectProgress());
+    assertThat(mus).containsExactly(soft.get(1), soft.get(3)).inOrder();
+    assertThat(progress).isNotEmpty();
+    assertThat(progress.get(progress.size() - 1)).isEqualTo(mus);
+    // only reductions are reported
+    for (int i = 1; i < progress.size(); i++) {
+      assertThat(progress.get(i).size()).isLessThan(progress.get(i - 1).size());
+    }
+  }
+
+  @Test
+  public void deletion() throws SolverException, InterruptedException {
+    try (UnsatCoreMinimizer minimizer =
+        SolverUtils.unsatCoreMinimizer(context, shutdownNotifierToUse(), Algorithm.DELETION)) {
+      checkMus(minimizer);
+    }
+  }
+
+  @Test
+  public void quickXplain() throws SolverException, InterruptedException {
+    try (UnsatCoreMinimizer minimizer =
+        SolverUtils.unsatCoreMinimizer(context, shutdownNotifierToUse(), Algorithm.QUICK_XPLAIN)) {
+      checkMus(minimizer);
+    }
+  }
+
+  @Test
+  public void parallelDeletion() throws SolverException, InterruptedException {
+    // CVC5 does not support using a context in another thread
+    assume().that(solverToUse()).isNotEqualTo(Solvers.CVC5);
+    try (UnsatCoreMinimizer minimizer =
+        SolverUtils.parallelUnsatCoreMinimizer(
+            context, config, logger, shutdownNotifierToUse(), solver, Algorithm.DELETION, 3)) {
+      checkMus(minimizer);
+    }
+  }
+
+  @Test
+  public void musWithHardConstraints() throws SolverException, InterruptedException {
+    BooleanFormula a = bmgr.makeVariable("a");
+    BooleanFormula b = bmgr.makeVariable("b");
+    BooleanFormula c = bmgr.makeVariable("c");
+    ImmutableList<BooleanFormula> hard = ImmutableList.of(bmgr.implication(a, b));
+    ImmutableList<BooleanFormula> soft =
+        ImmutableList.of(c, a, bmgr.or(c, b), bmgr.not(b), bmgr.not(c));
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      try (UnsatCoreMinimizer minimizer =
+          SolverUtils.unsatCoreMinimizer(context, shutdownNotifierToUse(), algorithm)) {
+        ImmutableList<BooleanFormula> mus = minimizer.computeMus(hard, soft, collectProgress());
+        assertThat(mus).hasSize(2);
+        assertThat(soft).containsAtLeastElementsIn(mus);
+        assertThat(mus).containsAnyOf(a, c);
+        assertThat(mus).containsAnyOf(bmgr.not(b), bmgr.not(c));
+        // each MUS is unsatisfiable together with the hard constraints
+        assertThatFormula(bmgr.and(bmgr.and(hard), bmgr.and(mus))).isUnsatisfiable();
+      }
+    }
+  }
+
+  @Test
+  public void satisfiableConstraints() throws InterruptedException {
+    try (UnsatCoreMinimizer minimizer =
+        SolverUtils.unsatCoreMinimizer(context, shutdownNotifierToUse(), Algorithm.DELETION)) {
+      ImmutableList<BooleanFormula> soft =
+          ImmutableList.of(imgr.greaterOrEquals(x, imgr.makeNumber(10)));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> minimizer.computeMus(ImmutableList.of(), soft, collectProgress()));
+    }
+  }
+
+  @Test
+  public void mcs() throws SolverException, InterruptedException {
+    ImmutableList<BooleanFormula> soft = softConstraints();
+    try (UnsatCoreMinimizer minimizer =
+        SolverUtils.unsatCoreMinimizer(context, shutdownNotifierToUse(), Algorithm.DELETION)) {
+      assertThat(minimizer.computeMcs(ImmutableList.of(), soft, collectProgress()))
+          .containsExactly(soft.get(3));
+      assertThat(minimizer.computeMcs(ImmutableList.of(), soft.subList(0, 3), collectProgress()))
+          .isEmpty();
+      assertThat(
+              minimizer.computeMcs(
+                  ImmutableList.of(imgr.lessOrEquals(x, imgr.makeNumber(0))),
+                  soft,
+                  collectProgress()))
+          .containsExactly(soft.get(1));
+    }
+  }
+
+  @Test
+  public void parallelMcs() throws SolverException, InterruptedException {
+    // CVC5 does not support using a context in another thread
+    assume().that(solverToUse()).isNotEqualTo(Solvers.CVC5);
+    ImmutableList<BooleanFormula> soft = softConstraints();
+    try (UnsatCoreMinimizer minimizer =
+        SolverUtils.parallelUnsatCoreMinimizer(
+            context, config, logger, shutdownNotifierToUse(), solver, Algorithm.DELETION, 2)) {
+      assertThat(minimizer.computeMcs(ImmutableList.of(), soft, collectProgress()))
+          .containsExactly(soft.get(3));
+    }
+  }
+}
@@ -0,0 +1,243 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.utils;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment.AllSatCallback;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Model.ValueAssignment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/**
+ * Asynchronous access to a {@link SolverContext} that is owned by a single thread.
+ *
+ * <p>Several solvers must be accessed from the thread that created the context. This class creates
+ * the context on its own thread and runs all operations on this thread, in the order in which they
+ * were submitted. The caller receives a {@link CompletableFuture} for each operation and does not
+ * block while the solver is running. As the operations are ordered, the caller does not need to
+ * wait for, e.g., an assertion before submitting the satisfiability check.
+ *
+ * <p>Formulas for solvers with thread-local contexts need to be created on the solver thread, too,
+ * which can be done with {@link #submit}. Models are not handed out, because their evaluation
+ * accesses the solver. Instead, {@link AsyncProverEnvironment#getModelAsync} returns the model
+ * assignments.
+ *
+ * <p>Cancelling a future before its operation started skips the operation. A running operation can
+ * only be stopped by requesting a shutdown of the given {@link ShutdownNotifier}, which stops the
+ * whole context and completes all pending futures with an {@link InterruptedException}.
+ */
+public final class AsyncSolver implements AutoCloseable {
+
+  /** An operation on the solver context that is executed on the solver thread. */
+  @FunctionalInterface
+  public interface SolverTask<R> {
+    R run(SolverContext pContext) throws SolverException, InterruptedException;
+  }
+
+  private final ShutdownNotifier shutdownNotifier;
+  private final ExecutorService executor;
+  private final SolverContext context;
+
+  /** Futures of operations that did not yet complete. */
+  private final Set<CompletableFuture<?>> pendingFutures = ConcurrentHashMap.newKeySet();
+
+  private final ShutdownRequestListener shutdownListener = this::cancelPendingOperations;
+
+  AsyncSolver(
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      Solvers pSolver)
+      throws InvalidConfigurationException {
+    checkNotNull(pConfig);
+    checkNotNull(pLogger);
+    shutdownNotifier = checkNotNull(pShutdownNotifier);
+    checkNotNull(pSolver);
+    executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("JavaSMT " + pSolver + " solver thread %d")
+                .setDaemon(true)
+                .build());
+    try {
+      context =
+          Uninterruptibles.getUninterruptibly(
+              executor.submit(
+                  () ->
+                      SolverContextFactory.createSolverContext(
+                          pConfig, pLogger, shutdownNotifier, pSolver)));
+    } catch (ExecutionException e) {
+      executor.shutdown();
+      Throwables.throwIfInstanceOf(e.getCause(), InvalidConfigurationException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new AssertionError("unexpected exception", e.getCause());
+    }
+    shutdownNotifier.register(shutdownListener);
+  }
+
+  private void cancelPendingOperations(String pReason) {
+    for (CompletableFuture<?> future : pendingFutures) {
+      future.completeExceptionally(new InterruptedException(pReason));
+    }
+  }
+
+  /**
+   * Run the given operation on the solver thread. The result of the operation should not contain
+   * objects that access the solver, e.g., models or provers, because they are not thread-safe.
+   * Formulas can be returned and used in further operations.
+   */
+  public <R> CompletableFuture<R> submit(SolverTask<R> pTask) {
+    checkNotNull(pTask);
+    CompletableFuture<R> future = new CompletableFuture<>();
+    pendingFutures.add(future);
+    future.whenComplete((result, exception) -> pendingFutures.remove(future));
+    try {
+      executor.execute(
+          () -> {
+            if (future.isDone()) {
+              return; // cancelled before the start
+            }
+            try {
+              shutdownNotifier.shutdownIfNecessary();
+              future.complete(pTask.run(context));
+            } catch (Throwable t) {
+              future.completeExceptionally(t);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(new IllegalStateException("solver is already closed", e));
+    }
+    return future;
+  }
+
+  /** Create a new prover on the solver thread. */
+  public CompletableFuture<AsyncProverEnvironment> newProverEnvironment(ProverOptions... pOptions) {
+    return submit(ctx -> new AsyncProverEnvironment(ctx.newProverEnvironment(pOptions)));
+  }
+
+  /**
+   * Close the solver context after all submitted operations are finished, and stop the solver
+   * thread. This method waits until the context is closed.
+   */
+  @Override
+  public void close() {
+    shutdownNotifier.unregister(shutdownListener);
+    try {
+      executor.execute(context::close);
+    } catch (RejectedExecutionException e) {
+      return; // already closed
+    }
+    executor.shutdown();
+    Uninterruptibles.awaitTerminationUninterruptibly(executor);
+  }
+
+  /**
+   * Asynchronous access to a prover. All methods only submit the operation to the solver thread and
+   * return immediately.
+   */
+  public final class AsyncProverEnvironment {
+
+    private final ProverEnvironment prover;
+
+    private AsyncProverEnvironment(ProverEnvironment pProver) {
+      prover = checkNotNull(pProver);
+    }
+
+    /** See {@link BasicProverEnvironment#push(BooleanFormula)}. */
+    public CompletableFuture<Void> pushAsync(BooleanFormula pConstraint) {
+      return submit(
+          ctx -> {
+            prover.push(pConstraint);
+            return null;
+          });
+    }
+
+    /** See {@link BasicProverEnvironment#pop()}. */
+    public CompletableFuture<Void> popAsync() {
+      return submit(
+          ctx -> {
+            prover.pop();
+            return null;
+          });
+    }
+
+    /** See {@link BasicProverEnvironment#addConstraint(BooleanFormula)}. */
+    public CompletableFuture<Void> addConstraintAsync(BooleanFormula pConstraint) {
+      return submit(
+          ctx -> {
+            prover.addConstraint(pConstraint);
+            return null;
+          });
+    }
+
+    /** See {@link BasicProverEnvironment#isUnsat()}. */
+    public CompletableFuture<Boolean> isUnsatAsync() {
+      return submit(ctx -> prover.isUnsat());
+    }
+
+    /** See {@link BasicProverEnvironment#isUnsatWithAssumptions(Collection)}. */
+    public CompletableFuture<Boolean> isUnsatWithAssumptionsAsync(
+        Collection<BooleanFormula> pAssumptions) {
+      ImmutableList<BooleanFormula> assumptions = ImmutableList.copyOf(pAssumptions);
+      return submit(ctx -> prover.isUnsatWithAssumptions(assumptions));
+    }
+
+    /**
+     * Returns the assignments of the model for the last satisfiable check, see {@link
+     * BasicProverEnvironment#getModelAssignments()}.
+     */
+    public CompletableFuture<ImmutableList<ValueAssignment>> getModelAsync() {
+      return submit(ctx -> prover.getModelAssignments());
+    }
+
+    /**
+     * See {@link BasicProverEnvironment#allSat(AllSatCallback, List)}. The callback is called on
+     * the solver thread.
+     */
+    public <R> CompletableFuture<R> allSatAsync(
+        AllSatCallback<R> pCallback, List<BooleanFormula> pImportant) {
+      ImmutableList<BooleanFormula> important = ImmutableList.copyOf(pImportant);
+      return submit(ctx -> prover.allSat(pCallback, important));
+    }
+
+    /** Close the prover after all previously submitted operations. */
+    public CompletableFuture<Void> closeAsync() {
+      return submit(
+          ctx -> {
+            prover.close();
+            return null;
+          });
+    }
+  }
+}
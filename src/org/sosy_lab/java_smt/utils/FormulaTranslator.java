@@ -0,0 +1,499 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.utils;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.rationals.Rational;
+import org.sosy_lab.java_smt.api.ArrayFormula;
+import org.sosy_lab.java_smt.api.ArrayFormulaManager;
+import org.sosy_lab.java_smt.api.BitvectorFormula;
+import org.sosy_lab.java_smt.api.BitvectorFormulaManager;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.FormulaType;
+import org.sosy_lab.java_smt.api.FormulaType.BitvectorType;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.FunctionDeclarationKind;
+import org.sosy_lab.java_smt.api.NumeralFormula;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.NumeralFormulaManager;
+import org.sosy_lab.java_smt.api.QuantifiedFormulaManager.Quantifier;
+import org.sosy_lab.java_smt.api.visitors.FormulaVisitor;
+
+/**
+ * Translates formulas from one {@link FormulaManager} into another one by rebuilding them with the
+ * formula managers of the target context, without serializing them to SMT-LIB2.
+ *
+ * <p>The translator memoizes all translated subterms and the declarations of uninterpreted
+ * functions. Thus, an instance can be used as a translation session: symbols and subterms that are
+ * shared between several formulas are translated only once. The cache is only cleared with {@link
+ * #clearCache()}. As formula managers, a translator must only be used from one thread at a time.
+ *
+ * <p>The translator supports Boolean logic, integer and rational arithmetics, bitvectors without
+ * indexed operations other than extensions, arrays, and uninterpreted functions. For formulas with
+ * other operations (e.g., floating points, strings, or quantifiers) an {@link
+ * UnsupportedOperationException} is thrown, and the caller can fall back to {@link
+ * FormulaManager#parse(String)} and {@link FormulaManager#dumpFormula(BooleanFormula)}. Conversions
+ * from integers to rationals are translated with the {@link
+ * org.sosy_lab.java_smt.api.RationalFormulaManager} of the target context, and integer arguments
+ * are converted wherever the source formula expects a rational argument, e.g., in branches of an
+ * if-then-else, values of arrays, and arguments of uninterpreted functions.
+ */
+public class FormulaTranslator {
+
+  /** A function application whose arguments are translated before the application itself. */
+  private static final class Application {
+    private final FunctionDeclaration<?> declaration;
+    private final List<Formula> args;
+
+    private Application(FunctionDeclaration<?> pDeclaration, List<Formula> pArgs) {
+      declaration = pDeclaration;
+      args = pArgs;
+    }
+  }
+
+  private final FormulaManager from;
+  private final FormulaManager to;
+
+  /** Translated formulas, indexed by the formula in the source context. */
+  private final Map<Formula, Formula> cache = new HashMap<>();
+
+  /** Translated UF declarations, indexed by the declaration in the source context. */
+  private final Map<FunctionDeclaration<?>, FunctionDeclaration<?>> declarations = new HashMap<>();
+
+  FormulaTranslator(FormulaManager pFrom, FormulaManager pTo) {
+    from = checkNotNull(pFrom);
+    to = checkNotNull(pTo);
+  }
+
+  /**
+   * Translate the formula from the source context into the target context.
+   *
+   * @param pFormula a formula of the source context.
+   * @return the equivalent formula of the target context.
+   * @throws UnsupportedOperationException if the formula contains an operation that is not
+   *     supported by the translator or by the target solver.
+   * @throws IllegalArgumentException if the target context rejects a symbol name or the sorts of a
+   *     rebuilt operation.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Formula> T translate(T pFormula) {
+    Map<Formula, Application> pending = new HashMap<>();
+    ApplicationCollector collector = new ApplicationCollector();
+    // traverse the DAG without recursion, such that deep formulas do not overflow the stack
+    Deque<Formula> waitlist = new ArrayDeque<>();
+    waitlist.push(checkNotNull(pFormula));
+    while (!waitlist.isEmpty()) {
+      Formula f = waitlist.peek();
+      if (cache.containsKey(f)) {
+        waitlist.pop();
+        continue;
+      }
+      Application application = pending.get(f);
+      if (application == null) {
+        application = from.visit(f, collector);
+        if (application == null) {
+          // leaves are translated directly
+          waitlist.pop();
+          continue;
+        }
+        pending.put(f, application);
+      }
+      boolean argsTranslated = true;
+      for (Formula arg : Lists.reverse(application.args)) {
+        if (!cache.containsKey(arg)) {
+          waitlist.push(arg);
+          argsTranslated = false;
+        }
+      }
+      if (argsTranslated) {
+        waitlist.pop();
+        pending.remove(f);
+        List<Formula> args = new ArrayList<>(application.args.size());
+        for (Formula arg : application.args) {
+          args.add(cache.get(arg));
+        }
+        cache.put(f, translateApplication(f, application.declaration, args));
+      }
+    }
+    return (T) cache.get(pFormula);
+  }
+
+  /** Returns the number of translated formulas that are stored for further translations. */
+  public int getCacheSize() {
+    return cache.size();
+  }
+
+  /** Forget all translated formulas and declarations. */
+  public void clearCache() {
+    cache.clear();
+    declarations.clear();
+  }
+
+  /** Translates leaves directly and returns applications for later translation. */
+  private final class ApplicationCollector implements FormulaVisitor<@Nullable Application> {
+
+    @Override
+    public @Nullable Application visitFreeVariable(Formula f, String name) {
+      cache.put(f, to.makeVariable(from.getFormulaType(f), name));
+      return null;
+    }
+
+    @Override
+    public @Nullable Application visitConstant(Formula f, Object value) {
+      cache.put(f, translateConstant(from.getFormulaType(f), value));
+      return null;
+    }
+
+    @Override
+    public Application visitFunction(
+        Formula f, List<Formula> args, FunctionDeclaration<?> functionDeclaration) {
+      return new Application(functionDeclaration, ImmutableList.copyOf(args));
+    }
+
+    @Override
+    public Application visitQuantifier(
+        BooleanFormula f,
+        Quantifier quantifier,
+        List<Formula> boundVariables,
+        BooleanFormula body) {
+      throw new UnsupportedOperationException("Cannot translate quantified formula " + f);
+    }
+  }
+
+  private Formula translateConstant(FormulaType<?> type, Object value) {
+    if (type.isBooleanType() && value instanceof Boolean) {
+      return to.getBooleanFormulaManager().makeBoolean((Boolean) value);
+    } else if (type.isIntegerType() && value instanceof BigInteger) {
+      return to.getIntegerFormulaManager().makeNumber((BigInteger) value);
+    } else if (type.isRationalType() && value instanceof BigInteger) {
+      return to.getRationalFormulaManager().makeNumber((BigInteger) value);
+    } else if (type.isRationalType() && value instanceof BigDecimal) {
+      return to.getRationalFormulaManager().makeNumber((BigDecimal) value);
+    } else if (type.isRationalType() && value instanceof Rational) {
+      return to.getRationalFormulaManager().makeNumber((Rational) value);
+    } else if (type.isBitvectorType() && value instanceof BigInteger) {
+      return to.getBitvectorFormulaManager()
+          .makeBitvector(((BitvectorType) type).getSize(), (BigInteger) value);
+    }
+    throw new UnsupportedOperationException(
+        String.format("Cannot translate constant %s of type %s", value, type));
+  }
+
+  private Formula translateApplication(
+      Formula f, FunctionDeclaration<?> declaration, List<Formula> args) {
+    BooleanFormulaManager bmgr = to.getBooleanFormulaManager();
+    FunctionDeclarationKind kind = declaration.getKind();
+    switch (kind) {
+      case UF:
+        return to.getUFManager()
+            .callUF(
+                translateDeclaration(declaration),
+                coerce(args, declaration.getArgumentTypes()));
+      case AND:
+        return bmgr.and(booleans(args));
+      case OR:
+        return bmgr.or(booleans(args));
+      case NOT:
+        return bmgr.not(booleanArg(args, 0));
+      case IMPLIES:
+        return bmgr.implication(booleanArg(args, 0), booleanArg(args, 1));
+      case XOR:
+        return bmgr.xor(booleanArg(args, 0), booleanArg(args, 1));
+      case IFF:
+      case EQ:
+      case BV_EQ:
+        return chain(args, this::makeEqual);
+      case DISTINCT:
+        return makeDistinct(args);
+      case ITE:
+        return makeIfThenElse(from.getFormulaType(f), args);
+      case TO_REAL:
+        return coerce(args.get(0), FormulaType.RationalType);
+      case SELECT:
+        return makeSelect(args);
+      case STORE:
+        return makeStore(args);
+      default:
+        // fall through to the theories
+    }
+    if (args.isEmpty()) {
+      throw unsupported(f, kind);
+    } else if (from.getFormulaType(f).isBitvectorType()
+        || to.getFormulaType(args.get(0)).isBitvectorType()) {
+      return translateBitvectorApplication(f, kind, args);
+    } else {
+      return translateNumeralApplication(f, kind, args);
+    }
+  }
+
+  private Formula translateNumeralApplication(
+      Formula f, FunctionDeclarationKind kind, List<Formula> args) {
+    // comparisons use the type of the arguments, all other operations the type of the result
+    boolean isInteger =
+        (from.getFormulaType(f).isIntegerType() || from.getFormulaType(f).isBooleanType())
+            && args.stream().allMatch(arg -> to.getFormulaType(arg).isIntegerType());
+    NumeralFormulaManager<NumeralFormula, ? extends NumeralFormula> nmgr = numerals(isInteger);
+    List<NumeralFormula> numbers = numerals(args);
+    switch (kind) {
+      case UMINUS:
+        return nmgr.negate(numbers.get(0));
+      case ADD:
+        return nmgr.sum(numbers);
+      case SUB:
+        return fold(numbers, nmgr::subtract);
+      case MUL:
+        return fold(numbers, nmgr::multiply);
+      case DIV:
+        return fold(numbers, nmgr::divide);
+      case MODULO:
+        if (isInteger) {
+          return to.getIntegerFormulaManager()
+              .modulo((IntegerFormula) numbers.get(0), (IntegerFormula) numbers.get(1));
+        }
+        break;
+      case LT:
+        return chain(numbers, nmgr::lessThan);
+      case LTE:
+        return chain(numbers, nmgr::lessOrEquals);
+      case GT:
+        return chain(numbers, nmgr::greaterThan);
+      case GTE:
+        return chain(numbers, nmgr::greaterOrEquals);
+      case EQ_ZERO:
+        return nmgr.equal(numbers.get(0), nmgr.makeNumber(0));
+      case GTE_ZERO:
+        return nmgr.greaterOrEquals(numbers.get(0), nmgr.makeNumber(0));
+      case FLOOR:
+        return nmgr.floor(numbers.get(0));
+      default:
+        // unsupported operation
+    }
+    throw unsupported(f, kind);
+  }
+
+  private Formula translateBitvectorApplication(
+      Formula f, FunctionDeclarationKind kind, List<Formula> args) {
+    BitvectorFormulaManager bvmgr = to.getBitvectorFormulaManager();
+    List<BitvectorFormula> bits = bitvectors(args);
+    switch (kind) {
+      case BV_CONCAT:
+        return fold(bits, bvmgr::concat);
+      case BV_NOT:
+        return bvmgr.not(bits.get(0));
+      case BV_NEG:
+        return bvmgr.negate(bits.get(0));
+      case BV_OR:
+        return fold(bits, bvmgr::or);
+      case BV_AND:
+        return fold(bits, bvmgr::and);
+      case BV_XOR:
+        return fold(bits, bvmgr::xor);
+      case BV_SUB:
+        return fold(bits, bvmgr::subtract);
+      case BV_ADD:
+        return fold(bits, bvmgr::add);
+      case BV_MUL:
+        return fold(bits, bvmgr::multiply);
+      case BV_SDIV:
+        return bvmgr.divide(bits.get(0), bits.get(1), true);
+      case BV_UDIV:
+        return bvmgr.divide(bits.get(0), bits.get(1), false);
+      case BV_SREM:
+        return bvmgr.remainder(bits.get(0), bits.get(1), true);
+      case BV_UREM:
+        return bvmgr.remainder(bits.get(0), bits.get(1), false);
+      case BV_SMOD:
+        return bvmgr.smodulo(bits.get(0), bits.get(1));
+      case BV_ULT:
+        return bvmgr.lessThan(bits.get(0), bits.get(1), false);
+      case BV_SLT:
+        return bvmgr.lessThan(bits.get(0), bits.get(1), true);
+      case BV_ULE:
+        return bvmgr.lessOrEquals(bits.get(0), bits.get(1), false);
+      case BV_SLE:
+        return bvmgr.lessOrEquals(bits.get(0), bits.get(1), true);
+      case BV_UGT:
+        return bvmgr.greaterThan(bits.get(0), bits.get(1), false);
+      case BV_SGT:
+        return bvmgr.greaterThan(bits.get(0), bits.get(1), true);
+      case BV_UGE:
+        return bvmgr.greaterOrEquals(bits.get(0), bits.get(1), false);
+      case BV_SGE:
+        return bvmgr.greaterOrEquals(bits.get(0), bits.get(1), true);
+      case BV_SHL:
+        return bvmgr.shiftLeft(bits.get(0), bits.get(1));
+      case BV_LSHR:
+        return bvmgr.shiftRight(bits.get(0), bits.get(1), false);
+      case BV_ASHR:
+        return bvmgr.shiftRight(bits.get(0), bits.get(1), true);
+      case BV_SIGN_EXTENSION:
+      case BV_ZERO_EXTENSION:
+        // the number of extension bits is not available from the visitor, but from the types
+        FormulaType<?> resultType = from.getFormulaType(f);
+        int extension = ((BitvectorType) resultType).getSize() - bvmgr.getLength(bits.get(0));
+        return bvmgr.extend(
+            bits.get(0), extension, kind == FunctionDeclarationKind.BV_SIGN_EXTENSION);
+      default:
+        // indexed operations and conversions
+    }
+    throw unsupported(f, kind);
+  }
+
+  private FunctionDeclaration<?> translateDeclaration(FunctionDeclaration<?> declaration) {
+    FunctionDeclaration<?> result = declarations.get(declaration);
+    if (result == null) {
+      result =
+          to.getUFManager()
+              .declareUF(
+                  declaration.getName(), declaration.getType(), declaration.getArgumentTypes());
+      declarations.put(declaration, result);
+    }
+    return result;
+  }
+
+  /**
+   * Convert a translated integer formula into a rational formula, if the source formula expects a
+   * rational formula at its position. The API has no explicit conversion, but the rational formula
+   * manager converts the operands of its operations.
+   */
+  private Formula coerce(Formula pFormula, FormulaType<?> pExpectedType) {
+    if (pExpectedType.isRationalType() && to.getFormulaType(pFormula).isIntegerType()) {
+      return to.getRationalFormulaManager().sum(ImmutableList.of((NumeralFormula) pFormula));
+    }
+    return pFormula;
+  }
+
+  private List<Formula> coerce(List<Formula> pFormulas, List<FormulaType<?>> pExpectedTypes) {
+    List<Formula> result = new ArrayList<>(pFormulas.size());
+    for (int i = 0; i < pFormulas.size(); i++) {
+      result.add(coerce(pFormulas.get(i), pExpectedTypes.get(i)));
+    }
+    return result;
+  }
+
+  private Formula makeIfThenElse(FormulaType<?> type, List<Formula> args) {
+    return to.getBooleanFormulaManager()
+        .ifThenElse(booleanArg(args, 0), coerce(args.get(1), type), coerce(args.get(2), type));
+  }
+
+  private Formula makeSelect(List<Formula> args) {
+    ArrayFormulaManager amgr = to.getArrayFormulaManager();
+    ArrayFormula<Formula, Formula> array = asArray(args.get(0));
+    return amgr.select(array, coerce(args.get(1), amgr.getIndexType(array)));
+  }
+
+  private Formula makeStore(List<Formula> args) {
+    ArrayFormulaManager amgr = to.getArrayFormulaManager();
+    ArrayFormula<Formula, Formula> array = asArray(args.get(0));
+    return amgr.store(
+        array,
+        coerce(args.get(1), amgr.getIndexType(array)),
+        coerce(args.get(2), amgr.getElementType(array)));
+  }
+
+  private BooleanFormula makeEqual(Formula a, Formula b) {
+    FormulaType<?> type = to.getFormulaType(a);
+    if (type.isBooleanType()) {
+      return to.getBooleanFormulaManager().equivalence((BooleanFormula) a, (BooleanFormula) b);
+    } else if (type.isBitvectorType()) {
+      return to.getBitvectorFormulaManager().equal((BitvectorFormula) a, (BitvectorFormula) b);
+    } else if (type.isArrayType()) {
+      return to.getArrayFormulaManager().equivalence(asArray(a), asArray(b));
+    } else if (type.isNumeralType()) {
+      boolean isInteger = type.isIntegerType() && to.getFormulaType(b).isIntegerType();
+      return numerals(isInteger).equal((NumeralFormula) a, (NumeralFormula) b);
+    }
+    throw new UnsupportedOperationException("Cannot translate equality of type " + type);
+  }
+
+  private BooleanFormula makeDistinct(List<Formula> args) {
+    List<BooleanFormula> disequalities = new ArrayList<>();
+    for (int i = 0; i < args.size(); i++) {
+      for (int j = i + 1; j < args.size(); j++) {
+        disequalities.add(to.getBooleanFormulaManager().not(makeEqual(args.get(i), args.get(j))));
+      }
+    }
+    return to.getBooleanFormulaManager().and(disequalities);
+  }
+
+  /** Integer and rational managers differ in their type parameters, but not in their methods. */
+  @SuppressWarnings("unchecked")
+  private NumeralFormulaManager<NumeralFormula, ? extends NumeralFormula> numerals(
+      boolean isInteger) {
+    return isInteger
+        ? (NumeralFormulaManager<NumeralFormula, ? extends NumeralFormula>)
+            (NumeralFormulaManager<?, ?>) to.getIntegerFormulaManager()
+        : to.getRationalFormulaManager();
+  }
+
+  private static <T extends Formula> T fold(List<T> args, BinaryOperator<T> operator) {
+    T result = args.get(0);
+    for (T arg : args.subList(1, args.size())) {
+      result = operator.apply(result, arg);
+    }
+    return result;
+  }
+
+  /** Apply a binary relation to all neighbouring arguments, e.g., <code>a = b = c</code>. */
+  private <T extends Formula> BooleanFormula chain(
+      List<T> args, BiFunction<T, T, BooleanFormula> relation) {
+    List<BooleanFormula> relations = new ArrayList<>();
+    for (int i = 1; i < args.size(); i++) {
+      relations.add(relation.apply(args.get(i - 1), args.get(i)));
+    }
+    return to.getBooleanFormulaManager().and(relations);
+  }
+
+  private static UnsupportedOperationException unsupported(
+      Formula f, FunctionDeclarationKind kind) {
+    return new UnsupportedOperationException(
+        String.format("Cannot translate operation %s in formula %s", kind, f));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<BooleanFormula> booleans(List<Formula> args) {
+    return (List<BooleanFormula>) (List<?>) args;
+  }
+
+  private static BooleanFormula booleanArg(List<Formula> args, int index) {
+    return (BooleanFormula) args.get(index);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<NumeralFormula> numerals(List<Formula> args) {
+    return (List<NumeralFormula>) (List<?>) args;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<BitvectorFormula> bitvectors(List<Formula> args) {
+    return (List<BitvectorFormula>) (List<?>) args;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArrayFormula<Formula, Formula> asArray(Formula array) {
+    return (ArrayFormula<Formula, Formula>) array;
+  }
+}
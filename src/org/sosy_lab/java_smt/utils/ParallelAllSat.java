@@ -0,0 +1,349 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment.AllSatCallback;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.FunctionDeclaration;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.visitors.DefaultBooleanFormulaVisitor;
+
+/**
+ * Parallel computation of ALLSAT. The first {@code k} important predicates are split into {@code
+ * 2^k} cubes, and each cube is solved by its own prover in a separate {@link SolverContext}. The
+ * constraints and predicates are translated into each context with {@link
+ * FormulaManager#translateFrom}. The cubes are solved on a {@link ForkJoinPool}.
+ *
+ * <p>The models are reported to the callback in the calling thread and in a deterministic order:
+ * cube by cube, with the positive value of a predicate before the negative one, as in a traversal
+ * of the decision tree. Within a cube, the order is given by the solver. The models of a cube are
+ * reported as soon as the cube and all previous cubes are solved.
+ *
+ * <p>All contexts are created and the formulas translated in the calling thread, such that the
+ * given formula manager is never accessed concurrently. The solver must support using a context
+ * from another thread than the one that created it. At most one context per worker thread is open
+ * at any time, each context is closed as soon as its cube is solved.
+ */
+public final class ParallelAllSat implements AutoCloseable {
+
+  /** Prefix of the variables that stand for the important predicates in each cube. */
+  private static final String PROXY_PREFIX = "__ParallelAllSat_predicate_";
+
+  private final Configuration config;
+  private final LogManager logger;
+  private final ShutdownNotifier shutdownNotifier;
+  private final Solvers solver;
+  private final int splitDepth;
+  private final ForkJoinPool pool;
+
+  ParallelAllSat(
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      Solvers pSolver,
+      int pSplitDepth,
+      int pParallelism) {
+    checkArgument(
+        0 <= pSplitDepth && pSplitDepth < Integer.SIZE - 1, "invalid split depth %s", pSplitDepth);
+    checkArgument(pParallelism > 0, "parallelism must be positive");
+    config = checkNotNull(pConfig);
+    logger = checkNotNull(pLogger);
+    shutdownNotifier = checkNotNull(pShutdownNotifier);
+    solver = checkNotNull(pSolver);
+    splitDepth = pSplitDepth;
+    pool = new ForkJoinPool(pParallelism);
+  }
+
+  /**
+   * Compute all satisfying assignments of the given predicates for the conjunction of the given
+   * constraints, like {@link
+   * org.sosy_lab.java_smt.api.BasicProverEnvironment#allSat(AllSatCallback, List)}.
+   *
+   * @param pMgr the formula manager of the given formulas, the callback receives formulas of this
+   *     manager.
+   * @param pConstraints the constraints that are asserted in each cube.
+   * @param pImportant the predicates to enumerate, the first ones are used for splitting.
+   * @param pCallback receives all models.
+   * @return the result of the callback.
+   */
+  public <R> R allSat(
+      FormulaManager pMgr,
+      Collection<BooleanFormula> pConstraints,
+      List<BooleanFormula> pImportant,
+      AllSatCallback<R> pCallback)
+      throws SolverException, InterruptedException {
+    checkState(!pool.isShutdown(), "ALLSAT computation is already closed");
+    final int depth = Math.min(splitDepth, pImportant.size());
+    final int numberOfCubes = 1 << depth;
+    final BooleanFormulaManager bmgr = pMgr.getBooleanFormulaManager();
+
+    // stops the remaining cubes if one of them fails or the user requests a shutdown
+    final ShutdownManager cubeShutdownManager = ShutdownManager.create();
+    final ShutdownRequestListener listener = cubeShutdownManager::requestShutdown;
+    shutdownNotifier.registerAndCheckImmediately(listener);
+    // bounds the number of open contexts, a permit is released when a cube is finished
+    final Semaphore openContexts = new Semaphore(pool.getParallelism());
+    final List<ForkJoinTask<List<BitSet>>> tasks = new ArrayList<>(numberOfCubes);
+    int reported = 0;
+    try {
+      for (int cube = 0; cube < numberOfCubes; cube++) {
+        // wait until a cube is finished if the maximum number of contexts is open
+        openContexts.acquire();
+        shutdownNotifier.shutdownIfNecessary();
+        tasks.add(
+            submitCube(
+                pMgr,
+                pConstraints,
+                pImportant,
+                depth,
+                cube,
+                cubeShutdownManager.getNotifier(),
+                openContexts));
+        for (; reported < tasks.size() && tasks.get(reported).isDone(); reported++) {
+          report(tasks.get(reported), pImportant, bmgr, pCallback);
+        }
+      }
+      for (; reported < tasks.size(); reported++) {
+        report(tasks.get(reported), pImportant, bmgr, pCallback);
+      }
+
+    } finally {
+      shutdownNotifier.unregister(listener);
+      cubeShutdownManager.requestShutdown("ALLSAT computation finished");
+      for (ForkJoinTask<List<BitSet>> task : tasks) {
+        task.quietlyJoin();
+      }
+    }
+    return pCallback.getResult();
+  }
+
+  /**
+   * Create the context of a cube, translate the formulas into it, and submit the cube to the pool.
+   * The context is closed and the permit is released as soon as the cube is finished.
+   */
+  @SuppressWarnings("resource")
+  private ForkJoinTask<List<BitSet>> submitCube(
+      FormulaManager pMgr,
+      Collection<BooleanFormula> pConstraints,
+      List<BooleanFormula> pImportant,
+      int pDepth,
+      int pCube,
+      ShutdownNotifier pCubeNotifier,
+      Semaphore pOpenContexts) {
+    SolverContext cubeContext = null;
+    try {
+      cubeContext = createContext(pCubeNotifier);
+      FormulaManager cubeMgr = cubeContext.getFormulaManager();
+      List<BooleanFormula> constraints = translate(pConstraints, cubeMgr, pMgr);
+      List<BooleanFormula> predicates = translate(pImportant, cubeMgr, pMgr);
+      SolverContext context = cubeContext;
+      return pool.submit(
+          () -> {
+            try {
+              return solveCube(context, constraints, predicates, pDepth, pCube);
+            } finally {
+              context.close();
+              pOpenContexts.release();
+            }
+          });
+    } catch (RuntimeException e) {
+      if (cubeContext != null) {
+        cubeContext.close();
+      }
+      pOpenContexts.release();
+      throw e;
+    }
+  }
+
+  private <R> void report(
+      ForkJoinTask<List<BitSet>> pTask,
+      List<BooleanFormula> pImportant,
+      BooleanFormulaManager pBmgr,
+      AllSatCallback<R> pCallback)
+      throws SolverException, InterruptedException {
+    for (BitSet model : getResult(pTask)) {
+      pCallback.apply(decode(model, pImportant, pBmgr));
+    }
+    shutdownNotifier.shutdownIfNecessary();
+  }
+
+  private SolverContext createContext(ShutdownNotifier pNotifier) {
+    try {
+      return SolverContextFactory.createSolverContext(config, logger, pNotifier, solver);
+    } catch (InvalidConfigurationException e) {
+      throw new IllegalStateException("could not create a solver context for " + solver, e);
+    }
+  }
+
+  private static List<BooleanFormula> translate(
+      Collection<BooleanFormula> pFormulas, FormulaManager pTo, FormulaManager pFrom) {
+    List<BooleanFormula> result = new ArrayList<>(pFormulas.size());
+    for (BooleanFormula formula : pFormulas) {
+      result.add(pTo.translateFrom(formula, pFrom));
+    }
+    return result;
+  }
+
+  private static List<BitSet> getResult(ForkJoinTask<List<BitSet>> pTask)
+      throws SolverException, InterruptedException {
+    try {
+      return pTask.get();
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), SolverException.class);
+      Throwables.throwIfInstanceOf(e.getCause(), InterruptedException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new AssertionError("unexpected exception", e.getCause());
+    }
+  }
+
+  /**
+   * Solve one cube in its own context. The models are encoded as bitset with two bits per
+   * predicate: one whether the predicate has a value, and one for the value itself.
+   */
+  private static List<BitSet> solveCube(
+      SolverContext pContext,
+      List<BooleanFormula> pConstraints,
+      List<BooleanFormula> pPredicates,
+      int pDepth,
+      int pCube)
+      throws SolverException, InterruptedException {
+    BooleanFormulaManager bmgr = pContext.getFormulaManager().getBooleanFormulaManager();
+    try (ProverEnvironment prover = pContext.newProverEnvironment(ProverOptions.GENERATE_ALL_SAT)) {
+      for (BooleanFormula constraint : pConstraints) {
+        prover.addConstraint(constraint);
+      }
+      BitSet cube = new BitSet(2 * pPredicates.size());
+      for (int i = 0; i < pDepth; i++) {
+        BooleanFormula predicate = pPredicates.get(i);
+        cube.set(2 * i);
+        // the first cube has only positive predicates, as in the decision tree
+        if (((pCube >> (pDepth - 1 - i)) & 1) == 0) {
+          cube.set(2 * i + 1);
+          prover.addConstraint(predicate);
+        } else {
+          prover.addConstraint(bmgr.not(predicate));
+        }
+      }
+      if (prover.isUnsat()) {
+        return ImmutableList.of();
+      }
+
+      if (pDepth == pPredicates.size()) {
+        return ImmutableList.of(cube);
+      }
+
+      // The solver may return the literals of a predicate in a different form, e.g., negated or
+      // simplified. Thus, we enumerate fresh variables that stand for the remaining predicates and
+      // map their literals back by the position of the predicate encoded in the variable name.
+      List<BooleanFormula> proxies = new ArrayList<>(pPredicates.size() - pDepth);
+      for (int i = pDepth; i < pPredicates.size(); i++) {
+        BooleanFormula proxy = bmgr.makeVariable(PROXY_PREFIX + i);
+        prover.addConstraint(bmgr.equivalence(proxy, pPredicates.get(i)));
+        proxies.add(proxy);
+      }
+      return prover.allSat(
+          new AllSatCallback<>() {
+            private final List<BitSet> models = new ArrayList<>();
+
+            @Override
+            public void apply(List<BooleanFormula> pModel) {
+              BitSet model = (BitSet) cube.clone();
+              for (BooleanFormula literal : pModel) {
+                encodeLiteral(literal, bmgr, model);
+              }
+              models.add(model);
+            }
+
+            @Override
+            public List<BitSet> getResult() {
+              return models;
+            }
+          },
+          proxies);
+    }
+  }
+
+  private static void encodeLiteral(
+      BooleanFormula pLiteral, BooleanFormulaManager pBmgr, BitSet pModel) {
+    pBmgr.visit(
+        pLiteral,
+        new DefaultBooleanFormulaVisitor<Void>() {
+          private boolean positive = true;
+
+          @Override
+          protected Void visitDefault() {
+            throw new IllegalStateException("unexpected literal " + pLiteral + " in model");
+          }
+
+          @Override
+          public Void visitNot(BooleanFormula pOperand) {
+            positive = !positive;
+            return pBmgr.visit(pOperand, this);
+          }
+
+          @Override
+          public Void visitAtom(
+              BooleanFormula pAtom, FunctionDeclaration<BooleanFormula> pDeclaration) {
+            String name = pDeclaration.getName();
+            checkState(name.startsWith(PROXY_PREFIX), "unexpected literal %s in model", pLiteral);
+            int index = Integer.parseInt(name.substring(PROXY_PREFIX.length()));
+            pModel.set(2 * index);
+            if (positive) {
+              pModel.set(2 * index + 1);
+            }
+            return null;
+          }
+        });
+  }
+
+  private static ImmutableList<BooleanFormula> decode(
+      BitSet pModel, List<BooleanFormula> pPredicates, BooleanFormulaManager pBmgr) {
+    ImmutableList.Builder<BooleanFormula> literals = ImmutableList.builder();
+    for (int i = 0; i < pPredicates.size(); i++) {
+      if (pModel.get(2 * i)) {
+        BooleanFormula predicate = pPredicates.get(i);
+        literals.add(pModel.get(2 * i + 1) ? predicate : pBmgr.not(predicate));
+      }
+    }
+    return literals.build();
+  }
+
+  /** Stop the worker threads. Running computations are not affected. */
+  @Override
+  public void close() {
+    pool.shutdown();
+  }
+}
@@ -0,0 +1,286 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.SolverException;
+import org.sosy_lab.java_smt.api.Tactic;
+
+/**
+ * A sequence of formula transformations, i.e., {@link Tactic}s and simplification, that is applied
+ * to formulas before they are asserted.
+ *
+ * <p>Consecutive stages that only rewrite a formula locally (see {@link Stage#isConjunctLocal()})
+ * are applied together to each top-level conjunct of the formula, such that conjuncts that occur in
+ * several formulas are only processed once. Stages that need to see the whole formula, e.g., {@link
+ * Tactic#ACKERMANNIZATION} or {@link Tactic#TSEITIN_CNF}, are applied to the conjunction of all
+ * conjuncts. All results are memoized until {@link #clearCache()} is called.
+ *
+ * <p>Ackermannization is applied incrementally by the pipeline itself (see {@link
+ * UfElimination#eliminateUfsIncrementally}): all formulas processed by a pipeline share the fresh
+ * variables of their UF applications, and each result contains the consistency constraints for all
+ * applications seen so far. Thus, the results of several calls can be asserted together, and in any
+ * order, on the same prover. The state of the Ackermannization is kept by {@link #clearCache()}.
+ *
+ * <p>The time spent in each tactic except Ackermannization and in simplification is reported by the
+ * statistics delegate of the {@link FormulaManager}, if statistics are enabled for the solver
+ * context.
+ *
+ * <p>Like the {@link FormulaManager} it uses, a pipeline should be used only from a single thread.
+ */
+public final class PreprocessingPipeline {
+
+  /** A single transformation step of a {@link PreprocessingPipeline}. */
+  public interface Stage {
+
+    /** Transform the given formula into an equisatisfiable formula. */
+    BooleanFormula apply(FormulaManager pMgr, BooleanFormula pFormula)
+        throws InterruptedException, SolverException;
+
+    /**
+     * Whether this stage can be applied to each top-level conjunct on its own, i.e., applying it to
+     * a conjunction is equivalent to applying it to every conjunct.
+     */
+    boolean isConjunctLocal();
+
+    /** A stage that applies the given tactic. */
+    static Stage tactic(Tactic pTactic) {
+      return new TacticStage(pTactic);
+    }
+
+    /** A stage that applies {@link FormulaManager#simplify}. */
+    static Stage simplification() {
+      return SimplificationStage.INSTANCE;
+    }
+  }
+
+  private static final class TacticStage implements Stage {
+
+    private final Tactic tactic;
+
+    private TacticStage(Tactic pTactic) {
+      tactic = pTactic;
+    }
+
+    @Override
+    public BooleanFormula apply(FormulaManager pMgr, BooleanFormula pFormula)
+        throws InterruptedException, SolverException {
+      return pMgr.applyTactic(pFormula, tactic);
+    }
+
+    @Override
+    public boolean isConjunctLocal() {
+      switch (tactic) {
+        case NNF:
+        case QE_LIGHT:
+          return true;
+        case ACKERMANNIZATION: // consistency constraints relate UFs of different conjuncts
+        case TSEITIN_CNF: // introduces fresh variables that must not clash between conjuncts
+          return false;
+        default:
+          throw new AssertionError("unexpected tactic " + tactic);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return tactic.toString();
+    }
+  }
+
+  private enum SimplificationStage implements Stage {
+    INSTANCE;
+
+    @Override
+    public BooleanFormula apply(FormulaManager pMgr, BooleanFormula pFormula)
+        throws InterruptedException {
+      return pMgr.simplify(pFormula);
+    }
+
+    @Override
+    public boolean isConjunctLocal() {
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return "SIMPLIFICATION";
+    }
+  }
+
+  /** A maximal sequence of consecutive stages that are all conjunct-local or all global. */
+  private static final class Run {
+
+    private final ImmutableList<Stage> stages;
+    private final boolean conjunctLocal;
+
+    /** Results of this run for single conjuncts, only used for conjunct-local runs. */
+    private final Map<BooleanFormula, BooleanFormula> conjunctCache = new HashMap<>();
+
+    private Run(ImmutableList<Stage> pStages, boolean pConjunctLocal) {
+      stages = pStages;
+      conjunctLocal = pConjunctLocal;
+    }
+  }
+
+  private final FormulaManager fmgr;
+  private final BooleanFormulaManager bmgr;
+  private final UfElimination ufElimination;
+  private final ImmutableList<Stage> stages;
+  private final ImmutableList<Run> runs;
+
+  /** The Ackermannization of all formulas so far, for each Ackermannization stage. */
+  private final Map<Stage, UfElimination.Result> ackermannizations = new HashMap<>();
+
+  /** Results of the whole pipeline for complete input formulas. */
+  private final Map<BooleanFormula, BooleanFormula> cache = new HashMap<>();
+
+  PreprocessingPipeline(FormulaManager pFmgr, List<Stage> pStages) {
+    checkArgument(!pStages.isEmpty(), "A preprocessing pipeline needs at least one stage");
+    fmgr = pFmgr;
+    bmgr = pFmgr.getBooleanFormulaManager();
+    ufElimination = new UfElimination(pFmgr);
+    stages = ImmutableList.copyOf(pStages);
+    runs = groupIntoRuns(stages);
+  }
+
+  private static ImmutableList<Run> groupIntoRuns(List<Stage> pStages) {
+    ImmutableList.Builder<Run> result = ImmutableList.builder();
+    List<Stage> current = new ArrayList<>();
+    boolean currentLocal = pStages.get(0).isConjunctLocal();
+    for (Stage stage : pStages) {
+      if (stage.isConjunctLocal() != currentLocal) {
+        result.add(new Run(ImmutableList.copyOf(current), currentLocal));
+        current.clear();
+        currentLocal = stage.isConjunctLocal();
+      }
+      current.add(stage);
+    }
+    result.add(new Run(ImmutableList.copyOf(current), currentLocal));
+    return result.build();
+  }
+
+  /** Returns the stages of this pipeline in the order of their application. */
+  public ImmutableList<Stage> getStages() {
+    return stages;
+  }
+
+  /**
+   * Apply all stages of this pipeline to the given formula.
+   *
+   * @param pFormula the input formula
+   * @return a formula that is equisatisfiable to the input formula
+   */
+  public BooleanFormula apply(BooleanFormula pFormula)
+      throws InterruptedException, SolverException {
+    BooleanFormula result = cache.get(pFormula);
+    if (result == null) {
+      result = pFormula;
+      for (Run run : runs) {
+        result = run.conjunctLocal ? applyPerConjunct(run, result) : applyStages(run, result);
+      }
+      cache.put(pFormula, result);
+    }
+    return result;
+  }
+
+  /**
+   * Apply all stages of this pipeline to the given formula and return the top-level conjuncts of
+   * the result.
+   */
+  public ImmutableList<BooleanFormula> applyToConjuncts(BooleanFormula pFormula)
+      throws InterruptedException, SolverException {
+    return ImmutableList.copyOf(bmgr.toConjunctionArgs(apply(pFormula), true));
+  }
+
+  /**
+   * Apply all stages of this pipeline to the given formula and assert the top-level conjuncts of
+   * the result on the given prover.
+   *
+   * @return the values returned by {@link BasicProverEnvironment#addConstraints} for the asserted
+   *     conjuncts
+   */
+  @CanIgnoreReturnValue
+  public <T> List<@Nullable T> addConstraints(
+      BasicProverEnvironment<T> pProver, BooleanFormula pFormula)
+      throws InterruptedException, SolverException {
+    return pProver.addConstraints(applyToConjuncts(pFormula));
+  }
+
+  /**
+   * Forget all memoized results. The fresh variables and constraints of the Ackermannization are
+   * kept, as formulas that were already asserted may depend on them.
+   */
+  public void clearCache() {
+    cache.clear();
+    for (Run run : runs) {
+      run.conjunctCache.clear();
+    }
+  }
+
+  private BooleanFormula applyPerConjunct(Run pRun, BooleanFormula pFormula)
+      throws InterruptedException, SolverException {
+    Set<BooleanFormula> conjuncts = bmgr.toConjunctionArgs(pFormula, true);
+    List<BooleanFormula> results = new ArrayList<>(conjuncts.size());
+    for (BooleanFormula conjunct : conjuncts) {
+      BooleanFormula result = pRun.conjunctCache.get(conjunct);
+      if (result == null) {
+        result = applyStages(pRun, conjunct);
+        pRun.conjunctCache.put(conjunct, result);
+      }
+      results.add(result);
+    }
+    return bmgr.and(results);
+  }
+
+  private BooleanFormula applyStages(Run pRun, BooleanFormula pFormula)
+      throws InterruptedException, SolverException {
+    BooleanFormula result = pFormula;
+    for (Stage stage : pRun.stages) {
+      result =
+          isAckermannization(stage)
+              ? applyAckermannization(stage, result)
+              : stage.apply(fmgr, result);
+    }
+    return result;
+  }
+
+  private static boolean isAckermannization(Stage pStage) {
+    return pStage instanceof TacticStage
+        && ((TacticStage) pStage).tactic == Tactic.ACKERMANNIZATION;
+  }
+
+  /**
+   * Eliminate the UFs of the given formula consistently with all formulas that the given stage
+   * processed before. A fresh {@link Tactic#ACKERMANNIZATION} for each formula would introduce new
+   * variables for the same UF applications without relating them to each other.
+   */
+  private BooleanFormula applyAckermannization(Stage pStage, BooleanFormula pFormula) {
+    UfElimination.Result previous = ackermannizations.get(pStage);
+    if (previous == null) {
+      previous = UfElimination.Result.empty(fmgr);
+    }
+    UfElimination.Result result = ufElimination.eliminateUfsIncrementally(pFormula, previous);
+    ackermannizations.put(pStage, result);
+    return bmgr.and(result.getFormula(), result.getConstraints());
+  }
+}
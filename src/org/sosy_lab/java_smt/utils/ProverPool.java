@@ -0,0 +1,436 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Evaluator;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.Model.ValueAssignment;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/**
+ * A pool of {@link ProverEnvironment}s for a single {@link SolverContext}.
+ *
+ * <p>Creating a prover is expensive for several solvers, because the native solver instance needs
+ * to be set up. The pool keeps returned provers alive and hands them out again for the next request
+ * with the same {@link ProverOptions}. Before a prover is reused, its assertion stack is popped
+ * back to the recorded base level.
+ *
+ * <p>The pool can maintain a shared prefix of constraints (e.g., background axioms), see {@link
+ * #setPrefix}. The prefix is asserted on a separate level at the bottom of each pooled prover and
+ * stays asserted across checkouts. Provers handed out by the pool appear as fresh provers to the
+ * user, i.e., their {@link ProverEnvironment#size()} is zero and the prefix can not be popped.
+ * Please note that the prefix is part of the unsat core of a pooled prover.
+ *
+ * <p>Provers are returned to the pool by closing them. The pool closes provers that were idle for
+ * longer than the configured time or that exceed the configured number of idle provers per set of
+ * options.
+ *
+ * <p>Like the {@link SolverContext} itself, the pool is not thread-safe.
+ */
+public final class ProverPool implements AutoCloseable {
+
+  /** The prefix is asserted on level 1, such that it can be replaced without a new prover. */
+  private static final int BASE_LEVEL = 1;
+
+  /** The user-visible level 0 is the first level above the base level. */
+  private static final int USER_LEVEL_OFFSET = BASE_LEVEL + 1;
+
+  private final SolverContext context;
+  private final int maxProvers;
+  private final int maxIdleProversPerPartition;
+  private final long maxIdleTimeNanos;
+
+  /** Idle provers per set of options, the most recently returned prover is at the front. */
+  private final Map<ImmutableSet<ProverOptions>, Deque<PoolEntry>> idleProvers =
+      new LinkedHashMap<>();
+
+  private ImmutableList<BooleanFormula> prefix = ImmutableList.of();
+  private int prefixVersion = 0;
+
+  private int numberOfIdleProvers = 0;
+  private int numberOfLeasedProvers = 0;
+  private boolean closed = false;
+
+  // statistics
+  private int createdProvers = 0;
+  private int reusedProvers = 0;
+  private int closedProvers = 0;
+
+  ProverPool(
+      SolverContext pContext,
+      int pMaxProvers,
+      int pMaxIdleProversPerPartition,
+      TimeSpan pMaxIdleTime) {
+    checkArgument(pMaxProvers > 0, "The pool needs to allow at least one prover.");
+    checkArgument(pMaxIdleProversPerPartition >= 0);
+    context = checkNotNull(pContext);
+    maxProvers = pMaxProvers;
+    maxIdleProversPerPartition = pMaxIdleProversPerPartition;
+    maxIdleTimeNanos = pMaxIdleTime.asNanos();
+  }
+
+  /**
+   * Replace the shared prefix of constraints that is asserted in all provers of this pool. Provers
+   * that are currently checked out keep the old prefix until they are returned. Idle provers are
+   * updated when they are checked out the next time.
+   */
+  public void setPrefix(Collection<BooleanFormula> pPrefix) {
+    checkState(!closed);
+    ImmutableList<BooleanFormula> newPrefix = ImmutableList.copyOf(pPrefix);
+    if (!newPrefix.equals(prefix)) {
+      prefix = newPrefix;
+      prefixVersion++;
+    }
+  }
+
+  /** Returns the current shared prefix of constraints. */
+  public ImmutableList<BooleanFormula> getPrefix() {
+    return prefix;
+  }
+
+  /**
+   * Get a prover with the given options from the pool, or create a new one if there is no idle
+   * prover. The prover contains the shared prefix and is returned to the pool when it is closed.
+   *
+   * @throws IllegalStateException if the maximum number of provers is checked out.
+   */
+  public ProverEnvironment checkout(ProverOptions... pOptions) throws InterruptedException {
+    checkState(!closed);
+    evictIdleProvers();
+    ImmutableSet<ProverOptions> options = Sets.immutableEnumSet(Arrays.asList(pOptions));
+
+    @Nullable PoolEntry entry = pollIdleProver(options);
+    if (entry == null) {
+      makeRoomForNewProver();
+      entry = new PoolEntry(options, context.newProverEnvironment(pOptions));
+      createdProvers++;
+    } else {
+      reusedProvers++;
+    }
+    numberOfLeasedProvers++;
+
+    try {
+      entry.ensurePrefix();
+      entry.prover.push(); // the first level for the user
+    } catch (InterruptedException | RuntimeException e) {
+      numberOfLeasedProvers--;
+      closeProver(entry);
+      throw e;
+    }
+    return new PooledProverEnvironment(entry);
+  }
+
+  private @Nullable PoolEntry pollIdleProver(ImmutableSet<ProverOptions> options) {
+    Deque<PoolEntry> partition = idleProvers.get(options);
+    if (partition == null || partition.isEmpty()) {
+      return null;
+    }
+    numberOfIdleProvers--;
+    return partition.pollFirst();
+  }
+
+  /** Close idle provers of other partitions, if the pool has reached its maximum size. */
+  private void makeRoomForNewProver() {
+    while (numberOfIdleProvers + numberOfLeasedProvers >= maxProvers) {
+      @Nullable PoolEntry oldest = null;
+      for (Deque<PoolEntry> partition : idleProvers.values()) {
+        PoolEntry candidate = partition.peekLast();
+        if (candidate != null && (oldest == null || candidate.lastUsed - oldest.lastUsed < 0)) {
+          oldest = candidate;
+        }
+      }
+      checkState(
+          oldest != null, "All %s provers of the pool are checked out.", numberOfLeasedProvers);
+      idleProvers.get(oldest.options).pollLast();
+      numberOfIdleProvers--;
+      closeProver(oldest);
+    }
+  }
+
+  /** Return a prover to the pool, after popping it back to its base level. */
+  private void checkin(PoolEntry entry) {
+    numberOfLeasedProvers--;
+    if (closed) {
+      closeProver(entry);
+      return;
+    }
+
+    try {
+      entry.resetToBaseLevel();
+    } catch (RuntimeException e) {
+      // the prover is in an unknown state and can not be reused
+      closeProver(entry);
+      throw e;
+    }
+
+    Deque<PoolEntry> partition =
+        idleProvers.computeIfAbsent(entry.options, k -> new ArrayDeque<>());
+    if (partition.size() < maxIdleProversPerPartition) {
+      entry.lastUsed = System.nanoTime();
+      partition.addFirst(entry);
+      numberOfIdleProvers++;
+    } else {
+      closeProver(entry);
+    }
+    evictIdleProvers();
+  }
+
+  /** Close all idle provers that were not used for longer than the configured idle time. */
+  public void evictIdleProvers() {
+    long deadline = System.nanoTime() - maxIdleTimeNanos;
+    for (Deque<PoolEntry> partition : idleProvers.values()) {
+      Iterator<PoolEntry> it = partition.descendingIterator();
+      while (it.hasNext()) {
+        PoolEntry entry = it.next();
+        if (entry.lastUsed - deadline > 0) {
+          break; // all remaining provers were used more recently
+        }
+        it.remove();
+        numberOfIdleProvers--;
+        closeProver(entry);
+      }
+    }
+  }
+
+  private void closeProver(PoolEntry entry) {
+    closedProvers++;
+    entry.prover.close();
+  }
+
+  /** Returns the number of idle provers in the pool. */
+  public int getNumberOfIdleProvers() {
+    return numberOfIdleProvers;
+  }
+
+  /** Returns the number of provers that are currently checked out. */
+  public int getNumberOfCheckedOutProvers() {
+    return numberOfLeasedProvers;
+  }
+
+  /** Returns statistics about the creation and reuse of provers in this pool. */
+  public ImmutableMap<String, Integer> getStatistics() {
+    return ImmutableMap.of(
+        "number of created provers", createdProvers,
+        "number of reused provers", reusedProvers,
+        "number of closed provers", closedProvers,
+        "number of idle provers", numberOfIdleProvers,
+        "number of checked-out provers", numberOfLeasedProvers);
+  }
+
+  /**
+   * Close all idle provers. Provers that are currently checked out are closed when they are
+   * returned. The context is not closed.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      for (Deque<PoolEntry> partition : idleProvers.values()) {
+        partition.forEach(this::closeProver);
+      }
+      idleProvers.clear();
+      numberOfIdleProvers = 0;
+    }
+  }
+
+  /** A pooled prover together with the information about its base level. */
+  private final class PoolEntry {
+
+    private final ImmutableSet<ProverOptions> options;
+    private final ProverEnvironment prover;
+
+    /** The version of the prefix that is asserted in this prover, or -1 for none. */
+    private int assertedPrefixVersion = -1;
+
+    private long lastUsed = System.nanoTime();
+
+    private PoolEntry(ImmutableSet<ProverOptions> pOptions, ProverEnvironment pProver) {
+      options = pOptions;
+      prover = pProver;
+    }
+
+    /** Assert the current prefix on its own level, if the prover does not yet contain it. */
+    private void ensurePrefix() throws InterruptedException {
+      if (assertedPrefixVersion != prefixVersion) {
+        while (prover.size() > 0) {
+          prover.pop();
+        }
+        prover.push();
+        for (BooleanFormula f : prefix) {
+          prover.addConstraint(f);
+        }
+        assertedPrefixVersion = prefixVersion;
+      }
+    }
+
+    private void resetToBaseLevel() {
+      while (prover.size() > BASE_LEVEL) {
+        prover.pop();
+      }
+    }
+  }
+
+  /**
+   * The view on a pooled prover that is handed out to the user. It hides the levels of the pool and
+   * returns the prover to the pool when it is closed.
+   */
+  private final class PooledProverEnvironment implements ProverEnvironment {
+
+    private final PoolEntry entry;
+    private final ProverEnvironment delegate;
+    private boolean returned = false;
+
+    private PooledProverEnvironment(PoolEntry pEntry) {
+      entry = pEntry;
+      delegate = pEntry.prover;
+    }
+
+    @Override
+    public void pop() {
+      checkState(!returned);
+      checkState(delegate.size() > USER_LEVEL_OFFSET, "initial level must remain until close");
+      delegate.pop();
+    }
+
+    @Override
+    public @Nullable Void addConstraint(BooleanFormula constraint) throws InterruptedException {
+      checkState(!returned);
+      return delegate.addConstraint(constraint);
+    }
+
+    @Override
+    public List<@Nullable Void> addConstraints(Collection<BooleanFormula> constraints)
+        throws InterruptedException {
+      checkState(!returned);
+      return delegate.addConstraints(constraints);
+    }
+
+    @Override
+    public void push() throws InterruptedException {
+      checkState(!returned);
+      delegate.push();
+    }
+
+    @Override
+    public int size() {
+      checkState(!returned);
+      return delegate.size() - USER_LEVEL_OFFSET;
+    }
+
+    @Override
+    public boolean isUnsat() throws SolverException, InterruptedException {
+      checkState(!returned);
+      return delegate.isUnsat();
+    }
+
+    @Override
+    public boolean isUnsatWithAssumptions(Collection<BooleanFormula> assumptions)
+        throws SolverException, InterruptedException {
+      checkState(!returned);
+      return delegate.isUnsatWithAssumptions(assumptions);
+    }
+
+    @Override
+    public Model getModel() throws SolverException {
+      checkState(!returned);
+      return delegate.getModel();
+    }
+
+    @Override
+    public Evaluator getEvaluator() throws SolverException {
+      checkState(!returned);
+      return delegate.getEvaluator();
+    }
+
+    @Override
+    public ImmutableList<ValueAssignment> getModelAssignments() throws SolverException {
+      checkState(!returned);
+      return delegate.getModelAssignments();
+    }
+
+    @Override
+    public Model getModel(Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+      checkState(!returned);
+      return delegate.getModel(pRelevantFormulas);
+    }
+
+    @Override
+    public ImmutableList<ValueAssignment> getModelAssignments(
+        Collection<? extends Formula> pRelevantFormulas) throws SolverException {
+      checkState(!returned);
+      return delegate.getModelAssignments(pRelevantFormulas);
+    }
+
+    @Override
+    public List<BooleanFormula> getUnsatCore() {
+      checkState(!returned);
+      return delegate.getUnsatCore();
+    }
+
+    @Override
+    public Optional<List<BooleanFormula>> unsatCoreOverAssumptions(
+        Collection<BooleanFormula> assumptions) throws SolverException, InterruptedException {
+      checkState(!returned);
+      return delegate.unsatCoreOverAssumptions(assumptions);
+    }
+
+    @Override
+    public ImmutableMap<String, String> getStatistics() {
+      checkState(!returned);
+      return delegate.getStatistics();
+    }
+
+    @Override
+    public <R> R allSat(AllSatCallback<R> callback, List<BooleanFormula> important)
+        throws InterruptedException, SolverException {
+      checkState(!returned);
+      return delegate.allSat(callback, important);
+    }
+
+    // User propagators stay registered for the whole lifetime of a prover,
+    // thus we do not support them for pooled provers (see default implementation).
+
+    @Override
+    public void close() {
+      if (!returned) {
+        returned = true;
+        checkin(entry);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "pooled " + delegate;
+    }
+  }
+}
@@ -8,7 +8,15 @@
 
 package org.sosy_lab.java_smt.utils;
 
+import java.util.List;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.SolverContext;
 
 /** Central entry point for all utility classes. */
 public final class SolverUtils {
@@ -25,6 +33,18 @@ public final class SolverUtils {
     return new UfElimination(pFormulaManager);
   }
 
+  /**
+   * Creates a new {@link PreprocessingPipeline} instance.
+   *
+   * @param pFormulaManager the {@link FormulaManager} to be used
+   * @param pStages the stages of the pipeline in the order of their application
+   * @return a new {@link PreprocessingPipeline} instance
+   */
+  public static PreprocessingPipeline preprocessingPipeline(
+      FormulaManager pFormulaManager, List<PreprocessingPipeline.Stage> pStages) {
+    return new PreprocessingPipeline(pFormulaManager, pStages);
+  }
+
   /**
    * Creates a new {@link PrettyPrinter} instance.
    *
@@ -34,4 +54,117 @@ public final class SolverUtils {
   public static PrettyPrinter prettyPrinter(FormulaManager pFormulaManager) {
     return new PrettyPrinter(pFormulaManager);
   }
+
+  /**
+   * Creates a new {@link FormulaTranslator} instance.
+   *
+   * @param pFromManager the {@link FormulaManager} of the formulas to be translated
+   * @param pToManager the {@link FormulaManager} of the translated formulas
+   * @return a new {@link FormulaTranslator} instance
+   */
+  public static FormulaTranslator formulaTranslator(
+      FormulaManager pFromManager, FormulaManager pToManager) {
+    return new FormulaTranslator(pFromManager, pToManager);
+  }
+
+  /**
+   * Creates a new {@link ProverPool} instance.
+   *
+   * @param pContext the {@link SolverContext} used for creating new provers
+   * @param pMaxProvers the maximum number of provers (checked out and idle) in the pool
+   * @param pMaxIdleProversPerPartition the maximum number of idle provers per set of options
+   * @param pMaxIdleTime idle provers are closed after this time without use
+   * @return a new {@link ProverPool} instance
+   */
+  public static ProverPool proverPool(
+      SolverContext pContext,
+      int pMaxProvers,
+      int pMaxIdleProversPerPartition,
+      TimeSpan pMaxIdleTime) {
+    return new ProverPool(pContext, pMaxProvers, pMaxIdleProversPerPartition, pMaxIdleTime);
+  }
+
+  /**
+   * Creates a new {@link ParallelAllSat} instance.
+   *
+   * @param pConfig the configuration used for creating the additional solver contexts
+   * @param pLogger the logger used for the additional solver contexts
+   * @param pShutdownNotifier the notifier that stops the computation
+   * @param pSolver the solver used for the additional solver contexts
+   * @param pSplitDepth the number of predicates that are used to split the ALLSAT computation
+   * @param pParallelism the number of threads
+   * @return a new {@link ParallelAllSat} instance
+   */
+  public static ParallelAllSat parallelAllSat(
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      Solvers pSolver,
+      int pSplitDepth,
+      int pParallelism) {
+    return new ParallelAllSat(
+        pConfig, pLogger, pShutdownNotifier, pSolver, pSplitDepth, pParallelism);
+  }
+
+  /**
+   * Creates a new {@link AsyncSolver} instance with a new solver context that is owned by its own
+   * thread.
+   *
+   * @param pConfig the configuration used for creating the solver context
+   * @param pLogger the logger used for the solver context
+   * @param pShutdownNotifier the notifier that stops the solver and all pending operations
+   * @param pSolver the solver to use
+   * @return a new {@link AsyncSolver} instance
+   */
+  public static AsyncSolver asyncSolver(
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      Solvers pSolver)
+      throws InvalidConfigurationException {
+    return new AsyncSolver(pConfig, pLogger, pShutdownNotifier, pSolver);
+  }
+
+  /**
+   * Creates a new {@link UnsatCoreMinimizer} instance that checks all candidates sequentially with
+   * a prover of the given context.
+   *
+   * @param pContext the {@link SolverContext} of the constraints to minimize
+   * @param pShutdownNotifier the notifier that stops the minimization
+   * @param pAlgorithm the algorithm for computing minimal unsatisfiable subsets
+   * @return a new {@link UnsatCoreMinimizer} instance
+   */
+  public static UnsatCoreMinimizer unsatCoreMinimizer(
+      SolverContext pContext,
+      ShutdownNotifier pShutdownNotifier,
+      UnsatCoreMinimizer.Algorithm pAlgorithm) {
+    return new UnsatCoreMinimizer(pContext, pShutdownNotifier, pAlgorithm);
+  }
+
+  /**
+   * Creates a new {@link UnsatCoreMinimizer} instance that checks several candidates in parallel,
+   * each in its own additional solver context.
+   *
+   * @param pContext the {@link SolverContext} of the constraints to minimize
+   * @param pConfig the configuration used for creating the additional solver contexts
+   * @param pLogger the logger used for the additional solver contexts
+   * @param pShutdownNotifier the notifier that stops the minimization, should be the notifier of
+   *     the given context or one of its children, such that it also interrupts checks in this
+   *     context
+   * @param pSolver the solver used for the additional solver contexts
+   * @param pAlgorithm the algorithm for computing minimal unsatisfiable subsets
+   * @param pParallelism the number of parallel checks
+   * @return a new {@link UnsatCoreMinimizer} instance
+   */
+  public static UnsatCoreMinimizer parallelUnsatCoreMinimizer(
+      SolverContext pContext,
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      Solvers pSolver,
+      UnsatCoreMinimizer.Algorithm pAlgorithm,
+      int pParallelism) {
+    return new UnsatCoreMinimizer(
+        pContext, pConfig, pLogger, pShutdownNotifier, pSolver, pAlgorithm, pParallelism);
+  }
 }
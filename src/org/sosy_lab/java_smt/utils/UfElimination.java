@@ -14,19 +14,25 @@ import static com.google.common.collect.Maps.difference;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Verify;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Streams;
 import com.google.errorprone.annotations.CheckReturnValue;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.sosy_lab.common.UniqueIdGenerator;
+import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.api.ArrayFormula;
 import org.sosy_lab.java_smt.api.BitvectorFormula;
 import org.sosy_lab.java_smt.api.BooleanFormula;
@@ -40,7 +46,6 @@ import org.sosy_lab.java_smt.api.FunctionDeclaration;
 import org.sosy_lab.java_smt.api.FunctionDeclarationKind;
 import org.sosy_lab.java_smt.api.NumeralFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
-import org.sosy_lab.java_smt.api.QuantifiedFormulaManager;
 import org.sosy_lab.java_smt.api.QuantifiedFormulaManager.Quantifier;
 import org.sosy_lab.java_smt.api.StringFormula;
 import org.sosy_lab.java_smt.api.visitors.DefaultFormulaVisitor;
@@ -108,6 +113,9 @@ public class UfElimination {
 
   private static final String prefix = "__UF_fresh_";
 
+  /** Marker for arguments that are no constants. */
+  private static final Object NO_CONSTANT = new Object();
+
   private final BooleanFormulaManager bfmgr;
   private final FormulaManager fmgr;
 
@@ -145,52 +153,24 @@ public class UfElimination {
       f = pF;
     }
 
-    int depth = getNestingDepthOfUfs(f);
-    Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> ufs = findUFs(f);
+    Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> ufs =
+        findUFs(f, pOtherResult.getSubstitution());
     merge(ufs, pOtherResult);
 
     ImmutableMap.Builder<Formula, Formula> substitutionsBuilder = ImmutableMap.builder();
     List<BooleanFormula> extraConstraints = new ArrayList<>();
-
     for (FunctionDeclaration<?> function : ufs.keySet()) {
-      List<UninterpretedFunctionApplication> applications = new ArrayList<>(ufs.get(function));
-      for (int idx1 = 0; idx1 < applications.size(); idx1++) {
-        UninterpretedFunctionApplication application = applications.get(idx1);
-
-        Formula uf = application.getFormula();
-        List<Formula> args = application.getArguments();
-
-        Formula substitution = application.getSubstitution();
-        substitutionsBuilder.put(uf, substitution);
-
-        for (int idx2 = idx1 + 1; idx2 < applications.size(); idx2++) {
-          UninterpretedFunctionApplication application2 = applications.get(idx2);
-          List<Formula> otherArgs = application2.getArguments();
-
-          /*
-           * Add constraints to enforce functional consistency.
-           */
-          Verify.verify(args.size() == otherArgs.size());
-          BooleanFormula argumentsEquality =
-              Streams.zip(args.stream(), otherArgs.stream(), this::makeEqual)
-                  .collect(bfmgr.toConjunction());
-
-          BooleanFormula functionEquality = makeEqual(substitution, application2.getSubstitution());
-          extraConstraints.add(bfmgr.implication(argumentsEquality, functionEquality));
-        }
+      List<UninterpretedFunctionApplication> applications = ImmutableList.copyOf(ufs.get(function));
+      for (UninterpretedFunctionApplication application : applications) {
+        substitutionsBuilder.put(application.getFormula(), application.getSubstitution());
       }
+      addConsistencyConstraints(applications, ImmutableList.of(), extraConstraints);
     }
 
     // Get rid of UFs.
     ImmutableMap<Formula, Formula> substitutions = substitutionsBuilder.buildOrThrow();
     BooleanFormula formulaWithoutUFs = fmgr.substitute(f, substitutions);
 
-    // substitute all UFs in the additional constraints,
-    // required if UFs are arguments of UFs, e.g. uf(uf(1, 2), 2)
-    for (int i = 0; i < depth; i++) {
-      extraConstraints.replaceAll(c -> fmgr.substitute(c, substitutions));
-    }
-
     Map<Formula, Formula> otherSubstitution =
         difference(pOtherResult.getSubstitution(), substitutions).entriesOnlyOnLeft();
     substitutionsBuilder.putAll(otherSubstitution);
@@ -200,12 +180,163 @@ public class UfElimination {
         formulaWithoutUFs, constraints, allSubstitutions, ImmutableListMultimap.copyOf(ufs));
   }
 
+  /**
+   * Applies the Ackermann transformation to the given {@link Formula} and extends the {@link
+   * Result} of previous formulas. In contrast to {@link #eliminateUfs(BooleanFormula, Result)}, the
+   * previous constraints are kept and only the applications of UFs in the new formula are compared
+   * with each other and with the previous applications. Thus, adding formulas one by one does not
+   * redo the work for previous formulas. Quantified formulas are not supported.
+   *
+   * @param pF the {@link Formula} to remove all Ufs from
+   * @param pPreviousResult result of eliminating Ufs in all previous formulas
+   * @return the {@link Result} whose formula is the given formula without UFs, and whose
+   *     constraints and substitution cover the given formula and all previous formulas
+   */
+  public Result eliminateUfsIncrementally(BooleanFormula pF, Result pPreviousResult) {
+    checkArgument(!isQuantified(pF));
+    BooleanFormula f;
+    if (!pPreviousResult.getSubstitution().isEmpty()) {
+      f = fmgr.substitute(pF, pPreviousResult.getSubstitution());
+    } else {
+      f = pF;
+    }
+
+    Map<Formula, Formula> previousSubstitution = pPreviousResult.getSubstitution();
+    Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> ufs =
+        findUFs(f, previousSubstitution);
+    Map<Formula, Formula> substitutions = new LinkedHashMap<>();
+    Map<Formula, Formula> newSubstitutions = new LinkedHashMap<>();
+    List<BooleanFormula> extraConstraints = new ArrayList<>();
+    extraConstraints.add(pPreviousResult.getConstraints());
+    for (FunctionDeclaration<?> function : ImmutableList.copyOf(ufs.keySet())) {
+      List<UninterpretedFunctionApplication> applications = new ArrayList<>();
+      for (UninterpretedFunctionApplication application : ufs.get(function)) {
+        substitutions.put(application.getFormula(), application.getSubstitution());
+        // applications of previous formulas can remain after the substitution, e.g., if their
+        // arguments were substituted first, and are already constrained
+        if (!previousSubstitution.containsKey(application.getFormula())) {
+          newSubstitutions.put(application.getFormula(), application.getSubstitution());
+          applications.add(application);
+        }
+      }
+      ufs.replaceValues(function, applications);
+      addConsistencyConstraints(
+          applications, pPreviousResult.getUfs().get(function), extraConstraints);
+    }
+
+    BooleanFormula formulaWithoutUFs = fmgr.substitute(f, substitutions);
+    ImmutableMap<Formula, Formula> allSubstitutions =
+        ImmutableMap.<Formula, Formula>builder()
+            .putAll(previousSubstitution)
+            .putAll(newSubstitutions)
+            .buildOrThrow();
+    ImmutableListMultimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> allUfs =
+        ImmutableListMultimap.<FunctionDeclaration<?>, UninterpretedFunctionApplication>builder()
+            .putAll(pPreviousResult.getUfs())
+            .putAll(ufs)
+            .build();
+    return new Result(formulaWithoutUFs, bfmgr.and(extraConstraints), allSubstitutions, allUfs);
+  }
+
+  /**
+   * Adds constraints to enforce the functional consistency for all pairs of new applications and
+   * for all pairs of a new and an old application of the same function.
+   *
+   * <p>Applications with only constant arguments are grouped by their arguments: applications
+   * within a group are always equal, and applications of different groups are never equal and need
+   * no constraint. Thus, the pairs among these ground applications are not enumerated. The other,
+   * symbolic applications are still compared pairwise with each other and with one representative
+   * of each group, so their number of constraints remains quadratic. Only pairs with distinct
+   * constants at the same argument position are skipped.
+   */
+  private void addConsistencyConstraints(
+      Collection<UninterpretedFunctionApplication> pNewApplications,
+      Collection<UninterpretedFunctionApplication> pOldApplications,
+      List<BooleanFormula> pConstraints) {
+    Map<List<Object>, UninterpretedFunctionApplication> groups = new HashMap<>();
+    List<UninterpretedFunctionApplication> oldSymbolic = new ArrayList<>();
+    for (UninterpretedFunctionApplication old : pOldApplications) {
+      if (old.isGround()) {
+        groups.putIfAbsent(old.getConstantArguments(), old);
+      } else {
+        oldSymbolic.add(old);
+      }
+    }
+
+    List<UninterpretedFunctionApplication> newGroups = new ArrayList<>();
+    List<UninterpretedFunctionApplication> newSymbolic = new ArrayList<>();
+    for (UninterpretedFunctionApplication application : pNewApplications) {
+      if (application.isGround()) {
+        UninterpretedFunctionApplication representative =
+            groups.putIfAbsent(application.getConstantArguments(), application);
+        if (representative == null) {
+          newGroups.add(application);
+        } else {
+          pConstraints.add(
+              makeEqual(application.getSubstitution(), representative.getSubstitution()));
+        }
+      } else {
+        newSymbolic.add(application);
+      }
+    }
+
+    for (int idx1 = 0; idx1 < newSymbolic.size(); idx1++) {
+      UninterpretedFunctionApplication application = newSymbolic.get(idx1);
+      for (UninterpretedFunctionApplication other :
+          newSymbolic.subList(idx1 + 1, newSymbolic.size())) {
+        addConsistencyConstraint(application, other, pConstraints);
+      }
+      for (UninterpretedFunctionApplication other : oldSymbolic) {
+        addConsistencyConstraint(application, other, pConstraints);
+      }
+      for (UninterpretedFunctionApplication representative : groups.values()) {
+        addConsistencyConstraint(application, representative, pConstraints);
+      }
+    }
+    // old symbolic applications were already compared with all old groups
+    for (UninterpretedFunctionApplication representative : newGroups) {
+      for (UninterpretedFunctionApplication other : oldSymbolic) {
+        addConsistencyConstraint(representative, other, pConstraints);
+      }
+    }
+  }
+
+  private void addConsistencyConstraint(
+      UninterpretedFunctionApplication pApplication,
+      UninterpretedFunctionApplication pOther,
+      List<BooleanFormula> pConstraints) {
+    List<Formula> args = pApplication.getArguments();
+    List<Formula> otherArgs = pOther.getArguments();
+    List<Object> constants = pApplication.getConstantArguments();
+    List<Object> otherConstants = pOther.getConstantArguments();
+    Verify.verify(args.size() == otherArgs.size());
+
+    List<BooleanFormula> argumentsEquality = new ArrayList<>(args.size());
+    for (int i = 0; i < args.size(); i++) {
+      Object constant = constants.get(i);
+      Object otherConstant = otherConstants.get(i);
+      if (constant == NO_CONSTANT || otherConstant == NO_CONSTANT) {
+        argumentsEquality.add(makeEqual(args.get(i), otherArgs.get(i)));
+      } else if (!constant.equals(otherConstant)) {
+        return; // the arguments are distinct, there is no need for a constraint
+      }
+    }
+    BooleanFormula functionEquality =
+        makeEqual(pApplication.getSubstitution(), pOther.getSubstitution());
+    pConstraints.add(bfmgr.implication(bfmgr.and(argumentsEquality), functionEquality));
+  }
+
   private void merge(
       Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> pUfs,
       Result pPreviousResult) {
+    Set<Formula> applications = new HashSet<>();
+    for (UninterpretedFunctionApplication application : pUfs.values()) {
+      applications.add(application.getFormula());
+    }
     for (Map.Entry<FunctionDeclaration<?>, UninterpretedFunctionApplication> ufInOtherFormula :
         pPreviousResult.getUfs().entries()) {
-      if (pUfs.containsKey(ufInOtherFormula.getKey())) {
+      if (pUfs.containsKey(ufInOtherFormula.getKey())
+          && !applications.contains(ufInOtherFormula.getValue().getFormula())) {
         pUfs.put(ufInOtherFormula.getKey(), ufInOtherFormula.getValue());
       }
     }
@@ -265,65 +396,103 @@ public class UfElimination {
     return result.get();
   }
 
-  private int getNestingDepthOfUfs(Formula pFormula) {
-    return fmgr.visit(
+  /**
+   * Find all applications of UFs in the formula and create a fresh variable for each of them. The
+   * arguments of the returned applications are free of UFs, i.e., applications of UFs within the
+   * arguments are replaced by their fresh variables. Each distinct argument is substituted only
+   * once, even if it is shared by several applications. Applications that already have a variable
+   * in the given substitution keep this variable.
+   */
+  private Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> findUFs(
+      Formula pFormula, Map<Formula, Formula> pKnownSubstitution) {
+    Map<Formula, FunctionDeclaration<?>> declarations = new LinkedHashMap<>();
+    Map<Formula, List<Formula>> arguments = new HashMap<>();
+    fmgr.visitRecursively(
         pFormula,
         new DefaultFormulaVisitor<>() {
 
           @Override
-          protected Integer visitDefault(Formula pF) {
-            return 0;
+          protected TraversalProcess visitDefault(Formula f) {
+            return TraversalProcess.CONTINUE;
           }
 
           @Override
-          public Integer visitFunction(
-              Formula pF, List<Formula> pArgs, FunctionDeclaration<?> pFunctionDeclaration) {
-            int depthOfArgs = pArgs.stream().mapToInt(f -> fmgr.visit(f, this)).max().orElse(0);
-
-            // count only UFs
-            if (pFunctionDeclaration.getKind() == FunctionDeclarationKind.UF) {
-              return depthOfArgs + 1;
-            } else {
-              return depthOfArgs;
+          public TraversalProcess visitFunction(
+              Formula f, List<Formula> args, FunctionDeclaration<?> decl) {
+            if (decl.getKind() == FunctionDeclarationKind.UF) {
+              declarations.put(f, decl);
+              arguments.put(f, args);
             }
-          }
-
-          @Override
-          public Integer visitQuantifier(
-              BooleanFormula pF,
-              QuantifiedFormulaManager.Quantifier pQ,
-              List<Formula> pBoundVariables,
-              BooleanFormula pBody) {
-            return fmgr.visit(pBody, this);
+            return TraversalProcess.CONTINUE;
           }
         });
+
+    Map<Formula, Formula> substitutions = new HashMap<>();
+    for (Map.Entry<Formula, FunctionDeclaration<?>> entry : declarations.entrySet()) {
+      Formula known = pKnownSubstitution.get(entry.getKey());
+      substitutions.put(
+          entry.getKey(),
+          known != null ? known : freshUfReplaceVariable(entry.getValue().getType()));
+    }
+
+    Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> ufs =
+        LinkedHashMultimap.create();
+    Map<Formula, Formula> substitutedArguments = new HashMap<>();
+    for (Map.Entry<Formula, FunctionDeclaration<?>> entry : declarations.entrySet()) {
+      Formula uf = entry.getKey();
+      List<Formula> args = new ArrayList<>();
+      List<Object> constants = new ArrayList<>();
+      for (Formula arg : arguments.get(uf)) {
+        Object constant = getConstantValue(arg);
+        constants.add(constant);
+        if (constant != NO_CONSTANT) {
+          args.add(arg);
+        } else {
+          args.add(substitutedArguments.computeIfAbsent(arg, a -> substitute(a, substitutions)));
+        }
+      }
+      ufs.put(
+          entry.getValue(),
+          UninterpretedFunctionApplication.create(uf, args, constants, substitutions.get(uf)));
+    }
+    return ufs;
   }
 
-  private Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> findUFs(
-      Formula pFormula) {
-    Multimap<FunctionDeclaration<?>, UninterpretedFunctionApplication> ufs = HashMultimap.create();
+  private Formula substitute(Formula pFormula, Map<Formula, Formula> pSubstitutions) {
+    Formula substitution = pSubstitutions.get(pFormula);
+    return substitution != null ? substitution : fmgr.substitute(pFormula, pSubstitutions);
+  }
 
-    fmgr.visitRecursively(
+  /**
+   * Returns the value of a constant, or {@link #NO_CONSTANT} if the formula is not a constant or
+   * its values can not be compared syntactically (e.g., floating-point numbers, where distinct
+   * values like +0 and -0 are equal).
+   */
+  private Object getConstantValue(Formula pFormula) {
+    return fmgr.visit(
         pFormula,
         new DefaultFormulaVisitor<>() {
 
           @Override
-          protected TraversalProcess visitDefault(Formula f) {
-            return TraversalProcess.CONTINUE;
+          protected Object visitDefault(Formula pF) {
+            return NO_CONSTANT;
           }
 
           @Override
-          public TraversalProcess visitFunction(
-              Formula f, List<Formula> args, FunctionDeclaration<?> decl) {
-            if (decl.getKind() == FunctionDeclarationKind.UF) {
-              Formula substitution = freshUfReplaceVariable(decl.getType());
-              ufs.put(decl, UninterpretedFunctionApplication.create(f, args, substitution));
+          public Object visitConstant(Formula pF, Object pValue) {
+            if (pValue instanceof Rational && ((Rational) pValue).isIntegral()) {
+              // some solvers return integral values of rational formulas as Rational
+              return ((Rational) pValue).getNum();
+            } else if (pValue instanceof BigInteger
+                || pValue instanceof Rational
+                || pValue instanceof Boolean
+                || pValue instanceof String) {
+              return pValue;
+            } else {
+              return NO_CONSTANT;
             }
-            return TraversalProcess.CONTINUE;
           }
         });
-
-    return ufs;
   }
 
   private Formula freshUfReplaceVariable(FormulaType<?> pType) {
@@ -334,15 +503,30 @@ public class UfElimination {
   abstract static class UninterpretedFunctionApplication {
 
     static UninterpretedFunctionApplication create(
-        Formula pF, List<Formula> pArguments, Formula pSubstitution) {
+        Formula pF,
+        List<Formula> pArguments,
+        List<Object> pConstantArguments,
+        Formula pSubstitution) {
       return new AutoValue_UfElimination_UninterpretedFunctionApplication(
-          pF, ImmutableList.copyOf(pArguments), pSubstitution);
+          pF,
+          ImmutableList.copyOf(pArguments),
+          ImmutableList.copyOf(pConstantArguments),
+          pSubstitution);
     }
 
     abstract Formula getFormula();
 
+    /** The arguments of the application, without UFs. */
     abstract ImmutableList<Formula> getArguments();
 
+    /** The values of constant arguments, {@link #NO_CONSTANT} for all other arguments. */
+    abstract ImmutableList<Object> getConstantArguments();
+
     abstract Formula getSubstitution();
+
+    /** Whether all arguments are constants. */
+    boolean isGround() {
+      return !getConstantArguments().contains(NO_CONSTANT);
+    }
   }
 }
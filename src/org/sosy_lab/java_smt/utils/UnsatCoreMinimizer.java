@@ -0,0 +1,540 @@
+// This file is part of JavaSMT,
+// an API wrapper for a collection of SMT solvers:
+// https://github.com/sosy-lab/java-smt
+//
+// SPDX-FileCopyrightText: 2026 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.java_smt.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
+import org.sosy_lab.common.UniqueIdGenerator;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/**
+ * Computation of minimal unsatisfiable subsets (MUS) and minimal correction subsets (MCS) of a list
+ * of soft constraints with respect to a collection of hard constraints.
+ *
+ * <p>Each soft constraint is guarded by a fresh selector variable, and each check asks the solver
+ * for an unsat core over the selectors of the current subset (see {@link
+ * org.sosy_lab.java_smt.api.BasicProverEnvironment#unsatCoreOverAssumptions}). Thus, the soft
+ * constraints can be arbitrary formulas, and the core of each unsatisfiable check immediately
+ * shrinks the current subset (core-guided shrinking). The minimization starts from the core of the
+ * solver for all soft constraints.
+ *
+ * <p>The deletion-based algorithms can check several candidates in parallel. In this case, each
+ * additional check uses its own prover in a separate {@link SolverContext}, and the constraints are
+ * translated into each context with {@link FormulaManager#translateFrom}. As in {@link
+ * ParallelAllSat}, all contexts are created and the formulas translated in the calling thread, and
+ * the prover of the given context only runs in the calling thread, such that the given context is
+ * never accessed from another thread. The additional contexts are checked in a thread pool, though,
+ * so parallel checks do not work for solvers whose contexts must be used in the thread that created
+ * them, e.g., CVC5. QuickXplain is inherently sequential and always uses a single prover.
+ *
+ * <p>The computation can be stopped with the given {@link ShutdownNotifier}, e.g., to enforce a
+ * time budget. The notifier is checked before each check and interrupts running checks in the
+ * additional contexts. A running check in the given context can only be interrupted by the notifier
+ * of that context, thus the given notifier should be the notifier of the given context or one of
+ * its children. The {@link ProgressListener} receives the intermediate results, which are valid
+ * over-approximations of the final result and can be used if the computation is stopped early.
+ */
+public final class UnsatCoreMinimizer implements AutoCloseable {
+
+  /** The algorithm used for computing a minimal unsatisfiable subset. */
+  public enum Algorithm {
+    /**
+     * Try to remove each constraint of the current core, one after another, and continue with the
+     * core of the solver if the remaining constraints are still unsatisfiable. Needs at most one
+     * check per constraint in the initial core, and allows checking several constraints in
+     * parallel.
+     */
+    DELETION,
+
+    /**
+     * QuickXplain by Junker, which recursively splits the constraints into halves. Needs fewer
+     * checks than {@link #DELETION} if the minimal subset is small compared to the initial core.
+     */
+    QUICK_XPLAIN
+  }
+
+  /** Receives the intermediate results of a minimization. */
+  @FunctionalInterface
+  public interface ProgressListener {
+
+    /**
+     * Called whenever the current result is reduced.
+     *
+     * @param pCurrent the current result, a superset of the final result. For an MUS, this is an
+     *     unsatisfiable subset of the soft constraints. For an MCS, this is a correction subset,
+     *     i.e., the remaining soft constraints are satisfiable.
+     * @param pNumberOfChecks the number of satisfiability checks so far.
+     */
+    void progress(List<BooleanFormula> pCurrent, int pNumberOfChecks);
+  }
+
+  private static final String SELECTOR_PREFIX = "__UNSAT_CORE_MINIMIZER_SELECTOR_";
+
+  private static final UniqueIdGenerator SELECTOR_IDS = new UniqueIdGenerator();
+
+  private final SolverContext context;
+  private final ShutdownNotifier shutdownNotifier;
+  private final Algorithm algorithm;
+
+  /** Everything needed for creating the additional contexts, null for sequential checks. */
+  private final @Nullable Configuration config;
+
+  private final @Nullable LogManager logger;
+  private final @Nullable Solvers solver;
+  private final @Nullable ForkJoinPool pool;
+  private final int parallelism;
+
+  UnsatCoreMinimizer(
+      SolverContext pContext, ShutdownNotifier pShutdownNotifier, Algorithm pAlgorithm) {
+    context = checkNotNull(pContext);
+    shutdownNotifier = checkNotNull(pShutdownNotifier);
+    algorithm = checkNotNull(pAlgorithm);
+    config = null;
+    logger = null;
+    solver = null;
+    pool = null;
+    parallelism = 1;
+  }
+
+  UnsatCoreMinimizer(
+      SolverContext pContext,
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      Solvers pSolver,
+      Algorithm pAlgorithm,
+      int pParallelism) {
+    checkArgument(pParallelism > 0, "parallelism must be positive");
+    context = checkNotNull(pContext);
+    shutdownNotifier = checkNotNull(pShutdownNotifier);
+    algorithm = checkNotNull(pAlgorithm);
+    config = checkNotNull(pConfig);
+    logger = checkNotNull(pLogger);
+    solver = checkNotNull(pSolver);
+    pool = new ForkJoinPool(pParallelism);
+    parallelism = pParallelism;
+  }
+
+  /**
+   * Compute a minimal unsatisfiable subset of the soft constraints, i.e., a subset that is
+   * unsatisfiable together with the hard constraints, but becomes satisfiable if any of its
+   * constraints is removed.
+   *
+   * @param pHard the constraints that are always asserted.
+   * @param pSoft the constraints to minimize.
+   * @param pListener receives the intermediate unsatisfiable subsets.
+   * @return the minimal unsatisfiable subset, in the order of the soft constraints.
+   * @throws IllegalArgumentException if the hard and soft constraints are satisfiable.
+   */
+  public ImmutableList<BooleanFormula> computeMus(
+      Collection<BooleanFormula> pHard, List<BooleanFormula> pSoft, ProgressListener pListener)
+      throws SolverException, InterruptedException {
+    try (Checkers checkers = new Checkers(pHard, pSoft, pListener)) {
+      @Nullable BitSet core = checkers.check(complement(new BitSet(), pSoft.size()));
+      checkArgument(core != null, "constraints are satisfiable, there is no unsatisfiable subset");
+      checkers.report(core);
+      switch (algorithm) {
+        case DELETION:
+          core = deletion(checkers, core);
+          break;
+        case QUICK_XPLAIN:
+          core = quickXplain(checkers, new BitSet(), false, core);
+          break;
+        default:
+          throw new AssertionError("unexpected algorithm " + algorithm);
+      }
+      checkers.report(core);
+      return select(pSoft, core);
+    }
+  }
+
+  /**
+   * Compute a minimal correction subset of the soft constraints, i.e., a subset such that the
+   * remaining soft constraints are satisfiable together with the hard constraints, but become
+   * unsatisfiable if any constraint of the subset is added back. The complement of the result is a
+   * maximal satisfiable subset. The result is empty if all constraints are satisfiable.
+   *
+   * @param pHard the constraints that are always asserted.
+   * @param pSoft the constraints that may be dropped.
+   * @param pListener receives the intermediate correction subsets.
+   * @return the minimal correction subset, in the order of the soft constraints.
+   * @throws IllegalArgumentException if the hard constraints alone are unsatisfiable.
+   */
+  public ImmutableList<BooleanFormula> computeMcs(
+      Collection<BooleanFormula> pHard, List<BooleanFormula> pSoft, ProgressListener pListener)
+      throws SolverException, InterruptedException {
+    try (Checkers checkers = new Checkers(pHard, pSoft, pListener)) {
+      checkArgument(
+          checkers.check(new BitSet()) == null,
+          "hard constraints are unsatisfiable, there is no correction subset");
+
+      // grow a satisfiable subset, the remaining constraints form the correction subset
+      BitSet satisfiable = new BitSet(pSoft.size());
+      BitSet unknown = new BitSet(pSoft.size());
+      unknown.set(0, pSoft.size());
+      while (!unknown.isEmpty()) {
+        List<Integer> candidates = first(unknown, checkers.size());
+        List<BitSet> subsets = new ArrayList<>(candidates.size());
+        for (int candidate : candidates) {
+          BitSet subset = (BitSet) satisfiable.clone();
+          subset.set(candidate);
+          subsets.add(subset);
+        }
+        boolean grown = false;
+        List<@Nullable BitSet> results = checkers.checkAll(subsets);
+        for (int i = 0; i < candidates.size(); i++) {
+          int candidate = candidates.get(i);
+          if (results.get(i) != null) {
+            // unsatisfiable with a subset of the current satisfiable set, thus also with any
+            // larger satisfiable set
+            unknown.clear(candidate);
+          } else if (!grown) {
+            // other satisfiable candidates need to be checked again with the grown set
+            satisfiable.set(candidate);
+            unknown.clear(candidate);
+            grown = true;
+          }
+        }
+        if (grown) {
+          checkers.report(complement(satisfiable, pSoft.size()));
+        }
+      }
+      return select(pSoft, complement(satisfiable, pSoft.size()));
+    }
+  }
+
+  /**
+   * Deletion-based minimization: each constraint of the core is either necessary or can be removed.
+   * Necessary constraints stay necessary for each smaller core, such that each constraint is
+   * checked at most once.
+   */
+  private BitSet deletion(Checkers pCheckers, BitSet pCore)
+      throws SolverException, InterruptedException {
+    BitSet core = pCore;
+    BitSet necessary = new BitSet();
+    while (true) {
+      BitSet open = (BitSet) core.clone();
+      open.andNot(necessary);
+      List<Integer> candidates = first(open, pCheckers.size());
+      if (candidates.isEmpty()) {
+        return core;
+      }
+      List<BitSet> subsets = new ArrayList<>(candidates.size());
+      for (int candidate : candidates) {
+        BitSet subset = (BitSet) core.clone();
+        subset.clear(candidate);
+        subsets.add(subset);
+      }
+      @Nullable BitSet smaller = null;
+      List<@Nullable BitSet> results = pCheckers.checkAll(subsets);
+      for (int i = 0; i < candidates.size(); i++) {
+        @Nullable BitSet result = results.get(i);
+        if (result == null) {
+          necessary.set(candidates.get(i));
+        } else if (smaller == null) {
+          smaller = result;
+        }
+      }
+      if (smaller != null) {
+        core = smaller;
+        pCheckers.report(core);
+      }
+    }
+  }
+
+  /**
+   * QuickXplain: returns a minimal subset of the candidates that is unsatisfiable together with the
+   * background. The flag denotes whether the background has changed since the last check.
+   */
+  private BitSet quickXplain(
+      Checkers pCheckers, BitSet pBackground, boolean pHasDelta, BitSet pCandidates)
+      throws SolverException, InterruptedException {
+    if (pHasDelta && pCheckers.check(pBackground) != null) {
+      return new BitSet();
+    }
+    if (pCandidates.cardinality() <= 1) {
+      return pCandidates;
+    }
+    BitSet first = new BitSet();
+    BitSet second = new BitSet();
+    int half = pCandidates.cardinality() / 2;
+    for (int i = pCandidates.nextSetBit(0); i >= 0; i = pCandidates.nextSetBit(i + 1)) {
+      (first.cardinality() < half ? first : second).set(i);
+    }
+
+    BitSet background = (BitSet) pBackground.clone();
+    background.or(first);
+    BitSet secondResult = quickXplain(pCheckers, background, true, second);
+
+    background = (BitSet) pBackground.clone();
+    background.or(secondResult);
+    BitSet result = quickXplain(pCheckers, background, !secondResult.isEmpty(), first);
+    result.or(secondResult);
+    return result;
+  }
+
+  private static List<Integer> first(BitSet pSet, int pLimit) {
+    List<Integer> result = new ArrayList<>(pLimit);
+    for (int i = pSet.nextSetBit(0); i >= 0 && result.size() < pLimit; i = pSet.nextSetBit(i + 1)) {
+      result.add(i);
+    }
+    return result;
+  }
+
+  private static BitSet complement(BitSet pSet, int pSize) {
+    BitSet result = new BitSet(pSize);
+    result.set(0, pSize);
+    result.andNot(pSet);
+    return result;
+  }
+
+  private static ImmutableList<BooleanFormula> select(List<BooleanFormula> pSoft, BitSet pSubset) {
+    ImmutableList.Builder<BooleanFormula> result = ImmutableList.builder();
+    for (int i = pSubset.nextSetBit(0); i >= 0; i = pSubset.nextSetBit(i + 1)) {
+      result.add(pSoft.get(i));
+    }
+    return result.build();
+  }
+
+  /**
+   * The provers of one minimization. The first prover belongs to the given context, all further
+   * provers have their own context.
+   */
+  private final class Checkers implements AutoCloseable {
+
+    private final List<BooleanFormula> soft;
+    private final ProgressListener listener;
+    private final ShutdownManager checkShutdownManager = ShutdownManager.create();
+    private final ShutdownRequestListener shutdownListener = checkShutdownManager::requestShutdown;
+    private final List<SolverContext> contexts = new ArrayList<>();
+    private final List<Checker> checkers = new ArrayList<>();
+    private int numberOfChecks = 0;
+    private @Nullable BitSet lastReported = null;
+
+    @SuppressWarnings("resource")
+    Checkers(
+        Collection<BooleanFormula> pHard, List<BooleanFormula> pSoft, ProgressListener pListener)
+        throws InterruptedException {
+      soft = ImmutableList.copyOf(pSoft);
+      listener = checkNotNull(pListener);
+
+      // guard each soft constraint with a selector, such that all assumptions are variables
+      FormulaManager mgr = context.getFormulaManager();
+      BooleanFormulaManager bmgr = mgr.getBooleanFormulaManager();
+      List<BooleanFormula> constraints = new ArrayList<>(pHard);
+      List<BooleanFormula> selectors = new ArrayList<>(soft.size());
+      for (BooleanFormula constraint : soft) {
+        BooleanFormula selector = bmgr.makeVariable(SELECTOR_PREFIX + SELECTOR_IDS.getFreshId());
+        selectors.add(selector);
+        constraints.add(bmgr.implication(selector, constraint));
+      }
+
+      shutdownNotifier.registerAndCheckImmediately(shutdownListener);
+      try {
+        checkers.add(new Checker(context, constraints, selectors));
+        for (int i = 1; i < parallelism; i++) {
+          shutdownNotifier.shutdownIfNecessary();
+          SolverContext checkContext = createContext(checkShutdownManager.getNotifier());
+          contexts.add(checkContext);
+          FormulaManager checkMgr = checkContext.getFormulaManager();
+          checkers.add(
+              new Checker(
+                  checkContext,
+                  translate(constraints, checkMgr, mgr),
+                  translate(selectors, checkMgr, mgr)));
+        }
+      } catch (InterruptedException | RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    /** The maximal number of parallel checks. */
+    int size() {
+      return checkers.size();
+    }
+
+    /** Check the given subset with the first prover, see {@link Checker#check}. */
+    @Nullable BitSet check(BitSet pSubset) throws SolverException, InterruptedException {
+      shutdownNotifier.shutdownIfNecessary();
+      numberOfChecks++;
+      return checkers.get(0).check(pSubset);
+    }
+
+    /**
+     * Check all given subsets in parallel, each with its own prover. The first subset is checked in
+     * the calling thread with the prover of the given context.
+     */
+    List<@Nullable BitSet> checkAll(List<BitSet> pSubsets)
+        throws SolverException, InterruptedException {
+      checkArgument(pSubsets.size() <= checkers.size());
+      if (pool == null || pSubsets.size() == 1) {
+        List<@Nullable BitSet> results = new ArrayList<>(pSubsets.size());
+        for (BitSet subset : pSubsets) {
+          results.add(check(subset));
+        }
+        return results;
+      }
+
+      shutdownNotifier.shutdownIfNecessary();
+      List<ForkJoinTask<Optional<BitSet>>> tasks = new ArrayList<>(pSubsets.size() - 1);
+      try {
+        for (int i = 1; i < pSubsets.size(); i++) {
+          Checker checker = checkers.get(i);
+          BitSet subset = pSubsets.get(i);
+          tasks.add(pool.submit(() -> Optional.ofNullable(checker.check(subset))));
+        }
+        List<@Nullable BitSet> results = new ArrayList<>(pSubsets.size());
+        results.add(checkers.get(0).check(pSubsets.get(0)));
+        for (ForkJoinTask<Optional<BitSet>> task : tasks) {
+          results.add(getResult(task).orElse(null));
+        }
+        numberOfChecks += pSubsets.size();
+        return results;
+      } finally {
+        for (ForkJoinTask<Optional<BitSet>> task : tasks) {
+          task.quietlyJoin();
+        }
+      }
+    }
+
+    /** Pass the current result to the listener, unless it was already reported. */
+    void report(BitSet pCurrent) {
+      if (!pCurrent.equals(lastReported)) {
+        lastReported = (BitSet) pCurrent.clone();
+        listener.progress(select(soft, pCurrent), numberOfChecks);
+      }
+    }
+
+    @Override
+    public void close() {
+      shutdownNotifier.unregister(shutdownListener);
+      checkShutdownManager.requestShutdown("minimization finished");
+      for (Checker checker : checkers) {
+        checker.close();
+      }
+      for (SolverContext checkContext : contexts) {
+        checkContext.close();
+      }
+    }
+  }
+
+  /** A prover with the hard constraints and the guarded soft constraints. */
+  private static final class Checker implements AutoCloseable {
+
+    private final ProverEnvironment prover;
+    private final List<BooleanFormula> selectors;
+    private final Map<BooleanFormula, Integer> indices = new HashMap<>();
+
+    Checker(
+        SolverContext pContext, List<BooleanFormula> pConstraints, List<BooleanFormula> pSelectors)
+        throws InterruptedException {
+      prover = pContext.newProverEnvironment(ProverOptions.GENERATE_UNSAT_CORE_OVER_ASSUMPTIONS);
+      selectors = pSelectors;
+      for (int i = 0; i < selectors.size(); i++) {
+        indices.put(selectors.get(i), i);
+      }
+      prover.addConstraints(pConstraints);
+    }
+
+    /**
+     * Check the hard constraints together with the given subset of soft constraints. Returns null
+     * if they are satisfiable, and the indices of an unsatisfiable subset of the given subset
+     * otherwise.
+     */
+    @Nullable BitSet check(BitSet pSubset) throws SolverException, InterruptedException {
+      List<BooleanFormula> assumptions = new ArrayList<>(pSubset.cardinality());
+      for (int i = pSubset.nextSetBit(0); i >= 0; i = pSubset.nextSetBit(i + 1)) {
+        assumptions.add(selectors.get(i));
+      }
+      Optional<List<BooleanFormula>> core = prover.unsatCoreOverAssumptions(assumptions);
+      if (core.isEmpty()) {
+        return null;
+      }
+      BitSet result = new BitSet(selectors.size());
+      for (BooleanFormula selector : core.orElseThrow()) {
+        @Nullable Integer index = indices.get(selector);
+        checkState(index != null, "unexpected formula %s in unsat core", selector);
+        result.set(index);
+      }
+      return result;
+    }
+
+    @Override
+    public void close() {
+      prover.close();
+    }
+  }
+
+  private SolverContext createContext(ShutdownNotifier pNotifier) {
+    try {
+      return SolverContextFactory.createSolverContext(config, logger, pNotifier, solver);
+    } catch (InvalidConfigurationException e) {
+      throw new IllegalStateException("could not create a solver context for " + solver, e);
+    }
+  }
+
+  private static List<BooleanFormula> translate(
+      List<BooleanFormula> pFormulas, FormulaManager pTo, FormulaManager pFrom) {
+    List<BooleanFormula> result = new ArrayList<>(pFormulas.size());
+    for (BooleanFormula formula : pFormulas) {
+      result.add(pTo.translateFrom(formula, pFrom));
+    }
+    return result;
+  }
+
+  private static <T> T getResult(ForkJoinTask<T> pTask)
+      throws SolverException, InterruptedException {
+    try {
+      return pTask.get();
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), SolverException.class);
+      Throwables.throwIfInstanceOf(e.getCause(), InterruptedException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new AssertionError("unexpected exception", e.getCause());
+    }
+  }
+
+  /** Stop the worker threads. Running computations are not affected. */
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+}